@@ -16,6 +16,7 @@
 package org.flywaydb.ant;
 
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.MessageFormatter;
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 
@@ -23,12 +24,21 @@ import org.apache.tools.ant.Task;
  * Wrapper around an Ant Logger.
  */
 public class AntLog implements Log {
+    public boolean isDebugEnabled() {
+        // Ant filters the messages in its listeners and doesn't expose their level
+        return true;
+    }
+
     public void debug(String message) {
         Project antProject = AntLogCreator.INSTANCE.getAntProject();
         Task task = antProject.getThreadTask(Thread.currentThread());
         antProject.log(task, message, Project.MSG_VERBOSE);
     }
 
+    public void debug(String pattern, Object... args) {
+        debug(MessageFormatter.format(pattern, args));
+    }
+
     public void info(String message) {
         Project antProject = AntLogCreator.INSTANCE.getAntProject();
         Task task = antProject.getThreadTask(Thread.currentThread());
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks and tracks their results over time. Accepts the regular JMH command-line options.
+ * <p>The results of every run are appended to history.csv in the directory given by the flyway.benchmark.results
+ * system property (default: benchmark-results), tagged with the flyway.benchmark.label system property (default:
+ * the Flyway version). Each result is compared with the previous one for the same benchmark and parameters.</p>
+ */
+public class BenchmarkRunner {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String HEADER = "timestamp,label,benchmark,params,mode,score,error,unit";
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkRunner() {
+        // Do nothing
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new CommandLineOptions(args)).run();
+
+        File history = new File(System.getProperty("flyway.benchmark.results", "benchmark-results"), "history.csv");
+        Map<String, Double> previousScores = readLatestScores(history);
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ROOT).format(new Date());
+        String label = System.getProperty("flyway.benchmark.label", flywayVersion());
+
+        boolean newHistory = !history.exists();
+        history.getAbsoluteFile().getParentFile().mkdirs();
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(history, true), UTF8));
+        try {
+            if (newHistory) {
+                writer.println(HEADER);
+            }
+            System.out.println();
+            for (RunResult runResult : results) {
+                BenchmarkParams benchmarkParams = runResult.getParams();
+                Result result = runResult.getPrimaryResult();
+                String key = key(benchmarkParams.getBenchmark(), params(benchmarkParams));
+
+                writer.println(timestamp + "," + label + "," + key + "," + benchmarkParams.getMode().shortLabel()
+                        + "," + result.getScore() + "," + result.getScoreError() + "," + result.getScoreUnit());
+
+                Double previousScore = previousScores.get(key);
+                String comparison = previousScore == null
+                        ? "(no previous result)"
+                        : String.format(Locale.ROOT, "(%+.1f%% vs previous run)",
+                        (result.getScore() - previousScore) * 100 / previousScore);
+                System.out.println(String.format(Locale.ROOT, "%s %s: %.3f %s %s", benchmarkParams.getBenchmark(),
+                        params(benchmarkParams), result.getScore(), result.getScoreUnit(), comparison));
+            }
+        } finally {
+            writer.close();
+        }
+        System.out.println("Results appended to " + history.getAbsolutePath());
+    }
+
+    /**
+     * Reads the latest score recorded for each benchmark and set of parameters.
+     *
+     * @param history The history file.
+     * @return The scores by benchmark and parameters. Empty if there is no history yet.
+     * @throws IOException when the history could not be read.
+     */
+    private static Map<String, Double> readLatestScores(File history) throws IOException {
+        Map<String, Double> scores = new HashMap<String, Double>();
+        if (!history.exists()) {
+            return scores;
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(history), UTF8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (HEADER.equals(line) || (columns.length != 8)) {
+                    continue;
+                }
+                scores.put(key(columns[2], columns[3]), Double.valueOf(columns[5]));
+            }
+        } finally {
+            reader.close();
+        }
+        return scores;
+    }
+
+    private static String key(String benchmark, String params) {
+        return benchmark + "," + params;
+    }
+
+    /**
+     * @return The parameters of this benchmark as name=value pairs separated by semicolons.
+     */
+    private static String params(BenchmarkParams benchmarkParams) {
+        StringBuilder params = new StringBuilder();
+        for (String name : benchmarkParams.getParamsKeys()) {
+            if (params.length() > 0) {
+                params.append(";");
+            }
+            params.append(name).append("=").append(benchmarkParams.getParam(name));
+        }
+        return params.toString();
+    }
+
+    private static String flywayVersion() {
+        return new ClassPathResource("org/flywaydb/core/internal/version.txt", BenchmarkRunner.class.getClassLoader())
+                .loadAsString("UTF-8").trim();
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates the synthetic migrations the benchmarks run against.
+ */
+public class GeneratedMigrations {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Prevents instantiation.
+     */
+    private GeneratedMigrations() {
+        // Do nothing
+    }
+
+    /**
+     * Generates a sql script mixing the constructs the statement builders have to deal with: comments, multi-line
+     * statements, string literals containing delimiters and placeholders.
+     *
+     * @param statements The number of statements.
+     * @return The script.
+     */
+    public static String script(int statements) {
+        StringBuilder script = new StringBuilder();
+        script.append("-- Generated benchmark script\n");
+        script.append("CREATE TABLE ${table} (\n    id INT NOT NULL,\n    name VARCHAR(100),\n    PRIMARY KEY (id)\n);\n");
+        for (int i = 1; i < statements; i++) {
+            if (i % 10 == 0) {
+                script.append("/* Block ").append(i / 10).append(" */\n");
+            }
+            script.append("INSERT INTO ${table} (id, name)\n    VALUES (").append(i).append(", 'Name; ").append(i)
+                    .append(" -- it''s ${owner}');\n");
+        }
+        return script.toString();
+    }
+
+    /**
+     * Writes these many migrations, each with these many statements, to this directory. The first one creates the
+     * table the others insert into. The migrations are spread over 10 subdirectories.
+     *
+     * @param dir        The directory to write to.
+     * @param count      The number of migrations.
+     * @param statements The number of statements per migration.
+     * @throws IOException when the migrations could not be written.
+     */
+    public static void writeScripts(File dir, int count, int statements) throws IOException {
+        for (int i = 1; i <= count; i++) {
+            File file = new File(dir, scriptName(i));
+            file.getParentFile().mkdirs();
+            Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF8);
+            try {
+                writer.write(migration(i, statements));
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Writes these many migrations, each with these many statements, to a jar at this path.
+     *
+     * @param jar        The jar to create.
+     * @param path       The path of the migrations within the jar.
+     * @param count      The number of migrations.
+     * @param statements The number of statements per migration.
+     * @throws IOException when the jar could not be written.
+     */
+    public static void writeJar(File jar, String path, int count, int statements) throws IOException {
+        jar.getParentFile().mkdirs();
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            // Directory entries, as the ClassLoader only resolves locations whose directory is part of the jar
+            String dir = "";
+            for (String segment : path.split("/")) {
+                dir += segment + "/";
+                outputStream.putNextEntry(new JarEntry(dir));
+                outputStream.closeEntry();
+            }
+            for (int i = 0; i < 10; i++) {
+                outputStream.putNextEntry(new JarEntry(dir + "sub" + i + "/"));
+                outputStream.closeEntry();
+            }
+
+            for (int i = 1; i <= count; i++) {
+                outputStream.putNextEntry(new JarEntry(path + "/" + scriptName(i)));
+                outputStream.write(migration(i, statements).getBytes(UTF8));
+                outputStream.closeEntry();
+            }
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Creates a new empty temporary directory.
+     *
+     * @param prefix The prefix of its name.
+     * @return The directory.
+     * @throws IOException when the directory could not be created.
+     */
+    public static File createTempDir(String prefix) throws IOException {
+        File dir = File.createTempFile(prefix, "");
+        if (!dir.delete() || !dir.mkdirs()) {
+            throw new IOException("Unable to create temporary directory: " + dir);
+        }
+        return dir;
+    }
+
+    /**
+     * Deletes this file or directory, including all its contents.
+     *
+     * @param file The file or directory to delete.
+     */
+    public static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static String scriptName(int version) {
+        return "sub" + (version % 10) + "/V" + version + "__Migration_" + version + ".sql";
+    }
+
+    private static String migration(int version, int statements) {
+        if (version == 1) {
+            return "CREATE TABLE benchmark (id INT NOT NULL, version INT NOT NULL, name VARCHAR(100));\n";
+        }
+
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < statements; i++) {
+            script.append("INSERT INTO benchmark (id, version, name) VALUES (").append(i).append(", ")
+                    .append(version).append(", 'Migration ").append(version).append("');\n");
+        }
+        return script.toString();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end migrate of thousands of generated sql migrations against embedded databases. Each invocation starts from
+ * a clean schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MigrateBenchmark {
+    @Param({"h2", "hsql", "derby", "sqlite"})
+    public String database;
+
+    @Param({"1000", "5000"})
+    public int migrations;
+
+    @Param({"5"})
+    public int statements;
+
+    private File dir;
+
+    private Flyway flyway;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = GeneratedMigrations.createTempDir("flyway-migrate-benchmark");
+        File migrationsDir = new File(dir, "migrations");
+        GeneratedMigrations.writeScripts(migrationsDir, migrations, statements);
+
+        flyway = new Flyway();
+        if ("h2".equals(database)) {
+            flyway.setDataSource("jdbc:h2:mem:flyway_benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        } else if ("hsql".equals(database)) {
+            flyway.setDataSource("jdbc:hsqldb:mem:flyway_benchmark", "SA", "");
+        } else if ("derby".equals(database)) {
+            flyway.setDataSource("jdbc:derby:memory:flyway_benchmark;create=true", "flyway", "");
+        } else if ("sqlite".equals(database)) {
+            // A file rather than memory, as every connection to an in-memory SQLite database gets a database of its own
+            flyway.setDataSource("jdbc:sqlite:" + new File(dir, "benchmark.db").getAbsolutePath(), "", "");
+        } else {
+            throw new IllegalArgumentException("Unknown database: " + database);
+        }
+        flyway.setLocations("filesystem:" + migrationsDir.getAbsolutePath());
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() {
+        flyway.clean();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        flyway.clean();
+        GeneratedMigrations.delete(dir);
+    }
+
+    @Benchmark
+    public int migrate() {
+        return flyway.migrate();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and comparing migration versions, as done for every migration when resolving and sorting them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MigrationVersionBenchmark {
+    @Param({"1000", "10000"})
+    public int versions;
+
+    private String[] versionStrings;
+
+    private MigrationVersion[] shuffledVersions;
+
+    @Setup
+    public void setUp() {
+        // Fixed seed, so every run compares the same versions
+        Random random = new Random(42);
+        versionStrings = new String[versions];
+        shuffledVersions = new MigrationVersion[versions];
+        for (int i = 0; i < versions; i++) {
+            versionStrings[i] = random.nextInt(20) + "." + random.nextInt(100) + "." + i;
+            shuffledVersions[i] = MigrationVersion.fromVersion(versionStrings[i]);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String versionString : versionStrings) {
+            blackhole.consume(MigrationVersion.fromVersion(versionString));
+        }
+    }
+
+    @Benchmark
+    public MigrationVersion[] sort() {
+        MigrationVersion[] sorted = Arrays.copyOf(shuffledVersions, shuffledVersions.length);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
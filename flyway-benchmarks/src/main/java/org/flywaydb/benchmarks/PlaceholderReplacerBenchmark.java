@@ -0,0 +1,71 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacement of the placeholders of a sql script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PlaceholderReplacerBenchmark {
+    @Param({"1000", "10000"})
+    public int statements;
+
+    @Param({"2", "50"})
+    public int placeholders;
+
+    private PlaceholderReplacer placeholderReplacer;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("table", "benchmark");
+        values.put("owner", "flyway");
+        for (int i = values.size(); i < placeholders; i++) {
+            values.put("unused" + i, "value" + i);
+        }
+        placeholderReplacer = new PlaceholderReplacer(values, "${", "}");
+        source = GeneratedMigrations.script(statements);
+    }
+
+    @Benchmark
+    public String replacePlaceholders() {
+        return placeholderReplacer.replacePlaceholders(source);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning for sql migrations in a jar on the classpath and in a directory tree on the filesystem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScannerBenchmark {
+    private static final String PATH = "db/benchmark";
+
+    @Param({"1000", "10000"})
+    public int migrations;
+
+    private File dir;
+
+    private URLClassLoader classLoader;
+
+    private Location classPathLocation;
+
+    private Location fileSystemLocation;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = GeneratedMigrations.createTempDir("flyway-scanner-benchmark");
+
+        File jar = new File(dir, "migrations.jar");
+        GeneratedMigrations.writeJar(jar, PATH, migrations, 1);
+        // No parent, so only the generated jar is scanned
+        classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+        classPathLocation = new Location("classpath:" + PATH);
+
+        File tree = new File(dir, "tree");
+        GeneratedMigrations.writeScripts(tree, migrations, 1);
+        fileSystemLocation = new Location("filesystem:" + tree.getAbsolutePath());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+        GeneratedMigrations.delete(dir);
+    }
+
+    @Benchmark
+    public Resource[] scanClassPath() {
+        return new Scanner(classLoader).scanForResources(classPathLocation, "V", ".sql");
+    }
+
+    @Benchmark
+    public Resource[] scanFileSystem() {
+        return new Scanner(classLoader).scanForResources(fileSystemLocation, "V", ".sql");
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.SqlScript;
+import org.flywaydb.core.internal.dbsupport.db2.DB2DbSupport;
+import org.flywaydb.core.internal.dbsupport.db2iseries.DB2iseriesDbSupport;
+import org.flywaydb.core.internal.dbsupport.db2zos.DB2zosDbSupport;
+import org.flywaydb.core.internal.dbsupport.derby.DerbyDbSupport;
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.flywaydb.core.internal.dbsupport.hsql.HsqlDbSupport;
+import org.flywaydb.core.internal.dbsupport.mysql.MySQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.oracle.OracleDbSupport;
+import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.redshift.RedshiftDbSupport;
+import org.flywaydb.core.internal.dbsupport.solid.SolidDbSupport;
+import org.flywaydb.core.internal.dbsupport.sqlite.SQLiteDbSupport;
+import org.flywaydb.core.internal.dbsupport.sqlserver.SQLServerDbSupport;
+import org.flywaydb.core.internal.dbsupport.vertica.VerticaDbSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a sql script into statements by the sql statement builder of every supported database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SqlScriptBenchmark {
+    @Param({"db2", "db2iseries", "db2zos", "derby", "h2", "hsql", "mysql", "oracle", "postgresql", "redshift",
+            "solid", "sqlite", "sqlserver", "vertica"})
+    public String dialect;
+
+    @Param({"1000"})
+    public int statements;
+
+    private DbSupport dbSupport;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        dbSupport = createDbSupport(dialect, StubConnection.create());
+        source = GeneratedMigrations.script(statements);
+        if ("sqlserver".equals(dialect)) {
+            // SQL Server scripts delimit their statements with GO lines
+            source = source.replace(";\n", "\nGO\n");
+        }
+    }
+
+    @Benchmark
+    public SqlScript parse() {
+        return new SqlScript(source, dbSupport);
+    }
+
+    private static DbSupport createDbSupport(String dialect, Connection connection) {
+        if ("db2".equals(dialect)) {
+            return new DB2DbSupport(connection);
+        }
+        if ("db2iseries".equals(dialect)) {
+            return new DB2iseriesDbSupport(connection);
+        }
+        if ("db2zos".equals(dialect)) {
+            return new DB2zosDbSupport(connection);
+        }
+        if ("derby".equals(dialect)) {
+            return new DerbyDbSupport(connection);
+        }
+        if ("h2".equals(dialect)) {
+            return new H2DbSupport(connection);
+        }
+        if ("hsql".equals(dialect)) {
+            return new HsqlDbSupport(connection);
+        }
+        if ("mysql".equals(dialect)) {
+            return new MySQLDbSupport(connection);
+        }
+        if ("oracle".equals(dialect)) {
+            return new OracleDbSupport(connection);
+        }
+        if ("postgresql".equals(dialect)) {
+            return new PostgreSQLDbSupport(connection);
+        }
+        if ("redshift".equals(dialect)) {
+            return new RedshiftDbSupport(connection);
+        }
+        if ("solid".equals(dialect)) {
+            return new SolidDbSupport(connection);
+        }
+        if ("sqlite".equals(dialect)) {
+            return new SQLiteDbSupport(connection);
+        }
+        if ("sqlserver".equals(dialect)) {
+            return new SQLServerDbSupport(connection);
+        }
+        if ("vertica".equals(dialect)) {
+            return new VerticaDbSupport(connection);
+        }
+        throw new IllegalArgumentException("Unknown dialect: " + dialect);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Connection that never talks to a database, for creating the DbSupport instances whose sql statement builders are
+ * benchmarked. Every method returns a neutral value.
+ */
+public class StubConnection implements InvocationHandler {
+    /**
+     * Creates a new stub connection.
+     *
+     * @return The connection.
+     */
+    public static Connection create() {
+        return (Connection) Proxy.newProxyInstance(StubConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new StubConnection());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == DatabaseMetaData.class) {
+            return Proxy.newProxyInstance(StubConnection.class.getClassLoader(),
+                    new Class<?>[]{DatabaseMetaData.class}, this);
+        }
+        if ("getDatabaseMajorVersion".equals(method.getName())) {
+            return 10;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
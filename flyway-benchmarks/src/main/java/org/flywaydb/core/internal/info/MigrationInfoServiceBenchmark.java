@@ -0,0 +1,90 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.info;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.metadatatable.AppliedMigration;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging of the available and the applied migrations. Lives in the package of MigrationInfoServiceImpl to reach its
+ * package-private merge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MigrationInfoServiceBenchmark {
+    @Param({"1000", "10000"})
+    public int migrations;
+
+    private MigrationInfoServiceImpl migrationInfoService;
+
+    private List<ResolvedMigration> resolvedMigrations;
+
+    private List<AppliedMigration> appliedMigrations;
+
+    @Setup
+    public void setUp() {
+        migrationInfoService = new MigrationInfoServiceImpl(null, null, MigrationVersion.LATEST, false, true);
+
+        // All migrations are available, the first half of them has been applied
+        resolvedMigrations = new ArrayList<ResolvedMigration>();
+        appliedMigrations = new ArrayList<AppliedMigration>();
+        for (int i = 1; i <= migrations; i++) {
+            MigrationVersion version = MigrationVersion.fromVersion(Integer.toString(i));
+            String script = "V" + i + "__Migration_" + i + ".sql";
+
+            ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+            resolvedMigration.setVersion(version);
+            resolvedMigration.setDescription("Migration " + i);
+            resolvedMigration.setScript(script);
+            resolvedMigration.setChecksum(i);
+            resolvedMigration.setType(MigrationType.SQL);
+            resolvedMigrations.add(resolvedMigration);
+
+            if (i <= migrations / 2) {
+                appliedMigrations.add(new AppliedMigration(i, i, version, "Migration " + i, MigrationType.SQL,
+                        script, i, new Date(), "flyway", 1, true));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<MigrationInfoImpl> mergeAvailableAndAppliedMigrations() {
+        return migrationInfoService.mergeAvailableAndAppliedMigrations(resolvedMigrations, appliedMigrations);
+    }
+}
@@ -16,6 +16,15 @@
 package org.flywaydb.commandline;
 
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.MessageFormatter;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Wrapper around a simple Console output.
@@ -27,37 +36,212 @@ public class ConsoleLog implements Log {
 	
     private final Level level;
 
+    /**
+     * The stream to log to.
+     */
+    private final PrintStream out;
+
+    /**
+     * The appender writing the lines on a background thread. {@code null} to write them directly to the stream.
+     */
+    private final AsyncAppender appender;
+
     /**
      * Creates a new Console Log.
      *
      * @param level the log level.
      */
     public ConsoleLog(Level level) {
+        this(level, System.out);
+    }
+
+    /**
+     * Creates a new Console Log.
+     *
+     * @param level the log level.
+     * @param out   the stream to log to.
+     */
+    public ConsoleLog(Level level, PrintStream out) {
+        this.level = level;
+        this.out = out;
+        this.appender = null;
+    }
+
+    /**
+     * Creates a new Console Log writing through this asynchronous appender.
+     *
+     * @param level    the log level.
+     * @param appender the appender writing the lines on a background thread.
+     */
+    public ConsoleLog(Level level, AsyncAppender appender) {
         this.level = level;
+        this.out = null;
+        this.appender = appender;
+    }
+
+    public boolean isDebugEnabled() {
+        return level == Level.DEBUG;
     }
 
     public void debug(String message) {
         if (level == Level.DEBUG) {
-            System.out.println("DEBUG: " + message);
+            println("DEBUG: " + message);
+        }
+    }
+
+    public void debug(String pattern, Object... args) {
+        if (level == Level.DEBUG) {
+            println("DEBUG: " + MessageFormatter.format(pattern, args));
         }
     }
 
     public void info(String message) {
     	if (level.compareTo(Level.INFO) <= 0) {
-	        System.out.println(message);
+	        println(message);
 	    }
     }
 
     public void warn(String message) {
-    	System.out.println("WARNING: " + message);
+    	println("WARNING: " + message);
     }
 
     public void error(String message) {
-        System.out.println("ERROR: " + message);
+        println("ERROR: " + message);
     }
 
     public void error(String message, Exception e) {
-        System.out.println("ERROR: " + message);
-        e.printStackTrace();
+        if (appender == null) {
+            out.println("ERROR: " + message);
+            e.printStackTrace(out);
+        } else {
+            StringWriter stackTrace = new StringWriter();
+            e.printStackTrace(new PrintWriter(stackTrace));
+            appender.append("ERROR: " + message + System.getProperty("line.separator") + stackTrace.toString().trim());
+        }
+    }
+
+    /**
+     * Prints this line, either directly or through the appender.
+     *
+     * @param line The line to print.
+     */
+    private void println(String line) {
+        if (appender == null) {
+            out.println(line);
+        } else {
+            appender.append(line);
+        }
+    }
+
+    /**
+     * Appender writing log lines to a stream on a background thread, so the thread executing the migrations never
+     * waits on console I/O. Lines are written in order, in batches, with a single flush per batch. The number of
+     * pending lines is bounded: once it is reached, logging waits for the background thread to catch up.
+     */
+    public static class AsyncAppender {
+        /**
+         * The maximum number of lines waiting to be written.
+         */
+        private static final int CAPACITY = 8192;
+
+        /**
+         * The stream to write to.
+         */
+        private final PrintStream out;
+
+        /**
+         * The lines waiting to be written.
+         */
+        private final BlockingQueue<String> queue = new LinkedBlockingQueue<String>(CAPACITY);
+
+        /**
+         * The number of lines appended so far.
+         */
+        private long appended;
+
+        /**
+         * The number of lines written so far.
+         */
+        private long written;
+
+        /**
+         * Creates a new appender and starts its background thread.
+         *
+         * @param out The stream to write to.
+         */
+        public AsyncAppender(PrintStream out) {
+            this.out = out;
+
+            Thread writer = new Thread(new Runnable() {
+                public void run() {
+                    write();
+                }
+            }, "flyway-log");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        /**
+         * Appends this line. It will be written by the background thread.
+         *
+         * @param line The line to append.
+         */
+        public void append(String line) {
+            synchronized (this) {
+                appended++;
+            }
+            try {
+                queue.put(line);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                synchronized (this) {
+                    appended--;
+                }
+                out.println(line);
+            }
+        }
+
+        /**
+         * Waits until all lines appended so far have been written.
+         */
+        public synchronized void flush() {
+            boolean interrupted = false;
+            while (written < appended) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Writes the appended lines until the JVM exits.
+         */
+        private void write() {
+            List<String> batch = new ArrayList<String>();
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch);
+
+                for (String line : batch) {
+                    out.println(line);
+                }
+                out.flush();
+
+                synchronized (this) {
+                    written += batch.size();
+                    notifyAll();
+                }
+                batch.clear();
+            }
+        }
     }
 }
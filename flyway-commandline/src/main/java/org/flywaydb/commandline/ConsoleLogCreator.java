@@ -19,22 +19,71 @@ import org.flywaydb.commandline.ConsoleLog.Level;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogCreator;
 
+import java.io.PrintStream;
+
 /**
  * Log Creator for the Command-Line console.
  */
 public class ConsoleLogCreator implements LogCreator {
     private final Level level;
 
+    /**
+     * The stream to log to.
+     */
+    private final PrintStream out;
+
+    /**
+     * The appender shared by all loggers, writing on a background thread. {@code null} to write synchronously.
+     */
+    private final ConsoleLog.AsyncAppender appender;
+
     /**
      * Creates a new Console Log Creator.
      *
      * @param level The minimum level to log at.
      */
     public ConsoleLogCreator(Level level) {
+        this(level, System.out);
+    }
+
+    /**
+     * Creates a new Console Log Creator.
+     *
+     * @param level The minimum level to log at.
+     * @param out   The stream to log to.
+     */
+    public ConsoleLogCreator(Level level, PrintStream out) {
+        this(level, out, false);
+    }
+
+    /**
+     * Creates a new Console Log Creator.
+     *
+     * @param level The minimum level to log at.
+     * @param out   The stream to log to.
+     * @param async {@code true} to write to the stream on a background thread, {@code false} to write directly.
+     */
+    public ConsoleLogCreator(Level level, PrintStream out, boolean async) {
         this.level = level;
+        this.out = out;
+        if (async) {
+            appender = new ConsoleLog.AsyncAppender(out);
+            // Write out the pending lines before the JVM exits, including through System.exit()
+            Runtime.getRuntime().addShutdownHook(new Thread("flyway-log-flush") {
+                @Override
+                public void run() {
+                    appender.flush();
+                }
+            });
+        } else {
+            appender = null;
+        }
     }
 
     public Log createLogger(Class<?> clazz) {
-        return new ConsoleLog(level);
+        if (appender != null) {
+            return new ConsoleLog(level, appender);
+        }
+        return new ConsoleLog(level, out);
     }
 }
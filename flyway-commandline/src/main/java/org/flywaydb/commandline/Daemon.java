@@ -0,0 +1,631 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.commandline.ConsoleLog.Level;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogCreator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Long-lived server executing the operations sent by DaemonClients on a warm JVM. The Jdbc drivers are loaded once,
+ * and the configured Flyway instances, the class loaders for their Java migrations and their connections are kept
+ * between requests. A cached configuration is discarded as soon as any file in its filesystem locations or jar dirs
+ * changes.
+ *
+ * <p>The daemon only listens on the loopback interface and serves one request at a time. Every request must start with
+ * the random token the daemon writes to a file only readable by its owner, so other local users can't send it
+ * requests. Settings loading classes or jars are only taken from the daemon's own configuration.</p>
+ */
+public class Daemon {
+    /**
+     * The port the daemon listens on by default.
+     */
+    public static final int DEFAULT_PORT = 41723;
+
+    /**
+     * Frame containing output for stdout.
+     */
+    static final byte STDOUT = 1;
+
+    /**
+     * Frame containing output for stderr.
+     */
+    static final byte STDERR = 2;
+
+    /**
+     * Frame containing the exit code. Always the last frame of a response.
+     */
+    static final byte EXIT = 3;
+
+    /**
+     * The operation stopping the daemon.
+     */
+    static final String STOP = "stop";
+
+    /**
+     * The operations the daemon is able to execute.
+     */
+    private static final Set<String> OPERATIONS = new HashSet<String>(
+            Arrays.asList("clean", "baseline", "init", "migrate", "validate", "info", "repair"));
+
+    /**
+     * The settings loading classes or jars. They are only taken from the daemon's own configuration and are rejected
+     * when sent by a client.
+     */
+    static final Set<String> DAEMON_ONLY_PROPERTIES = new HashSet<String>(Arrays.asList(
+            "flyway.jarDir", "flyway.jarDirs", "flyway.callbacks", "flyway.resolvers", "flyway.metricsListener",
+            "flyway.progressListener"));
+
+    /**
+     * The maximum number of configurations to keep cached.
+     */
+    private static final int MAX_CACHED_CONFIGURATIONS = 8;
+
+    /**
+     * The log used outside of requests.
+     */
+    private static final Log DAEMON_LOG = new ConsoleLog(Level.INFO);
+
+    /**
+     * The log of the request being served by the current thread. Inherited by the threads Flyway starts while serving
+     * it.
+     */
+    private static final InheritableThreadLocal<Log> REQUEST_LOG = new InheritableThreadLocal<Log>() {
+        @Override
+        protected Log initialValue() {
+            return DAEMON_LOG;
+        }
+    };
+
+    /**
+     * The log of the daemon, routed to the log of the request being served.
+     */
+    private static final Log LOG = new RoutingLog();
+
+    /**
+     * The port to listen on.
+     */
+    private final int port;
+
+    /**
+     * The file the token is written to.
+     */
+    private final File tokenFile;
+
+    /**
+     * The daemon's own values of the settings a client can't send.
+     */
+    private final Properties daemonProperties = new Properties();
+
+    /**
+     * The token clients must send with every request.
+     */
+    private String token;
+
+    /**
+     * The configured Flyway instances, by configuration.
+     */
+    private final Map<String, CachedFlyway> cache =
+            new LinkedHashMap<String, CachedFlyway>(MAX_CACHED_CONFIGURATIONS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedFlyway> eldest) {
+                    if (size() > MAX_CACHED_CONFIGURATIONS) {
+                        eldest.getValue().close();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    /**
+     * Whether a client requested the daemon to stop.
+     */
+    private boolean stopped;
+
+    /**
+     * Creates a new Daemon.
+     *
+     * @param port          The port to listen on.
+     * @param configuration The daemon's own configuration, providing the settings a client can't send.
+     */
+    public Daemon(int port, Properties configuration) {
+        this(port, getTokenFile(port), configuration);
+    }
+
+    /**
+     * Creates a new Daemon.
+     *
+     * @param port          The port to listen on.
+     * @param tokenFile     The file to write the token to.
+     * @param configuration The daemon's own configuration, providing the settings a client can't send.
+     */
+    /* private -> for testing */
+    Daemon(int port, File tokenFile, Properties configuration) {
+        this.port = port;
+        this.tokenFile = tokenFile;
+        for (String key : DAEMON_ONLY_PROPERTIES) {
+            String value = configuration.getProperty(key);
+            if (value != null) {
+                daemonProperties.setProperty(key, value);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the file containing the token of the daemon listening on this port.
+     *
+     * @param port The port.
+     * @return The token file.
+     */
+    static File getTokenFile(int port) {
+        return new File(System.getProperty("user.home"), ".flyway" + File.separator + "daemon-" + port + ".token");
+    }
+
+    /**
+     * Serves requests until a client sends the stop operation.
+     *
+     * @throws IOException when the daemon could not listen on its port.
+     */
+    public void run() throws IOException {
+        // Loggers are created once per class, so route them all to the log of the current request
+        Main.initLogging(new LogCreator() {
+            public Log createLogger(Class<?> clazz) {
+                return new RoutingLog();
+            }
+        });
+
+        ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getByName("127.0.0.1"));
+        token = generateToken();
+        writeToken(tokenFile, token);
+        LOG.info("Flyway daemon listening on 127.0.0.1:" + port);
+        try {
+            while (!stopped) {
+                Socket socket = serverSocket.accept();
+                try {
+                    handle(socket);
+                } catch (IOException e) {
+                    LOG.warn("Unable to serve request: " + e.getMessage());
+                } finally {
+                    socket.close();
+                }
+            }
+        } finally {
+            serverSocket.close();
+            if (!tokenFile.delete()) {
+                LOG.warn("Unable to delete daemon token file: " + tokenFile.getAbsolutePath());
+            }
+            for (CachedFlyway cachedFlyway : cache.values()) {
+                cachedFlyway.close();
+            }
+            cache.clear();
+        }
+        LOG.info("Flyway daemon stopped");
+    }
+
+    /**
+     * Serves the request of this client.
+     *
+     * @param socket The connection to the client.
+     * @throws IOException when the client could not be read from or written to.
+     */
+    private void handle(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        if (!MessageDigest.isEqual(token.getBytes("UTF-8"), in.readUTF().getBytes("UTF-8"))) {
+            throw new IOException("Rejected request with an invalid token");
+        }
+
+        DaemonRequest request = DaemonRequest.read(in);
+        PrintStream stdout = new PrintStream(new FrameOutputStream(out, STDOUT), true, "UTF-8");
+        PrintStream stderr = new PrintStream(new FrameOutputStream(out, STDERR), true, "UTF-8");
+
+        int exitCode = execute(request, stdout, stderr);
+
+        stdout.flush();
+        stderr.flush();
+        out.writeByte(EXIT);
+        out.writeInt(exitCode);
+        out.flush();
+    }
+
+    /**
+     * Executes this request.
+     *
+     * @param request The request.
+     * @param stdout  The client's stdout.
+     * @param stderr  The client's stderr.
+     * @return The exit code.
+     */
+    private int execute(DaemonRequest request, PrintStream stdout, PrintStream stderr) {
+        JsonOutput output = request.getOutputFormat() == null ? null : new JsonOutput(stdout, request.getOutputFormat());
+        REQUEST_LOG.set(new ConsoleLog(request.getLogLevel(), output == null ? stdout : stderr));
+
+        String operation = null;
+        try {
+            if (request.getOperations().contains(STOP)) {
+                LOG.info("Stopping Flyway daemon");
+                stopped = true;
+                return 0;
+            }
+
+            Flyway flyway = getFlyway(withDaemonProperties(request.getProperties()));
+            for (String op : request.getOperations()) {
+                operation = op;
+                if (!OPERATIONS.contains(operation)) {
+                    throw new FlywayException("Invalid operation: " + operation);
+                }
+                if (output == null) {
+                    Main.executeOperation(flyway, operation);
+                } else {
+                    Main.executeOperation(flyway, operation, output);
+                }
+            }
+            if (output != null) {
+                output.close();
+            }
+            return 0;
+        } catch (Exception e) {
+            Main.reportError(e, request.getLogLevel(), output, operation);
+            return 1;
+        } finally {
+            REQUEST_LOG.remove();
+        }
+    }
+
+    /**
+     * Completes the configuration sent by a client with the daemon's own values of the settings a client can't send.
+     *
+     * @param properties The configuration sent by the client.
+     * @return The complete configuration.
+     * @throws FlywayException when the client sent any of these settings.
+     */
+    /* private -> for testing */
+    Properties withDaemonProperties(Properties properties) {
+        for (String key : DAEMON_ONLY_PROPERTIES) {
+            if (properties.containsKey(key)) {
+                throw new FlywayException(key + " can't be sent to the daemon. Configure it when starting the daemon instead.");
+            }
+        }
+        Properties result = new Properties();
+        result.putAll(properties);
+        result.putAll(daemonProperties);
+        return result;
+    }
+
+    /**
+     * Generates a new random token.
+     *
+     * @return The token, as hex string.
+     */
+    private static String generateToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+        }
+        return token.toString();
+    }
+
+    /**
+     * Writes this token to this file, which is made readable and writable by its owner only before the token is
+     * written. Where the file system does not support this, as on Windows, only a warning is logged.
+     *
+     * @param file  The file.
+     * @param token The token.
+     * @throws IOException when the file could not be written.
+     */
+    private static void writeToken(File file, String token) throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create directory for the daemon token: " + dir.getAbsolutePath());
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Unable to replace daemon token file: " + file.getAbsolutePath());
+        }
+        if (!file.createNewFile()) {
+            throw new IOException("Unable to create daemon token file: " + file.getAbsolutePath());
+        }
+        // Evaluated one by one, as a file system not supporting one of them still applies the others
+        boolean restricted = file.setReadable(false, false);
+        restricted &= file.setReadable(true, true);
+        restricted &= file.setWritable(false, false);
+        restricted &= file.setWritable(true, true);
+        restricted &= file.setExecutable(false, false);
+        if (!restricted) {
+            LOG.warn("Unable to restrict access to daemon token file to its owner: " + file.getAbsolutePath());
+        }
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(token);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Retrieves the Flyway instance for this configuration, reusing the cached one if nothing changed since it was
+     * created.
+     *
+     * @param properties The configuration.
+     * @return The Flyway instance.
+     * @throws IOException when the jars for the Java migrations could not be loaded.
+     */
+    private Flyway getFlyway(Properties properties) throws IOException {
+        String key = new TreeMap<Object, Object>(properties).toString();
+        String fingerprint = fingerprint(properties);
+
+        CachedFlyway cachedFlyway = cache.get(key);
+        if (cachedFlyway != null && !cachedFlyway.fingerprint.equals(fingerprint)) {
+            LOG.debug("Migrations or jars changed. Reloading configuration.");
+            cache.remove(key);
+            cachedFlyway.close();
+            cachedFlyway = null;
+        }
+
+        if (cachedFlyway == null) {
+            cachedFlyway = new CachedFlyway(properties, fingerprint);
+            cache.put(key, cachedFlyway);
+        } else {
+            LOG.debug("Reusing cached configuration");
+        }
+        return cachedFlyway.flyway;
+    }
+
+    /**
+     * Computes a fingerprint of all files that can affect the migrations of this configuration: the files in its
+     * filesystem locations and the jars in its jar dirs.
+     *
+     * @param properties The configuration.
+     * @return The fingerprint.
+     */
+    /* private -> for testing */
+    static String fingerprint(Properties properties) {
+        CRC32 crc32 = new CRC32();
+        int files = 0;
+        for (String descriptor : StringUtils.tokenizeToStringArray(properties.getProperty("flyway.locations", ""), ",")) {
+            Location location = new Location(descriptor);
+            if (location.isFileSystem()) {
+                files += fingerprint(new File(location.getPath()), crc32);
+            }
+        }
+        for (File jar : findJars(properties)) {
+            files += fingerprint(jar, crc32);
+        }
+        return files + "-" + Long.toHexString(crc32.getValue());
+    }
+
+    /**
+     * Adds this file, or all files below this directory, to this fingerprint.
+     *
+     * @param file   The file or directory.
+     * @param crc32  The fingerprint to update.
+     * @return The number of files added.
+     */
+    private static int fingerprint(File file, CRC32 crc32) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            Arrays.sort(children);
+            int files = 0;
+            for (File child : children) {
+                files += fingerprint(child, crc32);
+            }
+            return files;
+        }
+
+        if (!file.isFile()) {
+            return 0;
+        }
+        crc32.update((file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length()).getBytes());
+        return 1;
+    }
+
+    /**
+     * Finds the jars containing the Java migrations of this configuration.
+     *
+     * @param properties The configuration.
+     * @return The jars.
+     */
+    private static List<File> findJars(Properties properties) {
+        List<String> dirs = new ArrayList<String>();
+        String jarDir = properties.getProperty("flyway.jarDir");
+        if (StringUtils.hasLength(jarDir)) {
+            dirs.add(jarDir);
+        }
+        String jarDirs = properties.getProperty("flyway.jarDirs");
+        if (StringUtils.hasLength(jarDirs)) {
+            dirs.addAll(Arrays.asList(StringUtils.tokenizeToStringArray(jarDirs.replace(File.pathSeparator, ","), ",")));
+        }
+
+        List<File> jars = new ArrayList<File>();
+        for (String dir : dirs) {
+            File[] files = new File(dir).listFiles(new FilenameFilter() {
+                public boolean accept(File dir, String name) {
+                    return name.endsWith(".jar");
+                }
+            });
+            if (files == null) {
+                throw new FlywayException("Directory for Java Migrations not found: " + dir);
+            }
+            Arrays.sort(files);
+            jars.addAll(Arrays.asList(files));
+        }
+        return jars;
+    }
+
+    /**
+     * A configured Flyway instance, kept between requests.
+     */
+    private static class CachedFlyway {
+        /**
+         * The fingerprint of the files this instance was created from.
+         */
+        private final String fingerprint;
+
+        /**
+         * The Flyway instance.
+         */
+        private final Flyway flyway;
+
+        /**
+         * The pool of connections of the Flyway instance.
+         */
+        private final PooledDataSource dataSource;
+
+        /**
+         * Creates a new Flyway instance for this configuration. The jars with the Java migrations are loaded in their
+         * own class loader, so they can be reloaded when they change.
+         *
+         * @param properties  The configuration.
+         * @param fingerprint The fingerprint of the files this instance is created from.
+         * @throws IOException when the jars could not be loaded.
+         */
+        CachedFlyway(Properties properties, String fingerprint) throws IOException {
+            this.fingerprint = fingerprint;
+
+            List<File> jars = findJars(properties);
+            URL[] urls = new URL[jars.size()];
+            for (int i = 0; i < urls.length; i++) {
+                LOG.debug("Adding location to classpath: " + jars.get(i).getPath());
+                urls[i] = jars.get(i).toURI().toURL();
+            }
+
+            flyway = new Flyway();
+            flyway.setClassLoader(new URLClassLoader(urls, ClassLoader.getSystemClassLoader()));
+            flyway.configure(properties);
+
+            // One connection for the metadata table, one for the user objects, plus the parallel validation or repair ones
+            dataSource = new PooledDataSource(flyway.getDataSource(),
+                    2 + Math.max(flyway.getValidationThreads(), flyway.getRepairThreads()));
+            flyway.setDataSource(dataSource);
+        }
+
+        /**
+         * Closes the pooled connections of this instance.
+         */
+        void close() {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Log forwarding everything to the log of the current request.
+     */
+    private static class RoutingLog implements Log {
+        public boolean isDebugEnabled() {
+            return REQUEST_LOG.get().isDebugEnabled();
+        }
+
+        public void debug(String message) {
+            REQUEST_LOG.get().debug(message);
+        }
+
+        public void debug(String pattern, Object... args) {
+            REQUEST_LOG.get().debug(pattern, args);
+        }
+
+        public void info(String message) {
+            REQUEST_LOG.get().info(message);
+        }
+
+        public void warn(String message) {
+            REQUEST_LOG.get().warn(message);
+        }
+
+        public void error(String message) {
+            REQUEST_LOG.get().error(message);
+        }
+
+        public void error(String message, Exception e) {
+            REQUEST_LOG.get().error(message, e);
+        }
+    }
+
+    /**
+     * Stream sending everything written to it to the client as frames of this type, one frame per flush.
+     */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // stdout and stderr share the same connection
+            synchronized (out) {
+                if (buffer.size() > 0) {
+                    out.writeByte(type);
+                    out.writeInt(buffer.size());
+                    buffer.writeTo(out);
+                    buffer.reset();
+                }
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Thin client sending operations to a running Daemon and streaming back its output.
+ */
+public class DaemonClient {
+    /**
+     * Prevent instantiation.
+     */
+    private DaemonClient() {
+        // Do nothing
+    }
+
+    /**
+     * Sends this request to the daemon listening on this port and copies its output to stdout and stderr as it
+     * arrives.
+     *
+     * @param port    The port the daemon listens on.
+     * @param request The request to send.
+     * @return The exit code of the request. {@code -1} if no daemon is listening on this port.
+     * @throws FlywayException when the connection to the daemon was lost.
+     */
+    public static int execute(int port, DaemonRequest request) {
+        return execute(port, Daemon.getTokenFile(port), request);
+    }
+
+    /**
+     * Sends this request to the daemon listening on this port and copies its output to stdout and stderr as it
+     * arrives.
+     *
+     * @param port      The port the daemon listens on.
+     * @param tokenFile The file containing the token of the daemon.
+     * @param request   The request to send.
+     * @return The exit code of the request. {@code -1} if no daemon is listening on this port.
+     * @throws FlywayException when the connection to the daemon was lost.
+     */
+    /* private -> for testing */
+    static int execute(int port, File tokenFile, DaemonRequest request) {
+        String token;
+        try {
+            token = readToken(tokenFile);
+        } catch (IOException e) {
+            return -1;
+        }
+
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getByName("127.0.0.1"), port);
+        } catch (IOException e) {
+            return -1;
+        }
+
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(token);
+            request.write(out);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                byte type = in.readByte();
+                if (type == Daemon.EXIT) {
+                    return in.readInt();
+                }
+
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                PrintStream target = type == Daemon.STDERR ? System.err : System.out;
+                target.write(bytes);
+                target.flush();
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Lost connection to the Flyway daemon on port " + port, e);
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Reads the token of the daemon from this file.
+     *
+     * @param tokenFile The file containing the token.
+     * @return The token.
+     * @throws IOException when the file could not be read, typically because no daemon is running.
+     */
+    private static String readToken(File tokenFile) throws IOException {
+        return FileCopyUtils.copyToString(new InputStreamReader(new FileInputStream(tokenFile), "UTF-8")).trim();
+    }
+}
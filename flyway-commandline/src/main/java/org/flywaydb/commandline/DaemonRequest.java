@@ -0,0 +1,180 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.commandline.ConsoleLog.Level;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A request sent by a DaemonClient to the Daemon: the operations to execute with the fully resolved configuration.
+ */
+public class DaemonRequest {
+    /**
+     * The version of the wire format. Bumped whenever it changes incompatibly.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The maximum number of operations a request may contain.
+     */
+    private static final int MAX_OPERATIONS = 32;
+
+    /**
+     * The maximum number of properties a request may contain.
+     */
+    private static final int MAX_PROPERTIES = 1024;
+
+    /**
+     * The minimum level to log at.
+     */
+    private final Level logLevel;
+
+    /**
+     * The machine-readable output format. {@code null} for plain text.
+     */
+    private final JsonOutput.Format outputFormat;
+
+    /**
+     * The operations to execute.
+     */
+    private final List<String> operations;
+
+    /**
+     * The configuration, with all config files and command-line overrides already applied.
+     */
+    private final Properties properties;
+
+    /**
+     * Creates a new DaemonRequest.
+     *
+     * @param logLevel     The minimum level to log at.
+     * @param outputFormat The machine-readable output format. {@code null} for plain text.
+     * @param operations   The operations to execute.
+     * @param properties   The configuration, with all config files and command-line overrides already applied.
+     */
+    public DaemonRequest(Level logLevel, JsonOutput.Format outputFormat, List<String> operations, Properties properties) {
+        this.logLevel = logLevel;
+        this.outputFormat = outputFormat;
+        this.operations = operations;
+        this.properties = properties;
+    }
+
+    /**
+     * @return The minimum level to log at.
+     */
+    public Level getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * @return The machine-readable output format. {@code null} for plain text.
+     */
+    public JsonOutput.Format getOutputFormat() {
+        return outputFormat;
+    }
+
+    /**
+     * @return The operations to execute.
+     */
+    public List<String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return The configuration, with all config files and command-line overrides already applied.
+     */
+    public Properties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Writes this request to this stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException when the request could not be written.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(VERSION);
+        out.writeUTF(logLevel.name());
+        out.writeUTF(outputFormat == null ? "" : outputFormat.name());
+        out.writeInt(operations.size());
+        for (String operation : operations) {
+            out.writeUTF(operation);
+        }
+        out.writeInt(properties.size());
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            out.writeUTF((String) entry.getKey());
+            out.writeUTF((String) entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a request from this stream.
+     *
+     * @param in The stream to read from.
+     * @return The request.
+     * @throws IOException when the request could not be read, was written by an incompatible client or contains too many
+     *                     elements.
+     */
+    public static DaemonRequest read(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported daemon protocol version: " + version + " (expected " + VERSION + ")");
+        }
+
+        Level logLevel = Level.valueOf(in.readUTF());
+        String outputFormat = in.readUTF();
+
+        int operationCount = readCount(in, MAX_OPERATIONS, "operations");
+        List<String> operations = new ArrayList<String>(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            operations.add(in.readUTF());
+        }
+
+        int propertyCount = readCount(in, MAX_PROPERTIES, "properties");
+        Properties properties = new Properties();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.setProperty(in.readUTF(), in.readUTF());
+        }
+
+        return new DaemonRequest(logLevel, outputFormat.length() == 0 ? null : JsonOutput.Format.valueOf(outputFormat),
+                operations, properties);
+    }
+
+    /**
+     * Reads the number of elements that follow from this stream, before anything is allocated for them.
+     *
+     * @param in   The stream to read from.
+     * @param max  The maximum number of elements allowed.
+     * @param what What the elements are, for the error message.
+     * @return The number of elements.
+     * @throws IOException when the count could not be read or is out of range.
+     */
+    private static int readCount(DataInputStream in, int max, String what) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > max) {
+            throw new IOException("Invalid number of " + what + " in daemon request: " + count + " (max " + max + ")");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.progress.MigrationProgress;
+import org.flywaydb.core.api.progress.ProgressListener;
+
+/**
+ * Listener writing a record for every migration as soon as it has been committed or has failed. The records are
+ * driven by the migration events of the metrics listener, while the progress events only keep track of the schema
+ * being migrated.
+ */
+public class JsonMigrateListener implements ProgressListener, MetricsListener {
+    /**
+     * The output to write the records to.
+     */
+    private final JsonOutput output;
+
+    /**
+     * The progress listener configured by the user, which is still notified. {@code null} if none.
+     */
+    private final ProgressListener progressDelegate;
+
+    /**
+     * The metrics listener configured by the user, which is still notified. {@code null} if none.
+     */
+    private final MetricsListener metricsDelegate;
+
+    /**
+     * The schema currently being migrated.
+     */
+    private String schema;
+
+    /**
+     * Creates a new JsonMigrateListener.
+     *
+     * @param output           The output to write the records to.
+     * @param progressDelegate The progress listener configured by the user, which is still notified. {@code null} if none.
+     * @param metricsDelegate  The metrics listener configured by the user, which is still notified. {@code null} if none.
+     */
+    public JsonMigrateListener(JsonOutput output, ProgressListener progressDelegate, MetricsListener metricsDelegate) {
+        this.output = output;
+        this.progressDelegate = progressDelegate;
+        this.metricsDelegate = metricsDelegate;
+    }
+
+    public void progressed(MigrationProgress progress) {
+        if (progressDelegate != null) {
+            progressDelegate.progressed(progress);
+        }
+        schema = progress.getSchema();
+    }
+
+    public void migrationApplied(MigrationInfo migration, int executionTimeMillis, boolean success) {
+        if (metricsDelegate != null) {
+            metricsDelegate.migrationApplied(migration, executionTimeMillis, success);
+        }
+        output.migration("migrate", schema, migration, success ? "SUCCESS" : "FAILED", executionTimeMillis);
+    }
+
+    public void statementExecuted(String script, int lineNumber, String sql, long executionTimeNanos, int rowsAffected,
+                                  boolean success) {
+        if (metricsDelegate != null) {
+            metricsDelegate.statementExecuted(script, lineNumber, sql, executionTimeNanos, rowsAffected, success);
+        }
+    }
+
+    public void metaDataTableLocked(String table, long lockWaitNanos) {
+        if (metricsDelegate != null) {
+            metricsDelegate.metaDataTableLocked(table, lockWaitNanos);
+        }
+    }
+
+    public void metaDataTableAccessed(String table, String operation, int roundTrips, long executionTimeNanos) {
+        if (metricsDelegate != null) {
+            metricsDelegate.metaDataTableAccessed(table, operation, roundTrips, executionTimeNanos);
+        }
+    }
+
+    /**
+     * @return The progress listener configured by the user. {@code null} if none.
+     */
+    public ProgressListener getProgressDelegate() {
+        return progressDelegate;
+    }
+
+    /**
+     * @return The metrics listener configured by the user. {@code null} if none.
+     */
+    public MetricsListener getMetricsDelegate() {
+        return metricsDelegate;
+    }
+}
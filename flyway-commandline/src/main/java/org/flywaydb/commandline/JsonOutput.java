@@ -0,0 +1,234 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.validation.ValidationError;
+import org.flywaydb.core.internal.util.DateUtils;
+
+import java.io.PrintStream;
+
+/**
+ * Machine-readable output of the command-line tool. Every record is written and flushed as soon as it is produced, so
+ * tools can consume the results incrementally.
+ */
+public class JsonOutput {
+    /**
+     * The supported formats.
+     */
+    public static enum Format {
+        /**
+         * A single JSON array containing all records.
+         */
+        JSON,
+
+        /**
+         * Newline-delimited JSON. One record per line.
+         */
+        NDJSON
+    }
+
+    /**
+     * The stream to write the records to.
+     */
+    private final PrintStream out;
+
+    /**
+     * The format of the records.
+     */
+    private final Format format;
+
+    /**
+     * The number of records written so far.
+     */
+    private int records;
+
+    /**
+     * Creates a new JsonOutput.
+     *
+     * @param out    The stream to write the records to.
+     * @param format The format of the records.
+     */
+    public JsonOutput(PrintStream out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Writes a record for this migration.
+     *
+     * @param operation     The operation that produced the record.
+     * @param schema        The schema of the migration.
+     * @param migration     The migration.
+     * @param state         The state of the migration.
+     * @param executionTime The time it took to apply the migration (in ms). {@code null} if it hasn't been applied.
+     */
+    public void migration(String operation, String schema, MigrationInfo migration, String state, Integer executionTime) {
+        StringBuilder record = new StringBuilder();
+        appendField(record, "type", "migration");
+        appendField(record, "operation", operation);
+        appendField(record, "schema", schema);
+        appendField(record, "version", migration.getVersion() == null ? null : migration.getVersion().toString());
+        appendField(record, "description", migration.getDescription());
+        appendField(record, "migrationType", migration.getType() == null ? null : migration.getType().name());
+        appendField(record, "script", migration.getScript());
+        appendField(record, "checksum", migration.getChecksum());
+        appendField(record, "installedOn",
+                migration.getInstalledOn() == null ? null : DateUtils.formatDateAsIsoString(migration.getInstalledOn()));
+        appendField(record, "executionTime", executionTime);
+        appendField(record, "state", state);
+        write(record);
+    }
+
+    /**
+     * Writes a record for this validation error.
+     *
+     * @param schema The schema containing the error.
+     * @param error  The error.
+     */
+    public void validationError(String schema, ValidationError error) {
+        StringBuilder record = new StringBuilder();
+        appendField(record, "type", "validationError");
+        appendField(record, "operation", "validate");
+        appendField(record, "schema", schema);
+        appendField(record, "kind", error.getKind().name());
+        appendField(record, "version", error.getVersion() == null ? null : error.getVersion().toString());
+        appendField(record, "applied", error.getApplied() == null ? null : error.getApplied().toString());
+        appendField(record, "resolved", error.getResolved() == null ? null : error.getResolved().toString());
+        appendField(record, "message", error.getMessage());
+        write(record);
+    }
+
+    /**
+     * Writes a record for the successful completion of this operation.
+     *
+     * @param operation     The operation.
+     * @param executionTime The time the operation took (in ms).
+     * @param migrations    The number of migrations applied. {@code null} if not applicable.
+     */
+    public void success(String operation, long executionTime, Integer migrations) {
+        StringBuilder record = new StringBuilder();
+        appendField(record, "type", "result");
+        appendField(record, "operation", operation);
+        appendField(record, "success", true);
+        appendField(record, "executionTime", executionTime);
+        appendField(record, "migrationsExecuted", migrations);
+        write(record);
+    }
+
+    /**
+     * Writes a record for the failure of this operation.
+     *
+     * @param operation The operation. {@code null} if the failure occurred before any operation was started.
+     * @param message   The error message.
+     */
+    public void failure(String operation, String message) {
+        StringBuilder record = new StringBuilder();
+        appendField(record, "type", "result");
+        appendField(record, "operation", operation);
+        appendField(record, "success", false);
+        appendField(record, "error", message);
+        write(record);
+    }
+
+    /**
+     * Completes the output. No more records may be written afterwards.
+     */
+    public synchronized void close() {
+        if (format == Format.JSON) {
+            out.println(records == 0 ? "[]" : "\n]");
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes this record and flushes it immediately.
+     *
+     * @param record The fields of the record.
+     */
+    private synchronized void write(StringBuilder record) {
+        if (format == Format.JSON) {
+            out.print(records == 0 ? "[\n" : ",\n");
+            out.print("{" + record + "}");
+        } else {
+            out.println("{" + record + "}");
+        }
+        records++;
+        out.flush();
+    }
+
+    /**
+     * Appends this field to this record. Null values are omitted.
+     *
+     * @param record The record.
+     * @param name   The name of the field.
+     * @param value  The value of the field. A String, Number or Boolean.
+     */
+    private static void appendField(StringBuilder record, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (record.length() > 0) {
+            record.append(",");
+        }
+        record.append(quote(name)).append(":");
+        if (value instanceof String) {
+            record.append(quote((String) value));
+        } else {
+            record.append(value);
+        }
+    }
+
+    /**
+     * Turns this string into a JSON string literal.
+     *
+     * @param value The string to quote.
+     * @return The quoted and escaped string.
+     */
+    /* private -> for testing */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2);
+        quoted.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        quoted.append('"');
+        return quoted.toString();
+    }
+}
@@ -18,13 +18,20 @@ package org.flywaydb.commandline;
 import org.flywaydb.commandline.ConsoleLog.Level;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.validation.FlywayValidateException;
+import org.flywaydb.core.api.validation.ValidationError;
+import org.flywaydb.core.api.validation.ValidationReport;
 import org.flywaydb.core.internal.info.MigrationInfoDumper;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.PropertiesUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.VersionPrinter;
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogCreator;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 
@@ -33,12 +40,14 @@ import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.io.Reader;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -53,7 +62,37 @@ public class Main {
      * @param level The minimum level to log at.
      */
     static void initLogging(Level level) {
-        LogFactory.setLogCreator(new ConsoleLogCreator(level));
+        initLogging(level, System.out);
+    }
+
+    /**
+     * Initializes the logging.
+     *
+     * @param level The minimum level to log at.
+     * @param out   The stream to log to.
+     */
+    static void initLogging(Level level, PrintStream out) {
+        initLogging(level, out, false);
+    }
+
+    /**
+     * Initializes the logging.
+     *
+     * @param level The minimum level to log at.
+     * @param out   The stream to log to.
+     * @param async {@code true} to write the log output on a background thread, {@code false} to write it directly.
+     */
+    static void initLogging(Level level, PrintStream out, boolean async) {
+        initLogging(new ConsoleLogCreator(level, out, async));
+    }
+
+    /**
+     * Initializes the logging.
+     *
+     * @param logCreator The factory for the loggers.
+     */
+    static void initLogging(LogCreator logCreator) {
+        LogFactory.setLogCreator(logCreator);
         LOG = LogFactory.getLog(Main.class);
     }
 
@@ -64,9 +103,21 @@ public class Main {
      */
     public static void main(String[] args) {
         Level logLevel = getLogLevel(args);
+        boolean asyncLog = isAsyncLog(args);
         initLogging(logLevel);
 
+        JsonOutput output = null;
+        String operation = null;
         try {
+            JsonOutput.Format outputFormat = getOutputFormat(args);
+            if (outputFormat != null) {
+                // Keep stdout free for the machine-readable records
+                initLogging(logLevel, System.err, asyncLog);
+                output = new JsonOutput(System.out, outputFormat);
+            } else if (asyncLog) {
+                initLogging(logLevel, System.out, true);
+            }
+
             printVersion();
 
             List<String> operations = determineOperations(args);
@@ -80,6 +131,28 @@ public class Main {
             loadConfiguration(properties, args);
             overrideConfiguration(properties, args);
 
+            if (operations.contains("daemon")) {
+                loadJdbcDrivers();
+                new Daemon(getDaemonPort(args), properties).run();
+                return;
+            }
+
+            if (isDaemonClient(args)) {
+                // The daemon runs in another directory
+                makePathsAbsolute(properties);
+                removeDaemonOnlyProperties(properties);
+                int daemonPort = getDaemonPort(args);
+                int exitCode = DaemonClient.execute(daemonPort,
+                        new DaemonRequest(logLevel, outputFormat, operations, properties));
+                if (exitCode > 0) {
+                    System.exit(exitCode);
+                }
+                if (exitCode == 0) {
+                    return;
+                }
+                LOG.warn("No Flyway daemon listening on port " + daemonPort + ". Executing locally.");
+            }
+
             loadJdbcDrivers();
             loadJavaMigrationsFromJarDir(properties);
             loadJavaMigrationsFromJarDirs(properties);
@@ -87,30 +160,56 @@ public class Main {
             Flyway flyway = new Flyway();
             flyway.configure(properties);
 
-            for (String operation : operations) {
-                executeOperation(flyway, operation);
-            }
-        } catch (Exception e) {
-            if (logLevel == Level.DEBUG) {
-                LOG.error("Unexpected error", e);
-            } else {
-                if (e instanceof FlywayException) {
-                    LOG.error(e.getMessage());
+            for (String op : operations) {
+                operation = op;
+                if (output == null) {
+                    executeOperation(flyway, operation);
                 } else {
-                    LOG.error(e.toString());
+                    executeOperation(flyway, operation, output);
                 }
             }
+            if (output != null) {
+                output.close();
+            }
+        } catch (Exception e) {
+            reportError(e, logLevel, output, operation);
             System.exit(1);
         }
     }
 
+    /**
+     * Reports this error that aborted the execution.
+     *
+     * @param e         The error.
+     * @param logLevel  The minimum level to log at.
+     * @param output    The machine-readable output. {@code null} for plain text.
+     * @param operation The operation that failed. {@code null} if the failure occurred before any operation was started.
+     */
+    /* private -> for the daemon */
+    static void reportError(Exception e, Level logLevel, JsonOutput output, String operation) {
+        if (logLevel == Level.DEBUG) {
+            LOG.error("Unexpected error", e);
+        } else {
+            if (e instanceof FlywayException) {
+                LOG.error(e.getMessage());
+            } else {
+                LOG.error(e.toString());
+            }
+        }
+        if (output != null) {
+            output.failure(operation, e instanceof FlywayException ? e.getMessage() : e.toString());
+            output.close();
+        }
+    }
+
     /**
      * Executes this operation on this Flyway instance.
      *
      * @param flyway    The Flyway instance.
      * @param operation The operation to execute.
      */
-    private static void executeOperation(Flyway flyway, String operation) {
+    /* private -> for the daemon */
+    static void executeOperation(Flyway flyway, String operation) {
         if ("clean".equals(operation)) {
             flyway.clean();
         } else if ("baseline".equals(operation)) {
@@ -133,6 +232,176 @@ public class Main {
         }
     }
 
+    /**
+     * Executes this operation on this Flyway instance and writes its results as machine-readable records.
+     *
+     * @param flyway    The Flyway instance.
+     * @param operation The operation to execute.
+     * @param output    The output to write the records to.
+     */
+    /* private -> for the daemon */
+    static void executeOperation(Flyway flyway, String operation, JsonOutput output) {
+        long start = System.currentTimeMillis();
+        Integer migrations = null;
+        if ("migrate".equals(operation)) {
+            JsonMigrateListener listener =
+                    new JsonMigrateListener(output, flyway.getProgressListener(), flyway.getMetricsListener());
+            flyway.setProgressListener(listener);
+            flyway.setMetricsListener(listener);
+            try {
+                migrations = flyway.migrate();
+            } finally {
+                flyway.setProgressListener(listener.getProgressDelegate());
+                flyway.setMetricsListener(listener.getMetricsDelegate());
+            }
+        } else if ("validate".equals(operation)) {
+            try {
+                flyway.validate();
+            } catch (FlywayValidateException e) {
+                ValidationReport report = e.getReport();
+                for (String schema : report.getSchemas()) {
+                    for (ValidationError error : report.getErrors(schema)) {
+                        output.validationError(schema, error);
+                    }
+                }
+                throw e;
+            }
+        } else if ("info".equals(operation)) {
+            for (Map.Entry<String, MigrationInfoService> entry : flyway.infoBySchema().entrySet()) {
+                for (MigrationInfo migrationInfo : entry.getValue().all()) {
+                    output.migration(operation, entry.getKey(), migrationInfo, migrationInfo.getState().name(),
+                            migrationInfo.getExecutionTime());
+                }
+            }
+        } else {
+            executeOperation(flyway, operation);
+        }
+        output.success(operation, System.currentTimeMillis() - start, migrations);
+    }
+
+    /**
+     * Checks whether the log output should be written on a background thread.
+     *
+     * @param args The command-line arguments.
+     * @return {@code true} if it should, {@code false} if it should be written directly.
+     */
+    private static boolean isAsyncLog(String[] args) {
+        for (String arg : args) {
+            if ("-asyncLog".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the operations should be sent to a running daemon.
+     *
+     * @param args The command-line arguments.
+     * @return {@code true} if they should, {@code false} if they should be executed locally.
+     */
+    private static boolean isDaemonClient(String[] args) {
+        for (String arg : args) {
+            if ("-daemon".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the port the daemon listens on.
+     *
+     * @param args The command-line arguments.
+     * @return The port.
+     */
+    private static int getDaemonPort(String[] args) {
+        for (String arg : args) {
+            if (isPropertyArgument(arg) && "daemonPort".equals(getArgumentProperty(arg))) {
+                return Integer.parseInt(getArgumentValue(arg));
+            }
+        }
+        return Daemon.DEFAULT_PORT;
+    }
+
+    /**
+     * Turns the relative filesystem locations and jar dirs of this configuration into absolute ones.
+     *
+     * @param properties The configuration.
+     */
+    /* private -> for testing */
+    static void makePathsAbsolute(Properties properties) {
+        String locations = properties.getProperty("flyway.locations");
+        if (locations != null) {
+            List<String> absoluteLocations = new ArrayList<String>();
+            for (String descriptor : StringUtils.tokenizeToStringArray(locations, ",")) {
+                Location location = new Location(descriptor);
+                if (location.isFileSystem()) {
+                    absoluteLocations.add(Location.FILESYSTEM_PREFIX + new File(location.getPath()).getAbsolutePath());
+                } else {
+                    absoluteLocations.add(descriptor);
+                }
+            }
+            properties.setProperty("flyway.locations", StringUtils.collectionToDelimitedString(absoluteLocations, ","));
+        }
+
+        String jarDir = properties.getProperty("flyway.jarDir");
+        if (StringUtils.hasLength(jarDir)) {
+            properties.setProperty("flyway.jarDir", new File(jarDir).getAbsolutePath());
+        }
+
+        String jarDirs = properties.getProperty("flyway.jarDirs");
+        if (StringUtils.hasLength(jarDirs)) {
+            List<String> absoluteJarDirs = new ArrayList<String>();
+            for (String dir : StringUtils.tokenizeToStringArray(jarDirs.replace(File.pathSeparator, ","), ",")) {
+                absoluteJarDirs.add(new File(dir).getAbsolutePath());
+            }
+            properties.setProperty("flyway.jarDirs", StringUtils.collectionToDelimitedString(absoluteJarDirs, ","));
+        }
+    }
+
+    /**
+     * Removes the settings loading classes or jars from this configuration, as the daemon only takes them from its own
+     * configuration.
+     *
+     * @param properties The configuration to send to the daemon.
+     */
+    /* private -> for testing */
+    static void removeDaemonOnlyProperties(Properties properties) {
+        Properties defaults = new Properties();
+        initializeDefaults(defaults);
+        for (String key : Daemon.DAEMON_ONLY_PROPERTIES) {
+            Object value = properties.remove(key);
+            if (value != null && !value.equals(defaults.get(key))) {
+                LOG.warn("Ignoring " + key + " for the daemon. It only uses the value it was started with.");
+            }
+        }
+    }
+
+    /**
+     * Checks the desired output format.
+     *
+     * @param args The command-line arguments.
+     * @return The desired format. {@code null} for plain text.
+     */
+    /* private -> for testing */
+    static JsonOutput.Format getOutputFormat(String[] args) {
+        for (String arg : args) {
+            if (isPropertyArgument(arg) && "outputType".equals(getArgumentProperty(arg))) {
+                String outputType = getArgumentValue(arg);
+                if ("text".equalsIgnoreCase(outputType)) {
+                    return null;
+                }
+                try {
+                    return JsonOutput.Format.valueOf(outputType.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new FlywayException("Invalid outputType: " + outputType + " (expected text, json or ndjson)");
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Checks the desired log level.
      *
@@ -192,6 +461,8 @@ public class Main {
         LOG.info("validate : Validates the applied migrations against the ones on the classpath");
         LOG.info("baseline : Baselines an existing database at the baselineVersion");
         LOG.info("repair   : Repairs the metadata table");
+        LOG.info("daemon   : Starts a daemon executing the commands of clients started with -daemon");
+        LOG.info("stop     : Stops the daemon (with -daemon)");
         LOG.info("");
         LOG.info("Options (Format: -key=value)");
         LOG.info("=======");
@@ -222,9 +493,13 @@ public class Main {
         LOG.info("configFile             : Config file to use (default: conf/flyway.properties)");
         LOG.info("configFileEncoding     : Encoding of the config file (default: UTF-8)");
         LOG.info("jarDirs                : Dirs for Jdbc drivers & Java migrations (default: jars)");
+        LOG.info("outputType             : Output format: text, json or ndjson (default: text)");
+        LOG.info("daemonPort             : Loopback port of the daemon (default: " + Daemon.DEFAULT_PORT + ")");
         LOG.info("");
         LOG.info("Add -X to print debug output");
         LOG.info("Add -q to suppress all output, except for errors and warnings");
+        LOG.info("Add -daemon to send the commands to a running daemon");
+        LOG.info("Add -asyncLog to write the output on a background thread");
         LOG.info("");
         LOG.info("Example");
         LOG.info("=======");
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.logging.Logger;
+
+/**
+ * DataSource keeping the connections of another DataSource open once they are closed, so they can be reused by the
+ * next operation instead of connecting again.
+ */
+public class PooledDataSource implements DataSource {
+    /**
+     * The time to wait for an idle connection to be validated (in s).
+     */
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    /**
+     * The DataSource to obtain new connections from.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The maximum number of idle connections to keep open.
+     */
+    private final int maxIdle;
+
+    /**
+     * The connections currently not in use.
+     */
+    private final LinkedList<Connection> idleConnections = new LinkedList<Connection>();
+
+    /**
+     * Creates a new PooledDataSource.
+     *
+     * @param dataSource The DataSource to obtain new connections from.
+     * @param maxIdle    The maximum number of idle connections to keep open.
+     */
+    public PooledDataSource(DataSource dataSource, int maxIdle) {
+        this.dataSource = dataSource;
+        this.maxIdle = maxIdle;
+    }
+
+    public Connection getConnection() throws SQLException {
+        Connection connection = takeIdleConnection();
+        if (connection == null) {
+            connection = dataSource.getConnection();
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                new ReturnToPoolHandler(connection));
+    }
+
+    public Connection getConnection(String username, String password) throws SQLException {
+        return dataSource.getConnection(username, password);
+    }
+
+    /**
+     * @return An idle connection that is still usable. {@code null} if none.
+     */
+    private synchronized Connection takeIdleConnection() {
+        while (!idleConnections.isEmpty()) {
+            Connection connection = idleConnections.removeFirst();
+            if (isUsable(connection)) {
+                return connection;
+            }
+            JdbcUtils.closeConnection(connection);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether this idle connection can still be used.
+     *
+     * @param connection The connection.
+     * @return {@code true} if it can, {@code false} if it has been closed or lost.
+     */
+    private static boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException e) {
+            return false;
+        } catch (AbstractMethodError e) {
+            // Pre-JDBC 4 driver. Assume the connection is still fine.
+            return true;
+        }
+    }
+
+    /**
+     * Returns this connection to the pool, or closes it if the pool is full or its state can't be reset.
+     *
+     * @param connection The connection.
+     */
+    private synchronized void release(Connection connection) {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            JdbcUtils.closeConnection(connection);
+            return;
+        }
+
+        if (idleConnections.size() < maxIdle) {
+            idleConnections.add(connection);
+        } else {
+            JdbcUtils.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Closes all idle connections.
+     */
+    public synchronized void close() {
+        for (Connection connection : idleConnections) {
+            JdbcUtils.closeConnection(connection);
+        }
+        idleConnections.clear();
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    public void setLoginTimeout(int timeout) throws SQLException {
+        dataSource.setLoginTimeout(timeout);
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    public void setLogWriter(PrintWriter pw) throws SQLException {
+        dataSource.setLogWriter(pw);
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (isWrapperFor(iface)) {
+            return iface.cast(this);
+        }
+        throw new UnsupportedOperationException("unwrap");
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return DataSource.class.equals(iface);
+    }
+
+    public Logger getParentLogger() {
+        throw new UnsupportedOperationException("getParentLogger");
+    }
+
+    /**
+     * Returns the connection to the pool instead of closing it.
+     */
+    private class ReturnToPoolHandler implements InvocationHandler {
+        private final Connection connection;
+        private boolean released;
+
+        public ReturnToPoolHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName())) {
+                if (!released) {
+                    released = true;
+                    release(connection);
+                }
+                return null;
+            }
+            if ("isClosed".equals(method.getName()) && released) {
+                return true;
+            }
+            if (released && method.getDeclaringClass() != Object.class) {
+                throw new SQLException("Connection has already been closed");
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.commandline.ConsoleLog.Level;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for ConsoleLog.
+ */
+public class ConsoleLogSmallTest {
+    @Test
+    public void debugParameterized() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleLog log = new ConsoleLog(Level.DEBUG, new PrintStream(bytes));
+        assertTrue(log.isDebugEnabled());
+
+        log.debug("Executing SQL: {}", "SELECT 1");
+
+        assertEquals("DEBUG: Executing SQL: SELECT 1" + System.getProperty("line.separator"), bytes.toString());
+    }
+
+    @Test
+    public void debugDisabled() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleLog log = new ConsoleLog(Level.INFO, new PrintStream(bytes));
+        assertFalse(log.isDebugEnabled());
+
+        log.debug("Executing SQL: {}", new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Message built although debug is disabled");
+            }
+        });
+
+        assertEquals("", bytes.toString());
+    }
+
+    @Test
+    public void asyncAppender() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleLog.AsyncAppender appender = new ConsoleLog.AsyncAppender(new PrintStream(bytes));
+        ConsoleLog log = new ConsoleLog(Level.INFO, appender);
+
+        StringBuilder expected = new StringBuilder();
+        String nl = System.getProperty("line.separator");
+        for (int i = 0; i < 1000; i++) {
+            log.info("Line " + i);
+            expected.append("Line ").append(i).append(nl);
+        }
+        log.warn("Done");
+        expected.append("WARNING: Done").append(nl);
+        appender.flush();
+
+        assertEquals(expected.toString(), bytes.toString());
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.flywaydb.commandline.ConsoleLog.Level;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test for Daemon.
+ */
+public class DaemonSmallTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void requestRoundTrip() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("flyway.url", "jdbc:h2:mem:daemon");
+        DaemonRequest request = new DaemonRequest(Level.WARN, JsonOutput.Format.NDJSON, Arrays.asList("clean", "migrate"), properties);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        request.write(new DataOutputStream(bytes));
+        DaemonRequest read = DaemonRequest.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(Level.WARN, read.getLogLevel());
+        assertEquals(JsonOutput.Format.NDJSON, read.getOutputFormat());
+        assertEquals(Arrays.asList("clean", "migrate"), read.getOperations());
+        assertEquals(properties, read.getProperties());
+    }
+
+    @Test
+    public void requestRoundTripText() throws IOException {
+        DaemonRequest request = new DaemonRequest(Level.INFO, null, Arrays.asList("info"), new Properties());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        request.write(new DataOutputStream(bytes));
+        DaemonRequest read = DaemonRequest.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertNull(read.getOutputFormat());
+    }
+
+    @Test
+    public void fingerprint() throws IOException {
+        File dir = temporaryFolder.newFolder("fingerprint");
+        File migration = new File(dir, "V1__First.sql");
+        write(migration, "CREATE TABLE t (id INT);");
+
+        Properties properties = new Properties();
+        properties.setProperty("flyway.locations", "filesystem:" + dir.getAbsolutePath() + ",db/migration");
+        String fingerprint = Daemon.fingerprint(properties);
+        assertEquals(fingerprint, Daemon.fingerprint(properties));
+
+        write(new File(dir, "V2__Second.sql"), "CREATE TABLE t2 (id INT);");
+        String added = Daemon.fingerprint(properties);
+        assertFalse(fingerprint.equals(added));
+
+        write(migration, "CREATE TABLE t (id BIGINT, name VARCHAR(10));");
+        assertFalse(added.equals(Daemon.fingerprint(properties)));
+    }
+
+    @Test(expected = IOException.class)
+    public void requestTooManyProperties() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(2);
+        out.writeUTF(Level.INFO.name());
+        out.writeUTF("");
+        out.writeInt(1);
+        out.writeUTF("info");
+        out.writeInt(Integer.MAX_VALUE);
+
+        DaemonRequest.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void clientWithoutDaemon() throws IOException {
+        File tokenFile = new File(temporaryFolder.getRoot(), "missing.token");
+        assertEquals(-1, DaemonClient.execute(freePort(), tokenFile, new DaemonRequest(Level.INFO, null, Arrays.asList("info"), new Properties())));
+    }
+
+    @Test
+    public void stop() throws Exception {
+        final int port = freePort();
+        File tokenFile = new File(temporaryFolder.getRoot(), "daemon.token");
+        final Daemon daemon = new Daemon(port, tokenFile, new Properties());
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    daemon.run();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        thread.start();
+
+        int exitCode = -1;
+        for (int i = 0; i < 100 && exitCode < 0; i++) {
+            exitCode = DaemonClient.execute(port, tokenFile, new DaemonRequest(Level.INFO, null, Arrays.asList("invalid"), new Properties()));
+            if (exitCode < 0) {
+                Thread.sleep(50);
+            }
+        }
+        assertEquals(1, exitCode);
+
+        File wrongTokenFile = temporaryFolder.newFile("wrong.token");
+        write(wrongTokenFile, "wrong");
+        try {
+            DaemonClient.execute(port, wrongTokenFile, new DaemonRequest(Level.INFO, null, Arrays.asList(Daemon.STOP), new Properties()));
+            fail();
+        } catch (FlywayException e) {
+            // Expected: the daemon closes the connection without executing anything
+        }
+        assertTrue(thread.isAlive());
+
+        assertEquals(0, DaemonClient.execute(port, tokenFile, new DaemonRequest(Level.INFO, null, Arrays.asList(Daemon.STOP), new Properties())));
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertFalse(tokenFile.exists());
+        Main.initLogging(Level.INFO);
+    }
+
+    @Test
+    public void daemonOnlyProperties() {
+        Properties configuration = new Properties();
+        configuration.setProperty("flyway.callbacks", "com.example.Callback");
+        configuration.setProperty("flyway.url", "jdbc:h2:mem:ignored");
+        Daemon daemon = new Daemon(0, new File(temporaryFolder.getRoot(), "unused.token"), configuration);
+
+        Properties properties = new Properties();
+        properties.setProperty("flyway.url", "jdbc:h2:mem:daemon");
+        Properties merged = daemon.withDaemonProperties(properties);
+        assertEquals("jdbc:h2:mem:daemon", merged.getProperty("flyway.url"));
+        assertEquals("com.example.Callback", merged.getProperty("flyway.callbacks"));
+
+        properties.setProperty("flyway.jarDirs", "/tmp");
+        try {
+            daemon.withDaemonProperties(properties);
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("flyway.jarDirs"));
+        }
+    }
+
+    @Test
+    public void removeDaemonOnlyProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("flyway.url", "jdbc:h2:mem:daemon");
+        properties.setProperty("flyway.resolvers", "com.example.Resolver");
+        Main.removeDaemonOnlyProperties(properties);
+
+        assertEquals(1, properties.size());
+        assertEquals("jdbc:h2:mem:daemon", properties.getProperty("flyway.url"));
+    }
+
+    private static int freePort() throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            return serverSocket.getLocalPort();
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
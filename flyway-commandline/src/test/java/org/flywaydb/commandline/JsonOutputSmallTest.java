@@ -0,0 +1,68 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.commandline;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for JsonOutput.
+ */
+public class JsonOutputSmallTest {
+    @Test
+    public void quote() {
+        assertEquals("\"abc\"", JsonOutput.quote("abc"));
+        assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", JsonOutput.quote("a\"b\\c\nd\u0001"));
+    }
+
+    @Test
+    public void ndjson() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonOutput output = new JsonOutput(new PrintStream(bytes), JsonOutput.Format.NDJSON);
+        output.success("migrate", 12, 3);
+        output.failure(null, "Oops");
+        output.close();
+
+        String nl = System.getProperty("line.separator");
+        assertEquals("{\"type\":\"result\",\"operation\":\"migrate\",\"success\":true,\"executionTime\":12,\"migrationsExecuted\":3}" + nl
+                + "{\"type\":\"result\",\"success\":false,\"error\":\"Oops\"}" + nl, bytes.toString());
+    }
+
+    @Test
+    public void json() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonOutput output = new JsonOutput(new PrintStream(bytes), JsonOutput.Format.JSON);
+        output.success("clean", 1, null);
+        output.success("info", 2, null);
+        output.close();
+
+        String nl = System.getProperty("line.separator");
+        assertEquals("[\n{\"type\":\"result\",\"operation\":\"clean\",\"success\":true,\"executionTime\":1},\n"
+                + "{\"type\":\"result\",\"operation\":\"info\",\"success\":true,\"executionTime\":2}\n]" + nl, bytes.toString());
+    }
+
+    @Test
+    public void jsonEmpty() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new JsonOutput(new PrintStream(bytes), JsonOutput.Format.JSON).close();
+
+        assertEquals("[]" + System.getProperty("line.separator"), bytes.toString());
+    }
+}
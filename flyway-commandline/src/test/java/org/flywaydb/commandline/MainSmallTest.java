@@ -16,13 +16,16 @@
 package org.flywaydb.commandline;
 
 import org.flywaydb.commandline.ConsoleLog.Level;
+import org.flywaydb.core.api.FlywayException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.Properties;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -60,4 +63,30 @@ public class MainSmallTest {
 
         assertEquals("SA", properties.getProperty("flyway.user"));
     }
+
+    @Test
+    public void getOutputFormat() {
+        assertNull(Main.getOutputFormat(new String[]{"info"}));
+        assertNull(Main.getOutputFormat(new String[]{"-outputType=text", "info"}));
+        assertEquals(JsonOutput.Format.JSON, Main.getOutputFormat(new String[]{"-outputType=json", "info"}));
+        assertEquals(JsonOutput.Format.NDJSON, Main.getOutputFormat(new String[]{"-outputType=ndjson", "info"}));
+    }
+
+    @Test(expected = FlywayException.class)
+    public void getOutputFormatInvalid() {
+        Main.getOutputFormat(new String[]{"-outputType=xml", "info"});
+    }
+
+    @Test
+    public void makePathsAbsolute() {
+        Properties properties = new Properties();
+        properties.setProperty("flyway.locations", "filesystem:sql,db/migration");
+        properties.setProperty("flyway.jarDirs", "jars");
+
+        Main.makePathsAbsolute(properties);
+
+        assertEquals("filesystem:" + new File("sql").getAbsolutePath() + ",db/migration",
+                properties.getProperty("flyway.locations"));
+        assertEquals(new File("jars").getAbsolutePath(), properties.getProperty("flyway.jarDirs"));
+    }
 }
@@ -16,13 +16,18 @@
 package org.flywaydb.core;
 
 
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
 
 import javax.sql.DataSource;
 
@@ -30,19 +35,29 @@ import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.progress.ProgressListener;
 import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.api.validation.FlywayValidateException;
+import org.flywaydb.core.api.validation.ValidationError;
+import org.flywaydb.core.api.validation.ValidationReport;
 import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
 import org.flywaydb.core.internal.command.*;
 import org.flywaydb.core.internal.command.DbValidate;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
 import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.SchemaInventory;
 import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
 import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
+import org.flywaydb.core.internal.metadatatable.MetricsMetaDataTable;
+import org.flywaydb.core.internal.progress.ProgressTracker;
 import org.flywaydb.core.internal.resolver.CompositeMigrationResolver;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.Locations;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.VersionPrinter;
@@ -187,6 +202,66 @@ public class Flyway {
      */
     private boolean cleanOnValidationError;
 
+    /**
+     * The maximum number of schemas to validate concurrently in multipleDbMode, each on its own connection.
+     * <p>(default: 1)</p>
+     */
+    private int validationThreads = 1;
+
+    /**
+     * Whether repair should only report the failed migrations it would remove and the checksums it would update,
+     * without changing the metadata table.
+     * <p>(default: false)</p>
+     */
+    private boolean repairDryRun;
+
+    /**
+     * The maximum number of schemas to repair concurrently in multipleDbMode, each on its own connection.
+     * <p>(default: 1)</p>
+     */
+    private int repairThreads = 1;
+
+    /**
+     * The maximum number of prepared statements to keep open for reuse on the metadata table connection, so repeated
+     * metadata table queries reuse the same server-side cursors. 0 to disable.
+     * <p>(default: 0)</p>
+     */
+    private int statementCacheSize;
+
+    /**
+     * Whether to temporarily apply faster session settings during migrate, such as relaxed durability and a larger
+     * page cache on SQLite. The original settings are restored afterwards.
+     * <p>(default: false)</p>
+     */
+    private boolean sessionTuning;
+
+    /**
+     * Whether to reclaim the space freed by clean, leaving a database file as small as a newly created one on SQLite.
+     * <p>(default: false)</p>
+     */
+    private boolean cleanCompact;
+
+    /**
+     * Whether to migrate fresh databases by replaying a snapshot of an earlier migration with the same migrations in
+     * this JVM, instead of applying every migration again. Only supported on H2 and HSQLDB.
+     * <p>(default: false)</p>
+     */
+    private boolean migrateFromSnapshot;
+
+    /**
+     * The maximum number of rows per INSERT statement when merging runs of single-row INSERT statements of sql
+     * migrations into multi-row INSERT statements on PostgreSQL and Redshift. 0 to execute INSERT statements as written.
+     * <p>(default: 0)</p>
+     */
+    private int bulkInsertRows;
+
+    /**
+     * The maximum number of consecutive statements of sql migrations to send to the database in a single request on
+     * Vertica. 0 or 1 to send every statement on its own.
+     * <p>(default: 0)</p>
+     */
+    private int statementsPerRequest;
+
     /**
      * The version to tag an existing schema with when executing baseline. (default: 1)
      */
@@ -222,6 +297,27 @@ public class Flyway {
      */
     private boolean outOfOrder;
 
+    /**
+     * The number of upcoming sql migrations to load and parse on a background thread while the current migration
+     * executes on the database. 0 to parse each migration only when it is applied.
+     * <p>(default: 0)</p>
+     */
+    private int parseAheadDepth;
+
+    /**
+     * The maximum number of consecutive transactional migrations to apply in a single transaction, together with their
+     * callbacks. Only used when not in singleTransactionMode and on databases supporting DDL transactions. 1 to apply
+     * each migration in its own transaction.
+     * <p>(default: 1)</p>
+     */
+    private int groupSize = 1;
+
+    /**
+     * The time (in ms) after which no further migrations are added to the current group. 0 for no limit.
+     * <p>(default: 0)</p>
+     */
+    private long groupTimeBudget;
+
     /**
      * This is a list of callbacks that fire before and after tasks are executed.  You can
      * add as many custom callbacks as you want.
@@ -234,6 +330,25 @@ public class Flyway {
      */
     private MigrationResolver[] resolvers = new MigrationResolver[0];
 
+    /**
+     * The maximum number of migration resolvers to run concurrently. Each location is resolved by its own sql and
+     * java-based resolvers.
+     * <p>(default: 1)</p>
+     */
+    private int resolverThreads = 1;
+
+    /**
+     * The listener to notify of execution metrics such as per-statement timings. {@code null} if none.
+     * <p>(default: none)</p>
+     */
+    private MetricsListener metricsListener;
+
+    /**
+     * The listener to notify of the progress of migrate runs. {@code null} if none.
+     * <p>(default: none)</p>
+     */
+    private ProgressListener progressListener;
+
     /**
      * Whether Flyway created the DataSource.
      */
@@ -560,6 +675,26 @@ public class Flyway {
         return resolvers;
     }
 
+    /**
+     * Retrieves the maximum number of migration resolvers to run concurrently.
+     *
+     * @return The number of resolver threads. (default: 1)
+     */
+    public int getResolverThreads() {
+        return resolverThreads;
+    }
+
+    /**
+     * Sets the maximum number of migration resolvers to run concurrently. This speeds up resolving migrations spread
+     * over many locations. The resolved migrations are the same, in the same order, regardless of this setting.
+     *
+     * @param resolverThreads The number of resolver threads. 1 to run the resolvers one after the other on the calling
+     *                        thread. (default: 1)
+     */
+    public void setResolverThreads(int resolverThreads) {
+        this.resolverThreads = resolverThreads;
+    }
+
     /**
      * Retrieves the dataSource to use to access the database. Must have the necessary privileges to execute ddl.
      *
@@ -618,6 +753,194 @@ public class Flyway {
         this.cleanOnValidationError = cleanOnValidationError;
     }
 
+    /**
+     * Retrieves the maximum number of schemas to validate concurrently in multipleDbMode.
+     *
+     * @return The number of validation threads. (default: 1)
+     */
+    public int getValidationThreads() {
+        return validationThreads;
+    }
+
+    /**
+     * Sets the maximum number of schemas to validate concurrently in multipleDbMode. Each thread uses its own
+     * connection from the DataSource. All schemas are validated against the same resolved migrations, and all
+     * errors of all schemas are reported together.
+     *
+     * @param validationThreads The number of validation threads. 1 to validate the schemas one after the other on the
+     *                          main connection. (default: 1)
+     */
+    public void setValidationThreads(int validationThreads) {
+        this.validationThreads = validationThreads;
+    }
+
+    /**
+     * Checks whether repair only reports what it would do, without changing the metadata table.
+     *
+     * @return {@code true} for a dry run. {@code false} to repair. (default: {@code false})
+     */
+    public boolean isRepairDryRun() {
+        return repairDryRun;
+    }
+
+    /**
+     * Sets whether repair only reports the failed migrations it would remove and the checksums it would update,
+     * without changing the metadata table.
+     *
+     * @param repairDryRun {@code true} for a dry run. {@code false} to repair. (default: {@code false})
+     */
+    public void setRepairDryRun(boolean repairDryRun) {
+        this.repairDryRun = repairDryRun;
+    }
+
+    /**
+     * Retrieves the maximum number of schemas to repair concurrently in multipleDbMode.
+     *
+     * @return The number of repair threads. (default: 1)
+     */
+    public int getRepairThreads() {
+        return repairThreads;
+    }
+
+    /**
+     * Sets the maximum number of schemas to repair concurrently in multipleDbMode. Each thread uses its own
+     * connection from the DataSource, and all schemas are repaired against the same resolved migrations.
+     *
+     * @param repairThreads The number of repair threads. 1 to repair the schemas one after the other on the main
+     *                      connection. (default: 1)
+     */
+    public void setRepairThreads(int repairThreads) {
+        this.repairThreads = repairThreads;
+    }
+
+    /**
+     * Retrieves the maximum number of prepared statements to keep open for reuse on the metadata table connection.
+     *
+     * @return The statement cache size. 0 if disabled. (default: 0)
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements to keep open for reuse on the metadata table connection. Repeated
+     * metadata table queries then reuse the same server-side cursors instead of being parsed again, which matters most
+     * on databases with expensive hard parses like Oracle and DB2. The statements are closed at the end of each
+     * command, and whenever cleanOnValidationError cleans the schemas.
+     *
+     * @param statementCacheSize The statement cache size. 0 to prepare every statement anew. (default: 0)
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Checks whether faster session settings are temporarily applied during migrate.
+     *
+     * @return {@code true} if the session is tuned during migrate. (default: {@code false})
+     */
+    public boolean isSessionTuning() {
+        return sessionTuning;
+    }
+
+    /**
+     * Sets whether to temporarily apply faster session settings during migrate. On SQLite this switches to
+     * {@code journal_mode=WAL} and {@code synchronous=NORMAL} with a larger {@code cache_size}, so statements no longer
+     * wait for a sync to disk each. The original settings are restored once migrate completes. Databases without such
+     * settings are left unchanged.
+     *
+     * @param sessionTuning {@code true} to tune the session during migrate. (default: {@code false})
+     */
+    public void setSessionTuning(boolean sessionTuning) {
+        this.sessionTuning = sessionTuning;
+    }
+
+    /**
+     * Checks whether the space freed by clean is reclaimed.
+     *
+     * @return {@code true} if clean compacts the database. (default: {@code false})
+     */
+    public boolean isCleanCompact() {
+        return cleanCompact;
+    }
+
+    /**
+     * Sets whether to reclaim the space freed by clean. On SQLite the database file is rebuilt with {@code VACUUM}
+     * once all objects are dropped, leaving it as small as a newly created database. Databases without such a
+     * command are left unchanged.
+     *
+     * @param cleanCompact {@code true} to compact the database after clean. (default: {@code false})
+     */
+    public void setCleanCompact(boolean cleanCompact) {
+        this.cleanCompact = cleanCompact;
+    }
+
+    /**
+     * Checks whether fresh databases are migrated by replaying a snapshot of an earlier migration.
+     *
+     * @return {@code true} if snapshots are used. (default: {@code false})
+     */
+    public boolean isMigrateFromSnapshot() {
+        return migrateFromSnapshot;
+    }
+
+    /**
+     * Sets whether to migrate fresh databases by replaying a snapshot of an earlier migration with the same migrations
+     * in this JVM, instead of applying every migration again. This is meant for test suites creating many in-memory
+     * databases. The first fresh database is migrated normally and its schemas, including the metadata table, are
+     * captured with {@code SCRIPT}. Every further fresh database is restored from that capture, leaving an identical
+     * metadata table that validates. Neither validation nor callbacks run while restoring. Databases that are not
+     * fresh, or not H2 or HSQLDB, are migrated normally.
+     *
+     * @param migrateFromSnapshot {@code true} to use snapshots. (default: {@code false})
+     */
+    public void setMigrateFromSnapshot(boolean migrateFromSnapshot) {
+        this.migrateFromSnapshot = migrateFromSnapshot;
+    }
+
+    /**
+     * Retrieves the maximum number of rows per merged multi-row INSERT statement.
+     *
+     * @return The maximum number of rows. 0 if INSERT statements are executed as written. (default: 0)
+     */
+    public int getBulkInsertRows() {
+        return bulkInsertRows;
+    }
+
+    /**
+     * Sets the maximum number of rows per merged multi-row INSERT statement. Runs of single-row INSERT statements into
+     * the same table and columns in sql migrations are then merged into multi-row INSERT statements on PostgreSQL and
+     * Redshift, which cuts the round trips of seed data migrations to one per batch of rows. On Redshift this also
+     * sets the rows per INSERT statement replacing the inline data of COPY ... FROM STDIN statements (1000 if 0).
+     *
+     * @param bulkInsertRows The maximum number of rows. 0 to execute INSERT statements as written. (default: 0)
+     */
+    public void setBulkInsertRows(int bulkInsertRows) {
+        this.bulkInsertRows = bulkInsertRows;
+    }
+
+    /**
+     * Retrieves the maximum number of consecutive statements sent to the database in a single request.
+     *
+     * @return The maximum number of statements. 0 or 1 if every statement is sent on its own. (default: 0)
+     */
+    public int getStatementsPerRequest() {
+        return statementsPerRequest;
+    }
+
+    /**
+     * Sets the maximum number of consecutive statements of sql migrations to send to the database in a single request.
+     * Only used on Vertica, where each request carries a high fixed cost. COPY ... FROM STDIN statements and
+     * statements with BEGIN ... END blocks are always sent on their own. When a request fails, the error reports the
+     * line of its first statement and the sql of the whole request, as the database doesn't say which statement failed.
+     *
+     * @param statementsPerRequest The maximum number of statements. 0 or 1 to send every statement on its own.
+     *                             (default: 0)
+     */
+    public void setStatementsPerRequest(int statementsPerRequest) {
+        this.statementsPerRequest = statementsPerRequest;
+    }
+
     /**
      * Sets the locations to scan recursively for migrations.
      * <p/>
@@ -964,6 +1287,70 @@ public class Flyway {
         this.outOfOrder = outOfOrder;
     }
 
+    /**
+     * Retrieves the number of upcoming sql migrations to load and parse on a background thread while the current
+     * migration executes on the database.
+     *
+     * @return The parse-ahead depth. 0 if each migration is only parsed when it is applied. (default: 0)
+     */
+    public int getParseAheadDepth() {
+        return parseAheadDepth;
+    }
+
+    /**
+     * Sets the number of upcoming sql migrations to load and parse on a background thread while the current
+     * migration executes on the database. This takes the parsing of large scripts off the critical path, at the
+     * cost of holding up to this many parsed scripts in memory.
+     *
+     * @param parseAheadDepth The parse-ahead depth. 0 to parse each migration only when it is applied. (default: 0)
+     */
+    public void setParseAheadDepth(int parseAheadDepth) {
+        this.parseAheadDepth = parseAheadDepth;
+    }
+
+    /**
+     * Retrieves the maximum number of consecutive transactional migrations to apply in a single transaction.
+     *
+     * @return The group size. 1 if each migration is applied in its own transaction. (default: 1)
+     */
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    /**
+     * Sets the maximum number of consecutive transactional migrations to apply in a single transaction, together with
+     * their callbacks. This saves a commit per migration and per callback, which adds up quickly for large numbers of
+     * small migrations on databases with a high commit latency. If a group fails, it is rolled back and its
+     * migrations are applied again one by one, so the failing migration is reported precisely. As when applying
+     * migrations one by one, the metadata table rows of a migration run are rolled back when one of its migrations
+     * fails, while the migrations committed before the failure remain applied. Grouping is only used when not in
+     * singleTransactionMode and on databases supporting DDL transactions.
+     *
+     * @param groupSize The group size. 1 to apply each migration in its own transaction. (default: 1)
+     */
+    public void setGroupSize(int groupSize) {
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * Retrieves the time after which no further migrations are added to the current group.
+     *
+     * @return The time budget of a group (in ms). 0 for no limit. (default: 0)
+     */
+    public long getGroupTimeBudget() {
+        return groupTimeBudget;
+    }
+
+    /**
+     * Sets the time after which no further migrations are added to the current group, even if it hasn't reached
+     * the group size yet. This bounds the amount of work lost when a group must be rolled back.
+     *
+     * @param groupTimeBudget The time budget of a group (in ms). 0 for no limit. (default: 0)
+     */
+    public void setGroupTimeBudget(long groupTimeBudget) {
+        this.groupTimeBudget = groupTimeBudget;
+    }
+
     /**
      * Gets the callbacks for lifecycle notifications.
      *
@@ -1005,6 +1392,75 @@ public class Flyway {
         this.callbacks = callbackList.toArray(new FlywayCallback[callbacks.length]);
     }
 
+    /**
+     * Retrieves the listener to notify of execution metrics such as per-statement timings.
+     *
+     * @return The listener to notify of execution metrics. {@code null} if none. (default: none)
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Sets the listener to notify of execution metrics such as per-statement timings. Nothing is measured when no
+     * listener is set.
+     *
+     * @param metricsListener The listener to notify of execution metrics. {@code null} for none. (default: none)
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Sets the listener to notify of execution metrics such as per-statement timings. Nothing is measured when no
+     * listener is set.
+     *
+     * @param metricsListener The fully qualified class name of the listener to notify of execution metrics.
+     *                        (default: none)
+     */
+    public void setMetricsListenerAsClassName(String metricsListener) {
+        try {
+            this.metricsListener = ClassUtils.instantiate(metricsListener, classLoader);
+        } catch (Exception e) {
+            throw new FlywayException("Unable to instantiate class: " + metricsListener, e);
+        }
+    }
+
+    /**
+     * Retrieves the listener to notify of the progress of migrate runs.
+     *
+     * @return The listener to notify of the progress of migrate runs. {@code null} if none. (default: none)
+     */
+    public ProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Sets the listener to notify of the progress of migrate runs. Use
+     * {@link org.flywaydb.core.api.progress.LogProgressListener} or
+     * {@link org.flywaydb.core.api.progress.ConsoleProgressListener} for the built-in reporters.
+     *
+     * @param progressListener The listener to notify of the progress of migrate runs. {@code null} for none.
+     *                         (default: none)
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Sets the listener to notify of the progress of migrate runs.
+     *
+     * @param progressListener The fully qualified class name of the listener to notify of the progress of migrate
+     *                         runs. (default: none)
+     */
+    public void setProgressListenerAsClassName(String progressListener) {
+        try {
+            this.progressListener = ClassUtils.instantiate(progressListener, classLoader);
+        } catch (Exception e) {
+            throw new FlywayException("Unable to instantiate class: " + progressListener, e);
+        }
+    }
+
     /**
      * Sets custom MigrationResolvers to be used in addition to the built-in ones for resolving Migrations to apply.
      *
@@ -1049,6 +1505,22 @@ public class Flyway {
         return execute(new Command<Integer>() {
 
             public Integer execute( final Connection connectionMetaDataTable, final Connection connectionUserObjects, final DbSupport dbSupport, final Schema[] schemas) {
+                final ProgressTracker progressTracker =
+                        progressListener == null ? null : new ProgressTracker(progressListener);
+
+                // Resolved once and shared by all schemas
+                final MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
+
+                final DbSnapshot dbSnapshot = (migrateFromSnapshot && !isRollbackOnSuccess())
+                        ? new DbSnapshot(connectionMetaDataTable, dbSupport, schemas, createSnapshotKey(dbSupport, migrationResolver))
+                        : null;
+                if (dbSnapshot != null) {
+                    Integer restored = dbSnapshot.restore(true);
+                    if (restored != null) {
+                        return restored;
+                    }
+                }
+
                 final Integer success = new TransactionTemplate(connectionMetaDataTable, true, false).execute(new TransactionCallback<Integer>() {
                     public Integer doInTransaction() {
                         int successful = 0;
@@ -1062,26 +1534,29 @@ public class Flyway {
 
                         boolean commitOnSuccess = !singleTransactionMode;
 
+                        if(validateOnMigrate) {
+                            doValidate(connectionMetaDataTable, connectionUserObjects, dbSupport, migrationResolver, schemas, true, commitOnSuccess);
+                        }
+
+                        // Looked up in bulk once, instead of per schema on every iteration
+                        SchemaInventory schemaInventory = new SchemaInventory(dbSupport, schemas);
+
                         for(Schema schema : schemas) {
 
-                            MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport,schema.getTable(table));
-                            MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
-                            if(validateOnMigrate) {
-                                doValidate(connectionMetaDataTable,connectionUserObjects,migrationResolver,metaDataTable, schemas,true, commitOnSuccess);
-                            }
+                            MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schema);
 
-                            new DbSchemas(connectionMetaDataTable, schemas, metaDataTable).create(commitOnSuccess);
+                            new DbSchemas(connectionMetaDataTable, schemas, metaDataTable, schemaInventory).create(commitOnSuccess);
 
                             if(!metaDataTable.hasSchemasMarker() && !metaDataTable.hasBaselineMarker() && !metaDataTable.hasAppliedMigrations()) {
                                 List<Schema> nonEmptySchemas = new ArrayList<Schema>();
 
-                                if(!schema.empty()) {
+                                if(!schemaInventory.empty(schema)) {
                                     nonEmptySchemas.add(schema);
                                 }
 
                                 if(!multipleDbMode) {
                                     for(int i=1,l=schemas.length;i<l;++i) {
-                                        if(!schema.empty()) {
+                                        if(!schemaInventory.empty(schemas[i])) {
                                             nonEmptySchemas.add(schemas[i]);
                                         }
                                     }
@@ -1116,7 +1591,8 @@ public class Flyway {
                             }
 
                             DbMigrate dbMigrate = new DbMigrate(connectionMetaDataTable,connectionUserObjects,dbSupport,metaDataTable,
-                                    schema, migrationResolver, target, ignoreFailedFutureMigration, outOfOrder, callbacks);
+                                    schema, migrationResolver, target, ignoreFailedFutureMigration, outOfOrder, callbacks,
+                                    progressTracker, parseAheadDepth, groupSize, groupTimeBudget);
 
                             try {
                                 if(multipleDbMode) {
@@ -1146,11 +1622,80 @@ public class Flyway {
                                 e.printStackTrace();
                             }
                         }
+                        if(dbSnapshot != null) {
+                            dbSnapshot.take(success);
+                        }
                         return success;
                     }
                 });
             }
-        });
+        }, sessionTuning);
+    }
+
+    /**
+     * Describes the database, the configuration and the migrations to apply, so a snapshot is only restored for
+     * exactly the migrations it was taken with.
+     *
+     * @param dbSupport         The database-specific support.
+     * @param migrationResolver The migration resolver.
+     * @return The snapshot key.
+     */
+    private String createSnapshotKey(DbSupport dbSupport, MigrationResolver migrationResolver) {
+        StringBuilder key = new StringBuilder(dbSupport.getDbName());
+        key.append('|').append(StringUtils.arrayToCommaDelimitedString(schemaNames));
+        key.append('|').append(table).append('|').append(target).append('|').append(outOfOrder);
+        key.append('|').append(multipleDbMode);
+        if (placeholderReplacement) {
+            key.append('|').append(placeholderPrefix).append(placeholderSuffix);
+            key.append(new TreeMap<String, String>(placeholders));
+        }
+        for (ResolvedMigration migration : migrationResolver.resolveMigrations()) {
+            key.append('|').append(migration.getVersion()).append(' ').append(migration.getType());
+            key.append(' ').append(migration.getScript()).append(' ').append(migration.getChecksum());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Applies the faster migrate session settings of this database.
+     *
+     * @param dbSupport The database-specific support for the connection to tune.
+     * @return The original values of the settings that were changed.
+     */
+    private Map<String, String> applyMigrateSettings(DbSupport dbSupport) {
+        try {
+            return dbSupport.applyMigrateSettings();
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to apply the migrate session settings", e);
+        }
+    }
+
+    /**
+     * Restores the original session settings. A failure is only logged, so it doesn't hide the outcome of migrate.
+     *
+     * @param dbSupport        The database-specific support for the tuned connection.
+     * @param originalSettings The original values of the settings that were changed.
+     */
+    private void restoreMigrateSettings(DbSupport dbSupport, Map<String, String> originalSettings) {
+        try {
+            dbSupport.restoreMigrateSettings(originalSettings);
+        } catch (SQLException e) {
+            LOG.warn("Unable to restore the original session settings " + originalSettings + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reclaims the space freed by clean.
+     *
+     * @param dbSupport The database-specific support.
+     * @throws FlywayException when the database could not be compacted.
+     */
+    private void compact(DbSupport dbSupport) {
+        try {
+            dbSupport.compact();
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to compact the database after clean", e);
+        }
     }
 
     /**
@@ -1162,10 +1707,9 @@ public class Flyway {
     public void validate() throws FlywayException {
         execute(new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport, Schema[] schemas) {
-                MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schemas[0].getTable(table));
                 MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
 
-                doValidate(connectionMetaDataTable, connectionUserObjects, migrationResolver, metaDataTable, schemas,
+                doValidate(connectionMetaDataTable, connectionUserObjects, dbSupport, migrationResolver, schemas,
                         false, true);
                 return null;
             }
@@ -1173,30 +1717,117 @@ public class Flyway {
     }
 
     /**
-     * Performs the actual validation. All set up must have taken place beforehand.
+     * Performs the actual validation. All set up must have taken place beforehand. In multipleDbMode every schema is
+     * validated against its own metadata table, otherwise only the metadata table in the first schema is validated.
      *
      * @param connectionMetaDataTable The database connection for the metadata table.
      * @param connectionUserObjects   The database connection for the data.
-     * @param migrationResolver       The migration resolver;
-     * @param metaDataTable           The metadata table.
+     * @param dbSupport               The database-specific support for the metadata table connection.
+     * @param migrationResolver       The migration resolver, shared by all schemas.
      * @param schemas                 The schemas managed by Flyway.
      * @param pendingOrFuture         Whether pending or future migrations are ok.
-     */
-    private void doValidate(Connection connectionMetaDataTable, Connection connectionUserObjects, MigrationResolver migrationResolver,
-                            MetaDataTable metaDataTable, Schema[] schemas, boolean pendingOrFuture, boolean commitOnSuccess) {
-        String validationError =
-                new DbValidate(connectionMetaDataTable, connectionUserObjects, metaDataTable, migrationResolver,
-                        target, outOfOrder, pendingOrFuture, callbacks).validate(commitOnSuccess);
+     * @throws FlywayValidateException when the validation failed, with all errors of all schemas.
+     */
+    private void doValidate(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport,
+                            MigrationResolver migrationResolver, Schema[] schemas, boolean pendingOrFuture,
+                            boolean commitOnSuccess) {
+        Schema[] validatedSchemas = multipleDbMode ? schemas : new Schema[]{schemas[0]};
+
+        // Resolve before validating, so all schemas (and threads) share the same resolved migrations
+        migrationResolver.resolveMigrations();
+
+        ValidationReport report;
+        if ((validationThreads > 1) && (validatedSchemas.length > 1)) {
+            invokeValidateCallbacks(connectionUserObjects, commitOnSuccess, true);
+            report = validateInParallel(migrationResolver, validatedSchemas, pendingOrFuture);
+            invokeValidateCallbacks(connectionUserObjects, commitOnSuccess, false);
+        } else {
+            report = new ValidationReport();
+            for (Schema schema : validatedSchemas) {
+                MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schema);
+                report.add(schema.toString(),
+                        new DbValidate(connectionMetaDataTable, connectionUserObjects, metaDataTable, migrationResolver,
+                                target, outOfOrder, pendingOrFuture, callbacks).validateAll(commitOnSuccess));
+            }
+        }
 
-        if (validationError != null) {
+        if (!report.isValid()) {
             if (cleanOnValidationError) {
+                // Errors are reported per schema, but any of them cleans all schemas
+                MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schemas[0]);
                 new DbClean(connectionMetaDataTable, metaDataTable, schemas, callbacks).clean(commitOnSuccess);
+                // The metadata table is recreated by the rest of the command, so cached statements would be stale
+                dbSupport.getJdbcTemplate().closeStatements();
             } else {
-                throw new FlywayException("Validate failed. " + validationError);
+                throw new FlywayValidateException(report);
             }
         }
     }
 
+    /**
+     * Invokes the validate callbacks once for a parallel validation of all schemas.
+     *
+     * @param connectionUserObjects The database connection for the data.
+     * @param before                {@code true} for beforeValidate, {@code false} for afterValidate.
+     */
+    private void invokeValidateCallbacks(final Connection connectionUserObjects, boolean commitOnSuccess,
+                                         final boolean before) {
+        for (final FlywayCallback callback : callbacks) {
+            new TransactionTemplate(connectionUserObjects, true, commitOnSuccess).execute(new TransactionCallback<Object>() {
+                @Override
+                public Object doInTransaction() throws SQLException {
+                    if (before) {
+                        callback.beforeValidate(connectionUserObjects);
+                    } else {
+                        callback.afterValidate(connectionUserObjects);
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Validates these schemas concurrently, each on its own connection. The first unexpected failure cancels the
+     * validation of the remaining schemas. Callbacks are not invoked for the individual schemas, as they may not be
+     * thread-safe. They are invoked once on the main connection instead.
+     *
+     * @param migrationResolver The migration resolver, shared by all schemas. Must already have resolved its migrations.
+     * @param schemas           The schemas to validate.
+     * @param pendingOrFuture   Whether pending or future migrations are ok.
+     * @return The report of all validation errors.
+     */
+    private ValidationReport validateInParallel(final MigrationResolver migrationResolver, Schema[] schemas,
+                                                final boolean pendingOrFuture) {
+        List<Callable<List<ValidationError>>> tasks = new ArrayList<Callable<List<ValidationError>>>();
+        for (final Schema schema : schemas) {
+            tasks.add(new Callable<List<ValidationError>>() {
+                @Override
+                public List<ValidationError> call() {
+                    Connection connection = JdbcUtils.openConnection(dataSource);
+                    try {
+                        DbSupport workerDbSupport = DbSupportFactory.createDbSupport(connection, false);
+                        MetaDataTable metaDataTable =
+                                createMetaDataTable(workerDbSupport, workerDbSupport.getSchema(schema.getName()));
+                        return new DbValidate(connection, connection, metaDataTable, migrationResolver, target,
+                                outOfOrder, pendingOrFuture, new FlywayCallback[0]).validateAll(true);
+                    } finally {
+                        JdbcUtils.closeConnection(connection);
+                    }
+                }
+            });
+        }
+        List<List<ValidationError>> errors =
+                ParallelUtils.invokeAll("flyway-validate", validationThreads, tasks, "validating");
+
+        // Report the schemas in the configured order, regardless of which thread finished first
+        ValidationReport report = new ValidationReport();
+        for (int i = 0; i < schemas.length; i++) {
+            report.add(schemas[i].toString(), errors.get(i));
+        }
+        return report;
+    }
+
     /**
      * <p>Drops all objects (tables, views, procedures, triggers, ...) in the configured schemas.
      * The schemas are cleaned in the order specified by the {@code schemas} property.</p>
@@ -1207,9 +1838,11 @@ public class Flyway {
     public void clean() {
         execute(new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport, Schema[] schemas) {
-                MetaDataTableImpl metaDataTable =
-                        new MetaDataTableImpl(dbSupport, schemas[0].getTable(table));
+                MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schemas[0]);
                 new DbClean(connectionMetaDataTable, metaDataTable, schemas, callbacks).clean(true);
+                if (cleanCompact) {
+                    compact(dbSupport);
+                }
                 return null;
             }
         });
@@ -1231,7 +1864,7 @@ public class Flyway {
                 }
 
                 MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
-                MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schemas[0].getTable(table));
+                MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schemas[0]);
 
                 MigrationInfoServiceImpl migrationInfoService =
                         new MigrationInfoServiceImpl(migrationResolver, metaDataTable, target, outOfOrder, true);
@@ -1246,6 +1879,62 @@ public class Flyway {
         });
     }
 
+    /**
+     * Retrieves the complete information about all the migrations of every schema. In multipleDbMode each schema has its
+     * own metadata table, otherwise the result only contains the first schema, just like {@link #info()}. The available
+     * migrations are only resolved once and shared by all schemas.
+     *
+     * @return The migrations of each schema, by schema name, in the order the schemas were configured.
+     * @throws FlywayException when the info retrieval failed.
+     */
+    public Map<String, MigrationInfoService> infoBySchema() {
+        return execute(new Command<Map<String, MigrationInfoService>>() {
+            public Map<String, MigrationInfoService> execute(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport, Schema[] schemas) {
+                for (FlywayCallback callback : getCallbacks()) {
+                    callback.beforeInfo(connectionUserObjects);
+                }
+
+                MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
+                Schema[] infoSchemas = multipleDbMode ? schemas : new Schema[]{schemas[0]};
+
+                Map<String, MigrationInfoService> migrationInfoServices = new LinkedHashMap<String, MigrationInfoService>();
+                for (Schema schema : infoSchemas) {
+                    MigrationInfoServiceImpl migrationInfoService = new MigrationInfoServiceImpl(migrationResolver,
+                            createMetaDataTable(dbSupport, schema), target, outOfOrder, true);
+                    migrationInfoService.refresh();
+                    migrationInfoServices.put(schema.getName(), migrationInfoService);
+                }
+
+                for (FlywayCallback callback : getCallbacks()) {
+                    callback.afterInfo(connectionUserObjects);
+                }
+
+                return migrationInfoServices;
+            }
+        });
+    }
+
+    /**
+     * Computes a checksum of all available migrations, based on their versions, descriptions, types, scripts and
+     * checksums. It changes whenever a migration is added, removed or modified. This does not connect to the database.
+     *
+     * @return The checksum.
+     * @throws FlywayException when the available migrations could not be resolved.
+     */
+    public long computeMigrationsChecksum() {
+        // Resolving doesn't need the database, only executing does
+        MigrationResolver migrationResolver = createMigrationResolver(null);
+
+        CRC32 crc32 = new CRC32();
+        for (ResolvedMigration resolvedMigration : migrationResolver.resolveMigrations()) {
+            String migration = resolvedMigration.getVersion() + "|" + resolvedMigration.getDescription() + "|"
+                    + resolvedMigration.getType() + "|" + resolvedMigration.getScript() + "|"
+                    + resolvedMigration.getChecksum() + "\n";
+            crc32.update(migration.getBytes(Charset.forName("UTF-8")));
+        }
+        return crc32.getValue();
+    }
+
     /**
      * Baselines an existing database, excluding all migrations up to and including baselineVersion.
      *
@@ -1270,7 +1959,7 @@ public class Flyway {
         {
             public Void execute(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport, Schema[] schemas)
             {
-                MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schemas[0].getTable(table));
+                MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schemas[0]);
                 new DbSchemas(connectionMetaDataTable, schemas, metaDataTable).create(true);
                 new DbBaseline(connectionMetaDataTable, metaDataTable, baselineVersion, baselineDescription, callbacks).baseline(true);
                 return null;
@@ -1284,6 +1973,7 @@ public class Flyway {
      * <li>Remove any failed migrations on databases without DDL transactions (User objects left behind must still be cleaned up manually)</li>
      * <li>Correct wrong checksums</li>
      * </ul>
+     * In multipleDbMode the metadata table of every schema is repaired. In a dry run the actions are only reported.
      * <img src="http://flywaydb.org/assets/balsamiq/command-repair.png" alt="repair">
      *
      * @throws FlywayException when the metadata table repair failed.
@@ -1294,23 +1984,107 @@ public class Flyway {
             public Void execute(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport, Schema[] schemas)
             {
                 MigrationResolver migrationResolver = createMigrationResolver(dbSupport);
-                MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schemas[0].getTable(table));
-                new DbRepair(dbSupport, connectionMetaDataTable, migrationResolver, metaDataTable, callbacks).repair(true);
+                Schema[] repairedSchemas = multipleDbMode ? schemas : new Schema[]{schemas[0]};
+
+                if ((repairThreads > 1) && (repairedSchemas.length > 1)) {
+                    // Resolve before repairing, so all threads share the same resolved migrations
+                    migrationResolver.resolveMigrations();
+                    invokeRepairCallbacks(connectionMetaDataTable, true);
+                    repairInParallel(migrationResolver, repairedSchemas);
+                    invokeRepairCallbacks(connectionMetaDataTable, false);
+                } else {
+                    for (Schema schema : repairedSchemas) {
+                        MetaDataTable metaDataTable = createMetaDataTable(dbSupport, schema);
+                        new DbRepair(dbSupport, connectionMetaDataTable, migrationResolver, metaDataTable, callbacks,
+                                repairDryRun).repair(true);
+                    }
+                }
                 return null;
             }
         });
     }
 
     /**
-     * Creates the MigrationResolver.
+     * Invokes the repair callbacks once for a parallel repair of all schemas.
+     *
+     * @param connection The database connection for the metadata table.
+     * @param before     {@code true} for beforeRepair, {@code false} for afterRepair.
+     */
+    private void invokeRepairCallbacks(final Connection connection, final boolean before) {
+        if (repairDryRun) {
+            return;
+        }
+        for (final FlywayCallback callback : callbacks) {
+            new TransactionTemplate(connection, true, true).execute(new TransactionCallback<Object>() {
+                @Override
+                public Object doInTransaction() throws SQLException {
+                    if (before) {
+                        callback.beforeRepair(connection);
+                    } else {
+                        callback.afterRepair(connection);
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Repairs the metadata tables of these schemas concurrently, each on its own connection. The first failure cancels
+     * the repair of the remaining schemas. Callbacks are not invoked for the individual schemas, as they may not be
+     * thread-safe. They are invoked once on the main connection instead.
+     *
+     * @param migrationResolver The migration resolver, shared by all schemas. Must already have resolved its migrations.
+     * @param schemas           The schemas to repair.
+     */
+    private void repairInParallel(final MigrationResolver migrationResolver, Schema[] schemas) {
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (final Schema schema : schemas) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Connection connection = JdbcUtils.openConnection(dataSource);
+                    try {
+                        DbSupport workerDbSupport = DbSupportFactory.createDbSupport(connection, false);
+                        MetaDataTable metaDataTable =
+                                createMetaDataTable(workerDbSupport, workerDbSupport.getSchema(schema.getName()));
+                        new DbRepair(workerDbSupport, connection, migrationResolver, metaDataTable,
+                                new FlywayCallback[0], repairDryRun).repair(true);
+                        return null;
+                    } finally {
+                        JdbcUtils.closeConnection(connection);
+                    }
+                }
+            });
+        }
+        ParallelUtils.invokeAll("flyway-repair", repairThreads, tasks, "repairing");
+    }
+
+    /**
+     * Creates the metadata table support for the metadata table in this schema.
      *
      * @param dbSupport The database-specific support.
+     * @param schema    The schema containing the metadata table.
+     * @return A new metadata table support instance, reporting metrics if a listener has been configured.
+     */
+    private MetaDataTable createMetaDataTable(DbSupport dbSupport, Schema schema) {
+        MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schema.getTable(table));
+        if (metricsListener != null) {
+            return new MetricsMetaDataTable(metaDataTable, dbSupport.getJdbcTemplate(), metricsListener);
+        }
+        return metaDataTable;
+    }
+
+    /**
+     * Creates the MigrationResolver.
+     *
+     * @param dbSupport The database-specific support. {@code null} if the resolved migrations will never be executed.
      * @return A new, fully configured, MigrationResolver instance.
      */
     private MigrationResolver createMigrationResolver(DbSupport dbSupport) {
         return new CompositeMigrationResolver(dbSupport, classLoader, locations,
                 encoding, sqlMigrationPrefix, sqlMigrationSeparator, sqlMigrationSuffix, createPlaceholderReplacer(),
-                resolvers);
+                resolverThreads, resolvers);
     }
 
     /**
@@ -1397,6 +2171,42 @@ public class Flyway {
         if (cleanOnValidationErrorProp != null) {
             setCleanOnValidationError(Boolean.parseBoolean(cleanOnValidationErrorProp));
         }
+        String validationThreadsProp = properties.getProperty("flyway.validationThreads");
+        if (validationThreadsProp != null) {
+            setValidationThreads(Integer.parseInt(validationThreadsProp));
+        }
+        String repairDryRunProp = properties.getProperty("flyway.repairDryRun");
+        if (repairDryRunProp != null) {
+            setRepairDryRun(Boolean.parseBoolean(repairDryRunProp));
+        }
+        String repairThreadsProp = properties.getProperty("flyway.repairThreads");
+        if (repairThreadsProp != null) {
+            setRepairThreads(Integer.parseInt(repairThreadsProp));
+        }
+        String statementCacheSizeProp = properties.getProperty("flyway.statementCacheSize");
+        if (statementCacheSizeProp != null) {
+            setStatementCacheSize(Integer.parseInt(statementCacheSizeProp));
+        }
+        String sessionTuningProp = properties.getProperty("flyway.sessionTuning");
+        if (sessionTuningProp != null) {
+            setSessionTuning(Boolean.parseBoolean(sessionTuningProp));
+        }
+        String cleanCompactProp = properties.getProperty("flyway.cleanCompact");
+        if (cleanCompactProp != null) {
+            setCleanCompact(Boolean.parseBoolean(cleanCompactProp));
+        }
+        String migrateFromSnapshotProp = properties.getProperty("flyway.migrateFromSnapshot");
+        if (migrateFromSnapshotProp != null) {
+            setMigrateFromSnapshot(Boolean.parseBoolean(migrateFromSnapshotProp));
+        }
+        String bulkInsertRowsProp = properties.getProperty("flyway.bulkInsertRows");
+        if (bulkInsertRowsProp != null) {
+            setBulkInsertRows(Integer.parseInt(bulkInsertRowsProp));
+        }
+        String statementsPerRequestProp = properties.getProperty("flyway.statementsPerRequest");
+        if (statementsPerRequestProp != null) {
+            setStatementsPerRequest(Integer.parseInt(statementsPerRequestProp));
+        }
         String validateOnMigrateProp = properties.getProperty("flyway.validateOnMigrate");
         if (validateOnMigrateProp != null) {
             setValidateOnMigrate(Boolean.parseBoolean(validateOnMigrateProp));
@@ -1444,14 +2254,38 @@ public class Flyway {
         if (outOfOrderProp != null) {
             setOutOfOrder(Boolean.parseBoolean(outOfOrderProp));
         }
+        String parseAheadDepthProp = properties.getProperty("flyway.parseAheadDepth");
+        if (parseAheadDepthProp != null) {
+            setParseAheadDepth(Integer.parseInt(parseAheadDepthProp));
+        }
+        String groupSizeProp = properties.getProperty("flyway.groupSize");
+        if (groupSizeProp != null) {
+            setGroupSize(Integer.parseInt(groupSizeProp));
+        }
+        String groupTimeBudgetProp = properties.getProperty("flyway.groupTimeBudget");
+        if (groupTimeBudgetProp != null) {
+            setGroupTimeBudget(Long.parseLong(groupTimeBudgetProp));
+        }
         String resolversProp = properties.getProperty("flyway.resolvers");
         if (StringUtils.hasLength(resolversProp)) {
             setResolversAsClassNames(StringUtils.tokenizeToStringArray(resolversProp, ","));
         }
+        String resolverThreadsProp = properties.getProperty("flyway.resolverThreads");
+        if (resolverThreadsProp != null) {
+            setResolverThreads(Integer.parseInt(resolverThreadsProp));
+        }
         String callbacksProp = properties.getProperty("flyway.callbacks");
         if (StringUtils.hasLength(callbacksProp)) {
             setCallbacksAsClassNames(StringUtils.tokenizeToStringArray(callbacksProp, ","));
         }
+        String metricsListenerProp = properties.getProperty("flyway.metricsListener");
+        if (StringUtils.hasLength(metricsListenerProp)) {
+            setMetricsListenerAsClassName(metricsListenerProp.trim());
+        }
+        String progressListenerProp = properties.getProperty("flyway.progressListener");
+        if (StringUtils.hasLength(progressListenerProp)) {
+            setProgressListenerAsClassName(progressListenerProp.trim());
+        }
 
         Map<String, String> placeholdersFromProps = new HashMap<String, String>(placeholders);
         for (Object property : properties.keySet()) {
@@ -1474,12 +2308,29 @@ public class Flyway {
      * @return The result of the command.
      */
     /*private -> testing*/ <T> T execute(Command<T> command) {
+        return execute(command, false);
+    }
+
+    /**
+     * Executes this command with proper resource handling and cleanup.
+     *
+     * @param command     The command to execute.
+     * @param tuneSession Whether to apply the faster migrate session settings of the database to both connections for
+     *                    the duration of the command.
+     * @param <T>         The type of the result.
+     * @return The result of the command.
+     */
+    private <T> T execute(Command<T> command, boolean tuneSession) {
         T result;
 
         VersionPrinter.printVersion(classLoader);
 
         Connection connectionMetaDataTable = null;
         Connection connectionUserObjects = null;
+        DbSupport dbSupport = null;
+        DbSupport dbSupportUserObjects = null;
+        Map<String, String> originalSettingsMetaDataTable = null;
+        Map<String, String> originalSettingsUserObjects = null;
 
         boolean callbackAutoAdded = false;
 
@@ -1491,7 +2342,11 @@ public class Flyway {
             connectionMetaDataTable = JdbcUtils.openConnection(dataSource, singleTransactionMode);
             connectionUserObjects = JdbcUtils.openConnection(dataSource, singleTransactionMode);
 
-            DbSupport dbSupport = DbSupportFactory.createDbSupport(connectionMetaDataTable, !dbConnectionInfoPrinted);
+            dbSupport = DbSupportFactory.createDbSupport(connectionMetaDataTable, !dbConnectionInfoPrinted);
+            dbSupport.getJdbcTemplate().setMetricsListener(metricsListener);
+            dbSupport.getJdbcTemplate().setStatementCacheSize(statementCacheSize);
+            dbSupport.setBulkInsertRows(bulkInsertRows);
+            dbSupport.setStatementsPerRequest(statementsPerRequest);
             dbConnectionInfoPrinted = true;
             LOG.debug("DDL Transactions Supported: " + dbSupport.supportsDdlTransactions());
 
@@ -1521,13 +2376,30 @@ public class Flyway {
                 callbackAutoAdded = true;
             }
 
+            if (tuneSession) {
+                // Metadata table connection first, so settings of the whole database (like the SQLite journal mode)
+                // are only restored by it, once the user objects connection is closed
+                originalSettingsMetaDataTable = applyMigrateSettings(dbSupport);
+                dbSupportUserObjects = DbSupportFactory.createDbSupport(connectionUserObjects, false);
+                originalSettingsUserObjects = applyMigrateSettings(dbSupportUserObjects);
+            }
+
             result = command.execute(connectionMetaDataTable, connectionUserObjects, dbSupport, schemas);
         } finally {
             if (callbackAutoAdded) {
                 setCallbacksAsClassNames();
             }
 
+            if (dbSupport != null) {
+                dbSupport.getJdbcTemplate().closeStatements();
+            }
+            if (originalSettingsUserObjects != null) {
+                restoreMigrateSettings(dbSupportUserObjects, originalSettingsUserObjects);
+            }
             JdbcUtils.closeConnection(connectionUserObjects);
+            if (originalSettingsMetaDataTable != null) {
+                restoreMigrateSettings(dbSupport, originalSettingsMetaDataTable);
+            }
             JdbcUtils.closeConnection(connectionMetaDataTable);
 
             if ((dataSource instanceof DriverDataSource) && createdDataSource) {
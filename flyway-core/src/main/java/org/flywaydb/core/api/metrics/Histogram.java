@@ -0,0 +1,144 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+/**
+ * Thread-safe histogram of non-negative values using power-of-two buckets. Memory use is constant regardless of the
+ * number of recorded values, at the cost of percentiles being approximate (within a factor of two).
+ */
+public class Histogram {
+    /**
+     * The number of buckets. Bucket i holds values in the range [2^(i-1), 2^i), bucket 0 holds 0.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * The number of values recorded in each bucket.
+     */
+    private final long[] buckets = new long[BUCKETS];
+
+    /**
+     * The number of recorded values.
+     */
+    private long count;
+
+    /**
+     * The sum of all recorded values.
+     */
+    private long sum;
+
+    /**
+     * The smallest recorded value.
+     */
+    private long min = Long.MAX_VALUE;
+
+    /**
+     * The largest recorded value.
+     */
+    private long max;
+
+    /**
+     * Records this value.
+     *
+     * @param value The value to record. Negative values are recorded as 0.
+     */
+    public synchronized void record(long value) {
+        long v = Math.max(value, 0);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(v)]++;
+        count++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of all recorded values.
+     */
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return The smallest recorded value. 0 if none has been recorded.
+     */
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return The largest recorded value. 0 if none has been recorded.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean of all recorded values. 0 if none has been recorded.
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Estimates this percentile of the recorded values.
+     *
+     * @param percentile The percentile to estimate (between 0 and 100).
+     * @return The upper bound of the bucket containing this percentile, capped at the largest recorded value.
+     * 0 if no value has been recorded.
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                long upperBound = i == 0 ? 0 : (1L << i) - 1;
+                return Math.min(upperBound, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "count=" + count + ", min=" + getMin() + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(50)
+                + ", p99=" + getPercentile(99) + ", max=" + max;
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+/**
+ * MetricsListener keeping histograms and totals of all metrics in memory. It can be queried directly or exported
+ * through JMX using {@link JmxMetricsExporter}.
+ */
+public class InMemoryMetricsListener implements MetricsListener, MetricsMXBean {
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+    /**
+     * The execution times of sql statements (in ns).
+     */
+    private final Histogram statementTimes = new Histogram();
+
+    /**
+     * The time spent waiting for the metadata table lock (in ns).
+     */
+    private final Histogram lockWaits = new Histogram();
+
+    /**
+     * The number of round trips per metadata table operation.
+     */
+    private final Histogram metaDataTableRoundTrips = new Histogram();
+
+    /**
+     * The execution times of migrations (in ms).
+     */
+    private final Histogram migrationTimes = new Histogram();
+
+    /**
+     * The total number of rows affected by the executed sql statements.
+     */
+    private long rowsAffected;
+
+    /**
+     * The location of the slowest sql statement.
+     */
+    private String slowestStatement;
+
+    /**
+     * The execution time of the slowest sql statement (in ns).
+     */
+    private long slowestStatementNanos = -1;
+
+    /**
+     * The number of failed sql statements.
+     */
+    private long statementsFailed;
+
+    /**
+     * The number of failed migrations.
+     */
+    private long migrationsFailed;
+
+    public void statementExecuted(String script, int lineNumber, String sql, long executionTimeNanos, int rowsAffected,
+                                  boolean success) {
+        statementTimes.record(executionTimeNanos);
+        synchronized (this) {
+            if (!success) {
+                statementsFailed++;
+            }
+            if (rowsAffected > 0) {
+                this.rowsAffected += rowsAffected;
+            }
+            if (executionTimeNanos > slowestStatementNanos) {
+                slowestStatementNanos = executionTimeNanos;
+                slowestStatement = script + ":" + lineNumber;
+            }
+        }
+    }
+
+    public void metaDataTableLocked(String table, long lockWaitNanos) {
+        lockWaits.record(lockWaitNanos);
+    }
+
+    public void metaDataTableAccessed(String table, String operation, int roundTrips, long executionTimeNanos) {
+        metaDataTableRoundTrips.record(roundTrips);
+    }
+
+    public void migrationApplied(MigrationInfo migration, int executionTimeMillis, boolean success) {
+        if (success) {
+            migrationTimes.record(executionTimeMillis);
+        } else {
+            synchronized (this) {
+                migrationsFailed++;
+            }
+        }
+    }
+
+    /**
+     * @return The execution times of sql statements (in ns).
+     */
+    public Histogram getStatementTimes() {
+        return statementTimes;
+    }
+
+    /**
+     * @return The time spent waiting for the metadata table lock (in ns).
+     */
+    public Histogram getLockWaits() {
+        return lockWaits;
+    }
+
+    /**
+     * @return The number of round trips per metadata table operation.
+     */
+    public Histogram getMetaDataTableRoundTripsPerOperation() {
+        return metaDataTableRoundTrips;
+    }
+
+    /**
+     * @return The execution times of successfully applied migrations (in ms).
+     */
+    public Histogram getMigrationTimes() {
+        return migrationTimes;
+    }
+
+    public long getStatementCount() {
+        return statementTimes.getCount();
+    }
+
+    public synchronized long getStatementsFailed() {
+        return statementsFailed;
+    }
+
+    public synchronized long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    public double getStatementTimeMeanMillis() {
+        return statementTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    public double getStatementTime99thPercentileMillis() {
+        return statementTimes.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    public double getStatementTimeMaxMillis() {
+        return statementTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    public synchronized String getSlowestStatement() {
+        return slowestStatement;
+    }
+
+    public double getLockWaitTotalMillis() {
+        return lockWaits.getSum() / NANOS_PER_MILLI;
+    }
+
+    public long getMetaDataTableRoundTrips() {
+        return metaDataTableRoundTrips.getSum();
+    }
+
+    public long getMigrationsSucceeded() {
+        return migrationTimes.getCount();
+    }
+
+    public synchronized long getMigrationsFailed() {
+        return migrationsFailed;
+    }
+
+    public void reset() {
+        statementTimes.reset();
+        lockWaits.reset();
+        metaDataTableRoundTrips.reset();
+        migrationTimes.reset();
+        synchronized (this) {
+            rowsAffected = 0;
+            slowestStatement = null;
+            slowestStatementNanos = -1;
+            statementsFailed = 0;
+            migrationsFailed = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "statements: " + statementTimes + " ns, failed statements: " + getStatementsFailed()
+                + ", rows affected: " + getRowsAffected()
+                + ", slowest statement: " + getSlowestStatement()
+                + ", lock waits: " + lockWaits + " ns"
+                + ", metadata table round trips per operation: " + metaDataTableRoundTrips
+                + ", migrations: " + migrationTimes + " ms, failed migrations: " + getMigrationsFailed();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+import org.flywaydb.core.api.FlywayException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Exports the metrics of an {@link InMemoryMetricsListener} as an MXBean on the platform MBean server.
+ *
+ * <p>This class is optional and only needs javax.management when it is actually used.</p>
+ */
+public class JmxMetricsExporter {
+    /**
+     * The domain of the object names under which metrics are registered.
+     */
+    private static final String DOMAIN = "org.flywaydb";
+
+    /**
+     * The object name under which the metrics are registered.
+     */
+    private final ObjectName objectName;
+
+    /**
+     * Creates a new exporter registering metrics under org.flywaydb:type=Metrics,name=&lt;name&gt;.
+     *
+     * @param name The name to distinguish this set of metrics from others in the same JVM.
+     */
+    public JmxMetricsExporter(String name) {
+        try {
+            objectName = new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+        } catch (Exception e) {
+            throw new FlywayException("Invalid name for Flyway metrics MBean: " + name, e);
+        }
+    }
+
+    /**
+     * Registers the metrics of this listener on the platform MBean server, replacing any previous registration under
+     * the same name.
+     *
+     * @param metricsListener The listener whose metrics to export.
+     */
+    public void register(InMemoryMetricsListener metricsListener) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(metricsListener, objectName);
+        } catch (Exception e) {
+            throw new FlywayException("Unable to register Flyway metrics MBean " + objectName, e);
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server. Does nothing if they are not registered.
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            throw new FlywayException("Unable to unregister Flyway metrics MBean " + objectName, e);
+        }
+    }
+
+    /**
+     * @return The object name under which the metrics are registered.
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+/**
+ * Listener notified of fine-grained execution metrics while Flyway talks to the database. Use it to find out which
+ * statement of a long-running migration is slow.
+ *
+ * <p>Flyway only measures anything when a listener has been configured. Implementations are called on the thread
+ * executing the migration and should therefore return quickly.</p>
+ */
+public interface MetricsListener {
+    /**
+     * Called after each sql statement of a sql script has been executed, successfully or not.
+     *
+     * @param script             The location of the script containing the statement. {@code null} for in-memory scripts.
+     * @param lineNumber         The line number of the statement within the script.
+     * @param sql                The sql of the statement.
+     * @param executionTimeNanos The time taken to execute the statement (in ns).
+     * @param rowsAffected       The number of rows affected by the statement. {@code -1} if unknown or failed.
+     * @param success            {@code true} if the statement succeeded, {@code false} if it failed.
+     */
+    void statementExecuted(String script, int lineNumber, String sql, long executionTimeNanos, int rowsAffected,
+                           boolean success);
+
+    /**
+     * Called after the lock on the metadata table has been acquired.
+     *
+     * @param table         The metadata table.
+     * @param lockWaitNanos The time spent waiting for the lock (in ns).
+     */
+    void metaDataTableLocked(String table, long lockWaitNanos);
+
+    /**
+     * Called after an operation on the metadata table has completed.
+     *
+     * @param table              The metadata table.
+     * @param operation          The name of the operation. (ex.: addAppliedMigration)
+     * @param roundTrips         The number of round trips to the database this operation required.
+     * @param executionTimeNanos The time taken by this operation (in ns).
+     */
+    void metaDataTableAccessed(String table, String operation, int roundTrips, long executionTimeNanos);
+
+    /**
+     * Called after a migration has been applied, successfully or not.
+     *
+     * @param migration           The migration.
+     * @param executionTimeMillis The time taken to apply the migration (in ms).
+     * @param success             {@code true} if the migration succeeded, {@code false} if it failed.
+     */
+    void migrationApplied(MigrationInfo migration, int executionTimeMillis, boolean success);
+}
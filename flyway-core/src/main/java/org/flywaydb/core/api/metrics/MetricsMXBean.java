@@ -0,0 +1,81 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+/**
+ * Management interface exposing the metrics collected by an {@link InMemoryMetricsListener} through JMX.
+ */
+public interface MetricsMXBean {
+    /**
+     * @return The number of sql statements executed.
+     */
+    long getStatementCount();
+
+    /**
+     * @return The number of sql statements which failed.
+     */
+    long getStatementsFailed();
+
+    /**
+     * @return The total number of rows affected by the executed sql statements.
+     */
+    long getRowsAffected();
+
+    /**
+     * @return The mean execution time of a sql statement (in ms).
+     */
+    double getStatementTimeMeanMillis();
+
+    /**
+     * @return The estimated 99th percentile of the execution time of a sql statement (in ms).
+     */
+    double getStatementTime99thPercentileMillis();
+
+    /**
+     * @return The execution time of the slowest sql statement (in ms).
+     */
+    double getStatementTimeMaxMillis();
+
+    /**
+     * @return The location (script:line) of the slowest sql statement. {@code null} if no statement has been executed.
+     */
+    String getSlowestStatement();
+
+    /**
+     * @return The total time spent waiting for the metadata table lock (in ms).
+     */
+    double getLockWaitTotalMillis();
+
+    /**
+     * @return The total number of round trips made for metadata table operations.
+     */
+    long getMetaDataTableRoundTrips();
+
+    /**
+     * @return The number of successfully applied migrations.
+     */
+    long getMigrationsSucceeded();
+
+    /**
+     * @return The number of failed migrations.
+     */
+    long getMigrationsFailed();
+
+    /**
+     * Discards all metrics collected so far.
+     */
+    void reset();
+}
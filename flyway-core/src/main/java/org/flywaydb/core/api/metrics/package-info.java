@@ -13,17 +13,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.flywaydb.core.internal.dbsupport.vertica;
-
-import org.junit.Test;
-
-import static org.junit.Assert.assertEquals;
-
-public class VericaDbSupportSmallTest {
-    @Test
-    public void doQuote() {
-        VerticaDbSupport dbSupport = new VerticaDbSupport(null);
-        assertEquals("\"abc\"", dbSupport.doQuote("abc"));
-        assertEquals("\"a\"\"b\"\"c\"", dbSupport.doQuote("a\"b\"c"));
-    }
-}
+/**
+ * Interfaces and implementations for collecting Flyway execution metrics.
+ */
+package org.flywaydb.core.api.metrics;
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.progress;
+
+import java.io.PrintStream;
+
+/**
+ * ProgressListener printing the progress to the console at most once per interval, plus once at the end of the run.
+ */
+public class ConsoleProgressListener implements ProgressListener {
+    /**
+     * The stream to print to.
+     */
+    private final PrintStream out;
+
+    /**
+     * The minimum time between two progress lines (in ms).
+     */
+    private final long intervalMillis;
+
+    /**
+     * The time the last line was printed (in ms).
+     */
+    private long lastReportMillis;
+
+    /**
+     * Creates a new listener printing to System.out at most once per second.
+     */
+    public ConsoleProgressListener() {
+        this(System.out, 1000);
+    }
+
+    /**
+     * Creates a new listener.
+     *
+     * @param out            The stream to print to.
+     * @param intervalMillis The minimum time between two progress lines (in ms).
+     */
+    public ConsoleProgressListener(PrintStream out, long intervalMillis) {
+        this.out = out;
+        this.intervalMillis = intervalMillis;
+        this.lastReportMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void progressed(MigrationProgress progress) {
+        long now = System.currentTimeMillis();
+        if (progress.isComplete() || now - lastReportMillis >= intervalMillis) {
+            lastReportMillis = now;
+            out.println("Progress: " + progress);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.progress;
+
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+/**
+ * ProgressListener logging the progress at info level at most once per interval, plus once at the end of the run.
+ */
+public class LogProgressListener implements ProgressListener {
+    private static final Log LOG = LogFactory.getLog(LogProgressListener.class);
+
+    /**
+     * The minimum time between two log messages (in ms).
+     */
+    private final long intervalMillis;
+
+    /**
+     * The time the last message was logged (in ms).
+     */
+    private long lastReportMillis;
+
+    /**
+     * Creates a new listener logging at most once every 10 seconds.
+     */
+    public LogProgressListener() {
+        this(10000);
+    }
+
+    /**
+     * Creates a new listener.
+     *
+     * @param intervalMillis The minimum time between two log messages (in ms).
+     */
+    public LogProgressListener(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        this.lastReportMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void progressed(MigrationProgress progress) {
+        long now = System.currentTimeMillis();
+        if (progress.isComplete() || now - lastReportMillis >= intervalMillis) {
+            lastReportMillis = now;
+            LOG.info(progress.toString());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.progress;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+/**
+ * Immutable snapshot of the progress of a migrate run on a schema.
+ */
+public class MigrationProgress {
+    /**
+     * The schema being migrated.
+     */
+    private final String schema;
+
+    /**
+     * The migration currently being applied. {@code null} if none.
+     */
+    private final MigrationInfo migration;
+
+    /**
+     * The number of migrations applied so far.
+     */
+    private final int migrationsDone;
+
+    /**
+     * The total number of migrations to apply.
+     */
+    private final int migrationsTotal;
+
+    /**
+     * The number of statements of the current migration executed so far.
+     */
+    private final int statementsDone;
+
+    /**
+     * The total number of statements in the current migration. 0 if unknown (ex.: Java migrations).
+     */
+    private final int statementsTotal;
+
+    /**
+     * The amount of sql of the current migration executed so far (in characters).
+     */
+    private final long charactersDone;
+
+    /**
+     * The total amount of sql in the current migration (in characters). 0 if unknown.
+     */
+    private final long charactersTotal;
+
+    /**
+     * The time elapsed since the start of the migrate run (in ms).
+     */
+    private final long elapsedMillis;
+
+    /**
+     * The estimated time remaining until all migrations have been applied (in ms). -1 if unknown.
+     */
+    private final long estimatedRemainingMillis;
+
+    /**
+     * Creates a new progress snapshot.
+     *
+     * @param schema                   The schema being migrated.
+     * @param migration                The migration currently being applied. {@code null} if none.
+     * @param migrationsDone           The number of migrations applied so far.
+     * @param migrationsTotal          The total number of migrations to apply.
+     * @param statementsDone           The number of statements of the current migration executed so far.
+     * @param statementsTotal          The total number of statements in the current migration. 0 if unknown.
+     * @param charactersDone           The amount of sql of the current migration executed so far (in characters).
+     * @param charactersTotal          The total amount of sql in the current migration (in characters). 0 if unknown.
+     * @param elapsedMillis            The time elapsed since the start of the migrate run (in ms).
+     * @param estimatedRemainingMillis The estimated time remaining (in ms). -1 if unknown.
+     */
+    public MigrationProgress(String schema, MigrationInfo migration, int migrationsDone, int migrationsTotal,
+                             int statementsDone, int statementsTotal, long charactersDone, long charactersTotal,
+                             long elapsedMillis, long estimatedRemainingMillis) {
+        this.schema = schema;
+        this.migration = migration;
+        this.migrationsDone = migrationsDone;
+        this.migrationsTotal = migrationsTotal;
+        this.statementsDone = statementsDone;
+        this.statementsTotal = statementsTotal;
+        this.charactersDone = charactersDone;
+        this.charactersTotal = charactersTotal;
+        this.elapsedMillis = elapsedMillis;
+        this.estimatedRemainingMillis = estimatedRemainingMillis;
+    }
+
+    /**
+     * @return The schema being migrated.
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return The migration currently being applied. {@code null} if none.
+     */
+    public MigrationInfo getMigration() {
+        return migration;
+    }
+
+    /**
+     * @return The number of migrations applied so far.
+     */
+    public int getMigrationsDone() {
+        return migrationsDone;
+    }
+
+    /**
+     * @return The total number of migrations to apply.
+     */
+    public int getMigrationsTotal() {
+        return migrationsTotal;
+    }
+
+    /**
+     * @return The number of statements of the current migration executed so far.
+     */
+    public int getStatementsDone() {
+        return statementsDone;
+    }
+
+    /**
+     * @return The total number of statements in the current migration. 0 if unknown (ex.: Java migrations).
+     */
+    public int getStatementsTotal() {
+        return statementsTotal;
+    }
+
+    /**
+     * @return The amount of sql of the current migration executed so far (in characters).
+     */
+    public long getCharactersDone() {
+        return charactersDone;
+    }
+
+    /**
+     * @return The total amount of sql in the current migration (in characters). 0 if unknown.
+     */
+    public long getCharactersTotal() {
+        return charactersTotal;
+    }
+
+    /**
+     * @return The time elapsed since the start of the migrate run (in ms).
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return The estimated time remaining until all migrations have been applied (in ms). -1 if unknown.
+     */
+    public long getEstimatedRemainingMillis() {
+        return estimatedRemainingMillis;
+    }
+
+    /**
+     * @return Whether all migrations have been applied.
+     */
+    public boolean isComplete() {
+        return migration == null && migrationsDone >= migrationsTotal;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Schema ").append(schema).append(": ")
+                .append(migrationsDone).append("/").append(migrationsTotal).append(" migrations applied");
+        if (migration != null) {
+            result.append(", migrating to version ").append(migration.getVersion());
+            if (statementsTotal > 0) {
+                result.append(" (statement ").append(statementsDone).append("/").append(statementsTotal);
+                if (charactersTotal > 0) {
+                    result.append(", ").append(charactersDone * 100 / charactersTotal).append("% of script");
+                }
+                result.append(")");
+            }
+        }
+        result.append(", elapsed ").append(TimeFormat.format(elapsedMillis));
+        if (estimatedRemainingMillis >= 0) {
+            result.append(", remaining ~").append(TimeFormat.format(estimatedRemainingMillis));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.progress;
+
+/**
+ * Listener notified of the progress of a migrate run: at the start and end of each migration and after each sql
+ * statement. Implementations are called on the thread executing the migration and should therefore return quickly,
+ * throttling their output themselves if needed.
+ */
+public interface ProgressListener {
+    /**
+     * Called whenever the migrate run has progressed.
+     *
+     * @param progress A snapshot of the progress so far.
+     */
+    void progressed(MigrationProgress progress);
+}
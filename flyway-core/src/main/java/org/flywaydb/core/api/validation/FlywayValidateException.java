@@ -0,0 +1,45 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.validation;
+
+import org.flywaydb.core.api.FlywayException;
+
+/**
+ * Exception thrown when validation fails. It carries the report of every inconsistency that was found.
+ */
+public class FlywayValidateException extends FlywayException {
+    /**
+     * The validation report.
+     */
+    private final ValidationReport report;
+
+    /**
+     * Creates a new FlywayValidateException for this report.
+     *
+     * @param report The validation report.
+     */
+    public FlywayValidateException(ValidationReport report) {
+        super("Validate failed. " + report);
+        this.report = report;
+    }
+
+    /**
+     * @return The validation report.
+     */
+    public ValidationReport getReport() {
+        return report;
+    }
+}
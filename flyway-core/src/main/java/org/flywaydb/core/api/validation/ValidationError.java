@@ -0,0 +1,106 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.validation;
+
+import org.flywaydb.core.api.MigrationVersion;
+
+/**
+ * An inconsistency between a migration resolved locally and the migration applied to the database.
+ */
+public class ValidationError {
+    /**
+     * The kind of inconsistency.
+     */
+    private final ValidationErrorKind kind;
+
+    /**
+     * The version of the offending migration.
+     */
+    private final MigrationVersion version;
+
+    /**
+     * The value applied to the database. {@code null} if not applicable.
+     */
+    private final Object applied;
+
+    /**
+     * The value resolved locally. {@code null} if not applicable.
+     */
+    private final Object resolved;
+
+    /**
+     * The human-readable description of the inconsistency.
+     */
+    private final String message;
+
+    /**
+     * Creates a new validation error.
+     *
+     * @param kind     The kind of inconsistency.
+     * @param version  The version of the offending migration.
+     * @param applied  The value applied to the database. {@code null} if not applicable.
+     * @param resolved The value resolved locally. {@code null} if not applicable.
+     * @param message  The human-readable description of the inconsistency.
+     */
+    public ValidationError(ValidationErrorKind kind, MigrationVersion version, Object applied, Object resolved,
+                           String message) {
+        this.kind = kind;
+        this.version = version;
+        this.applied = applied;
+        this.resolved = resolved;
+        this.message = message;
+    }
+
+    /**
+     * @return The kind of inconsistency.
+     */
+    public ValidationErrorKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The version of the offending migration.
+     */
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The value applied to the database. {@code null} if not applicable.
+     */
+    public Object getApplied() {
+        return applied;
+    }
+
+    /**
+     * @return The value resolved locally. {@code null} if not applicable.
+     */
+    public Object getResolved() {
+        return resolved;
+    }
+
+    /**
+     * @return The human-readable description of the inconsistency.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
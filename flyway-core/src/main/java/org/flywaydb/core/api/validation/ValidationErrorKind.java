@@ -0,0 +1,51 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.validation;
+
+/**
+ * The kind of inconsistency detected by a validation.
+ */
+public enum ValidationErrorKind {
+    /**
+     * The migration applied to the database has a different type than the one resolved locally.
+     */
+    TYPE,
+
+    /**
+     * The migration applied to the database has a different checksum than the one resolved locally.
+     */
+    CHECKSUM,
+
+    /**
+     * The migration applied to the database has a different description than the one resolved locally.
+     */
+    DESCRIPTION,
+
+    /**
+     * The migration has been applied to the database, but could not be resolved locally.
+     */
+    MISSING,
+
+    /**
+     * The migration has been resolved locally, but not applied to the database while newer ones have been.
+     */
+    IGNORED,
+
+    /**
+     * The migration has been resolved locally, but not applied to the database yet.
+     */
+    PENDING
+}
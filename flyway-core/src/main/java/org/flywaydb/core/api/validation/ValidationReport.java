@@ -0,0 +1,121 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of validating one or more schemas: every inconsistency found, per schema.
+ */
+public class ValidationReport {
+    /**
+     * The errors found, by schema, in the order the schemas were added.
+     */
+    private final Map<String, List<ValidationError>> errors = new LinkedHashMap<String, List<ValidationError>>();
+
+    /**
+     * Records the result of validating this schema.
+     *
+     * @param schema       The schema.
+     * @param schemaErrors The errors found. An empty list if none.
+     */
+    public synchronized void add(String schema, List<ValidationError> schemaErrors) {
+        errors.put(schema, Collections.unmodifiableList(new ArrayList<ValidationError>(schemaErrors)));
+    }
+
+    /**
+     * @return The validated schemas, in the order they were added.
+     */
+    public synchronized List<String> getSchemas() {
+        return new ArrayList<String>(errors.keySet());
+    }
+
+    /**
+     * Retrieves the errors found in this schema.
+     *
+     * @param schema The schema.
+     * @return The errors. An empty list if none or if the schema wasn't validated.
+     */
+    public synchronized List<ValidationError> getErrors(String schema) {
+        List<ValidationError> schemaErrors = errors.get(schema);
+        if (schemaErrors == null) {
+            return Collections.emptyList();
+        }
+        return schemaErrors;
+    }
+
+    /**
+     * @return The schemas in which errors were found, in the order they were added.
+     */
+    public synchronized List<String> getInvalidSchemas() {
+        List<String> invalidSchemas = new ArrayList<String>();
+        for (Map.Entry<String, List<ValidationError>> entry : errors.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                invalidSchemas.add(entry.getKey());
+            }
+        }
+        return invalidSchemas;
+    }
+
+    /**
+     * @return The total number of errors found across all schemas.
+     */
+    public synchronized int getErrorCount() {
+        int count = 0;
+        for (List<ValidationError> schemaErrors : errors.values()) {
+            count += schemaErrors.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return {@code true} if no errors were found, {@code false} if not.
+     */
+    public boolean isValid() {
+        return getErrorCount() == 0;
+    }
+
+    /**
+     * @return A description of all errors. Just the message if only a single error was found.
+     */
+    @Override
+    public synchronized String toString() {
+        int count = getErrorCount();
+        if (count == 0) {
+            return "No validation errors";
+        }
+        if (count == 1) {
+            for (List<ValidationError> schemaErrors : errors.values()) {
+                if (!schemaErrors.isEmpty()) {
+                    return schemaErrors.get(0).getMessage();
+                }
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append(count).append(" errors in ").append(getInvalidSchemas().size()).append(" schema(s):");
+        for (Map.Entry<String, List<ValidationError>> entry : errors.entrySet()) {
+            for (ValidationError error : entry.getValue()) {
+                result.append("\nSchema ").append(entry.getKey()).append(": ").append(error.getMessage());
+            }
+        }
+        return result.toString();
+    }
+}
@@ -20,6 +20,7 @@ import org.flywaydb.core.api.MigrationInfo;
 import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.metrics.MetricsListener;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
@@ -28,6 +29,8 @@ import org.flywaydb.core.internal.info.MigrationInfoImpl;
 import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
 import org.flywaydb.core.internal.metadatatable.AppliedMigration;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.progress.ProgressTracker;
+import org.flywaydb.core.internal.resolver.sql.SqlMigrationExecutor;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.util.jdbc.TransactionCallback;
@@ -37,6 +40,12 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Main workflow for migrating the database.
@@ -102,6 +111,28 @@ public class DbMigrate {
      */
     private final FlywayCallback[] callbacks;
 
+    /**
+     * The tracker to notify of the progress of this migration run. {@code null} if progress is not being tracked.
+     */
+    private final ProgressTracker progressTracker;
+
+    /**
+     * The number of upcoming sql migrations to parse in the background while the current one executes. 0 to parse
+     * each migration only when it is applied.
+     */
+    private final int parseAheadDepth;
+
+    /**
+     * The maximum number of consecutive transactional migrations to apply in a single transaction. 1 to apply each
+     * migration in its own transaction.
+     */
+    private final int groupSize;
+
+    /**
+     * The time (in ms) after which no further migrations are added to the current group. 0 for no limit.
+     */
+    private final long groupTimeBudget;
+
     /**
      * Creates a new database migrator.
      *
@@ -113,11 +144,20 @@ public class DbMigrate {
      * @param target                      The target version of the migration.
      * @param ignoreFailedFutureMigration Flag whether to ignore failed future migrations or not.
      * @param outOfOrder                  Allows migrations to be run "out of order".
+     * @param progressTracker             The tracker to notify of the progress of this migration run. {@code null}
+     *                                    if progress is not being tracked.
+     * @param parseAheadDepth             The number of upcoming sql migrations to parse in the background while the
+     *                                    current one executes. 0 to parse each migration only when it is applied.
+     * @param groupSize                   The maximum number of consecutive transactional migrations to apply in a
+     *                                    single transaction. 1 to apply each migration in its own transaction.
+     * @param groupTimeBudget             The time (in ms) after which no further migrations are added to the
+     *                                    current group. 0 for no limit.
      */
     public DbMigrate(Connection connectionMetaDataTable, Connection connectionUserObjects, DbSupport dbSupport,
                      MetaDataTable metaDataTable, Schema schema, MigrationResolver migrationResolver,
                      MigrationVersion target, boolean ignoreFailedFutureMigration, boolean outOfOrder,
-                     FlywayCallback[] callbacks) {
+                     FlywayCallback[] callbacks, ProgressTracker progressTracker,
+                     int parseAheadDepth, int groupSize, long groupTimeBudget) {
         this.connectionMetaDataTable = connectionMetaDataTable;
         this.connectionUserObjects = connectionUserObjects;
         this.dbSupport = dbSupport;
@@ -128,6 +168,10 @@ public class DbMigrate {
         this.ignoreFailedFutureMigration = ignoreFailedFutureMigration;
         this.outOfOrder = outOfOrder;
         this.callbacks = callbacks;
+        this.progressTracker = progressTracker;
+        this.parseAheadDepth = parseAheadDepth;
+        this.groupSize = groupSize;
+        this.groupTimeBudget = groupTimeBudget;
     }
 
     /**
@@ -150,75 +194,111 @@ public class DbMigrate {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
+        boolean grouping = groupSize > 1 && commitOnSuccess && dbSupport.supportsDdlTransactions()
+                && canRollBackGroupMetaData();
+
         int migrationSuccessCount = 0;
-        while (true) {
-            final boolean firstRun = migrationSuccessCount == 0;
-            MigrationVersion result = null;
+        ExecutorService parseAheadService = parseAheadDepth > 0 ? createParseAheadService() : null;
+        dbSupport.getJdbcTemplate().setProgressTracker(progressTracker);
+        try {
+            while (true) {
+                final boolean firstRun = migrationSuccessCount == 0;
+                MigrationVersion result = null;
 //            MigrationVersion result = new TransactionTemplate(connectionMetaDataTable, false).execute(new TransactionCallback<MigrationVersion>() {
 //                public MigrationVersion doInTransaction() {
-                    metaDataTable.lock();
+                        metaDataTable.lock();
 
-                    MigrationInfoServiceImpl infoService =
-                            new MigrationInfoServiceImpl(migrationResolver, metaDataTable, target, outOfOrder, true);
-                    infoService.refresh();
+                        MigrationInfoServiceImpl infoService =
+                                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, target, outOfOrder, true);
+                        infoService.refresh();
 
-                    MigrationVersion currentSchemaVersion = MigrationVersion.EMPTY;
-                    if (infoService.current() != null) {
-                        currentSchemaVersion = infoService.current().getVersion();
-                    }
-                    if (firstRun) {
-                        LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
+                        MigrationVersion currentSchemaVersion = MigrationVersion.EMPTY;
+                        if (infoService.current() != null) {
+                            currentSchemaVersion = infoService.current().getVersion();
+                        }
+                        if (firstRun) {
+                            LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
 
-                        if (outOfOrder) {
-                            LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
+                            if (outOfOrder) {
+                                LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
+                            }
                         }
-                    }
 
-                    MigrationInfo[] future = infoService.future();
-                    if (future.length > 0) {
-                        MigrationInfo[] resolved = infoService.resolved();
-                        if (resolved.length == 0) {
-                            LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
-                                    + ", but no migration could be resolved in the configured locations !");
-                        } else {
-                            LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
-                                    + ") that is newer than the latest available migration ("
-                                    + resolved[resolved.length - 1].getVersion() + ") !");
+                        MigrationInfo[] future = infoService.future();
+                        if (future.length > 0) {
+                            MigrationInfo[] resolved = infoService.resolved();
+                            if (resolved.length == 0) {
+                                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
+                                        + ", but no migration could be resolved in the configured locations !");
+                            } else {
+                                LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
+                                        + ") that is newer than the latest available migration ("
+                                        + resolved[resolved.length - 1].getVersion() + ") !");
+                            }
                         }
-                    }
 
-                    MigrationInfo[] failed = infoService.failed();
-                    if (failed.length > 0) {
-                        if ((failed.length == 1)
-                                && (failed[0].getState() == MigrationState.FUTURE_FAILED)
-                                && ignoreFailedFutureMigration) {
-                            LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
-                        } else {
-                            throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
+                        MigrationInfo[] failed = infoService.failed();
+                        if (failed.length > 0) {
+                            if ((failed.length == 1)
+                                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
+                                    && ignoreFailedFutureMigration) {
+                                LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
+                            } else {
+                                throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
+                            }
                         }
-                    }
 
-                    MigrationInfoImpl[] pendingMigrations = infoService.pending();
+                        MigrationInfoImpl[] pendingMigrations = infoService.pending();
+                        if (firstRun && progressTracker != null) {
+                            progressTracker.migrateStarted(schema.toString(), pendingMigrations, infoService.applied());
+                        }
 
-                    if (pendingMigrations.length == 0) {
-                        result = null;
-                        break;
-                    }
+                        if (pendingMigrations.length == 0) {
+                            result = null;
+                            break;
+                        }
+
+                        if (parseAheadService != null) {
+                            parseAhead(pendingMigrations, parseAheadService);
+                        }
+
+                        if (grouping) {
+                            MigrationInfoImpl[] group = nextGroup(pendingMigrations);
+                            if (group.length > 1) {
+                                int groupSuccessCount = applyMigrationGroup(group, currentSchemaVersion);
+                                if (groupSuccessCount > 0) {
+                                    migrationSuccessCount += groupSuccessCount;
+                                    continue;
+                                }
+                                // Fall back to one transaction per migration to report the failure precisely
+                                grouping = false;
+                            }
+                        }
 
-                    boolean isOutOfOrder = pendingMigrations[0].getVersion().compareTo(currentSchemaVersion) < 0;
-                    result = applyMigration(pendingMigrations[0], isOutOfOrder, commitOnSuccess);
+                        boolean isOutOfOrder = pendingMigrations[0].getVersion().compareTo(currentSchemaVersion) < 0;
+                        result = applyMigration(pendingMigrations[0], isOutOfOrder, commitOnSuccess);
 //                }
 //            });
-            if (result == null) {
-                // No further migrations available
-                break;
-            }
+                if (result == null) {
+                    // No further migrations available
+                    break;
+                }
 
-            migrationSuccessCount++;
+                migrationSuccessCount++;
+            }
+        } finally {
+            dbSupport.getJdbcTemplate().setProgressTracker(null);
+            if (parseAheadService != null) {
+                parseAheadService.shutdown();
+            }
         }
 
         stopWatch.stop();
 
+        if (progressTracker != null) {
+            progressTracker.migrateCompleted();
+        }
+
         logSummary(migrationSuccessCount, stopWatch.getTotalTimeMillis());
 
         for (final FlywayCallback callback : callbacks) {
@@ -234,6 +314,177 @@ public class DbMigrate {
         return migrationSuccessCount;
     }
 
+    /**
+     * Creates the executor service whose single background thread parses the upcoming sql migrations while the
+     * current one executes on the database.
+     *
+     * @return The executor service.
+     */
+    private ExecutorService createParseAheadService() {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "flyway-parse-ahead");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Schedules the sql migrations following the next one to be parsed in the background, up to the parse-ahead
+     * depth. This bounds the number of parsed scripts held in memory at any time.
+     *
+     * @param pendingMigrations The pending migrations, the first of which is about to be applied.
+     * @param parseAheadService The executor service to parse the scripts on.
+     */
+    private void parseAhead(MigrationInfoImpl[] pendingMigrations, ExecutorService parseAheadService) {
+        for (int i = 1; i <= parseAheadDepth && i < pendingMigrations.length; i++) {
+            MigrationExecutor migrationExecutor = pendingMigrations[i].getResolvedMigration().getExecutor();
+            if (migrationExecutor instanceof SqlMigrationExecutor) {
+                ((SqlMigrationExecutor) migrationExecutor).parseAhead(parseAheadService);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the metadata table rows of a failed group can be rolled back, either together with the group
+     * itself or through a savepoint of the metadata table connection.
+     *
+     * @return {@code true} if they can, {@code false} if migrations must be applied one by one.
+     */
+    private boolean canRollBackGroupMetaData() {
+        if (connectionMetaDataTable == connectionUserObjects) {
+            return true;
+        }
+        try {
+            if (connectionMetaDataTable.getMetaData().supportsSavepoints()) {
+                return true;
+            }
+        } catch (SQLException e) {
+            LOG.debug("Unable to check savepoint support: " + e.getMessage());
+        }
+        LOG.warn("Savepoints are not supported by the metadata table connection. Ignoring groupSize.");
+        return false;
+    }
+
+    /**
+     * Determines the group of consecutive pending migrations that can be applied together in a single transaction.
+     *
+     * @param pendingMigrations The pending migrations.
+     * @return The group. Contains at most one migration if the first one can't be grouped.
+     */
+    private MigrationInfoImpl[] nextGroup(MigrationInfoImpl[] pendingMigrations) {
+        int length = 0;
+        while (length < groupSize && length < pendingMigrations.length
+                && pendingMigrations[length].getResolvedMigration().getExecutor().executeInTransaction()) {
+            length++;
+        }
+        MigrationInfoImpl[] group = new MigrationInfoImpl[length];
+        System.arraycopy(pendingMigrations, 0, group, 0, length);
+        return group;
+    }
+
+    /**
+     * Applies this group of migrations, including their callbacks, in a single transaction. The metadata table is
+     * updated before that transaction commits, behind a savepoint of the metadata table connection, so the rows of a
+     * group that is rolled back are rolled back as well. Stops adding migrations to the group once the time budget has
+     * been exceeded.
+     *
+     * @param group                The migrations to apply.
+     * @param currentSchemaVersion The current version of the schema.
+     * @return The number of migrations applied. 0 if the group failed and has been rolled back.
+     */
+    private int applyMigrationGroup(final MigrationInfoImpl[] group, final MigrationVersion currentSchemaVersion) {
+        final List<MigrationInfoImpl> migrations = new ArrayList<MigrationInfoImpl>();
+        final List<Integer> executionTimes = new ArrayList<Integer>();
+
+        final long groupStart = System.currentTimeMillis();
+        final Savepoint[] savepoint = new Savepoint[1];
+        try {
+            new TransactionTemplate(connectionUserObjects, true, true).execute(new TransactionCallback<Void>() {
+                public Void doInTransaction() {
+                    for (MigrationInfoImpl migration : group) {
+                        if (!migrations.isEmpty() && groupTimeBudget > 0
+                                && System.currentTimeMillis() - groupStart >= groupTimeBudget) {
+                            break;
+                        }
+
+                        boolean isOutOfOrder = migration.getVersion().compareTo(currentSchemaVersion) < 0;
+                        LOG.info("Migrating schema " + schema + " to version " + migration.getVersion() + " - "
+                                + migration.getDescription() + (isOutOfOrder ? " (out of order)" : "") + " (grouped)");
+
+                        StopWatch stopWatch = new StopWatch();
+                        stopWatch.start();
+                        if (progressTracker != null) {
+                            progressTracker.migrationStarted(migration);
+                        }
+                        try {
+                            for (FlywayCallback callback : callbacks) {
+                                callback.beforeEachMigrate(connectionUserObjects, migration);
+                            }
+                            migration.getResolvedMigration().getExecutor().execute(connectionUserObjects);
+                            for (FlywayCallback callback : callbacks) {
+                                callback.afterEachMigrate(connectionUserObjects, migration);
+                            }
+                        } catch (SQLException e) {
+                            throw new FlywayException("Unable to apply migration", e);
+                        }
+                        stopWatch.stop();
+
+                        migrations.add(migration);
+                        executionTimes.add((int) stopWatch.getTotalTimeMillis());
+                    }
+
+                    if (connectionMetaDataTable != connectionUserObjects) {
+                        try {
+                            savepoint[0] = connectionMetaDataTable.setSavepoint();
+                        } catch (SQLException e) {
+                            throw new FlywayException("Unable to set savepoint for the metadata table", e);
+                        }
+                    }
+                    for (int i = 0; i < migrations.size(); i++) {
+                        MigrationInfoImpl migration = migrations.get(i);
+                        metaDataTable.addAppliedMigration(new AppliedMigration(migration.getVersion(),
+                                migration.getDescription(), migration.getType(), migration.getScript(),
+                                migration.getChecksum(), executionTimes.get(i), true));
+                    }
+                    return null;
+                }
+            });
+        } catch (FlywayException e) {
+            if (savepoint[0] != null) {
+                try {
+                    connectionMetaDataTable.rollback(savepoint[0]);
+                } catch (SQLException se) {
+                    throw new FlywayException("Unable to roll back the metadata table of the failed group", se);
+                }
+            }
+            LOG.warn("Grouped migration of schema " + schema + " failed and was rolled back: " + e.getMessage()
+                    + " Applying the remaining migrations one by one.");
+            return 0;
+        }
+        if (savepoint[0] != null) {
+            try {
+                connectionMetaDataTable.releaseSavepoint(savepoint[0]);
+            } catch (SQLException e) {
+                LOG.debug("Unable to release savepoint of the metadata table: " + e.getMessage());
+            }
+        }
+        LOG.debug("Successfully completed and committed a group of " + migrations.size() + " migrations of schema " + schema);
+
+        MetricsListener metricsListener = dbSupport.getJdbcTemplate().getMetricsListener();
+        for (int i = 0; i < migrations.size(); i++) {
+            if (metricsListener != null) {
+                metricsListener.migrationApplied(migrations.get(i), executionTimes.get(i), true);
+            }
+            if (progressTracker != null) {
+                progressTracker.migrationCompleted(migrations.get(i), executionTimes.get(i));
+            }
+        }
+        return migrations.size();
+    }
+
     /**
      * Logs the summary of this migration run.
      *
@@ -268,6 +519,10 @@ public class DbMigrate {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
+        if (progressTracker != null) {
+            progressTracker.migrationStarted(migration);
+        }
+
         try {
             for (final FlywayCallback callback : callbacks) {
                 new TransactionTemplate(connectionUserObjects, true, commitOnSuccess).execute(new TransactionCallback<Object>() {
@@ -307,24 +562,37 @@ public class DbMigrate {
                 });
             }
         } catch (FlywayException e) {
+            stopWatch.stop();
             String failedMsg = "Migration of schema " + schema + " to version " + version + " failed!";
             if (dbSupport.supportsDdlTransactions()) {
                 LOG.error(failedMsg + " Changes successfully rolled back.");
             } else {
                 LOG.error(failedMsg + " Please restore backups and roll back database and code!");
 
-                stopWatch.stop();
                 int executionTime = (int) stopWatch.getTotalTimeMillis();
                 AppliedMigration appliedMigration = new AppliedMigration(version, migration.getDescription(),
                         migration.getType(), migration.getScript(), migration.getChecksum(), executionTime, false);
                 metaDataTable.addAppliedMigration(appliedMigration);
             }
+
+            MetricsListener metricsListener = dbSupport.getJdbcTemplate().getMetricsListener();
+            if (metricsListener != null) {
+                metricsListener.migrationApplied(migration, (int) stopWatch.getTotalTimeMillis(), false);
+            }
             throw e;
         }
 
         stopWatch.stop();
         int executionTime = (int) stopWatch.getTotalTimeMillis();
 
+        MetricsListener metricsListener = dbSupport.getJdbcTemplate().getMetricsListener();
+        if (metricsListener != null) {
+            metricsListener.migrationApplied(migration, executionTime, true);
+        }
+        if (progressTracker != null) {
+            progressTracker.migrationCompleted(executionTime);
+        }
+
         AppliedMigration appliedMigration = new AppliedMigration(version, migration.getDescription(),
                 migration.getType(), migration.getScript(), migration.getChecksum(), executionTime, true);
         metaDataTable.addAppliedMigration(appliedMigration);
@@ -35,6 +35,8 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Handles Flyway's repair command.
@@ -69,6 +71,11 @@ public class DbRepair {
      */
     private final DbSupport dbSupport;
 
+    /**
+     * Whether to only report what would be repaired, without changing the metadata table.
+     */
+    private final boolean dryRun;
+
     /**
      * Creates a new DbRepair.
      *
@@ -79,17 +86,38 @@ public class DbRepair {
      * @param callbacks         Callbacks for the Flyway lifecycle.
      */
     public DbRepair(DbSupport dbSupport, Connection connection, MigrationResolver migrationResolver, MetaDataTable metaDataTable, FlywayCallback[] callbacks) {
+        this(dbSupport, connection, migrationResolver, metaDataTable, callbacks, false);
+    }
+
+    /**
+     * Creates a new DbRepair.
+     *
+     * @param dbSupport         The database-specific support.
+     * @param connection        The database connection to use for accessing the metadata table.
+     * @param migrationResolver The migration resolver.
+     * @param metaDataTable     The metadata table.
+     * @param callbacks         Callbacks for the Flyway lifecycle.
+     * @param dryRun            Whether to only report what would be repaired, without changing the metadata table.
+     */
+    public DbRepair(DbSupport dbSupport, Connection connection, MigrationResolver migrationResolver, MetaDataTable metaDataTable, FlywayCallback[] callbacks, boolean dryRun) {
         this.dbSupport = dbSupport;
         this.connection = connection;
         this.migrationInfoService = new MigrationInfoServiceImpl(migrationResolver, metaDataTable, MigrationVersion.LATEST, true, true);
         this.metaDataTable = metaDataTable;
         this.callbacks = callbacks;
+        this.dryRun = dryRun;
     }
 
     /**
-     * Repairs the metadata table.
+     * Repairs the metadata table. All checksum corrections are calculated up front, and then applied together.
+     *
+     * @return The corrected checksum of each version whose checksum was (or, in a dry run, would be) updated.
      */
-    public void repair(boolean commitOnSuccess) {
+    public Map<MigrationVersion, Integer> repair(boolean commitOnSuccess) {
+        if (dryRun) {
+            return report();
+        }
+
         for (final FlywayCallback callback : callbacks) {
             new TransactionTemplate(connection, true, commitOnSuccess).execute(new TransactionCallback<Object>() {
                 @Override
@@ -103,24 +131,18 @@ public class DbRepair {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        new TransactionTemplate(connection, true, commitOnSuccess).execute(new TransactionCallback<Void>() {
-            public Void doInTransaction() {
+        final Map<MigrationVersion, Integer> checksums =
+                new TransactionTemplate(connection, true, commitOnSuccess).execute(new TransactionCallback<Map<MigrationVersion, Integer>>() {
+            public Map<MigrationVersion, Integer> doInTransaction() {
                 metaDataTable.removeFailedMigrations();
 
                 migrationInfoService.refresh();
-                for (MigrationInfo migrationInfo : migrationInfoService.all()) {
-                    MigrationInfoImpl migrationInfoImpl = (MigrationInfoImpl) migrationInfo;
-
-                    ResolvedMigration resolved = migrationInfoImpl.getResolvedMigration();
-                    AppliedMigration applied = migrationInfoImpl.getAppliedMigration();
-                    if ((resolved != null) && (applied != null)) {
-                        if (!ObjectUtils.nullSafeEquals(resolved.getChecksum(), applied.getChecksum())) {
-                            metaDataTable.updateChecksum(migrationInfoImpl.getVersion(), resolved.getChecksum());
-                        }
-                    }
+                Map<MigrationVersion, Integer> checksums = calculateChecksumCorrections();
+                if (!checksums.isEmpty()) {
+                    metaDataTable.updateChecksums(checksums);
                 }
 
-                return null;
+                return checksums;
             }
         });
 
@@ -141,5 +163,56 @@ public class DbRepair {
                 }
             });
         }
+
+        return checksums;
+    }
+
+    /**
+     * Reports what a repair of the metadata table would do, without changing it.
+     *
+     * @return The corrected checksum of each version whose checksum would be updated.
+     */
+    private Map<MigrationVersion, Integer> report() {
+        migrationInfoService.refresh();
+
+        int failedCount = 0;
+        for (MigrationInfo migrationInfo : migrationInfoService.all()) {
+            AppliedMigration applied = ((MigrationInfoImpl) migrationInfo).getAppliedMigration();
+            if ((applied != null) && !applied.isSuccess()) {
+                failedCount++;
+            }
+        }
+
+        Map<MigrationVersion, Integer> checksums = calculateChecksumCorrections();
+        for (Map.Entry<MigrationVersion, Integer> entry : checksums.entrySet()) {
+            LOG.info("Dry run: checksum of " + entry.getKey() + " would be updated to " + entry.getValue());
+        }
+
+        LOG.info("Dry run: repair of metadata table " + metaDataTable + " would remove " + failedCount
+                + " failed migration(s) and update " + checksums.size() + " checksum(s).");
+        return checksums;
+    }
+
+    /**
+     * Calculates the checksum corrections for all successfully applied migrations whose checksum differs from the one
+     * of the resolved migration. Failed migrations are skipped, as the repair removes them instead. The migration infos
+     * must have been refreshed beforehand.
+     *
+     * @return The corrected checksum of each version, in version order.
+     */
+    private Map<MigrationVersion, Integer> calculateChecksumCorrections() {
+        Map<MigrationVersion, Integer> checksums = new LinkedHashMap<MigrationVersion, Integer>();
+        for (MigrationInfo migrationInfo : migrationInfoService.all()) {
+            MigrationInfoImpl migrationInfoImpl = (MigrationInfoImpl) migrationInfo;
+
+            ResolvedMigration resolved = migrationInfoImpl.getResolvedMigration();
+            AppliedMigration applied = migrationInfoImpl.getAppliedMigration();
+            if ((resolved != null) && (applied != null) && applied.isSuccess()) {
+                if (!ObjectUtils.nullSafeEquals(resolved.getChecksum(), applied.getChecksum())) {
+                    checksums.put(migrationInfoImpl.getVersion(), resolved.getChecksum());
+                }
+            }
+        }
+        return checksums;
     }
 }
@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.command;
 
 import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.SchemaInventory;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
 import org.flywaydb.core.internal.util.jdbc.TransactionCallback;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
@@ -45,6 +46,11 @@ public class DbSchemas {
      */
     private final MetaDataTable metaDataTable;
 
+    /**
+     * The inventory of the existing schemas.
+     */
+    private final SchemaInventory schemaInventory;
+
     /**
      * Creates a new DbSchemas.
      *
@@ -53,9 +59,23 @@ public class DbSchemas {
      * @param metaDataTable The metadata table.
      */
     public DbSchemas(Connection connection, Schema[] schemas, MetaDataTable metaDataTable) {
+        this(connection, schemas, metaDataTable, null);
+    }
+
+    /**
+     * Creates a new DbSchemas.
+     *
+     * @param connection      The database connection to use for accessing the metadata table.
+     * @param schemas         The schemas managed by Flyway.
+     * @param metaDataTable   The metadata table.
+     * @param schemaInventory The inventory of the existing schemas, shared across calls. {@code null} to check
+     *                        each schema against the database.
+     */
+    public DbSchemas(Connection connection, Schema[] schemas, MetaDataTable metaDataTable, SchemaInventory schemaInventory) {
         this.connection = connection;
         this.schemas = schemas;
         this.metaDataTable = metaDataTable;
+        this.schemaInventory = schemaInventory;
     }
 
     /**
@@ -65,7 +85,7 @@ public class DbSchemas {
         new TransactionTemplate(connection, true, commitOnSuccess).execute(new TransactionCallback<Void>() {
             public Void doInTransaction() {
                 for (Schema schema : schemas) {
-                    if (schema.exists()) {
+                    if (schemaInventory == null ? schema.exists() : schemaInventory.exists(schema)) {
                         LOG.debug("Schema " + schema + " already exists. Skipping schema creation.");
                         return null;
                     }
@@ -74,6 +94,9 @@ public class DbSchemas {
                 for (Schema schema : schemas) {
                     LOG.info("Creating schema " + schema + " ...");
                     schema.create();
+                    if (schemaInventory != null) {
+                        schemaInventory.created(schema);
+                    }
                 }
 
                 metaDataTable.addSchemasMarker(schemas);
@@ -0,0 +1,190 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.SchemaInventory;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.jdbc.TransactionCallback;
+import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Migrates fresh databases by replaying a snapshot of an earlier migration with the same migrations in this JVM,
+ * instead of applying every migration again. Snapshots are taken the first time a fresh database is migrated.
+ */
+public class DbSnapshot {
+    private static final Log LOG = LogFactory.getLog(DbSnapshot.class);
+
+    /**
+     * The snapshots taken in this JVM, by the key describing the database and migrations they were taken with.
+     */
+    private static final Map<String, Snapshot> SNAPSHOTS = new ConcurrentHashMap<String, Snapshot>();
+
+    /**
+     * The database connection to use.
+     */
+    private final Connection connection;
+
+    /**
+     * The database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The schemas managed by Flyway.
+     */
+    private final Schema[] schemas;
+
+    /**
+     * The key describing the database and the migrations to apply.
+     */
+    private final String key;
+
+    /**
+     * Whether all schemas were missing or empty before migrating, which is the only state a snapshot can be restored
+     * into or taken from.
+     */
+    private boolean fresh;
+
+    /**
+     * Creates a new DbSnapshot.
+     *
+     * @param connection The database connection to use.
+     * @param dbSupport  The database-specific support.
+     * @param schemas    The schemas managed by Flyway.
+     * @param key        The key describing the database and the migrations to apply. Snapshots are only shared between
+     *                   migrations with the same key.
+     */
+    public DbSnapshot(Connection connection, DbSupport dbSupport, Schema[] schemas, String key) {
+        this.connection = connection;
+        this.dbSupport = dbSupport;
+        this.schemas = schemas;
+        this.key = key;
+    }
+
+    /**
+     * Restores the snapshot for these migrations, if this database is fresh and one has been taken.
+     *
+     * @param commitOnSuccess Whether to commit once the snapshot is restored.
+     * @return The number of migrations the snapshot stands for, or {@code null} if no snapshot was restored and the
+     * migrations must be applied.
+     * @throws FlywayException when the snapshot could not be restored.
+     */
+    public Integer restore(boolean commitOnSuccess) throws FlywayException {
+        SchemaInventory schemaInventory = new SchemaInventory(dbSupport, schemas);
+        fresh = true;
+        for (Schema schema : schemas) {
+            if (schemaInventory.exists(schema) && !schemaInventory.empty(schema)) {
+                fresh = false;
+            }
+        }
+
+        final Snapshot snapshot = SNAPSHOTS.get(key);
+        if (!fresh || (snapshot == null)) {
+            return null;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        new TransactionTemplate(connection, true, commitOnSuccess).execute(new TransactionCallback<Void>() {
+            public Void doInTransaction() {
+                try {
+                    dbSupport.restoreSnapshot(snapshot.statements);
+                } catch (SQLException e) {
+                    throw new FlywayException("Unable to restore the migration snapshot", e);
+                }
+                return null;
+            }
+        });
+        stopWatch.stop();
+
+        LOG.info(String.format("Restored snapshot of %d migrations with %d statements (execution time %s)",
+                snapshot.migrationCount, snapshot.statements.size(), TimeFormat.format(stopWatch.getTotalTimeMillis())));
+        return snapshot.migrationCount;
+    }
+
+    /**
+     * Takes a snapshot of the freshly migrated schemas, so later fresh databases can be restored from it. Does nothing
+     * if the database wasn't fresh, a snapshot already exists or the database can't take snapshots.
+     *
+     * @param migrationCount The number of migrations that were applied.
+     * @throws FlywayException when the snapshot could not be taken.
+     */
+    public void take(int migrationCount) throws FlywayException {
+        if (!fresh || SNAPSHOTS.containsKey(key)) {
+            return;
+        }
+
+        List<String> statements;
+        try {
+            statements = dbSupport.snapshot(schemas);
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to take a migration snapshot", e);
+        }
+
+        if (statements == null) {
+            LOG.debug("Snapshots are not supported by " + dbSupport.getDbName() + ". Migrations will be applied.");
+            return;
+        }
+
+        SNAPSHOTS.put(key, new Snapshot(statements, migrationCount));
+        LOG.debug("Took snapshot of " + migrationCount + " migrations with " + statements.size() + " statements");
+    }
+
+    /**
+     * Discards all snapshots taken in this JVM.
+     */
+    public static void clearSnapshots() {
+        SNAPSHOTS.clear();
+    }
+
+    /**
+     * The statements recreating freshly migrated schemas.
+     */
+    private static class Snapshot {
+        /**
+         * The statements recreating the schemas.
+         */
+        private final List<String> statements;
+
+        /**
+         * The number of migrations the snapshot stands for.
+         */
+        private final int migrationCount;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param statements     The statements recreating the schemas.
+         * @param migrationCount The number of migrations the snapshot stands for.
+         */
+        private Snapshot(List<String> statements, int migrationCount) {
+            this.statements = statements;
+            this.migrationCount = migrationCount;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.flywaydb.core.internal.command;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.validation.ValidationError;
 import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
 import org.flywaydb.core.internal.util.Pair;
@@ -30,6 +31,7 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Handles the validate command.
@@ -109,11 +111,21 @@ public class DbValidate {
     }
 
     /**
-     * Starts the actual migration.
+     * Starts the actual validation.
      *
      * @return The validation error, if any.
      */
     public String validate(boolean commitOnSuccess) {
+        List<ValidationError> errors = validateAll(commitOnSuccess);
+        return errors.isEmpty() ? null : errors.get(0).getMessage();
+    }
+
+    /**
+     * Starts the actual validation, reporting every inconsistency instead of only the first one.
+     *
+     * @return The validation errors. An empty list if none.
+     */
+    public List<ValidationError> validateAll(boolean commitOnSuccess) {
         for (final FlywayCallback callback : callbacks) {
             new TransactionTemplate(connectionUserObjects, true, commitOnSuccess).execute(new TransactionCallback<Object>() {
                 @Override
@@ -128,16 +140,16 @@ public class DbValidate {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        Pair<Integer, String> result = new TransactionTemplate(connectionMetaDataTable, true, commitOnSuccess).execute(new TransactionCallback<Pair<Integer, String>>() {
-            public Pair<Integer, String> doInTransaction() {
+        Pair<Integer, List<ValidationError>> result = new TransactionTemplate(connectionMetaDataTable, true, commitOnSuccess).execute(new TransactionCallback<Pair<Integer, List<ValidationError>>>() {
+            public Pair<Integer, List<ValidationError>> doInTransaction() {
                 MigrationInfoServiceImpl migrationInfoService =
                         new MigrationInfoServiceImpl(migrationResolver, metaDataTable, target, outOfOrder, pendingOrFuture);
 
                 migrationInfoService.refresh();
 
                 int count = migrationInfoService.all().length;
-                String validationError = migrationInfoService.validate();
-                return Pair.of(count, validationError);
+                List<ValidationError> validationErrors = migrationInfoService.validateAll();
+                return Pair.of(count, validationErrors);
             }
         });
 
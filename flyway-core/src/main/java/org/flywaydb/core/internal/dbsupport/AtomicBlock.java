@@ -0,0 +1,103 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Executes lists of statements in compound SQL {@code BEGIN ATOMIC ... END} blocks, so databases like DB2 run many
+ * DDL statements in a single round trip. Each statement is wrapped in an EXECUTE IMMEDIATE, so dropping an object
+ * does not invalidate the block itself. An instance remembers whether blocks are supported, so it should be shared
+ * by all schemas of a clean.
+ */
+public class AtomicBlock {
+    private static final Log LOG = LogFactory.getLog(AtomicBlock.class);
+
+    /**
+     * The maximum number of statements per block.
+     */
+    /* private -> for testing */
+    static final int MAX_STATEMENTS = 50;
+
+    /**
+     * Whether a block has failed although each of its statements succeeded on its own. From then on the database is
+     * assumed not to support these blocks and all remaining statements are executed one by one.
+     */
+    private boolean disabled;
+
+    /**
+     * Executes these statements in blocks of up to {@link #MAX_STATEMENTS} statements. A block which fails is rolled
+     * back as a whole by the database, after which its statements are executed one by one, so the statement at fault
+     * is reported as usual. If none of them fails, the block itself was at fault and no further blocks are attempted.
+     *
+     * @param jdbcTemplate The jdbc template to use.
+     * @param statements   The statements to execute.
+     * @throws SQLException when a statement could not be executed.
+     */
+    public void execute(JdbcTemplate jdbcTemplate, List<String> statements) throws SQLException {
+        for (int i = 0; i < statements.size(); i += MAX_STATEMENTS) {
+            List<String> batch = statements.subList(i, Math.min(i + MAX_STATEMENTS, statements.size()));
+            if (disabled || (batch.size() == 1)) {
+                executeOneByOne(jdbcTemplate, batch);
+                continue;
+            }
+
+            try {
+                jdbcTemplate.execute(toBlock(batch));
+            } catch (SQLException e) {
+                LOG.debug("Unable to execute " + batch.size() + " statements in a single block, executing them one by one: "
+                        + e.getMessage());
+                executeOneByOne(jdbcTemplate, batch);
+                disabled = true;
+                LOG.warn("Unable to execute statements in BEGIN ATOMIC blocks (" + e.getMessage()
+                        + "). Executing all remaining statements one by one.");
+            }
+        }
+    }
+
+    /**
+     * Executes these statements one by one.
+     *
+     * @param jdbcTemplate The jdbc template to use.
+     * @param statements   The statements to execute.
+     * @throws SQLException when a statement could not be executed.
+     */
+    private void executeOneByOne(JdbcTemplate jdbcTemplate, List<String> statements) throws SQLException {
+        for (String statement : statements) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    /**
+     * Wraps these statements in a single block.
+     *
+     * @param statements The statements.
+     * @return The block.
+     */
+    /* private -> for testing */
+    static String toBlock(List<String> statements) {
+        StringBuilder block = new StringBuilder("BEGIN ATOMIC\n");
+        for (String statement : statements) {
+            block.append("  EXECUTE IMMEDIATE '").append(StringUtils.replaceAll(statement, "'", "''")).append("';\n");
+        }
+        return block.append("END").toString();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run of consecutive statements combined into a single statement, like a multi-row INSERT or a multi-statement
+ * request. The combined statement carries the line number of the first statement of the run.
+ */
+class CombinedStatement {
+    /**
+     * The statements of the run.
+     */
+    private final List<SqlStatement> statements = new ArrayList<SqlStatement>();
+
+    /**
+     * The combined sql of the run.
+     */
+    private final StringBuilder sql = new StringBuilder();
+
+    /**
+     * Adds this statement to the run.
+     *
+     * @param statement The statement.
+     * @param sqlPart   The part of the combined sql this statement contributes.
+     */
+    void add(SqlStatement statement, String sqlPart) {
+        statements.add(statement);
+        sql.append(sqlPart);
+    }
+
+    /**
+     * @return The number of statements in the run.
+     */
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * @return The length of the combined sql of the run.
+     */
+    int length() {
+        return sql.length();
+    }
+
+    /**
+     * Adds the run to these statements, as a single statement if it has more than one statement, and starts a new
+     * run.
+     *
+     * @param combined The combined statements.
+     */
+    void flushTo(List<SqlStatement> combined) {
+        if (statements.size() == 1) {
+            combined.add(statements.get(0));
+        } else if (statements.size() > 1) {
+            combined.add(new SqlStatement(statements.get(0).getLineNumber(), sql.toString(), false));
+        }
+        statements.clear();
+        sql.setLength(0);
+    }
+}
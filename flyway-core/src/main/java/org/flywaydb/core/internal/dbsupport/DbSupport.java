@@ -16,19 +16,42 @@
 package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstraction for database-specific functionality.
  */
 public abstract class DbSupport {
+    /**
+     * The maximum number of schema names to look up in a single catalog query.
+     */
+    private static final int SCHEMA_LOOKUP_BATCH_SIZE = 500;
+
     /**
      * The JDBC template available for use.
      */
     protected final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The maximum number of rows per merged multi-row INSERT statement. 0 to execute INSERT statements as written.
+     */
+    private int bulkInsertRows;
+
+    /**
+     * The maximum number of consecutive statements to send to the database in a single request. 0 or 1 to send every
+     * statement on its own.
+     */
+    private int statementsPerRequest;
+
     /**
      * Creates a new DbSupport instance with this JdbcTemplate.
      *
@@ -45,6 +68,42 @@ public abstract class DbSupport {
         return jdbcTemplate;
     }
 
+    /**
+     * @return The maximum number of rows per merged multi-row INSERT statement. 0 if INSERT statements are executed as
+     * written.
+     */
+    public int getBulkInsertRows() {
+        return bulkInsertRows;
+    }
+
+    /**
+     * Sets the maximum number of rows per merged multi-row INSERT statement. Only used by databases supporting
+     * multi-row INSERT statements.
+     *
+     * @param bulkInsertRows The maximum number of rows. 0 to execute INSERT statements as written.
+     */
+    public void setBulkInsertRows(int bulkInsertRows) {
+        this.bulkInsertRows = bulkInsertRows;
+    }
+
+    /**
+     * @return The maximum number of consecutive statements to send to the database in a single request. 0 or 1 if
+     * every statement is sent on its own.
+     */
+    public int getStatementsPerRequest() {
+        return statementsPerRequest;
+    }
+
+    /**
+     * Sets the maximum number of consecutive statements to send to the database in a single request. Only used by
+     * databases accepting multiple statements per request.
+     *
+     * @param statementsPerRequest The maximum number of statements. 0 or 1 to send every statement on its own.
+     */
+    public void setStatementsPerRequest(int statementsPerRequest) {
+        this.statementsPerRequest = statementsPerRequest;
+    }
+
     /**
      * Retrieves the schema with this name in the database.
      *
@@ -168,6 +227,22 @@ public abstract class DbSupport {
      */
     public abstract boolean catalogIsSchema();
 
+    /**
+     * @return {@code true} if consecutive single-row INSERT statements may be merged into a single INSERT statement
+     * with multiple rows in its VALUES clause. {@code false} if not. (default: {@code false})
+     */
+    public boolean supportsMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the JDBC driver accepts multiple statements separated by semicolons in a single request.
+     * {@code false} if not. (default: {@code false})
+     */
+    public boolean supportsMultiStatementRequests() {
+        return false;
+    }
+
     /**
      * Executes this COPY statement (PostgreSQL only).
      *
@@ -177,4 +252,168 @@ public abstract class DbSupport {
     public void executePgCopy(Connection connection, String sql) throws SQLException {
         // Do nothing by default
     }
+
+    /**
+     * Executes this COPY statement (PostgreSQL only) through this jdbc template. Delegates to
+     * {@link #executePgCopy(Connection, String)} with its connection by default.
+     *
+     * @param jdbcTemplate The jdbc template to use.
+     * @param sql          The statement to execute.
+     */
+    public void executePgCopy(JdbcTemplate jdbcTemplate, String sql) throws SQLException {
+        executePgCopy(jdbcTemplate.getConnection(), sql);
+    }
+
+    /**
+     * Applies session settings which speed up migrations on this connection, such as relaxed durability or a larger
+     * cache. Nothing is changed by default.
+     *
+     * @return The original values of the settings that were changed, for {@link #restoreMigrateSettings(Map)}.
+     * @throws SQLException when the settings could not be read.
+     */
+    public Map<String, String> applyMigrateSettings() throws SQLException {
+        return new LinkedHashMap<String, String>();
+    }
+
+    /**
+     * Restores the session settings changed by {@link #applyMigrateSettings()}.
+     *
+     * @param originalSettings The original values of the settings that were changed.
+     * @throws SQLException when the settings could not be restored.
+     */
+    public void restoreMigrateSettings(Map<String, String> originalSettings) throws SQLException {
+        // Do nothing by default
+    }
+
+    /**
+     * Reclaims the space freed by a clean. Must be called outside of a transaction. Does nothing by default.
+     *
+     * @throws SQLException when the database could not be compacted.
+     */
+    public void compact() throws SQLException {
+        // Do nothing by default
+    }
+
+    /**
+     * Captures the objects and data of these schemas, including the metadata table, as statements recreating them in
+     * a fresh database. Not supported by default.
+     *
+     * @param schemas The schemas to capture.
+     * @return The statements, or {@code null} if this database can't take snapshots.
+     * @throws SQLException when the schemas could not be captured.
+     */
+    public List<String> snapshot(Schema[] schemas) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Replays these snapshot statements, recreating the captured schemas.
+     *
+     * @param statements The statements returned by {@link #snapshot(Schema[])}.
+     * @throws SQLException when a statement failed.
+     */
+    public void restoreSnapshot(List<String> statements) throws SQLException {
+        for (String statement : statements) {
+            jdbcTemplate.executeStatement(statement);
+        }
+    }
+
+    /**
+     * Determines which of these schemas exist. Checks each schema on its own by default. Databases override this to
+     * look them all up with a single catalog query.
+     *
+     * @param schemas The schemas to check.
+     * @return The names of the schemas that exist.
+     * @throws SQLException when the catalog could not be queried.
+     */
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        Set<String> existingSchemas = new HashSet<String>();
+        for (Schema schema : schemas) {
+            if (schema.exists()) {
+                existingSchemas.add(schema.getName());
+            }
+        }
+        return existingSchemas;
+    }
+
+    /**
+     * Determines which of these existing schemas contain objects. Checks each schema on its own by default. Databases
+     * override this to look them all up with a single catalog query.
+     *
+     * @param schemas The schemas to check. All of them exist.
+     * @return The names of the schemas that are not empty.
+     * @throws SQLException when the catalog could not be queried.
+     */
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        Set<String> nonEmptySchemas = new HashSet<String>();
+        for (Schema schema : schemas) {
+            if (!schema.empty()) {
+                nonEmptySchemas.add(schema.getName());
+            }
+        }
+        return nonEmptySchemas;
+    }
+
+    /**
+     * Looks these schemas up with this catalog query returning schema names. Every {@code %s} in the query is
+     * replaced by a list of markers, one per schema.
+     *
+     * @param sql     The query. Ex.: SELECT nspname FROM pg_namespace WHERE nspname IN (%s)
+     * @param schemas The schemas to look up.
+     * @return The names of the schemas returned by the query.
+     * @throws SQLException when the catalog could not be queried.
+     */
+    protected Set<String> findSchemas(String sql, Schema[] schemas) throws SQLException {
+        return findSchemas(sql, "?", false, schemas);
+    }
+
+    /**
+     * Looks these schemas up with this catalog query returning schema names. Every {@code %s} in the query is
+     * replaced by a list of markers, one per schema. Large numbers of schemas are looked up in batches, to stay within
+     * the limits databases impose on the size of IN lists.
+     *
+     * @param sql             The query. Ex.: SELECT upper(schema_name) FROM qsys2.schemata WHERE upper(schema_name) IN (%s)
+     * @param marker          The marker for a single schema name. Ex.: upper(?)
+     * @param caseInsensitive Whether the names returned by the query should be matched case-insensitively.
+     * @param schemas         The schemas to look up.
+     * @return The names of the schemas returned by the query.
+     * @throws SQLException when the catalog could not be queried.
+     */
+    protected Set<String> findSchemas(String sql, String marker, boolean caseInsensitive, Schema[] schemas) throws SQLException {
+        int lists = StringUtils.countOccurrencesOf(sql, "%s");
+
+        Set<String> foundNames = new HashSet<String>();
+        for (int start = 0; start < schemas.length; start += SCHEMA_LOOKUP_BATCH_SIZE) {
+            int end = Math.min(start + SCHEMA_LOOKUP_BATCH_SIZE, schemas.length);
+
+            StringBuilder markers = new StringBuilder();
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    markers.append(",");
+                }
+                markers.append(marker);
+            }
+            List<String> params = new ArrayList<String>();
+            for (int list = 0; list < lists; list++) {
+                for (int i = start; i < end; i++) {
+                    params.add(schemas[i].getName());
+                }
+            }
+
+            for (String name : jdbcTemplate.queryForStringList(StringUtils.replace(sql, "%s", markers.toString()),
+                    params.toArray(new String[params.size()]))) {
+                if (name != null) {
+                    foundNames.add(caseInsensitive ? name.trim().toUpperCase() : name.trim());
+                }
+            }
+        }
+
+        Set<String> schemaNames = new HashSet<String>();
+        for (Schema schema : schemas) {
+            if (foundNames.contains(caseInsensitive ? schema.getName().toUpperCase() : schema.getName())) {
+                schemaNames.add(schema.getName());
+            }
+        }
+        return schemaNames;
+    }
 }
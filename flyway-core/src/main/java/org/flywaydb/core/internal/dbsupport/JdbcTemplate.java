@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.internal.dbsupport;
 
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.internal.progress.ProgressTracker;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.jdbc.RowMapper;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -29,6 +31,7 @@ import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -48,6 +51,32 @@ public class JdbcTemplate {
      */
     private final int nullType;
 
+    /**
+     * The listener to notify of execution metrics. {@code null} if nobody is listening.
+     */
+    private MetricsListener metricsListener;
+
+    /**
+     * The number of round trips to the database made through this template so far.
+     */
+    private int roundTrips;
+
+    /**
+     * The tracker to notify of the progress of sql scripts. {@code null} if progress is not being tracked.
+     */
+    private ProgressTracker progressTracker;
+
+    /**
+     * The maximum number of prepared statements to keep open for reuse. 0 to close every statement after use.
+     */
+    private int statementCacheSize;
+
+    /**
+     * The prepared statements kept open for reuse, by sql, least recently used first. {@code null} if caching is
+     * disabled.
+     */
+    private Map<String, PreparedStatement> statementCache;
+
     /**
      * Creates a new JdbcTemplate.
      *
@@ -56,7 +85,9 @@ public class JdbcTemplate {
      */
     public JdbcTemplate(Connection connection, int nullType) {
        try {
-            LOG.debug("JdbcTemplate created with autocommit set to " + connection.getAutoCommit());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("JdbcTemplate created with autocommit set to " + connection.getAutoCommit());
+            }
         }    catch (SQLException e) {
             LOG.debug("JdbcTemplate failed to read autocommit");
         }
@@ -67,7 +98,9 @@ public class JdbcTemplate {
     public JdbcTemplate(Connection connection, int nullType, boolean autocommit) {
         try {
             connection.setAutoCommit(autocommit);
-            LOG.debug("JdbcTemplate created with autocommit set to " + connection.getAutoCommit());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("JdbcTemplate created with autocommit set to " + connection.getAutoCommit());
+            }
         }    catch (SQLException e) {
             LOG.debug("JdbcTemplate failed to set autocommit");
         }
@@ -83,6 +116,88 @@ public class JdbcTemplate {
         return connection;
     }
 
+    /**
+     * @return The listener to notify of execution metrics. {@code null} if nobody is listening.
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * @param metricsListener The listener to notify of execution metrics. {@code null} if nobody is listening.
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * @return The tracker to notify of the progress of sql scripts. {@code null} if progress is not being tracked.
+     */
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    /**
+     * @param progressTracker The tracker to notify of the progress of sql scripts. {@code null} if progress is not
+     *                        being tracked.
+     */
+    public void setProgressTracker(ProgressTracker progressTracker) {
+        this.progressTracker = progressTracker;
+    }
+
+    /**
+     * @return The maximum number of prepared statements to keep open for reuse. 0 if caching is disabled.
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements to keep open for reuse on this connection. Identical sql executed
+     * through {@code queryFor*}, {@code update} or a parameterized {@code query} then reuses the same statement, and
+     * therefore the same server-side cursor, instead of being prepared again. The least recently used statement is
+     * closed once the cache is full. The cached statements must be released with {@link #closeStatements()} before the
+     * connection is given back.
+     *
+     * @param statementCacheSize The maximum number of statements to keep open. 0 to disable caching.
+     */
+    public void setStatementCacheSize(final int statementCacheSize) {
+        closeStatements();
+        this.statementCacheSize = statementCacheSize;
+        if (statementCacheSize > 0) {
+            statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        JdbcUtils.closeStatement(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Closes all prepared statements kept open for reuse. Caching remains enabled.
+     */
+    public void closeStatements() {
+        if (statementCache == null) {
+            return;
+        }
+        for (PreparedStatement statement : statementCache.values()) {
+            JdbcUtils.closeStatement(statement);
+        }
+        statementCache.clear();
+    }
+
+    /**
+     * @return The number of round trips to the database made through this template so far.
+     */
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
     /**
      * Executes this query with these parameters against this connection.
      *
@@ -92,12 +207,13 @@ public class JdbcTemplate {
      * @throws SQLException when the query execution failed.
      */
     public List<Map<String, String>> queryForList(String query, String... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
 
         List<Map<String, String>> result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareCachedStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -111,9 +227,12 @@ public class JdbcTemplate {
                 }
                 result.add(rowMap);
             }
+        } catch (SQLException e) {
+            evictStatement(query);
+            throw e;
         } finally {
             JdbcUtils.closeResultSet(resultSet);
-            JdbcUtils.closeStatement(statement);
+            releaseStatement(query, statement);
         }
 
 
@@ -129,12 +248,13 @@ public class JdbcTemplate {
      * @throws SQLException when the query execution failed.
      */
     public List<String> queryForStringList(String query, String... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
 
         List<String> result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareCachedStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -144,9 +264,12 @@ public class JdbcTemplate {
             while (resultSet.next()) {
                 result.add(resultSet.getString(1));
             }
+        } catch (SQLException e) {
+            evictStatement(query);
+            throw e;
         } finally {
             JdbcUtils.closeResultSet(resultSet);
-            JdbcUtils.closeStatement(statement);
+            releaseStatement(query, statement);
         }
 
         return result;
@@ -161,21 +284,25 @@ public class JdbcTemplate {
      * @throws SQLException when the query execution failed.
      */
     public int queryForInt(String query, String... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
 
         int result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareCachedStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
             resultSet = statement.executeQuery();
             resultSet.next();
             result = resultSet.getInt(1);
+        } catch (SQLException e) {
+            evictStatement(query);
+            throw e;
         } finally {
             JdbcUtils.closeResultSet(resultSet);
-            JdbcUtils.closeStatement(statement);
+            releaseStatement(query, statement);
         }
 
         return result;
@@ -190,12 +317,13 @@ public class JdbcTemplate {
      * @throws SQLException when the query execution failed.
      */
     public String queryForString(String query, String... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
 
         String result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareCachedStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -204,9 +332,12 @@ public class JdbcTemplate {
             if (resultSet.next()) {
                 result = resultSet.getString(1);
             }
+        } catch (SQLException e) {
+            evictStatement(query);
+            throw e;
         } finally {
             JdbcUtils.closeResultSet(resultSet);
-            JdbcUtils.closeStatement(statement);
+            releaseStatement(query, statement);
         }
 
         return result;
@@ -219,6 +350,7 @@ public class JdbcTemplate {
      * @throws SQLException when the database metadata could not be retrieved.
      */
     public DatabaseMetaData getMetaData() throws SQLException {
+        roundTrips++;
         return connection.getMetaData();
     }
 
@@ -230,6 +362,7 @@ public class JdbcTemplate {
      * @throws SQLException when the execution failed.
      */
     public void execute(String sql, Object... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         try {
             statement = prepareStatement(sql, params);
@@ -243,9 +376,12 @@ public class JdbcTemplate {
      * Executes this sql statement using an ordinary Statement.
      *
      * @param sql The statement to execute.
+     * @return The total number of rows affected by the statement. {@code -1} if unknown.
      * @throws SQLException when the execution failed.
      */
-    public void executeStatement(String sql) throws SQLException {
+    public int executeStatement(String sql) throws SQLException {
+        roundTrips++;
+        int rowsAffected = -1;
         Statement statement = null;
         try {
             statement = connection.createStatement();
@@ -265,13 +401,21 @@ public class JdbcTemplate {
                     warning = warning.getNextWarning();
                 }
                 // retrieve all results to ensure all errors are detected
-                while (hasResults || statement.getUpdateCount() != -1) {
+                while (true) {
+                    if (!hasResults) {
+                        int updateCount = statement.getUpdateCount();
+                        if (updateCount == -1) {
+                            break;
+                        }
+                        rowsAffected = (rowsAffected == -1 ? 0 : rowsAffected) + updateCount;
+                    }
                     hasResults = statement.getMoreResults();
                 }
             }
         } finally {
             JdbcUtils.closeStatement(statement);
         }
+        return rowsAffected;
     }
 
     /**
@@ -282,13 +426,57 @@ public class JdbcTemplate {
      * @throws SQLException when the execution failed.
      */
     public void update(String sql, Object... params) throws SQLException {
+        roundTrips++;
         PreparedStatement statement = null;
         try {
-            statement = prepareStatement(sql, params);
+            statement = prepareCachedStatement(sql);
+            setParams(statement, params);
             statement.executeUpdate();
+        } catch (SQLException e) {
+            evictStatement(sql);
+            throw e;
+        } finally {
+            releaseStatement(sql, statement);
+        }
+    }
+
+    /**
+     * Executes this update sql statement once for each set of params, reusing a single prepared statement and sending
+     * the updates to the database in batches.
+     *
+     * @param sql        The statement to execute.
+     * @param paramsList The statement parameters, one set per execution.
+     * @param batchSize  The maximum number of executions to send to the database in a single batch.
+     * @return The number of rows affected by each execution, in order. {@link Statement#SUCCESS_NO_INFO} if unknown.
+     * @throws SQLException when the execution failed.
+     */
+    public int[] batchUpdate(String sql, List<Object[]> paramsList, int batchSize) throws SQLException {
+        int[] rowsAffected = new int[paramsList.size()];
+        if (paramsList.isEmpty()) {
+            return rowsAffected;
+        }
+
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql);
+            int executed = 0;
+            int batched = 0;
+            for (Object[] params : paramsList) {
+                setParams(statement, params);
+                statement.addBatch();
+                batched++;
+                if ((batched == batchSize) || (executed + batched == paramsList.size())) {
+                    roundTrips++;
+                    int[] counts = statement.executeBatch();
+                    System.arraycopy(counts, 0, rowsAffected, executed, Math.min(counts.length, batched));
+                    executed += batched;
+                    batched = 0;
+                }
+            }
         } finally {
             JdbcUtils.closeStatement(statement);
         }
+        return rowsAffected;
     }
 
     /**
@@ -301,6 +489,65 @@ public class JdbcTemplate {
      */
     private PreparedStatement prepareStatement(String sql, Object[] params) throws SQLException {
         PreparedStatement statement = connection.prepareStatement(sql);
+        setParams(statement, params);
+        return statement;
+    }
+
+    /**
+     * Retrieves the cached prepared statement for this sql, or prepares and caches a new one if there is none.
+     * Prepares a new uncached statement if caching is disabled.
+     *
+     * @param sql The sql to execute.
+     * @return The prepared statement, with its parameters cleared.
+     * @throws SQLException when the statement could not be prepared.
+     */
+    private PreparedStatement prepareCachedStatement(String sql) throws SQLException {
+        if (statementCache == null) {
+            return connection.prepareStatement(sql);
+        }
+
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    /**
+     * Releases this statement after use. Statements that are cached are kept open, all others are closed.
+     *
+     * @param sql       The sql of the statement.
+     * @param statement The statement to release. {@code null} if none was prepared.
+     */
+    private void releaseStatement(String sql, PreparedStatement statement) {
+        if ((statement != null) && ((statementCache == null) || (statementCache.get(sql) != statement))) {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * Removes the statement for this sql from the cache after a failure, as it may no longer be usable. It is then
+     * closed by {@link #releaseStatement(String, PreparedStatement)}.
+     *
+     * @param sql The sql of the statement.
+     */
+    private void evictStatement(String sql) {
+        if (statementCache != null) {
+            statementCache.remove(sql);
+        }
+    }
+
+    /**
+     * Binds these params to this prepared statement.
+     *
+     * @param statement The prepared statement.
+     * @param params    The params.
+     * @throws SQLException when the params could not be bound.
+     */
+    private void setParams(PreparedStatement statement, Object[] params) throws SQLException {
         for (int i = 0; i < params.length; i++) {
             if (params[i] == null) {
                 statement.setNull(i + 1, nullType);
@@ -312,7 +559,42 @@ public class JdbcTemplate {
                 statement.setString(i + 1, (String) params[i]);
             }
         }
-        return statement;
+    }
+
+    /**
+     * Executes this query with these parameters using a PreparedStatement and map the results using this row mapper.
+     *
+     * @param query     The query to execute.
+     * @param rowMapper The row mapper to use.
+     * @param params    The query parameters.
+     * @param <T>       The type of the result objects.
+     * @return The list of results.
+     * @throws SQLException when the query failed to execute.
+     */
+    public <T> List<T> query(String query, RowMapper<T> rowMapper, Object... params) throws SQLException {
+        roundTrips++;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+
+        List<T> results;
+        try {
+            statement = prepareCachedStatement(query);
+            setParams(statement, params);
+            resultSet = statement.executeQuery();
+
+            results = new ArrayList<T>();
+            while (resultSet.next()) {
+                results.add(rowMapper.mapRow(resultSet));
+            }
+        } catch (SQLException e) {
+            evictStatement(query);
+            throw e;
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            releaseStatement(query, statement);
+        }
+
+        return results;
     }
 
     /**
@@ -325,6 +607,7 @@ public class JdbcTemplate {
      * @throws SQLException when the query failed to execute.
      */
     public <T> List<T> query(String query, RowMapper<T> rowMapper) throws SQLException {
+        roundTrips++;
         Statement statement = null;
         ResultSet resultSet = null;
 
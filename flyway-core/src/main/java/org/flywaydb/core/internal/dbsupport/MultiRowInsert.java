@@ -0,0 +1,137 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Merges runs of single-row INSERT statements into the same table and columns into multi-row INSERT statements, so
+ * seed data costs one round trip per batch of rows instead of one per row.
+ */
+public class MultiRowInsert {
+    /**
+     * Matches the start of an INSERT statement up to its VALUES clause.
+     */
+    private static final Pattern INSERT_PREFIX =
+            Pattern.compile("\\s*INSERT\\s+INTO\\s+[^\\s(]+\\s*(\\([^)]*\\))?\\s*VALUES\\s*", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The maximum length of a merged statement, well within the statement size limits of the databases.
+     */
+    private static final int MAX_STATEMENT_LENGTH = 1024 * 1024;
+
+    /**
+     * Prevents instantiation.
+     */
+    private MultiRowInsert() {
+        // Do nothing
+    }
+
+    /**
+     * Merges the runs of single-row INSERT statements into the same table and columns among these statements. Other
+     * statements, and INSERT statements that can't be merged safely, are kept as they are and in order.
+     *
+     * @param statements The statements to merge.
+     * @param maxRows    The maximum number of rows per merged statement.
+     * @return The merged statements.
+     */
+    public static List<SqlStatement> merge(List<SqlStatement> statements, int maxRows) {
+        List<SqlStatement> merged = new ArrayList<SqlStatement>();
+
+        CombinedStatement run = new CombinedStatement();
+        String runPrefix = null;
+        for (SqlStatement statement : statements) {
+            String[] insert = statement.isPgCopy() ? null : splitInsert(statement.getSql());
+
+            if ((insert != null) && insert[0].equals(runPrefix) && (run.size() < maxRows)
+                    && (run.length() + insert[1].length() < MAX_STATEMENT_LENGTH)) {
+                run.add(statement, ",\n" + insert[1]);
+                continue;
+            }
+
+            run.flushTo(merged);
+            if (insert == null) {
+                runPrefix = null;
+                merged.add(statement);
+            } else {
+                runPrefix = insert[0];
+                run.add(statement, insert[0] + " " + insert[1]);
+            }
+        }
+        run.flushTo(merged);
+
+        return merged;
+    }
+
+    /**
+     * Splits this statement into its prefix up to and including VALUES, and its single row.
+     *
+     * @param sql The statement.
+     * @return The prefix and the row. {@code null} if this isn't a single-row INSERT statement that can be merged.
+     */
+    /* private -> for testing */
+    static String[] splitInsert(String sql) {
+        Matcher matcher = INSERT_PREFIX.matcher(sql);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+
+        String values = sql.substring(matcher.end()).trim();
+        // Escapes and comments would make the end of the row ambiguous
+        if (!values.startsWith("(") || values.contains("\\") || values.contains("--") || values.contains("/*")) {
+            return null;
+        }
+
+        int end = findRowEnd(values);
+        if ((end < 0) || StringUtils.hasText(values.substring(end + 1).replace(";", ""))) {
+            // Multiple rows, RETURNING clauses, ...
+            return null;
+        }
+
+        return new String[]{matcher.group().trim(), values.substring(0, end + 1)};
+    }
+
+    /**
+     * Finds the closing parenthesis of the row these values start with, skipping quoted text.
+     *
+     * @param values The values, starting with an opening parenthesis.
+     * @return The index of the closing parenthesis. -1 if there is none.
+     */
+    private static int findRowEnd(String values) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if ((c == '\'') || (c == '"')) {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if ((c == ')') && (--depth == 0)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
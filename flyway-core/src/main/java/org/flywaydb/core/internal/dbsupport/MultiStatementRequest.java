@@ -0,0 +1,81 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Groups consecutive statements into requests of multiple statements separated by semicolons, so databases with a high
+ * overhead per request, like Vertica, execute small DDL and DML statements with far fewer round trips.
+ *
+ * <p>A request carries the line number of its first statement. When it fails, the database doesn't say which of its
+ * statements failed, so the error reports that line and the sql of the whole request. Re-running the statements one by
+ * one to find the culprit isn't an option, as the ones before it have already been executed.</p>
+ */
+public class MultiStatementRequest {
+    /**
+     * Matches statements with blocks, whose inner semicolons must not be mixed up with the separators of a request.
+     */
+    private static final Pattern BLOCK = Pattern.compile(".*\\bBEGIN\\b.*", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * Prevents instantiation.
+     */
+    private MultiStatementRequest() {
+        // Do nothing
+    }
+
+    /**
+     * Groups these statements into requests of up to this many statements. COPY statements with inline data and
+     * statements with blocks are always sent on their own.
+     *
+     * @param statements    The statements to group.
+     * @param maxStatements The maximum number of statements per request.
+     * @return The requests, as statements.
+     */
+    public static List<SqlStatement> group(List<SqlStatement> statements, int maxStatements) {
+        List<SqlStatement> requests = new ArrayList<SqlStatement>();
+
+        CombinedStatement group = new CombinedStatement();
+        for (SqlStatement statement : statements) {
+            if (!isGroupable(statement)) {
+                group.flushTo(requests);
+                requests.add(statement);
+                continue;
+            }
+
+            group.add(statement, (group.size() > 0 ? ";\n" : "") + statement.getSql());
+            if (group.size() == maxStatements) {
+                group.flushTo(requests);
+            }
+        }
+        group.flushTo(requests);
+
+        return requests;
+    }
+
+    /**
+     * Checks whether this statement may share a request with other statements.
+     *
+     * @param statement The statement.
+     * @return {@code true} if it may, {@code false} if it must be sent on its own.
+     */
+    private static boolean isGroupable(SqlStatement statement) {
+        return !statement.isPgCopy() && !BLOCK.matcher(statement.getSql()).matches();
+    }
+}
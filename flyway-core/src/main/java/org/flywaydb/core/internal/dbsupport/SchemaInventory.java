@@ -0,0 +1,119 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inventory of the existence and emptiness of the schemas managed by Flyway, looked up in bulk for all schemas at
+ * once the first time each is needed, instead of with catalog queries per schema and per check. The inventory
+ * reflects the state of the schemas at the time they were looked up, plus the schemas created since.
+ */
+public class SchemaInventory {
+    /**
+     * The database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The schemas managed by Flyway.
+     */
+    private final Schema[] schemas;
+
+    /**
+     * The names of the schemas that exist. {@code null} if not looked up yet.
+     */
+    private Set<String> existingSchemas;
+
+    /**
+     * The names of the schemas that contain objects. {@code null} if not looked up yet.
+     */
+    private Set<String> nonEmptySchemas;
+
+    /**
+     * Creates a new inventory. No lookup happens until the inventory is queried.
+     *
+     * @param dbSupport The database-specific support.
+     * @param schemas   The schemas managed by Flyway.
+     */
+    public SchemaInventory(DbSupport dbSupport, Schema[] schemas) {
+        this.dbSupport = dbSupport;
+        this.schemas = schemas;
+    }
+
+    /**
+     * Checks whether this schema exists.
+     *
+     * @param schema The schema to check. Must be one of the schemas of this inventory.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    public boolean exists(Schema schema) {
+        if (existingSchemas == null) {
+            try {
+                existingSchemas = dbSupport.findExistingSchemas(schemas);
+            } catch (SQLException e) {
+                throw new FlywayException("Unable to check whether the schemas exist", e);
+            }
+        }
+        return existingSchemas.contains(schema.getName());
+    }
+
+    /**
+     * Checks whether this schema is empty. A schema that doesn't exist is empty.
+     *
+     * @param schema The schema to check. Must be one of the schemas of this inventory.
+     * @return {@code true} if it is, {@code false} if it contains objects.
+     */
+    public boolean empty(Schema schema) {
+        if (!exists(schema)) {
+            return true;
+        }
+
+        if (nonEmptySchemas == null) {
+            List<Schema> schemasToCheck = new ArrayList<Schema>();
+            for (Schema candidate : schemas) {
+                if (exists(candidate)) {
+                    schemasToCheck.add(candidate);
+                }
+            }
+            try {
+                nonEmptySchemas = dbSupport.findNonEmptySchemas(schemasToCheck.toArray(new Schema[schemasToCheck.size()]));
+            } catch (SQLException e) {
+                throw new FlywayException("Unable to check whether the schemas are empty", e);
+            }
+        }
+        return !nonEmptySchemas.contains(schema.getName());
+    }
+
+    /**
+     * Records that this schema has just been created, and is therefore empty.
+     *
+     * @param schema The schema that has been created.
+     */
+    public void created(Schema schema) {
+        if (existingSchemas != null) {
+            existingSchemas.add(schema.getName());
+        }
+        if (nonEmptySchemas != null) {
+            nonEmptySchemas.remove(schema.getName());
+        }
+    }
+}
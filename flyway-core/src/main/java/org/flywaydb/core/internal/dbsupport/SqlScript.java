@@ -16,6 +16,8 @@
 package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.internal.progress.ProgressTracker;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -60,7 +62,7 @@ public class SqlScript {
      */
     public SqlScript(String sqlScriptSource, DbSupport dbSupport) {
         this.dbSupport = dbSupport;
-        this.sqlStatements = parse(sqlScriptSource);
+        this.sqlStatements = groupStatements(mergeInserts(parse(sqlScriptSource)));
         this.resource = null;
     }
 
@@ -76,7 +78,7 @@ public class SqlScript {
         this.dbSupport = dbSupport;
 
         String sqlScriptSource = sqlScriptResource.loadAsString(encoding);
-        this.sqlStatements = parse(placeholderReplacer.replacePlaceholders(sqlScriptSource));
+        this.sqlStatements = groupStatements(mergeInserts(parse(placeholderReplacer.replacePlaceholders(sqlScriptSource))));
 
         this.resource = sqlScriptResource;
     }
@@ -103,19 +105,38 @@ public class SqlScript {
      * @param jdbcTemplate The jdbc template to use to execute this script.
      */
     public void execute(final JdbcTemplate jdbcTemplate) {
+        MetricsListener metricsListener = jdbcTemplate.getMetricsListener();
+        ProgressTracker progressTracker = jdbcTemplate.getProgressTracker();
+        if (progressTracker != null) {
+            progressTracker.scriptStarted(sqlStatements);
+        }
         for (SqlStatement sqlStatement : sqlStatements) {
             String sql = sqlStatement.getSql();
-            LOG.debug("Executing SQL: " + sql);
+            LOG.debug("Executing SQL: {}", sql);
 
+            long start = metricsListener == null ? 0 : System.nanoTime();
+            int rowsAffected = -1;
             try {
                 if (sqlStatement.isPgCopy()) {
-                    dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql);
+                    dbSupport.executePgCopy(jdbcTemplate, sql);
                 } else {
-                    jdbcTemplate.executeStatement(sql);
+                    rowsAffected = jdbcTemplate.executeStatement(sql);
                 }
             } catch (SQLException e) {
+                if (metricsListener != null) {
+                    metricsListener.statementExecuted(resource == null ? null : resource.getLocation(),
+                            sqlStatement.getLineNumber(), sql, System.nanoTime() - start, -1, false);
+                }
                 throw new FlywaySqlScriptException(resource, sqlStatement, e);
             }
+
+            if (metricsListener != null) {
+                metricsListener.statementExecuted(resource == null ? null : resource.getLocation(),
+                        sqlStatement.getLineNumber(), sql, System.nanoTime() - start, rowsAffected, true);
+            }
+            if (progressTracker != null) {
+                progressTracker.statementExecuted(sqlStatement);
+            }
         }
     }
 
@@ -130,6 +151,33 @@ public class SqlScript {
         return linesToStatements(readLines(new StringReader(sqlScriptSource)));
     }
 
+    /**
+     * Merges runs of single-row INSERT statements into multi-row INSERT statements, if enabled and supported by the
+     * database.
+     *
+     * @param sqlStatements The parsed statements.
+     * @return The statements to execute.
+     */
+    private List<SqlStatement> mergeInserts(List<SqlStatement> sqlStatements) {
+        if (!dbSupport.supportsMultiRowInsert() || (dbSupport.getBulkInsertRows() < 2)) {
+            return sqlStatements;
+        }
+        return MultiRowInsert.merge(sqlStatements, dbSupport.getBulkInsertRows());
+    }
+
+    /**
+     * Groups consecutive statements into requests of multiple statements, if enabled and supported by the database.
+     *
+     * @param sqlStatements The statements.
+     * @return The statements to execute.
+     */
+    private List<SqlStatement> groupStatements(List<SqlStatement> sqlStatements) {
+        if (!dbSupport.supportsMultiStatementRequests() || (dbSupport.getStatementsPerRequest() < 2)) {
+            return sqlStatements;
+        }
+        return MultiStatementRequest.group(sqlStatements, dbSupport.getStatementsPerRequest());
+    }
+
     /**
      * Turns these lines in a series of statements.
      *
@@ -172,7 +220,7 @@ public class SqlScript {
             if (sqlStatementBuilder.isTerminated()) {
                 SqlStatement sqlStatement = sqlStatementBuilder.getSqlStatement();
                 statements.add(sqlStatement);
-                LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql());
+                LOG.debug("Found statement at line {}: {}", sqlStatement.getLineNumber(), sqlStatement.getSql());
 
                 sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
             } else if (sqlStatementBuilder.canDiscard()) {
@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.dbsupport.db2;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.dbsupport.AtomicBlock;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
@@ -24,6 +25,7 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * DB2 Support.
@@ -34,6 +36,11 @@ public class DB2DbSupport extends DbSupport {
      */
     private final int majorVersion;
 
+    /**
+     * Executes the drop statements of all schemas in BEGIN ATOMIC blocks.
+     */
+    private final AtomicBlock atomicBlock = new AtomicBlock();
+
     /**
      * Creates a new instance.
      *
@@ -52,6 +59,13 @@ public class DB2DbSupport extends DbSupport {
         return new DB2SqlStatementBuilder();
     }
 
+    /**
+     * @return The atomic block executor shared by all schemas of this database.
+     */
+    public AtomicBlock getAtomicBlock() {
+        return atomicBlock;
+    }
+
     public String getDbName() {
         return "db2";
     }
@@ -103,4 +117,20 @@ public class DB2DbSupport extends DbSupport {
     public int getDb2MajorVersion() {
         return majorVersion;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT schemaname FROM syscat.schemata WHERE schemaname IN (%s)", schemas);
+    }
+
+    @Override
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("select tabschema from syscat.tables where tabschema in (%s)"
+                + " union select viewschema from syscat.views where viewschema in (%s)"
+                + " union select seqschema from syscat.sequences where seqschema in (%s)"
+                + " union select indschema from syscat.indexes where indschema in (%s)"
+                + " union select procschema from syscat.procedures where procschema in (%s)"
+                + " union select funcschema from syscat.functions where funcschema in (%s)"
+                + " union select trigschema from syscat.triggers where trigschema in (%s)", schemas);
+    }
 }
@@ -45,13 +45,16 @@ public class DB2Schema extends Schema<DB2DbSupport> {
 
     @Override
     protected boolean doEmpty() throws SQLException {
-        int objectCount = jdbcTemplate.queryForInt("select count(*) from syscat.tables where tabschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.views where viewschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.sequences where seqschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.indexes where indschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.procedures where procschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.functions where funcschema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from syscat.triggers where trigschema = ?", name);
+        int objectCount = jdbcTemplate.queryForInt("select" +
+                        " (select count(*) from syscat.tables where tabschema = ?)" +
+                        " + (select count(*) from syscat.views where viewschema = ?)" +
+                        " + (select count(*) from syscat.sequences where seqschema = ?)" +
+                        " + (select count(*) from syscat.indexes where indschema = ?)" +
+                        " + (select count(*) from syscat.procedures where procschema = ?)" +
+                        " + (select count(*) from syscat.functions where funcschema = ?)" +
+                        " + (select count(*) from syscat.triggers where trigschema = ?)" +
+                        " from sysibm.sysdummy1",
+                name, name, name, name, name, name, name);
         return objectCount == 0;
     }
 
@@ -68,145 +71,79 @@ public class DB2Schema extends Schema<DB2DbSupport> {
 
     @Override
     protected void doClean() throws SQLException {
-        // MQTs are dropped when the backing views or tables are dropped
-        // Indexes in DB2 are dropped when the corresponding table is dropped
+        List<String> dropStatements = generateDropStatements();
 
         if (dbSupport.getDb2MajorVersion() >= 10) {
-            // drop versioned table link -> not supported for DB2 9.x
-            for (String dropVersioningStatement : generateDropVersioningStatement()) {
-                jdbcTemplate.execute(dropVersioningStatement);
+            dbSupport.getAtomicBlock().execute(jdbcTemplate, dropStatements);
+        } else {
+            for (String dropStatement : dropStatements) {
+                jdbcTemplate.execute(dropStatement);
             }
         }
-
-        // views
-        for (String dropStatement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // aliases
-        for (String dropStatement : generateDropStatements("A", "ALIAS")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        // sequences
-        for (String dropStatement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // procedures
-        for (String dropStatement : generateDropStatementsForProcedures()) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // triggers
-        for (String dropStatement : generateDropStatementsForTriggers()) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        for (Function function : allFunctions()) {
-            function.drop();
-        }
-
-        for (Type type : allTypes()) {
-            type.drop();
-        }
-    }
-
-
-    /**
-     * Generates DROP statements for the procedures in this schema.
-     *
-     * @return The drop statements.
-     * @throws SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForProcedures() throws SQLException {
-        String dropProcGenQuery = "select PROCNAME from SYSCAT.PROCEDURES where PROCSCHEMA = '" + name + "'";
-        return buildDropStatements("DROP PROCEDURE", dropProcGenQuery);
     }
 
     /**
-     * Generates DROP statements for the triggers in this schema.
+     * Generates the DROP statements for all objects in this schema, in an order in which no statement depends on an
+     * object dropped by an earlier one, based on a single catalog query.
+     * MQTs are dropped when the backing views or tables are dropped.
+     * Indexes in DB2 are dropped when the corresponding table is dropped.
      *
      * @return The drop statements.
      * @throws SQLException when the statements could not be generated.
      */
-    private List<String> generateDropStatementsForTriggers() throws SQLException {
-        String dropTrigGenQuery = "select TRIGNAME from SYSCAT.TRIGGERS where TRIGSCHEMA = '" + name + "'";
-        return buildDropStatements("DROP TRIGGER", dropTrigGenQuery);
-    }
+    /* private -> for testing */
+    List<String> generateDropStatements() throws SQLException {
+        // Versioned tables are not supported by DB2 9.x
+        String temporalType = dbSupport.getDb2MajorVersion() >= 10 ? "TEMPORALTYPE" : "'N'";
+
+        List<Map<String, String>> objects = jdbcTemplate.queryForList(
+                "select 'TRIGGER' as KIND, TRIGNAME as NAME, 'N' as TEMPORALTYPE from SYSCAT.TRIGGERS where TRIGSCHEMA = ?" +
+                        " union all select 'VIEW', TABNAME, 'N' from SYSCAT.TABLES where TABSCHEMA = ?" +
+                        " and TABNAME NOT LIKE 'IDX_%_V' and TYPE = 'V'" +
+                        " union all select 'ALIAS', TABNAME, 'N' from SYSCAT.TABLES where TABSCHEMA = ? and TYPE = 'A'" +
+                        " union all select 'TABLE', TABNAME, " + temporalType + " from SYSCAT.TABLES" +
+                        " where TABSCHEMA = ? and TYPE = 'T'" +
+                        " union all select 'SEQUENCE', SEQNAME, 'N' from SYSCAT.SEQUENCES where SEQSCHEMA = ? and SEQTYPE = 'S'" +
+                        " union all select 'PROCEDURE', SPECIFICNAME, 'N' from SYSCAT.PROCEDURES where PROCSCHEMA = ?" +
+                        " union all select 'FUNCTION', SPECIFICNAME, 'N' from SYSCAT.FUNCTIONS where FUNCSCHEMA = ? and ORIGIN = 'Q'" +
+                        " union all select 'TYPE', TYPENAME, 'N' from SYSCAT.DATATYPES where TYPESCHEMA = ?",
+                name, name, name, name, name, name, name, name);
 
-    /**
-     * Generates DROP statements for the sequences in this schema.
-     *
-     * @return The drop statements.
-     * @throws SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForSequences() throws SQLException {
-        String dropSeqGenQuery = "select SEQNAME from SYSCAT.SEQUENCES where SEQSCHEMA = '" + name
-                + "' and SEQTYPE='S'";
-        return buildDropStatements("DROP SEQUENCE", dropSeqGenQuery);
-    }
-
-    /**
-     * Generates DROP statements for the views in this schema.
-     *
-     * @return The drop statements.
-     * @throws SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForViews() throws SQLException {
-        String dropSeqGenQuery = "select TABNAME from SYSCAT.TABLES where TABSCHEMA = '" + name
-                + "' and TABNAME NOT LIKE 'IDX_%_V' and TYPE='V'";
-        return buildDropStatements("DROP VIEW", dropSeqGenQuery);
-    }
-
-    /**
-     * Generates DROP statements for this type of table, representing this type of object in this schema.
-     *
-     * @param tableType  The type of table (Can be T, V, S, ...).
-     * @param objectType The type of object.
-     * @return The drop statements.
-     * @throws SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatements(String tableType, String objectType) throws SQLException {
-        String dropTablesGenQuery = "select TABNAME from SYSCAT.TABLES where TYPE='" + tableType + "' and TABSCHEMA = '"
-                + name + "'";
-        return buildDropStatements("DROP " + objectType, dropTablesGenQuery);
+        List<String> dropStatements = new ArrayList<String>();
+        for (Map<String, String> object : objects) {
+            if ("TABLE".equals(object.get("KIND").trim()) && !"N".equals(object.get("TEMPORALTYPE"))) {
+                dropStatements.add("ALTER TABLE " + dbSupport.quote(name, object.get("NAME")) + " DROP VERSIONING");
+            }
+        }
+        dropStatements.addAll(buildDropStatements(objects, "TRIGGER", "DROP TRIGGER"));
+        dropStatements.addAll(buildDropStatements(objects, "VIEW", "DROP VIEW"));
+        dropStatements.addAll(buildDropStatements(objects, "ALIAS", "DROP ALIAS"));
+        dropStatements.addAll(buildDropStatements(objects, "TABLE", "DROP TABLE"));
+        dropStatements.addAll(buildDropStatements(objects, "SEQUENCE", "DROP SEQUENCE"));
+        dropStatements.addAll(buildDropStatements(objects, "PROCEDURE", "DROP SPECIFIC PROCEDURE"));
+        dropStatements.addAll(buildDropStatements(objects, "FUNCTION", "DROP SPECIFIC FUNCTION"));
+        dropStatements.addAll(buildDropStatements(objects, "TYPE", "DROP TYPE"));
+        return dropStatements;
     }
 
     /**
-     * Builds the drop statements for database objects in this schema.
+     * Builds the drop statements for the database objects of this kind in this schema.
      *
+     * @param objects    The database objects of all kinds, as returned by the catalog query.
+     * @param kind       The kind of database object (e.g. 'TABLE').
      * @param dropPrefix The drop command for the database object (e.g. 'drop table').
-     * @param query      The query to get all present database objects
      * @return The statements.
-     * @throws SQLException when the drop statements could not be built.
      */
-    private List<String> buildDropStatements(final String dropPrefix, final String query) throws SQLException {
+    private List<String> buildDropStatements(List<Map<String, String>> objects, String kind, String dropPrefix) {
         List<String> dropStatements = new ArrayList<String>();
-        List<String> dbObjects = jdbcTemplate.queryForStringList(query);
-        for (String dbObject : dbObjects) {
-            dropStatements.add(dropPrefix + " " + dbSupport.quote(name, dbObject));
+        for (Map<String, String> object : objects) {
+            if (kind.equals(object.get("KIND").trim())) {
+                dropStatements.add(dropPrefix + " " + dbSupport.quote(name, object.get("NAME")));
+            }
         }
         return dropStatements;
     }
 
-    /**
-     * @return All tables that have versioning associated with them.
-     */
-    private List<String> generateDropVersioningStatement() throws SQLException {
-        List<String> dropVersioningStatements = new ArrayList<String>();
-        Table[] versioningTables = findTables("select TABNAME from SYSCAT.TABLES where TEMPORALTYPE <> 'N' and TABSCHEMA = ?", name);
-        for (Table table : versioningTables) {
-            dropVersioningStatements.add("ALTER TABLE " + table.toString() + " DROP VERSIONING");
-        }
-
-        return dropVersioningStatements;
-    }
-
     private Table[] findTables(String sqlQuery, String... params) throws SQLException {
         List<String> tableNames = jdbcTemplate.queryForStringList(sqlQuery, params);
         Table[] tables = new Table[tableNames.size()];
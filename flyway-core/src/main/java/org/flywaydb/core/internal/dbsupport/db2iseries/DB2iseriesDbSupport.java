@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.dbsupport.db2iseries;
 
+import org.flywaydb.core.internal.dbsupport.AtomicBlock;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
@@ -23,11 +24,17 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * DB2 Support.
  */
 public class DB2iseriesDbSupport extends DbSupport {
+    /**
+     * Executes the drop statements of all schemas in BEGIN ATOMIC blocks.
+     */
+    private final AtomicBlock atomicBlock = new AtomicBlock();
+
     /**
      * Creates a new instance.
      *
@@ -37,6 +44,13 @@ public class DB2iseriesDbSupport extends DbSupport {
         super(new JdbcTemplate(connection, Types.VARCHAR, false));
     }
 
+    /**
+     * @return The atomic block executor shared by all schemas of this database.
+     */
+    public AtomicBlock getAtomicBlock() {
+        return atomicBlock;
+    }
+
     public String getDbName() {
         return "db2iseries";
     }
@@ -90,4 +104,20 @@ public class DB2iseriesDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT upper(schema_name) FROM qsys2.schemata WHERE upper(schema_name) IN (%s)",
+                "upper(?)", true, schemas);
+    }
+
+    @Override
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("select upper(system_table_schema) from qsys2.systables where upper(system_table_schema) in (%s)"
+                + " union select upper(table_schema) from qsys2.systables where upper(table_schema) in (%s)"
+                + " union select upper(sequence_schema) from qsys2.syssequences where upper(sequence_schema) in (%s)"
+                + " union select upper(table_schema) from qsys2.sysindexes where upper(table_schema) in (%s)"
+                + " union select upper(specific_schema) from qsys2.sysroutines where upper(specific_schema) in (%s)",
+                "upper(?)", true, schemas);
+    }
 }
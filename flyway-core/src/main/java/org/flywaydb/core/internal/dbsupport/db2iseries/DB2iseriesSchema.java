@@ -24,6 +24,7 @@ import org.flywaydb.core.internal.dbsupport.Type;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DB2 implementation of Schema.
@@ -52,11 +53,14 @@ public class DB2iseriesSchema extends Schema<DB2iseriesDbSupport> {
 
     @Override
     protected boolean doEmpty() throws SQLException {
-        int objectCount = jdbcTemplate.queryForInt("select count(*) from qsys2.systables where upper(system_table_schema) = upper(?)", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from qsys2.systables where upper(table_schema) = upper(?)", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from qsys2.syssequences where upper(sequence_schema) = upper(?)", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from qsys2.sysindexes where upper(table_schema) = upper(?)", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from qsys2.sysroutines where upper(specific_schema) = upper(?)", name);
+        int objectCount = jdbcTemplate.queryForInt("select" +
+                        " (select count(*) from qsys2.systables where upper(system_table_schema) = upper(?))" +
+                        " + (select count(*) from qsys2.systables where upper(table_schema) = upper(?))" +
+                        " + (select count(*) from qsys2.syssequences where upper(sequence_schema) = upper(?))" +
+                        " + (select count(*) from qsys2.sysindexes where upper(table_schema) = upper(?))" +
+                        " + (select count(*) from qsys2.sysroutines where upper(specific_schema) = upper(?))" +
+                        " from sysibm.sysdummy1",
+                name, name, name, name, name);
         return objectCount == 0;
     }
 
@@ -72,166 +76,60 @@ public class DB2iseriesSchema extends Schema<DB2iseriesDbSupport> {
 
     @Override
     protected void doClean() throws SQLException {
-        // MQTs are dropped when the backing views or tables are dropped
-        // Indexes in DB2 are dropped when the corresponding table is dropped
-
-        // views
-        for (String dropStatement : generateDropStatements(name, "V", "VIEW")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // aliases
-        for (String dropStatement : generateDropStatements(name, "A", "ALIAS")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        // slett testtabeller
-//        for (String dropStatement : generateDropStatementsForTestTable(name, "T", "TABLE")) {
-//            jdbcTemplate.execute(dropStatement);
-//        }
-
-
-        // tablespace
-       // for (String dropStatement : generateDropStatementsForTablespace(name)) {
-        //    jdbcTemplate.execute(dropStatement);
-        //}
-
-        // sequences
-        for (String dropStatement : generateDropStatementsForSequences(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // procedures
-        for (String dropStatement : generateDropStatementsForProcedures(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // functions
-        for (String dropStatement : generateDropStatementsForFunctions(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // usertypes
-//        for (String dropStatement : generateDropStatementsForUserTypes(name)) {
-//            jdbcTemplate.execute(dropStatement);
-//        }
+        dbSupport.getAtomicBlock().execute(jdbcTemplate, generateDropStatements());
     }
 
     /**
-     * Generates DROP statements for the procedures in this schema.
+     * Generates the DROP statements for all objects in this schema, in an order in which no statement depends on an
+     * object dropped by an earlier one, based on a single catalog query.
+     * MQTs are dropped when the backing views or tables are dropped.
+     * Indexes in DB2 are dropped when the corresponding table is dropped.
      *
-     * @param schema The schema of the objects.
      * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
+     * @throws SQLException when the statements could not be generated.
      */
-    //CAST_FUNCTION =function_type?
-    private List<String> generateDropStatementsForProcedures(String schema) throws SQLException {
-        String dropProcGenQuery = "select rtrim(routine_name) from qsys2.SYSROUTINES where function_type = 'N' " +
-                " and ROUTINE_TYPE  = 'P' and routine_schema = '" + schema + "'";
-        return buildDropStatements("DROP PROCEDURE", dropProcGenQuery, schema);
-    }
+    /* private -> for testing */
+    List<String> generateDropStatements() throws SQLException {
+        List<Map<String, String>> objects = jdbcTemplate.queryForList(
+                "select 'VIEW' as KIND, rtrim(table_name) as NAME from qsys2.systables where table_type = 'V'" +
+                        " and (table_schema = ? OR system_table_schema = ?)" +
+                        " union all select 'ALIAS', rtrim(table_name) from qsys2.systables where table_type = 'A'" +
+                        " and (table_schema = ? OR system_table_schema = ?)" +
+                        " union all select 'TABLE', rtrim(table_name) from qsys2.systables where table_type = 'T'" +
+                        " and table_schema = ?" +
+                        " union all select 'SEQUENCE', rtrim(sequence_name) from qsys2.syssequences" +
+                        " where sequence_schema = ? and SEQTYPE = 'S'" +
+                        " union all select 'PROCEDURE', rtrim(routine_name) from qsys2.sysroutines where function_type = 'N'" +
+                        " and routine_type = 'P' and routine_schema = ?" +
+                        " union all select 'FUNCTION', rtrim(routine_name) from qsys2.sysroutines where function_type = 'N'" +
+                        " and routine_type = 'F' and routine_schema = ?",
+                name, name, name, name, name, name, name, name);
 
-    /**
-     * Generates DROP statements for the functions in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-      //CAST_FUNCTION =function_type?
-    private List<String> generateDropStatementsForFunctions(String schema) throws SQLException {
-        String dropProcGenQuery = "select rtrim(routine_name) from qsys2.SYSROUTINES where function_type = 'N' " +
-                " and ROUTINE_TYPE  = 'F' and routine_schema = '" + schema + "'";
-        return buildDropStatements("DROP FUNCTION", dropProcGenQuery, schema);
-    }
-
-    /**
-     * Generates DROP statements for the sequences in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForSequences(String schema) throws SQLException {
-        String dropSeqGenQuery = "select rtrim(sequence_name) from qsys2.SYSSEQUENCES where sequence_schema = '" + schema
-                + "' and SEQTYPE='S'";
-        return buildDropStatements("DROP SEQUENCE", dropSeqGenQuery, schema);
-    }
-
-    /**
-     * Generates DROP statements for the tablespace in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    //
-    //private List<String> generateDropStatementsForTablespace(String schema) throws SQLException {
-//        String dropTablespaceGenQuery = "select rtrim(NAME) FROM qsys2.SYSTABLESPACE where DBNAME = '" + schema + "'";
-//        return buildDropStatements("DROP TABLESPACE", dropTablespaceGenQuery, schema);
-    //}
-
-
-    /**
-     * Generates DROP statements for this type of table, representing this type of object in this schema.
-     *
-     * @param schema     The schema of the objects.
-     * @param tableType  The type of table (Can be T, V, S, ...).
-     * @param objectType The type of object.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    //private List<String> generateDropStatementsForTestTable(String schema, String tableType, String objectType) throws SQLException {
-//        String dropTablesGenQuery = "select rtrim(NAME) from qsys2.systables where TYPE='" + tableType + "' and creator = '"
-//                + schema + "'";
-//        return buildDropStatements("DROP " + objectType, dropTablesGenQuery, schema);
-   // }
-
-    /**
-     * Generates DROP statements for the user defines types in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-//    private List<String> generateDropStatementsForUserTypes(String schema) throws SQLException {
-//        String dropTablespaceGenQuery = "select rtrim(NAME) from qsys2.SYSDATATYPES where schema = '" + schema + "'";
-//        return buildDropStatements("DROP TYPE", dropTablespaceGenQuery, schema);
-//    }
-
-    /**
-     * Generates DROP statements for this type of table, representing this type of object in this schema.
-     *
-     * @param schema     The schema of the objects.
-     * @param tableType  The type of table (Can be T, V, S, ...).
-     * @param objectType The type of object.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatements(String schema, String tableType, String objectType) throws SQLException {
-        String dropTablesGenQuery = "select rtrim(table_name) from qsys2.systables where table_type='" + tableType + "' and (table_schema = '"
-                + schema + "' OR system_table_schema = '" + schema + "')";
-        return buildDropStatements("DROP " + objectType, dropTablesGenQuery, schema);
+        List<String> dropStatements = new ArrayList<String>();
+        dropStatements.addAll(buildDropStatements(objects, "VIEW", "DROP VIEW", name));
+        dropStatements.addAll(buildDropStatements(objects, "ALIAS", "DROP ALIAS", name));
+        dropStatements.addAll(buildDropStatements(objects, "TABLE", "DROP TABLE", getName()));
+        dropStatements.addAll(buildDropStatements(objects, "SEQUENCE", "DROP SEQUENCE", name));
+        dropStatements.addAll(buildDropStatements(objects, "PROCEDURE", "DROP PROCEDURE", name));
+        dropStatements.addAll(buildDropStatements(objects, "FUNCTION", "DROP FUNCTION", name));
+        return dropStatements;
     }
 
     /**
-     * Builds the drop statements for database objects in this schema.
+     * Builds the drop statements for the database objects of this kind in this schema.
      *
+     * @param objects    The database objects of all kinds, as returned by the catalog query.
+     * @param kind       The kind of database object (e.g. 'TABLE').
      * @param dropPrefix The drop command for the database object (e.g. 'drop table').
-     * @param query      The query to get all present database objects
      * @param schema     The schema for which to build the statements.
      * @return The statements.
-     * @throws java.sql.SQLException when the drop statements could not be built.
      */
-    private List<String> buildDropStatements(final String dropPrefix, final String query, String schema) throws SQLException {
+    private List<String> buildDropStatements(List<Map<String, String>> objects, String kind, String dropPrefix, String schema) {
         List<String> dropStatements = new ArrayList<String>();
-        List<String> dbObjects = jdbcTemplate.queryForStringList(query);
-        for (String dbObject : dbObjects) {
-            dropStatements.add(dropPrefix + " " + dbSupport.quote(schema, dbObject));
+        for (Map<String, String> object : objects) {
+            if (kind.equals(object.get("KIND").trim())) {
+                dropStatements.add(dropPrefix + " " + dbSupport.quote(schema, object.get("NAME")));
+            }
         }
         return dropStatements;
     }
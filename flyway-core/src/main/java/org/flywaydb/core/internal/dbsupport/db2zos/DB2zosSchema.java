@@ -24,6 +24,7 @@ import org.flywaydb.core.internal.dbsupport.Type;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DB2 implementation of Schema.
@@ -49,11 +50,14 @@ public class DB2zosSchema extends Schema<DB2zosDbSupport> {
 
     @Override
     protected boolean doEmpty() throws SQLException {
-        int objectCount = jdbcTemplate.queryForInt("select count(*) from sysibm.systables where dbname = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from sysibm.systables where creator = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from sysibm.syssequences where schema = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from sysibm.sysindexes where dbname = ?", name);
-        objectCount += jdbcTemplate.queryForInt("select count(*) from sysibm.sysroutines where schema = ?", name);
+        int objectCount = jdbcTemplate.queryForInt("select" +
+                        " (select count(*) from sysibm.systables where dbname = ?)" +
+                        " + (select count(*) from sysibm.systables where creator = ?)" +
+                        " + (select count(*) from sysibm.syssequences where schema = ?)" +
+                        " + (select count(*) from sysibm.sysindexes where dbname = ?)" +
+                        " + (select count(*) from sysibm.sysroutines where schema = ?)" +
+                        " from sysibm.sysdummy1",
+                name, name, name, name, name);
         return objectCount == 0;
     }
 
@@ -69,163 +73,67 @@ public class DB2zosSchema extends Schema<DB2zosDbSupport> {
 
     @Override
     protected void doClean() throws SQLException {
-        // MQTs are dropped when the backing views or tables are dropped
-        // Indexes in DB2 are dropped when the corresponding table is dropped
-
-        // views
-        for (String dropStatement : generateDropStatements(name, "V", "VIEW")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // aliases
-        for (String dropStatement : generateDropStatements(name, "A", "ALIAS")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        // slett testtabeller
-        for (String dropStatement : generateDropStatementsForTestTable(name, "T", "TABLE")) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-
-        // tablespace
-        for (String dropStatement : generateDropStatementsForTablespace(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // sequences
-        for (String dropStatement : generateDropStatementsForSequences(name)) {
+        // DB2 on zOS only accepts compound statements inside native SQL procedures, so every drop has its own round trip
+        for (String dropStatement : generateDropStatements()) {
             jdbcTemplate.execute(dropStatement);
         }
-
-        // procedures
-        for (String dropStatement : generateDropStatementsForProcedures(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // functions
-        for (String dropStatement : generateDropStatementsForFunctions(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-
-        // usertypes
-        for (String dropStatement : generateDropStatementsForUserTypes(name)) {
-            jdbcTemplate.execute(dropStatement);
-        }
-    }
-
-    /**
-     * Generates DROP statements for the procedures in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForProcedures(String schema) throws SQLException {
-        String dropProcGenQuery = "select rtrim(NAME) from SYSIBM.SYSROUTINES where CAST_FUNCTION = 'N' " +
-                " and ROUTINETYPE  = 'P' and SCHEMA = '" + schema + "'";
-        return buildDropStatements("DROP PROCEDURE", dropProcGenQuery, schema);
     }
 
     /**
-     * Generates DROP statements for the functions in this schema.
+     * Generates the DROP statements for all objects in this schema, in an order in which no statement depends on an
+     * object dropped by an earlier one, based on a single catalog query.
+     * MQTs are dropped when the backing views or tables are dropped.
+     * Indexes in DB2 are dropped when the corresponding table is dropped.
+     * Implicitly created table spaces are dropped with their tables, so only explicit ones are dropped on their own.
      *
-     * @param schema The schema of the objects.
      * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
+     * @throws SQLException when the statements could not be generated.
      */
-    private List<String> generateDropStatementsForFunctions(String schema) throws SQLException {
-        String dropProcGenQuery = "select rtrim(NAME) from SYSIBM.SYSROUTINES where CAST_FUNCTION = 'N' " +
-                " and ROUTINETYPE  = 'F' and SCHEMA = '" + schema + "'";
-        return buildDropStatements("DROP FUNCTION", dropProcGenQuery, schema);
-    }
+    /* private -> for testing */
+    List<String> generateDropStatements() throws SQLException {
+        List<Map<String, String>> objects = jdbcTemplate.queryForList(
+                "select 'VIEW' as KIND, rtrim(NAME) as NAME from SYSIBM.SYSTABLES where TYPE = 'V'" +
+                        " and (DBNAME = ? OR CREATOR = ?)" +
+                        " union all select 'ALIAS', rtrim(NAME) from SYSIBM.SYSTABLES where TYPE = 'A'" +
+                        " and (DBNAME = ? OR CREATOR = ?)" +
+                        " union all select 'TABLE', rtrim(NAME) from SYSIBM.SYSTABLES where TYPE = 'T'" +
+                        " and (DBNAME = ? OR CREATOR = ?)" +
+                        " union all select 'TABLESPACE', rtrim(NAME) from SYSIBM.SYSTABLESPACE where DBNAME = ?" +
+                        " and IMPLICIT <> 'Y'" +
+                        " union all select 'SEQUENCE', rtrim(NAME) from SYSIBM.SYSSEQUENCES where SCHEMA = ? and SEQTYPE = 'S'" +
+                        " union all select 'PROCEDURE', rtrim(NAME) from SYSIBM.SYSROUTINES where CAST_FUNCTION = 'N'" +
+                        " and ROUTINETYPE = 'P' and SCHEMA = ?" +
+                        " union all select 'FUNCTION', rtrim(NAME) from SYSIBM.SYSROUTINES where CAST_FUNCTION = 'N'" +
+                        " and ROUTINETYPE = 'F' and SCHEMA = ?" +
+                        " union all select 'TYPE', rtrim(NAME) from SYSIBM.SYSDATATYPES where SCHEMA = ?",
+                name, name, name, name, name, name, name, name, name, name, name);
 
-    /**
-     * Generates DROP statements for the sequences in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForSequences(String schema) throws SQLException {
-        String dropSeqGenQuery = "select rtrim(NAME) from SYSIBM.SYSSEQUENCES where SCHEMA = '" + schema
-                + "' and SEQTYPE='S'";
-        return buildDropStatements("DROP SEQUENCE", dropSeqGenQuery, schema);
-    }
-
-    /**
-     * Generates DROP statements for the tablespace in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForTablespace(String schema) throws SQLException {
-        String dropTablespaceGenQuery = "select rtrim(NAME) FROM SYSIBM.SYSTABLESPACE where DBNAME = '" + schema + "'";
-        return buildDropStatements("DROP TABLESPACE", dropTablespaceGenQuery, schema);
-    }
-
-
-    /**
-     * Generates DROP statements for this type of table, representing this type of object in this schema.
-     *
-     * @param schema     The schema of the objects.
-     * @param tableType  The type of table (Can be T, V, S, ...).
-     * @param objectType The type of object.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForTestTable(String schema, String tableType, String objectType) throws SQLException {
-        String dropTablesGenQuery = "select rtrim(NAME) from SYSIBM.SYSTABLES where TYPE='" + tableType + "' and creator = '"
-                + schema + "'";
-        return buildDropStatements("DROP " + objectType, dropTablesGenQuery, schema);
-    }
-
-    /**
-     * Generates DROP statements for the user defines types in this schema.
-     *
-     * @param schema The schema of the objects.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForUserTypes(String schema) throws SQLException {
-        String dropTablespaceGenQuery = "select rtrim(NAME) from SYSIBM.SYSDATATYPES where schema = '" + schema + "'";
-        return buildDropStatements("DROP TYPE", dropTablespaceGenQuery, schema);
-    }
-
-    /**
-     * Generates DROP statements for this type of table, representing this type of object in this schema.
-     *
-     * @param schema     The schema of the objects.
-     * @param tableType  The type of table (Can be T, V, S, ...).
-     * @param objectType The type of object.
-     * @return The drop statements.
-     * @throws java.sql.SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatements(String schema, String tableType, String objectType) throws SQLException {
-        String dropTablesGenQuery = "select rtrim(NAME) from SYSIBM.SYSTABLES where TYPE='" + tableType + "' and (DBNAME = '"
-                + schema + "' OR creator = '" + schema + "')";
-        return buildDropStatements("DROP " + objectType, dropTablesGenQuery, schema);
+        List<String> dropStatements = new ArrayList<String>();
+        dropStatements.addAll(buildDropStatements(objects, "VIEW", "DROP VIEW"));
+        dropStatements.addAll(buildDropStatements(objects, "ALIAS", "DROP ALIAS"));
+        dropStatements.addAll(buildDropStatements(objects, "TABLE", "DROP TABLE"));
+        dropStatements.addAll(buildDropStatements(objects, "TABLESPACE", "DROP TABLESPACE"));
+        dropStatements.addAll(buildDropStatements(objects, "SEQUENCE", "DROP SEQUENCE"));
+        dropStatements.addAll(buildDropStatements(objects, "PROCEDURE", "DROP PROCEDURE"));
+        dropStatements.addAll(buildDropStatements(objects, "FUNCTION", "DROP FUNCTION"));
+        dropStatements.addAll(buildDropStatements(objects, "TYPE", "DROP TYPE"));
+        return dropStatements;
     }
 
     /**
-     * Builds the drop statements for database objects in this schema.
+     * Builds the drop statements for the database objects of this kind in this schema.
      *
+     * @param objects    The database objects of all kinds, as returned by the catalog query.
+     * @param kind       The kind of database object (e.g. 'TABLE').
      * @param dropPrefix The drop command for the database object (e.g. 'drop table').
-     * @param query      The query to get all present database objects
-     * @param schema     The schema for which to build the statements.
      * @return The statements.
-     * @throws java.sql.SQLException when the drop statements could not be built.
      */
-    private List<String> buildDropStatements(final String dropPrefix, final String query, String schema) throws SQLException {
+    private List<String> buildDropStatements(List<Map<String, String>> objects, String kind, String dropPrefix) {
         List<String> dropStatements = new ArrayList<String>();
-        List<String> dbObjects = jdbcTemplate.queryForStringList(query);
-        for (String dbObject : dbObjects) {
-            dropStatements.add(dropPrefix + " " + dbSupport.quote(schema, dbObject));
+        for (Map<String, String> object : objects) {
+            if (kind.equals(object.get("KIND").trim())) {
+                dropStatements.add(dropPrefix + " " + dbSupport.quote(name, object.get("NAME")));
+            }
         }
         return dropStatements;
     }
@@ -23,6 +23,7 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * Derby database specific support
@@ -85,4 +86,9 @@ public class DerbyDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT schemaname FROM sys.sysschemas WHERE schemaname IN (%s)", schemas);
+    }
 }
\ No newline at end of file
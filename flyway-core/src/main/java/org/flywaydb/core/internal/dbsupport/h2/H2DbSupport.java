@@ -25,6 +25,9 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * H2 database specific support
@@ -100,4 +103,32 @@ public class H2DbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT schema_name FROM INFORMATION_SCHEMA.schemata WHERE schema_name IN (%s)", schemas);
+    }
+
+    /**
+     * Captures the schemas with H2's SCRIPT command. Users, settings and row count comments are left out, as they are
+     * not part of the schemas.
+     */
+    @Override
+    public List<String> snapshot(Schema[] schemas) throws SQLException {
+        StringBuilder schemaList = new StringBuilder();
+        for (Schema schema : schemas) {
+            if (schemaList.length() > 0) {
+                schemaList.append(", ");
+            }
+            schemaList.append(schema);
+        }
+
+        List<String> statements = new ArrayList<String>();
+        for (String statement : jdbcTemplate.queryForStringList("SCRIPT NOPASSWORDS NOSETTINGS SCHEMA " + schemaList)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER ")) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
 }
\ No newline at end of file
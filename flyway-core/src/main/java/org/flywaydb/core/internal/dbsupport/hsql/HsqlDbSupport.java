@@ -15,16 +15,27 @@
  */
 package org.flywaydb.core.internal.dbsupport.hsql;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
+import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * HsqlDb-specific support
@@ -102,4 +113,168 @@ public class HsqlDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT table_schem FROM information_schema.system_schemas WHERE table_schem IN (%s)", schemas);
+    }
+
+    /**
+     * Captures the schemas with HSQLDB's SCRIPT command. Without a file, SCRIPT only returns the definitions, so the
+     * script is written to a temporary file instead. This only works for databases running in this JVM or on this
+     * machine. Others can't take snapshots.
+     */
+    @Override
+    public List<String> snapshot(Schema[] schemas) throws SQLException {
+        File scriptFile;
+        try {
+            scriptFile = File.createTempFile("flyway-snapshot", ".script");
+        } catch (IOException e) {
+            throw new FlywayException("Unable to create temporary file for snapshot", e);
+        }
+        try {
+            // SCRIPT refuses to overwrite existing files
+            if (!scriptFile.delete()) {
+                throw new FlywayException("Unable to delete temporary file for snapshot: " + scriptFile);
+            }
+            jdbcTemplate.execute("SCRIPT '" + scriptFile.getAbsolutePath().replace("'", "''") + "'");
+            if (!scriptFile.isFile()) {
+                return null;
+            }
+            String script = FileCopyUtils.copyToString(new InputStreamReader(new FileInputStream(scriptFile), "UTF-8"));
+            return filterScript(Arrays.asList(script.split("\r?\n")), schemas);
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read snapshot script " + scriptFile, e);
+        } finally {
+            scriptFile.delete();
+        }
+    }
+
+    /**
+     * Keeps the statements of this database script that recreate these schemas: the creation of the schemas, the
+     * definitions of their objects and their data. Database settings, users, grants and system schemas are left out,
+     * as every database has its own.
+     *
+     * @param script  The script of the whole database.
+     * @param schemas The schemas to keep.
+     * @return The statements recreating the schemas.
+     */
+    /* private -> for testing */ List<String> filterScript(List<String> script, Schema[] schemas) {
+        Set<String> schemaNames = new HashSet<String>();
+        for (Schema schema : schemas) {
+            schemaNames.add(schema.getName());
+        }
+
+        List<String> statements = new ArrayList<String>();
+        String dataSchema = null;
+        for (String statement : script) {
+            if (statement.startsWith("SET SCHEMA ")) {
+                // The data of each schema follows a SET SCHEMA statement, with unqualified table names
+                String schemaName = unquote(statement.substring("SET SCHEMA ".length()));
+                dataSchema = schemaNames.contains(schemaName) ? schemaName : null;
+            } else if (statement.startsWith("INSERT INTO ")) {
+                if (dataSchema != null) {
+                    statements.add("INSERT INTO " + quote(dataSchema) + "." + statement.substring("INSERT INTO ".length()));
+                }
+            } else if (statement.startsWith("CREATE SCHEMA ")) {
+                String schemaName = unquote(statement.substring("CREATE SCHEMA ".length(), statement.indexOf(" AUTHORIZATION ")));
+                if (schemaNames.contains(schemaName)) {
+                    statements.add(statement);
+                }
+            } else if (statement.startsWith("CREATE ") || statement.startsWith("ALTER ")) {
+                String schemaName = getObjectSchema(statement);
+                if ((schemaName != null) && schemaNames.contains(schemaName)) {
+                    statements.add(statement);
+                }
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Skips the creation of schemas that already exist, like PUBLIC.
+     */
+    @Override
+    public void restoreSnapshot(List<String> statements) throws SQLException {
+        for (String statement : statements) {
+            if (statement.startsWith("CREATE SCHEMA ")) {
+                String schemaName = unquote(statement.substring("CREATE SCHEMA ".length(), statement.indexOf(" AUTHORIZATION ")));
+                if (getSchema(schemaName).exists()) {
+                    continue;
+                }
+            }
+            jdbcTemplate.executeStatement(statement);
+        }
+    }
+
+    /**
+     * Retrieves the schema of the object this CREATE or ALTER statement of a database script defines. SCRIPT always
+     * qualifies the name of the object, which is the first qualified name of the statement.
+     *
+     * @param statement The statement.
+     * @return The schema of the object. {@code null} if the statement doesn't contain a qualified name, like CREATE USER.
+     */
+    /* private -> for testing */ static String getObjectSchema(String statement) {
+        int i = 0;
+        while (i < statement.length()) {
+            char c = statement.charAt(i);
+            int end;
+            if (c == '\'') {
+                // Skip string literals, with '' as escaped quote
+                end = i + 1;
+                while ((end < statement.length())
+                        && ((statement.charAt(end) != '\'') || ((end + 1 < statement.length()) && (statement.charAt(end + 1) == '\'')))) {
+                    end += statement.charAt(end) == '\'' ? 2 : 1;
+                }
+                i = end + 1;
+                continue;
+            }
+            if (c == '"') {
+                // Quoted identifier, with "" as escaped quote
+                end = i + 1;
+                while ((end < statement.length())
+                        && ((statement.charAt(end) != '"') || ((end + 1 < statement.length()) && (statement.charAt(end + 1) == '"')))) {
+                    end += statement.charAt(end) == '"' ? 2 : 1;
+                }
+                end++;
+            } else if (Character.isLetter(c)) {
+                end = i + 1;
+                while ((end < statement.length())
+                        && (Character.isLetterOrDigit(statement.charAt(end)) || (statement.charAt(end) == '_'))) {
+                    end++;
+                }
+            } else if (Character.isDigit(c)) {
+                // Skip numbers, including their decimal point
+                end = i + 1;
+                while ((end < statement.length())
+                        && (Character.isDigit(statement.charAt(end)) || (statement.charAt(end) == '.'))) {
+                    end++;
+                }
+                i = end;
+                continue;
+            } else {
+                i++;
+                continue;
+            }
+
+            if ((end < statement.length()) && (statement.charAt(end) == '.')) {
+                return unquote(statement.substring(i, end));
+            }
+            i = end;
+        }
+        return null;
+    }
+
+    /**
+     * Removes the quotes of this identifier, as written by SCRIPT.
+     *
+     * @param identifier The identifier, quoted or not.
+     * @return The identifier without quotes.
+     */
+    private static String unquote(String identifier) {
+        if (identifier.startsWith("\"")) {
+            return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+        }
+        return identifier;
+    }
 }
@@ -28,6 +28,11 @@ import java.util.Map;
  * MySQL implementation of Schema.
  */
 public class MySQLSchema extends Schema<MySQLDbSupport> {
+    /**
+     * The maximum number of tables dropped by a single multi-table DROP TABLE statement.
+     */
+    /* private -> testing */ static final int DROP_TABLE_BATCH_SIZE = 100;
+
     /**
      * Creates a new MySQL schema.
      *
@@ -81,11 +86,49 @@ public class MySQLSchema extends Schema<MySQLDbSupport> {
             jdbcTemplate.execute(statement);
         }
 
+        cleanTables(DROP_TABLE_BATCH_SIZE);
+    }
+
+    /**
+     * Drops all tables in this schema using multi-table DROP TABLE statements. Foreign key checks are disabled for the
+     * session while doing so, which makes the drop order irrelevant. The original setting is restored afterwards.
+     *
+     * @param batchSize The maximum number of tables to drop with a single statement. 1 drops each table individually.
+     * @throws SQLException when the tables could not be dropped.
+     */
+    /* private -> testing */ void cleanTables(int batchSize) throws SQLException {
+        int foreignKeyChecks = jdbcTemplate.queryForInt("SELECT @@foreign_key_checks");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
-        for (Table table : allTables()) {
-            table.drop();
+        try {
+            for (String statement : dropTablesStatements(allTables(), batchSize)) {
+                jdbcTemplate.execute(statement);
+            }
+        } finally {
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = " + foreignKeyChecks);
         }
-        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+    }
+
+    /**
+     * Generate the statements to drop these tables, with at most batchSize tables per statement.
+     *
+     * @param tables    The tables to drop.
+     * @param batchSize The maximum number of tables per statement.
+     * @return The list of statements.
+     */
+    /* private -> testing */ static List<String> dropTablesStatements(Table[] tables, int batchSize) {
+        List<String> statements = new ArrayList<String>();
+        for (int start = 0; start < tables.length; start += batchSize) {
+            StringBuilder statement = new StringBuilder("DROP TABLE ");
+            int end = Math.min(start + batchSize, tables.length);
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    statement.append(", ");
+                }
+                statement.append(tables[i]);
+            }
+            statements.add(statement.toString());
+        }
+        return statements;
     }
 
     /**
@@ -23,6 +23,7 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * Oracle-specific support.
@@ -86,4 +87,14 @@ public class OracleDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT username FROM all_users WHERE username IN (%s)", schemas);
+    }
+
+    @Override
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT DISTINCT owner FROM all_objects WHERE owner IN (%s)", schemas);
+    }
 }
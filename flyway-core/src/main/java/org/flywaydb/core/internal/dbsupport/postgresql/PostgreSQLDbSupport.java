@@ -28,6 +28,7 @@ import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * PostgreSQL-specific support.
@@ -101,6 +102,11 @@ public class PostgreSQLDbSupport extends DbSupport {
         return false;
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
     @Override
     public void executePgCopy(Connection connection, String sql) throws SQLException {
         int split = sql.indexOf(";");
@@ -114,4 +120,15 @@ public class PostgreSQLDbSupport extends DbSupport {
             throw new SQLException("Unable to execute COPY operation", e);
         }
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT nspname FROM pg_namespace WHERE nspname IN (%s)", schemas);
+    }
+
+    @Override
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT DISTINCT table_schema FROM information_schema.tables"
+                + " WHERE table_schema IN (%s) AND table_type='BASE TABLE'", schemas);
+    }
 }
@@ -0,0 +1,334 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.redshift;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a COPY ... FROM STDIN statement with inline data, as written for PostgreSQL, into multi-row INSERT statements.
+ * Redshift can only COPY from S3, DynamoDB or remote hosts, not from the client.
+ */
+public class RedshiftCopy {
+    /**
+     * Matches the COPY statement, capturing the target table with its columns and the options.
+     */
+    private static final Pattern COPY_FROM_STDIN =
+            Pattern.compile("\\s*COPY\\s+(.+?)\\s+FROM\\s+STDIN\\b(.*)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * Matches the DELIMITER option.
+     */
+    private static final Pattern DELIMITER_OPTION =
+            Pattern.compile("\\bDELIMITER\\s+(?:AS\\s+)?'(.)'", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Matches the NULL option.
+     */
+    private static final Pattern NULL_OPTION = Pattern.compile("\\bNULL\\s+(?:AS\\s+)?'([^']*)'", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The target table, with its columns if specified.
+     */
+    private final String target;
+
+    /**
+     * Whether the data is in CSV format instead of PostgreSQL's text format.
+     */
+    private final boolean csv;
+
+    /**
+     * Whether the first line of the data is a header to skip.
+     */
+    private final boolean header;
+
+    /**
+     * The character separating the columns.
+     */
+    private final char delimiter;
+
+    /**
+     * The unquoted string representing a null value.
+     */
+    private final String nullString;
+
+    /**
+     * The data to copy.
+     */
+    private final String data;
+
+    /**
+     * Parses this COPY statement followed by its data, as built by the PostgreSQL statement builder.
+     *
+     * @param sql The COPY statement, a semicolon and the data.
+     * @throws IllegalArgumentException when this is not a COPY ... FROM STDIN statement.
+     */
+    public RedshiftCopy(String sql) {
+        int split = sql.indexOf(";");
+        Matcher matcher = COPY_FROM_STDIN.matcher(split < 0 ? sql : sql.substring(0, split));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a COPY ... FROM STDIN statement: " + sql);
+        }
+
+        target = matcher.group(1);
+        String options = matcher.group(2);
+        csv = options.matches("(?is).*\\bCSV\\b.*");
+        header = csv && options.matches("(?is).*\\bHEADER\\b.*");
+
+        Matcher delimiterMatcher = DELIMITER_OPTION.matcher(options);
+        delimiter = delimiterMatcher.find() ? delimiterMatcher.group(1).charAt(0) : (csv ? ',' : '\t');
+
+        Matcher nullMatcher = NULL_OPTION.matcher(options);
+        nullString = nullMatcher.find() ? nullMatcher.group(1) : (csv ? "" : "\\N");
+
+        String rawData = split < 0 ? "" : sql.substring(split + 1);
+        // Only strip the line breaks around the data, as leading and trailing delimiters denote empty columns
+        data = rawData.replaceAll("^[ \\t]*\\r?\\n", "").replaceAll("[\\r\\n]+$", "");
+    }
+
+    /**
+     * Builds the INSERT statements inserting the data.
+     *
+     * @param maxRows The maximum number of rows per statement.
+     * @return The INSERT statements. None if there is no data.
+     */
+    public List<String> toInsertStatements(int maxRows) {
+        List<String> statements = new ArrayList<String>();
+        StringBuilder sql = new StringBuilder();
+        int rows = 0;
+        for (List<String> row : parseRows()) {
+            if (rows == maxRows) {
+                statements.add(sql.toString());
+                sql.setLength(0);
+                rows = 0;
+            }
+
+            sql.append(rows == 0 ? "INSERT INTO " + target + " VALUES\n(" : ",\n(");
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    sql.append(",");
+                }
+                sql.append(toLiteral(row.get(i)));
+            }
+            sql.append(")");
+            rows++;
+        }
+        if (rows > 0) {
+            statements.add(sql.toString());
+        }
+        return statements;
+    }
+
+    /**
+     * Turns this value into a Redshift literal. Redshift treats backslashes in literals as escapes.
+     *
+     * @param value The value. {@code null} for NULL.
+     * @return The literal.
+     */
+    private static String toLiteral(String value) {
+        if (value == null) {
+            return "NULL";
+        }
+        return "'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    /**
+     * Parses the rows of the data.
+     *
+     * @return The rows, each with its values. {@code null} values are NULL.
+     */
+    /* private -> for testing */ List<List<String>> parseRows() {
+        List<List<String>> rows = csv ? parseCsvRows() : parseTextRows();
+        if (header && !rows.isEmpty()) {
+            rows.remove(0);
+        }
+        return rows;
+    }
+
+    /**
+     * Parses data in PostgreSQL's text format: one row per line, with backslash escapes. Each line is tokenized in a
+     * single pass, so an escaped delimiter is part of its value instead of separating two columns. Only values whose
+     * text before unescaping matches the null string are NULL.
+     *
+     * @return The rows.
+     */
+    private List<List<String>> parseTextRows() {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (data.length() == 0) {
+            return rows;
+        }
+
+        for (String line : data.split("\\r?\\n", -1)) {
+            List<String> row = new ArrayList<String>();
+            StringBuilder raw = new StringBuilder();
+            StringBuilder value = new StringBuilder();
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == delimiter) {
+                    row.add(textValue(raw, value));
+                } else if ((c == '\\') && (i < line.length() - 1)) {
+                    int end = unescapeText(line, i + 1, value);
+                    raw.append(line, i, end);
+                    i = end - 1;
+                } else {
+                    raw.append(c);
+                    value.append(c);
+                }
+            }
+            row.add(textValue(raw, value));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Resolves the backslash escape starting at this position of a line in text format.
+     *
+     * @param line  The line.
+     * @param start The position of the character following the backslash.
+     * @param value The value to append the escaped character to.
+     * @return The position following the escape.
+     */
+    private static int unescapeText(String line, int start, StringBuilder value) {
+        char escaped = line.charAt(start);
+        switch (escaped) {
+            case 'b':
+                value.append('\b');
+                return start + 1;
+            case 'f':
+                value.append('\f');
+                return start + 1;
+            case 'n':
+                value.append('\n');
+                return start + 1;
+            case 'r':
+                value.append('\r');
+                return start + 1;
+            case 't':
+                value.append('\t');
+                return start + 1;
+            case 'v':
+                value.append('\u000B');
+                return start + 1;
+            case 'x':
+                int hexEnd = start + 1;
+                while ((hexEnd < line.length()) && (hexEnd < start + 3)
+                        && (Character.digit(line.charAt(hexEnd), 16) >= 0)) {
+                    hexEnd++;
+                }
+                if (hexEnd == start + 1) {
+                    value.append(escaped);
+                    return start + 1;
+                }
+                value.append((char) Integer.parseInt(line.substring(start + 1, hexEnd), 16));
+                return hexEnd;
+            default:
+                int octalEnd = start;
+                while ((octalEnd < line.length()) && (octalEnd < start + 3)
+                        && (line.charAt(octalEnd) >= '0') && (line.charAt(octalEnd) <= '7')) {
+                    octalEnd++;
+                }
+                if (octalEnd == start) {
+                    value.append(escaped);
+                    return start + 1;
+                }
+                value.append((char) Integer.parseInt(line.substring(start, octalEnd), 8));
+                return octalEnd;
+        }
+    }
+
+    /**
+     * Takes the value of this text field and clears it.
+     *
+     * @param raw   The text of the field, before unescaping.
+     * @param value The unescaped value of the field.
+     * @return The value. {@code null} for NULL.
+     */
+    private String textValue(StringBuilder raw, StringBuilder value) {
+        String result = raw.toString().equals(nullString) ? null : value.toString();
+        raw.setLength(0);
+        value.setLength(0);
+        return result;
+    }
+
+    /**
+     * Parses data in CSV format: quoted values may contain delimiters, doubled quotes and line breaks. Only unquoted
+     * values matching the null string are NULL.
+     *
+     * @return The rows.
+     */
+    private List<List<String>> parseCsvRows() {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (data.length() == 0) {
+            return rows;
+        }
+
+        List<String> row = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (quoted) {
+                if ((c == '"') && (i + 1 < data.length()) && (data.charAt(i + 1) == '"')) {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == delimiter) {
+                row.add(csvValue(field, wasQuoted));
+                wasQuoted = false;
+            } else if ((c == '\n') || (c == '\r')) {
+                if ((c == '\r') && (i + 1 < data.length()) && (data.charAt(i + 1) == '\n')) {
+                    i++;
+                }
+                row.add(csvValue(field, wasQuoted));
+                wasQuoted = false;
+                rows.add(row);
+                row = new ArrayList<String>();
+            } else {
+                field.append(c);
+            }
+        }
+        row.add(csvValue(field, wasQuoted));
+        rows.add(row);
+        return rows;
+    }
+
+    /**
+     * Takes the value of this CSV field and clears it.
+     *
+     * @param field  The field.
+     * @param quoted Whether the field was quoted.
+     * @return The value. {@code null} for NULL.
+     */
+    private String csvValue(StringBuilder field, boolean quoted) {
+        String value = field.toString();
+        field.setLength(0);
+        if (!quoted && value.equals(nullString)) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -17,8 +17,11 @@ package org.flywaydb.core.internal.dbsupport.redshift;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Types;
 
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLDbSupport;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -30,6 +33,11 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 public class RedshiftDbSupport extends PostgreSQLDbSupport {
     private static final Log LOG = LogFactory.getLog(RedshiftDbSupport.class);
 
+    /**
+     * The number of rows per INSERT statement replacing COPY ... FROM STDIN data, unless bulkInsertRows is set.
+     */
+    private static final int DEFAULT_COPY_ROWS = 1000;
+
     /**
      * Creates a new instance.
      *
@@ -67,6 +75,31 @@ public class RedshiftDbSupport extends PostgreSQLDbSupport {
         return new RedshiftSchema(jdbcTemplate, this, name);
     }
 
+    @Override
+    public SqlStatementBuilder createSqlStatementBuilder() {
+        return new RedshiftSqlStatementBuilder();
+    }
+
+    /**
+     * Executes the INSERT statements replacing this COPY statement through a new jdbc template on this connection.
+     */
+    @Override
+    public void executePgCopy(Connection connection, String sql) throws SQLException {
+        executePgCopy(new JdbcTemplate(connection, Types.VARCHAR), sql);
+    }
+
+    /**
+     * Redshift can't COPY from the client, so the inline data is inserted with multi-row INSERT statements instead.
+     * They are executed through this jdbc template, with its settings.
+     */
+    @Override
+    public void executePgCopy(JdbcTemplate jdbcTemplate, String sql) throws SQLException {
+        int maxRows = getBulkInsertRows() > 0 ? getBulkInsertRows() : DEFAULT_COPY_ROWS;
+        for (String insert : new RedshiftCopy(sql).toInsertStatements(maxRows)) {
+            jdbcTemplate.executeStatement(insert);
+        }
+    }
+
     /**
      * @return {@code true} if we are connected to Redshift; {@code false} otherwise
      */
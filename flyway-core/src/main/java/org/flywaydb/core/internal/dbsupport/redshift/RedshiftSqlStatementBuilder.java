@@ -0,0 +1,64 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.redshift;
+
+import org.flywaydb.core.internal.dbsupport.Delimiter;
+import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLSqlStatementBuilder;
+
+/**
+ * SqlStatementBuilder supporting Redshift specific syntax. Only COPY statements reading FROM STDIN are followed by
+ * inline data. All other COPY statements, like those loading staged files from S3, are regular statements.
+ */
+public class RedshiftSqlStatementBuilder extends PostgreSQLSqlStatementBuilder {
+    /**
+     * Delimiter of COPY statements with inline data.
+     */
+    private static final Delimiter COPY_DELIMITER = new Delimiter("\\.", true);
+
+    /**
+     * Are we at the beginning of the statement.
+     */
+    private boolean firstLine = true;
+
+    /**
+     * Whether this statement is a COPY statement.
+     */
+    private boolean copy;
+
+    /**
+     * Whether this statement is a COPY statement followed by inline data.
+     */
+    private boolean pgCopy;
+
+    @Override
+    protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
+        if (firstLine) {
+            firstLine = false;
+            copy = line.matches("COPY|COPY\\s.*");
+        }
+
+        if (copy && !pgCopy && line.matches(".*\\bSTDIN\\b.*")) {
+            pgCopy = true;
+        }
+
+        return pgCopy ? COPY_DELIMITER : delimiter;
+    }
+
+    @Override
+    public boolean isPgCopy() {
+        return pgCopy;
+    }
+}
@@ -40,8 +40,9 @@ public class RedshiftTable extends PostgreSQLTable {
 
     @Override
     protected void doLock() throws SQLException {
-        // Redshift does not support SELECT FOR UPDATE, but deletes block each other, regardless of the where clause:
-        // http://docs.aws.amazon.com/redshift/latest/dg/r_Serializable_isolation_example.html
-        jdbcTemplate.execute("DELETE " + this + " WHERE 1=2");
+        // Redshift does not support SELECT FOR UPDATE, but LOCK blocks all other access to the table until the end of
+        // the transaction, without issuing a dummy DELETE:
+        // http://docs.aws.amazon.com/redshift/latest/dg/r_LOCK.html
+        jdbcTemplate.execute("LOCK " + this);
     }
 }
@@ -25,6 +25,11 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * SQLite database specific support
@@ -32,6 +37,11 @@ import java.sql.Types;
 public class SQLiteDbSupport extends DbSupport {
     private static final Log LOG = LogFactory.getLog(SQLiteDbSupport.class);
 
+    /**
+     * The page cache to use during migrate, in KiB.
+     */
+    private static final int MIGRATE_CACHE_SIZE_KIB = 16384;
+
     /**
      * Creates a new instance.
      *
@@ -88,4 +98,59 @@ public class SQLiteDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return true;
     }
+
+    /**
+     * Switches to the write-ahead log and only syncs to disk at checkpoints instead of after every statement. The
+     * database remains consistent after a crash, but the last transactions may be rolled back on power loss. Also
+     * enlarges the page cache, so rewriting large tables doesn't spill to disk.
+     */
+    @Override
+    public Map<String, String> applyMigrateSettings() throws SQLException {
+        Map<String, String> migrateSettings = new LinkedHashMap<String, String>();
+        migrateSettings.put("journal_mode", "WAL");
+        migrateSettings.put("synchronous", "NORMAL");
+        // Negative sizes are in KiB instead of pages
+        migrateSettings.put("cache_size", "-" + MIGRATE_CACHE_SIZE_KIB);
+
+        Map<String, String> originalSettings = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, String> setting : migrateSettings.entrySet()) {
+            String pragma = setting.getKey();
+            String originalValue = jdbcTemplate.queryForString("PRAGMA " + pragma);
+            jdbcTemplate.execute("PRAGMA " + pragma + "=" + setting.getValue());
+
+            // In-memory databases and databases already in WAL mode, for example, keep their journal mode.
+            // Only what actually changed must be restored.
+            String value = jdbcTemplate.queryForString("PRAGMA " + pragma);
+            if (!value.equals(originalValue)) {
+                LOG.debug("Changed PRAGMA " + pragma + " from " + originalValue + " to " + value);
+                originalSettings.put(pragma, originalValue);
+            }
+        }
+        return originalSettings;
+    }
+
+    @Override
+    public void restoreMigrateSettings(Map<String, String> originalSettings) throws SQLException {
+        List<String> pragmas = new ArrayList<String>(originalSettings.keySet());
+        Collections.reverse(pragmas);
+        for (String pragma : pragmas) {
+            String originalValue = originalSettings.get(pragma);
+            jdbcTemplate.execute("PRAGMA " + pragma + "=" + originalValue);
+
+            // SQLite can't leave WAL mode while other connections to the database are open
+            String value = jdbcTemplate.queryForString("PRAGMA " + pragma);
+            if (!value.equalsIgnoreCase(originalValue)) {
+                LOG.warn("Unable to restore PRAGMA " + pragma + "=" + originalValue + " as the database is still in use."
+                        + " It remains " + value + ".");
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the database file with VACUUM, which leaves a cleaned database as small as a newly created one.
+     */
+    @Override
+    public void compact() throws SQLException {
+        jdbcTemplate.execute("VACUUM");
+    }
 }
\ No newline at end of file
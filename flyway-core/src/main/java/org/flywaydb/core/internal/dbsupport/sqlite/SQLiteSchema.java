@@ -23,6 +23,7 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SQLite implementation of Schema.
@@ -67,15 +68,21 @@ public class SQLiteSchema extends Schema<SQLiteDbSupport> {
         LOG.info("SQLite does not support dropping schemas. Schema not dropped: " + name);
     }
 
+    /**
+     * Drops all views and tables in the transaction of the clean, with foreign keys only checked at commit so the
+     * tables can be dropped in any order. Indexes and triggers are dropped along with their tables. Internal tables
+     * like sqlite_sequence can't be dropped, but SQLite removes their entries for the dropped tables itself.
+     */
     @Override
     protected void doClean() throws SQLException {
-        List<String> viewNames = jdbcTemplate.queryForStringList("SELECT tbl_name FROM " + dbSupport.quote(name) + ".sqlite_master WHERE type='view'");
-        for (String viewName : viewNames) {
-            jdbcTemplate.executeStatement("DROP VIEW " + dbSupport.quote(name, viewName));
-        }
+        jdbcTemplate.execute("PRAGMA defer_foreign_keys = ON");
 
-        for (Table table : allTables()) {
-            table.drop();
+        List<Map<String, String>> objects = jdbcTemplate.queryForList("SELECT type, tbl_name FROM "
+                + dbSupport.quote(name) + ".sqlite_master WHERE type IN ('view', 'table')"
+                + " AND tbl_name NOT LIKE 'sqlite!_%' ESCAPE '!' ORDER BY type DESC");
+        for (Map<String, String> object : objects) {
+            jdbcTemplate.execute("DROP " + object.get("type").toUpperCase() + " "
+                    + dbSupport.quote(name, object.get("tbl_name")));
         }
     }
 
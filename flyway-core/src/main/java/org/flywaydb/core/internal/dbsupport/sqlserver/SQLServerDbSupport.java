@@ -26,6 +26,7 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Set;
 
 /**
  * SQLServer-specific support.
@@ -102,4 +103,20 @@ public class SQLServerDbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
+
+    @Override
+    public Set<String> findExistingSchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("SELECT SCHEMA_NAME FROM INFORMATION_SCHEMA.SCHEMATA WHERE SCHEMA_NAME IN (%s)", schemas);
+    }
+
+    @Override
+    public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+        return findSchemas("Select TABLE_SCHEMA from INFORMATION_SCHEMA.TABLES where TABLE_SCHEMA in (%s) " +
+                "Union " +
+                "Select TABLE_SCHEMA from INFORMATION_SCHEMA.VIEWS where TABLE_SCHEMA in (%s) " +
+                "Union " +
+                "Select TABLE_SCHEMA from INFORMATION_SCHEMA.TABLE_CONSTRAINTS where TABLE_SCHEMA in (%s) " +
+                "Union " +
+                "Select ROUTINE_SCHEMA from INFORMATION_SCHEMA.ROUTINES where ROUTINE_SCHEMA in (%s)", schemas);
+    }
 }
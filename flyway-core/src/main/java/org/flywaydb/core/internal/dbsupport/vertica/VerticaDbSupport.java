@@ -15,9 +15,15 @@
  */
 package org.flywaydb.core.internal.dbsupport.vertica;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 
 import org.flywaydb.core.internal.dbsupport.DbSupport;
@@ -116,4 +122,65 @@ public class VerticaDbSupport extends DbSupport {
         return false;
     }
 
+    @Override
+    public boolean supportsMultiStatementRequests() {
+        return true;
+    }
+
+    /**
+     * Streams the inline data of this COPY ... FROM STDIN statement to the server through the
+     * {@code setUpdateInputStream} method of the Vertica JDBC driver's VerticaStatement, so the rows are loaded in a
+     * single request instead of one INSERT per row.
+     *
+     * @param connection The connection to use.
+     * @param sql        The COPY statement, followed by its inline data.
+     * @throws SQLException when the data could not be loaded.
+     */
+    @Override
+    public void executePgCopy(Connection connection, String sql) throws SQLException {
+        int split = sql.indexOf(";");
+        String statement = sql.substring(0, split);
+        String data = sql.substring(split + 1).trim() + "\n";
+
+        Statement copyStatement = connection.createStatement();
+        try {
+            Method setUpdateInputStream = findInterfaceMethod(copyStatement.getClass(), "setUpdateInputStream", InputStream.class);
+            if (setUpdateInputStream == null) {
+                throw new SQLException("Unable to execute COPY operation: the JDBC driver does not support streaming"
+                        + " data with setUpdateInputStream (" + copyStatement.getClass().getName() + ")");
+            }
+            setUpdateInputStream.invoke(copyStatement,
+                    new ByteArrayInputStream(data.getBytes(Charset.forName("UTF-8"))));
+            copyStatement.execute(statement);
+        } catch (IllegalAccessException e) {
+            throw new SQLException("Unable to execute COPY operation", e);
+        } catch (InvocationTargetException e) {
+            throw new SQLException("Unable to execute COPY operation", e.getCause());
+        } finally {
+            copyStatement.close();
+        }
+    }
+
+    /**
+     * Finds this method in the public interfaces implemented by this class, as the classes of the driver itself are
+     * not necessarily public.
+     *
+     * @param clazz          The class to search.
+     * @param name           The name of the method.
+     * @param parameterTypes The parameter types of the method.
+     * @return The method, or {@code null} if none of the interfaces declares it.
+     */
+    private static Method findInterfaceMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            for (Class<?> iface : current.getInterfaces()) {
+                try {
+                    return iface.getMethod(name, parameterTypes);
+                } catch (NoSuchMethodException e) {
+                    // Try the next interface
+                }
+            }
+        }
+        return null;
+    }
+
 }
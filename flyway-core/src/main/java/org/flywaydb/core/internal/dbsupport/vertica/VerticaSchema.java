@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.dbsupport.vertica;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,8 +26,13 @@ import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.Table;
 import org.flywaydb.core.internal.dbsupport.Type;
 import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLTable;
+import org.flywaydb.core.internal.util.StringUtils;
 
 public class VerticaSchema extends Schema<VerticaDbSupport> {
+    /**
+     * The maximum number of objects dropped by a single statement.
+     */
+    private static final int MAX_OBJECTS_PER_DROP = 100;
 
     public VerticaSchema(JdbcTemplate jdbcTemplate, VerticaDbSupport dbSupport, String name) {
         super(jdbcTemplate, dbSupport, name);
@@ -57,15 +63,7 @@ public class VerticaSchema extends Schema<VerticaDbSupport> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        for (String statement : generateDropStatementsForSequences()) {
+        for (String statement : generateDropStatementsForCatalogObjects()) {
             jdbcTemplate.execute(statement);
         }
 
@@ -82,63 +80,75 @@ public class VerticaSchema extends Schema<VerticaDbSupport> {
     }
 
     /**
-     * Generates the statements for dropping the sequences in this schema.
+     * Generates the statements for dropping the views, tables, projections and sequences in this schema, based on a
+     * single catalog query. Each statement drops a whole list of objects of the same kind, in the order views (which
+     * are not dropped by CASCADE), tables (whose projections are dropped by CASCADE), projections of this schema
+     * anchored on tables of other schemas and finally sequences.
      *
      * @return The drop statements.
      * @throws SQLException when the clean statements could not be generated.
      */
-    private List<String> generateDropStatementsForSequences() throws SQLException {
-        List<String> sequenceNames =
-                jdbcTemplate.queryForStringList(
-                        "SELECT sequence_name FROM v_catalog.sequences WHERE sequence_schema=?", name);
-
-        List<String> statements = new ArrayList<String>();
-        for (String sequenceName : sequenceNames) {
-            statements.add("DROP SEQUENCE IF EXISTS " + dbSupport.quote(name, sequenceName));
+    /* private -> for testing */
+    List<String> generateDropStatementsForCatalogObjects() throws SQLException {
+        List<Map<String, String>> rows = jdbcTemplate.queryForList(
+                "SELECT 'VIEW' AS object_type, table_name AS object_name FROM v_catalog.views WHERE table_schema=?" +
+                        " UNION ALL SELECT 'TABLE', table_name FROM v_catalog.tables" +
+                        " WHERE table_schema=? AND NOT is_temp_table" +
+                        //Superprojections can only be dropped with their anchor table
+                        " UNION ALL SELECT 'PROJECTION', projection_name FROM v_catalog.projections" +
+                        " WHERE projection_schema=? AND NOT is_super_projection" +
+                        " AND anchor_table_id NOT IN (SELECT table_id FROM v_catalog.tables WHERE table_schema=?)" +
+                        " UNION ALL SELECT 'SEQUENCE', sequence_name FROM v_catalog.sequences WHERE sequence_schema=?",
+                name, name, name, name, name);
+
+        Map<String, List<String>> objectNames = new LinkedHashMap<String, List<String>>();
+        for (String objectType : new String[]{"VIEW", "TABLE", "PROJECTION", "SEQUENCE"}) {
+            objectNames.put(objectType, new ArrayList<String>());
+        }
+        for (Map<String, String> row : rows) {
+            objectNames.get(row.get("object_type")).add(dbSupport.quote(name, row.get("object_name")));
         }
 
+        List<String> statements = new ArrayList<String>();
+        statements.addAll(generateDropStatements("DROP VIEW IF EXISTS ", objectNames.get("VIEW"), ""));
+        statements.addAll(generateDropStatements("DROP TABLE IF EXISTS ", objectNames.get("TABLE"), " CASCADE"));
+        statements.addAll(generateDropStatements("DROP PROJECTION IF EXISTS ", objectNames.get("PROJECTION"), ""));
+        statements.addAll(generateDropStatements("DROP SEQUENCE IF EXISTS ", objectNames.get("SEQUENCE"), ""));
         return statements;
     }
 
     /**
-     * Generates the statements for dropping the routines in this schema.
+     * Generates the statements for dropping these objects, with up to {@link #MAX_OBJECTS_PER_DROP} objects each.
      *
+     * @param prefix            The statement before the list of objects.
+     * @param quotedObjectNames The quoted, schema-qualified names of the objects.
+     * @param suffix            The statement after the list of objects.
      * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
      */
-    private List<String> generateDropStatementsForFunctions() throws SQLException {
-        List<Map<String, String>> rows =
-                jdbcTemplate.queryForList(
-                        "select * from user_functions where schema_name = ? and procedure_type = 'User Defined Function'",
-                        name);
-
+    private List<String> generateDropStatements(String prefix, List<String> quotedObjectNames, String suffix) {
         List<String> statements = new ArrayList<String>();
-        for (Map<String, String> row : rows) {
-            statements.add("DROP FUNCTION IF EXISTS " + dbSupport.quote(name, row.get("function_name")) + "(" + row.get("function_argument_type") + ")");
+        for (int i = 0; i < quotedObjectNames.size(); i += MAX_OBJECTS_PER_DROP) {
+            List<String> batch = quotedObjectNames.subList(i, Math.min(i + MAX_OBJECTS_PER_DROP, quotedObjectNames.size()));
+            statements.add(prefix + StringUtils.collectionToCommaDelimitedString(batch) + suffix);
         }
         return statements;
     }
 
     /**
-     * Generates the statements for dropping the views in this schema.
+     * Generates the statements for dropping the routines in this schema.
      *
      * @return The drop statements.
      * @throws SQLException when the clean statements could not be generated.
      */
-    private List<String> generateDropStatementsForViews() throws SQLException {
-        List<String> viewNames =
-                jdbcTemplate.queryForStringList(
-                        //Search for all the table names
-                        "SELECT t.table_name FROM v_catalog.all_tables t" +
-                                //in this schema
-                                " WHERE schema_name=?" +
-                                //Querying for 'VIEW' in Vertica will exclude user-defined tables, system tables and temporary tables
-                                " and table_type = 'VIEW'",
+    private List<String> generateDropStatementsForFunctions() throws SQLException {
+        List<Map<String, String>> rows =
+                jdbcTemplate.queryForList(
+                        "select * from user_functions where schema_name = ? and procedure_type = 'User Defined Function'",
                         name);
 
         List<String> statements = new ArrayList<String>();
-        for (String viewName : viewNames) {
-            statements.add("DROP VIEW IF EXISTS " + dbSupport.quote(name, viewName));
+        for (Map<String, String> row : rows) {
+            statements.add("DROP FUNCTION IF EXISTS " + dbSupport.quote(name, row.get("function_name")) + "(" + row.get("function_argument_type") + ")");
         }
         return statements;
     }
@@ -23,6 +23,10 @@ import org.flywaydb.core.internal.util.StringUtils;
  * SqlStatementBuilder supporting Vertica specific syntax.
  */
 public class VerticaStatementBuilder extends PostgreSQLSqlStatementBuilder {
+    /**
+     * Delimiter of COPY statements with inline data.
+     */
+    private static final Delimiter COPY_DELIMITER = new Delimiter("\\.", true);
 
     /**
      * Are we currently inside a BEGIN END; block?
@@ -34,6 +38,11 @@ public class VerticaStatementBuilder extends PostgreSQLSqlStatementBuilder {
      */
     private String statementStart = "";
 
+    /**
+     * Whether this statement is a COPY statement followed by inline data.
+     */
+    private boolean pgCopy;
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 4) {
@@ -41,6 +50,13 @@ public class VerticaStatementBuilder extends PostgreSQLSqlStatementBuilder {
             statementStart += " ";
         }
 
+        if (!pgCopy && statementStart.matches("COPY\\s.*") && line.matches(".*\\bSTDIN\\b.*")) {
+            pgCopy = true;
+        }
+        if (pgCopy) {
+            return COPY_DELIMITER;
+        }
+
         if (statementStart.startsWith("CREATE FUNCTION")) {
             if (line.startsWith("BEGIN") || line.endsWith("BEGIN")) {
                 insideBeginEndBlock = true;
@@ -57,4 +73,9 @@ public class VerticaStatementBuilder extends PostgreSQLSqlStatementBuilder {
         return getDefaultDelimiter();
     }
 
+    @Override
+    public boolean isPgCopy() {
+        return pgCopy;
+    }
+
 }
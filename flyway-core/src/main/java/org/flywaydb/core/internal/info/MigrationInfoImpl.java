@@ -21,10 +21,14 @@ import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.api.validation.ValidationError;
+import org.flywaydb.core.api.validation.ValidationErrorKind;
 import org.flywaydb.core.internal.metadatatable.AppliedMigration;
 import org.flywaydb.core.internal.util.ObjectUtils;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Default implementation of MigrationInfo.
@@ -45,6 +49,12 @@ public class MigrationInfoImpl implements MigrationInfo {
      */
     private final MigrationInfoContext context;
 
+    /**
+     * The state of this migration. Computed on first access, as it can't change afterwards. {@code null} if not
+     * computed yet.
+     */
+    private MigrationState state;
+
     /**
      * Creates a new MigrationInfoImpl.
      *
@@ -109,6 +119,18 @@ public class MigrationInfoImpl implements MigrationInfo {
     }
 
     public MigrationState getState() {
+        if (state == null) {
+            state = computeState();
+        }
+        return state;
+    }
+
+    /**
+     * Computes the state of this migration from the resolved and applied migrations and the context.
+     *
+     * @return The state.
+     */
+    private MigrationState computeState() {
         if (appliedMigration == null) {
             if (resolvedMigration.getVersion().compareTo(context.baseline) < 0) {
                 return MigrationState.BELOW_BASELINE;
@@ -174,36 +196,71 @@ public class MigrationInfoImpl implements MigrationInfo {
      * @return The error message, or {@code null} if everything is fine.
      */
     public String validate() {
+        List<ValidationError> errors = validateAll();
+        return errors.isEmpty() ? null : errors.get(0).getMessage();
+    }
+
+    /**
+     * Validates this migrationInfo for consistency, reporting every inconsistency instead of only the first one.
+     *
+     * @return The errors. An empty list if everything is fine.
+     */
+    public List<ValidationError> validateAll() {
+        List<ValidationError> errors = new ArrayList<ValidationError>();
         if (!context.pendingOrFuture
                 && (resolvedMigration == null)
                 && (appliedMigration.getType() != MigrationType.SCHEMA)
                 && (appliedMigration.getType() != MigrationType.BASELINE)
                 && (appliedMigration.getType() != MigrationType.INIT)) {
-            return "Detected applied migration not resolved locally: " + getVersion();
+            errors.add(new ValidationError(ValidationErrorKind.MISSING, getVersion(), appliedMigration.getScript(), null,
+                    "Detected applied migration not resolved locally: " + getVersion()));
+            return errors;
         }
 
-        if ((!context.pendingOrFuture && (MigrationState.PENDING == getState()))
-                || (MigrationState.IGNORED == getState())) {
-            return "Detected resolved migration not applied to database: " + getVersion();
+        if (!context.pendingOrFuture && (MigrationState.PENDING == getState())) {
+            errors.add(new ValidationError(ValidationErrorKind.PENDING, getVersion(), null, resolvedMigration.getScript(),
+                    "Detected resolved migration not applied to database: " + getVersion()));
+            return errors;
+        }
+        if (MigrationState.IGNORED == getState()) {
+            errors.add(new ValidationError(ValidationErrorKind.IGNORED, getVersion(), null, resolvedMigration.getScript(),
+                    "Detected resolved migration not applied to database: " + getVersion()));
+            return errors;
         }
 
         if (resolvedMigration != null && appliedMigration != null) {
             if (getVersion().compareTo(context.baseline) > 0) {
                 if (resolvedMigration.getType() != appliedMigration.getType()) {
-                    return createMismatchMessage("Type", appliedMigration.getVersion(),
-                            appliedMigration.getType(), resolvedMigration.getType());
+                    errors.add(createMismatch(ValidationErrorKind.TYPE, "Type", appliedMigration.getVersion(),
+                            appliedMigration.getType(), resolvedMigration.getType()));
                 }
                 if (!ObjectUtils.nullSafeEquals(resolvedMigration.getChecksum(), appliedMigration.getChecksum())) {
-                    return createMismatchMessage("Checksum", appliedMigration.getVersion(),
-                            appliedMigration.getChecksum(), resolvedMigration.getChecksum());
+                    errors.add(createMismatch(ValidationErrorKind.CHECKSUM, "Checksum", appliedMigration.getVersion(),
+                            appliedMigration.getChecksum(), resolvedMigration.getChecksum()));
                 }
                 if (!resolvedMigration.getDescription().equals(appliedMigration.getDescription())) {
-                    return createMismatchMessage("Description", appliedMigration.getVersion(),
-                            appliedMigration.getDescription(), resolvedMigration.getDescription());
+                    errors.add(createMismatch(ValidationErrorKind.DESCRIPTION, "Description", appliedMigration.getVersion(),
+                            appliedMigration.getDescription(), resolvedMigration.getDescription()));
                 }
             }
         }
-        return null;
+        return errors;
+    }
+
+    /**
+     * Creates an error for a mismatch.
+     *
+     * @param kind     The kind of mismatch.
+     * @param mismatch The name of the mismatching property.
+     * @param version  The offending version.
+     * @param applied  The applied value.
+     * @param resolved The resolved value.
+     * @return The error.
+     */
+    private ValidationError createMismatch(ValidationErrorKind kind, String mismatch, MigrationVersion version,
+                                           Object applied, Object resolved) {
+        return new ValidationError(kind, version, applied, resolved,
+                createMismatchMessage(mismatch, version, applied, resolved));
     }
 
     /**
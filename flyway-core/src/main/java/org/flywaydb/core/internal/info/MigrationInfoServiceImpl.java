@@ -22,6 +22,7 @@ import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.api.validation.ValidationError;
 import org.flywaydb.core.internal.metadatatable.AppliedMigration;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
 
@@ -71,6 +72,41 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      */
     private List<MigrationInfoImpl> migrationInfos;
 
+    /**
+     * The last applied migration at the last refresh. {@code null} if none.
+     */
+    private MigrationInfoImpl current;
+
+    /**
+     * The pending migrations at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] pending;
+
+    /**
+     * The applied migrations at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] applied;
+
+    /**
+     * The resolved migrations at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] resolved;
+
+    /**
+     * The failed migrations at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] failed;
+
+    /**
+     * The future migrations, applied but no longer resolved, at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] future;
+
+    /**
+     * The migrations applied out of order at the last refresh, in the same order as migrationInfos.
+     */
+    private MigrationInfoImpl[] outOfOrderMigrations;
+
     /**
      * Creates a new MigrationInfoServiceImpl.
      *
@@ -97,7 +133,8 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         List<AppliedMigration> appliedMigrations = metaDataTable.allAppliedMigrations();
 
         migrationInfos = mergeAvailableAndAppliedMigrations(availableMigrations, appliedMigrations);
-        
+        classify();
+
         if (MigrationVersion.CURRENT == target) {
         	target = current().getVersion();
         }
@@ -158,41 +195,64 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         return migrationInfos;
     }
 
+    /**
+     * Classifies all migrations by state in a single pass, so the accessors don't have to iterate over all migrations
+     * and recompute their states on every call.
+     */
+    private void classify() {
+        List<MigrationInfoImpl> pendingList = new ArrayList<MigrationInfoImpl>();
+        List<MigrationInfoImpl> appliedList = new ArrayList<MigrationInfoImpl>();
+        List<MigrationInfoImpl> resolvedList = new ArrayList<MigrationInfoImpl>();
+        List<MigrationInfoImpl> failedList = new ArrayList<MigrationInfoImpl>();
+        List<MigrationInfoImpl> futureList = new ArrayList<MigrationInfoImpl>();
+        List<MigrationInfoImpl> outOfOrderList = new ArrayList<MigrationInfoImpl>();
+
+        current = null;
+        for (MigrationInfoImpl migrationInfo : migrationInfos) {
+            MigrationState state = migrationInfo.getState();
+            if (state == MigrationState.PENDING) {
+                pendingList.add(migrationInfo);
+            }
+            if (state.isApplied()) {
+                appliedList.add(migrationInfo);
+                current = migrationInfo;
+            }
+            if (state.isResolved()) {
+                resolvedList.add(migrationInfo);
+            }
+            if (state.isFailed()) {
+                failedList.add(migrationInfo);
+            }
+            if ((state == MigrationState.FUTURE_SUCCESS) || (state == MigrationState.FUTURE_FAILED)) {
+                futureList.add(migrationInfo);
+            }
+            if (state == MigrationState.OUT_OF_ORDER) {
+                outOfOrderList.add(migrationInfo);
+            }
+        }
+
+        pending = pendingList.toArray(new MigrationInfoImpl[pendingList.size()]);
+        applied = appliedList.toArray(new MigrationInfoImpl[appliedList.size()]);
+        resolved = resolvedList.toArray(new MigrationInfoImpl[resolvedList.size()]);
+        failed = failedList.toArray(new MigrationInfoImpl[failedList.size()]);
+        future = futureList.toArray(new MigrationInfoImpl[futureList.size()]);
+        outOfOrderMigrations = outOfOrderList.toArray(new MigrationInfoImpl[outOfOrderList.size()]);
+    }
+
     public MigrationInfo[] all() {
         return migrationInfos.toArray(new MigrationInfoImpl[migrationInfos.size()]);
     }
 
     public MigrationInfo current() {
-        for (int i = migrationInfos.size() - 1; i >= 0; i--) {
-            MigrationInfo migrationInfo = migrationInfos.get(i);
-            if (migrationInfo.getState().isApplied()) {
-                return migrationInfo;
-            }
-        }
-
-        return null;
+        return current;
     }
 
     public MigrationInfoImpl[] pending() {
-        List<MigrationInfoImpl> pendingMigrations = new ArrayList<MigrationInfoImpl>();
-        for (MigrationInfoImpl migrationInfo : migrationInfos) {
-            if (MigrationState.PENDING == migrationInfo.getState()) {
-                pendingMigrations.add(migrationInfo);
-            }
-        }
-
-        return pendingMigrations.toArray(new MigrationInfoImpl[pendingMigrations.size()]);
+        return pending.clone();
     }
 
     public MigrationInfo[] applied() {
-        List<MigrationInfo> appliedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isApplied()) {
-                appliedMigrations.add(migrationInfo);
-            }
-        }
-
-        return appliedMigrations.toArray(new MigrationInfo[appliedMigrations.size()]);
+        return applied.clone();
     }
 
     /**
@@ -201,14 +261,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The resolved migrations. An empty array if none.
      */
     public MigrationInfo[] resolved() {
-        List<MigrationInfo> resolvedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isResolved()) {
-                resolvedMigrations.add(migrationInfo);
-            }
-        }
-
-        return resolvedMigrations.toArray(new MigrationInfo[resolvedMigrations.size()]);
+        return resolved.clone();
     }
 
     /**
@@ -217,14 +270,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The failed migrations. An empty array if none.
      */
     public MigrationInfo[] failed() {
-        List<MigrationInfo> failedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isFailed()) {
-                failedMigrations.add(migrationInfo);
-            }
-        }
-
-        return failedMigrations.toArray(new MigrationInfo[failedMigrations.size()]);
+        return failed.clone();
     }
 
     /**
@@ -233,15 +279,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The future migrations. An empty array if none.
      */
     public MigrationInfo[] future() {
-        List<MigrationInfo> futureMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if ((migrationInfo.getState() == MigrationState.FUTURE_SUCCESS)
-                    || (migrationInfo.getState() == MigrationState.FUTURE_FAILED)) {
-                futureMigrations.add(migrationInfo);
-            }
-        }
-
-        return futureMigrations.toArray(new MigrationInfo[futureMigrations.size()]);
+        return future.clone();
     }
 
     /**
@@ -250,14 +288,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The out of order migrations. An empty array if none.
      */
     public MigrationInfo[] outOfOrder() {
-        List<MigrationInfo> outOfOrderMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState() == MigrationState.OUT_OF_ORDER) {
-                outOfOrderMigrations.add(migrationInfo);
-            }
-        }
-
-        return outOfOrderMigrations.toArray(new MigrationInfo[outOfOrderMigrations.size()]);
+        return outOfOrderMigrations.clone();
     }
 
     /**
@@ -274,4 +305,17 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
         }
         return null;
     }
+
+    /**
+     * Validate all migrations for consistency, reporting every inconsistency instead of only the first one.
+     *
+     * @return The errors, in the order of the migrations. An empty list if everything is fine.
+     */
+    public List<ValidationError> validateAll() {
+        List<ValidationError> errors = new ArrayList<ValidationError>();
+        for (MigrationInfoImpl migrationInfo : migrationInfos) {
+            errors.addAll(migrationInfo.validateAll());
+        }
+        return errors;
+    }
 }
@@ -19,6 +19,7 @@ import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.internal.dbsupport.Schema;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * The metadata table used to track all applied migrations.
@@ -104,4 +105,11 @@ public interface MetaDataTable {
      * @param checksum The new checksum.
      */
     void updateChecksum(MigrationVersion version, Integer checksum);
+
+    /**
+     * Update the checksums for these versions to these new values, all with a single reused statement.
+     *
+     * @param checksums The new checksum of each version to update.
+     */
+    void updateChecksums(Map<MigrationVersion, Integer> checksums);
 }
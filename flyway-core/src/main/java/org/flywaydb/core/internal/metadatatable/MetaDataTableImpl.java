@@ -44,6 +44,11 @@ import java.util.Map;
 public class MetaDataTableImpl implements MetaDataTable {
     private static final Log LOG = LogFactory.getLog(MetaDataTableImpl.class);
 
+    /**
+     * The maximum number of checksum updates to send to the database in a single batch.
+     */
+    private static final int CHECKSUM_BATCH_SIZE = 1000;
+
     /**
      * Database-specific functionality.
      */
@@ -59,6 +64,23 @@ public class MetaDataTableImpl implements MetaDataTable {
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The sql statements for accessing the metadata table. They are built once per table, so repeated commands
+     * execute identical sql and can reuse the same prepared statements.
+     */
+    private final String incrementVersionRankSql;
+    private final String insertSql;
+    private final String maxInstalledRankSql;
+    private final String versionsSql;
+    private final String selectSql;
+    private final String orderBySql;
+    private final String countFailedSql;
+    private final String deleteFailedSql;
+    private final String countSchemasMarkerSql;
+    private final String countBaselineMarkerSql;
+    private final String countAppliedMigrationsSql;
+    private final String updateChecksumSql;
+
     /**
      * Creates a new instance of the metadata table support.
      *
@@ -69,6 +91,49 @@ public class MetaDataTableImpl implements MetaDataTable {
         this.jdbcTemplate = dbSupport.getJdbcTemplate();
         this.dbSupport = dbSupport;
         this.table = table;
+
+        incrementVersionRankSql = "UPDATE " + table
+                + " SET " + dbSupport.quote("version_rank") + " = " + dbSupport.quote("version_rank")
+                + " + 1 WHERE " + dbSupport.quote("version_rank") + " >= ?";
+        insertSql = "INSERT INTO " + table
+                + " (" + dbSupport.quote("version_rank")
+                + "," + dbSupport.quote("installed_rank")
+                + "," + dbSupport.quote("version")
+                + "," + dbSupport.quote("description")
+                + "," + dbSupport.quote("type")
+                + "," + dbSupport.quote("script")
+                + "," + dbSupport.quote("checksum")
+                + "," + dbSupport.quote("installed_by")
+                + "," + dbSupport.quote("execution_time")
+                + "," + dbSupport.quote("success")
+                + ")"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, " + dbSupport.getCurrentUserFunction() + ", ?, ?)";
+        maxInstalledRankSql = "SELECT MAX(" + dbSupport.quote("installed_rank") + ")" + " FROM " + table;
+        versionsSql = "select " + dbSupport.quote("version") + " from " + table;
+        selectSql = "SELECT " + dbSupport.quote("version_rank")
+                + "," + dbSupport.quote("installed_rank")
+                + "," + dbSupport.quote("version")
+                + "," + dbSupport.quote("description")
+                + "," + dbSupport.quote("type")
+                + "," + dbSupport.quote("script")
+                + "," + dbSupport.quote("checksum")
+                + "," + dbSupport.quote("installed_on")
+                + "," + dbSupport.quote("installed_by")
+                + "," + dbSupport.quote("execution_time")
+                + "," + dbSupport.quote("success")
+                + " FROM " + table;
+        orderBySql = " ORDER BY " + dbSupport.quote("version_rank");
+        countFailedSql = "SELECT COUNT(*) FROM " + table
+                + " WHERE " + dbSupport.quote("success") + "=" + dbSupport.getBooleanFalse();
+        deleteFailedSql = "DELETE FROM " + table
+                + " WHERE " + dbSupport.quote("success") + " = " + dbSupport.getBooleanFalse();
+        countSchemasMarkerSql = "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='SCHEMA'";
+        countBaselineMarkerSql = "SELECT COUNT(*) FROM " + table
+                + " WHERE " + dbSupport.quote("type") + "='INIT' OR " + dbSupport.quote("type") + "='BASELINE'";
+        countAppliedMigrationsSql = "SELECT COUNT(*) FROM " + table
+                + " WHERE " + dbSupport.quote("type") + " NOT IN ('SCHEMA', 'INIT', 'BASELINE')";
+        updateChecksumSql = "UPDATE " + table + " SET " + dbSupport.quote("checksum") + "=?"
+                + " WHERE " + dbSupport.quote("version") + "=?";
     }
 
     /**
@@ -112,22 +177,8 @@ public class MetaDataTableImpl implements MetaDataTable {
         try {
             int versionRank = calculateVersionRank(version);
 
-            jdbcTemplate.update("UPDATE " + table
-                    + " SET " + dbSupport.quote("version_rank") + " = " + dbSupport.quote("version_rank")
-                    + " + 1 WHERE " + dbSupport.quote("version_rank") + " >= ?", versionRank);
-            jdbcTemplate.update("INSERT INTO " + table
-                            + " (" + dbSupport.quote("version_rank")
-                            + "," + dbSupport.quote("installed_rank")
-                            + "," + dbSupport.quote("version")
-                            + "," + dbSupport.quote("description")
-                            + "," + dbSupport.quote("type")
-                            + "," + dbSupport.quote("script")
-                            + "," + dbSupport.quote("checksum")
-                            + "," + dbSupport.quote("installed_by")
-                            + "," + dbSupport.quote("execution_time")
-                            + "," + dbSupport.quote("success")
-                            + ")"
-                            + " VALUES (?, ?, ?, ?, ?, ?, ?, " + dbSupport.getCurrentUserFunction() + ", ?, ?)",
+            jdbcTemplate.update(incrementVersionRankSql, versionRank);
+            jdbcTemplate.update(insertSql,
                     versionRank,
                     calculateInstalledRank(),
                     version.toString(),
@@ -150,8 +201,7 @@ public class MetaDataTableImpl implements MetaDataTable {
      * @return The installed rank.
      */
     private int calculateInstalledRank() throws SQLException {
-        int currentMax = jdbcTemplate.queryForInt("SELECT MAX(" + dbSupport.quote("installed_rank") + ")"
-                + " FROM " + table);
+        int currentMax = jdbcTemplate.queryForInt(maxInstalledRankSql);
         return currentMax + 1;
     }
 
@@ -162,7 +212,7 @@ public class MetaDataTableImpl implements MetaDataTable {
      * @return The rank.
      */
     private int calculateVersionRank(MigrationVersion version) throws SQLException {
-        List<String> versions = jdbcTemplate.queryForStringList("select " + dbSupport.quote("version") + " from " + table);
+        List<String> versions = jdbcTemplate.queryForStringList(versionsSql);
 
         List<MigrationVersion> migrationVersions = new ArrayList<MigrationVersion>();
         for (String versionStr : versions) {
@@ -198,18 +248,8 @@ public class MetaDataTableImpl implements MetaDataTable {
 
         createIfNotExists();
 
-        String query = "SELECT " + dbSupport.quote("version_rank")
-                + "," + dbSupport.quote("installed_rank")
-                + "," + dbSupport.quote("version")
-                + "," + dbSupport.quote("description")
-                + "," + dbSupport.quote("type")
-                + "," + dbSupport.quote("script")
-                + "," + dbSupport.quote("checksum")
-                + "," + dbSupport.quote("installed_on")
-                + "," + dbSupport.quote("installed_by")
-                + "," + dbSupport.quote("execution_time")
-                + "," + dbSupport.quote("success")
-                + " FROM " + table;
+        String query = selectSql;
+        Object[] params = new Object[migrationTypes.length];
 
         if (migrationTypes.length > 0) {
             query += " WHERE " + dbSupport.quote("type") + " IN (";
@@ -217,12 +257,13 @@ public class MetaDataTableImpl implements MetaDataTable {
                 if (i > 0) {
                     query += ",";
                 }
-                query += "'" + migrationTypes[i] + "'";
+                query += "?";
+                params[i] = migrationTypes[i].name();
             }
             query += ")";
         }
 
-        query += " ORDER BY " + dbSupport.quote("version_rank");
+        query += orderBySql;
 
         try {
             return jdbcTemplate.query(query, new RowMapper<AppliedMigration>() {
@@ -246,7 +287,7 @@ public class MetaDataTableImpl implements MetaDataTable {
                             rs.getBoolean("success")
                     );
                 }
-            });
+            }, params);
         } catch (SQLException e) {
             throw new FlywayException("Error while retrieving the list of applied migrations from metadata table "
                     + table, e);
@@ -269,8 +310,7 @@ public class MetaDataTableImpl implements MetaDataTable {
         createIfNotExists();
 
         try {
-            int failedCount = jdbcTemplate.queryForInt("SELECT COUNT(*) FROM " + table
-                    + " WHERE " + dbSupport.quote("success") + "=" + dbSupport.getBooleanFalse());
+            int failedCount = jdbcTemplate.queryForInt(countFailedSql);
             if (failedCount == 0) {
                 LOG.info("Repair of failed migration in metadata table " + table + " not necessary. No failed migration detected.");
                 return;
@@ -280,8 +320,7 @@ public class MetaDataTableImpl implements MetaDataTable {
         }
 
         try {
-            jdbcTemplate.execute("DELETE FROM " + table
-                    + " WHERE " + dbSupport.quote("success") + " = " + dbSupport.getBooleanFalse());
+            jdbcTemplate.execute(deleteFailedSql);
         } catch (SQLException e) {
             throw new FlywayException("Unable to repair metadata table " + table, e);
         }
@@ -304,8 +343,7 @@ public class MetaDataTableImpl implements MetaDataTable {
         createIfNotExists();
 
         try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='SCHEMA'");
+            int count = jdbcTemplate.queryForInt(countSchemasMarkerSql);
             return count > 0;
         } catch (SQLException e) {
             throw new FlywayException("Unable to check whether the metadata table " + table + " has a schema marker migration", e);
@@ -321,8 +359,7 @@ public class MetaDataTableImpl implements MetaDataTable {
         createIfNotExists();
 
         try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='INIT' OR " + dbSupport.quote("type") + "='BASELINE'");
+            int count = jdbcTemplate.queryForInt(countBaselineMarkerSql);
             return count > 0;
         } catch (SQLException e) {
             throw new FlywayException("Unable to check whether the metadata table " + table + " has an baseline marker migration", e);
@@ -345,8 +382,7 @@ public class MetaDataTableImpl implements MetaDataTable {
         createIfNotExists();
 
         try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + " NOT IN ('SCHEMA', 'INIT', 'BASELINE')");
+            int count = jdbcTemplate.queryForInt(countAppliedMigrationsSql);
             return count > 0;
         } catch (SQLException e) {
             throw new FlywayException("Unable to check whether the metadata table " + table + " has applied migrations", e);
@@ -357,14 +393,28 @@ public class MetaDataTableImpl implements MetaDataTable {
     public void updateChecksum(MigrationVersion version, Integer checksum) {
         LOG.info("Updating checksum of " + version + " to " + checksum + " ...");
         try {
-            jdbcTemplate.update("UPDATE " + table + " SET " + dbSupport.quote("checksum") + "=" + checksum
-                    + " WHERE " + dbSupport.quote("version") + "='" + version + "'");
+            jdbcTemplate.update(updateChecksumSql, checksum, version.toString());
         } catch (SQLException e) {
             throw new FlywayException("Unable to update checksum in metadata table " + table
                     + " for version " + version + " to " + checksum, e);
         }
     }
 
+    @Override
+    public void updateChecksums(Map<MigrationVersion, Integer> checksums) {
+        List<Object[]> paramsList = new ArrayList<Object[]>();
+        for (Map.Entry<MigrationVersion, Integer> entry : checksums.entrySet()) {
+            LOG.info("Updating checksum of " + entry.getKey() + " to " + entry.getValue() + " ...");
+            paramsList.add(new Object[]{entry.getValue(), entry.getKey().toString()});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(updateChecksumSql, paramsList, CHECKSUM_BATCH_SIZE);
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to update " + checksums.size() + " checksums in metadata table " + table, e);
+        }
+    }
+
     @Override
     public String toString() {
         return table.toString();
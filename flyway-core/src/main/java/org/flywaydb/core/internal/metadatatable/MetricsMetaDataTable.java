@@ -0,0 +1,183 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.metadatatable;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.flywaydb.core.internal.dbsupport.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metadata table decorator reporting the duration, number of round trips and lock wait time of every operation to a
+ * MetricsListener. Only used when a listener has been configured, so there is no overhead otherwise.
+ */
+public class MetricsMetaDataTable implements MetaDataTable {
+    /**
+     * The actual metadata table.
+     */
+    private final MetaDataTable metaDataTable;
+
+    /**
+     * The JdbcTemplate used by the actual metadata table, for counting round trips.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The listener to notify.
+     */
+    private final MetricsListener metricsListener;
+
+    /**
+     * The round trip count of the JdbcTemplate at the start of the current operation.
+     */
+    private int roundTripsAtStart;
+
+    /**
+     * The time at which the current operation started (in ns).
+     */
+    private long startNanos;
+
+    /**
+     * Creates a new metrics-reporting metadata table.
+     *
+     * @param metaDataTable   The actual metadata table.
+     * @param jdbcTemplate    The JdbcTemplate used by the actual metadata table.
+     * @param metricsListener The listener to notify.
+     */
+    public MetricsMetaDataTable(MetaDataTable metaDataTable, JdbcTemplate jdbcTemplate, MetricsListener metricsListener) {
+        this.metaDataTable = metaDataTable;
+        this.jdbcTemplate = jdbcTemplate;
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Marks the start of an operation.
+     */
+    private void start() {
+        roundTripsAtStart = jdbcTemplate.getRoundTrips();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of this operation and notifies the listener.
+     *
+     * @param operation The name of the operation.
+     * @return The duration of the operation (in ns).
+     */
+    private long end(String operation) {
+        long duration = System.nanoTime() - startNanos;
+        metricsListener.metaDataTableAccessed(metaDataTable.toString(), operation,
+                jdbcTemplate.getRoundTrips() - roundTripsAtStart, duration);
+        return duration;
+    }
+
+    @Override
+    public void lock() {
+        start();
+        metaDataTable.lock();
+        metricsListener.metaDataTableLocked(metaDataTable.toString(), end("lock"));
+    }
+
+    @Override
+    public void addAppliedMigration(AppliedMigration appliedMigration) {
+        start();
+        metaDataTable.addAppliedMigration(appliedMigration);
+        end("addAppliedMigration");
+    }
+
+    @Override
+    public boolean hasAppliedMigrations() {
+        start();
+        boolean result = metaDataTable.hasAppliedMigrations();
+        end("hasAppliedMigrations");
+        return result;
+    }
+
+    @Override
+    public List<AppliedMigration> allAppliedMigrations() {
+        start();
+        List<AppliedMigration> result = metaDataTable.allAppliedMigrations();
+        end("allAppliedMigrations");
+        return result;
+    }
+
+    @Override
+    public void addBaselineMarker(MigrationVersion initVersion, String initDescription) {
+        start();
+        metaDataTable.addBaselineMarker(initVersion, initDescription);
+        end("addBaselineMarker");
+    }
+
+    @Override
+    public boolean hasBaselineMarker() {
+        start();
+        boolean result = metaDataTable.hasBaselineMarker();
+        end("hasBaselineMarker");
+        return result;
+    }
+
+    @Override
+    public AppliedMigration getBaselineMarker() {
+        start();
+        AppliedMigration result = metaDataTable.getBaselineMarker();
+        end("getBaselineMarker");
+        return result;
+    }
+
+    @Override
+    public void removeFailedMigrations() {
+        start();
+        metaDataTable.removeFailedMigrations();
+        end("removeFailedMigrations");
+    }
+
+    @Override
+    public void addSchemasMarker(Schema[] schemas) {
+        start();
+        metaDataTable.addSchemasMarker(schemas);
+        end("addSchemasMarker");
+    }
+
+    @Override
+    public boolean hasSchemasMarker() {
+        start();
+        boolean result = metaDataTable.hasSchemasMarker();
+        end("hasSchemasMarker");
+        return result;
+    }
+
+    @Override
+    public void updateChecksum(MigrationVersion version, Integer checksum) {
+        start();
+        metaDataTable.updateChecksum(version, checksum);
+        end("updateChecksum");
+    }
+
+    @Override
+    public void updateChecksums(Map<MigrationVersion, Integer> checksums) {
+        start();
+        metaDataTable.updateChecksums(checksums);
+        end("updateChecksums");
+    }
+
+    @Override
+    public String toString() {
+        return metaDataTable.toString();
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.progress;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.progress.MigrationProgress;
+import org.flywaydb.core.api.progress.ProgressListener;
+import org.flywaydb.core.internal.dbsupport.SqlStatement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the progress of a migrate run and notifies a ProgressListener of it.
+ *
+ * <p>The remaining time is estimated per pending migration, using (in order of preference) the time the same version
+ * took on a previously migrated schema during this run, the mean time of the migrations applied so far during this
+ * run and the mean historical execution time of the migrations already recorded in the metadata table.</p>
+ *
+ * <p>A single tracker is meant to be used for a whole migrate run, across all schemas.</p>
+ */
+public class ProgressTracker {
+    /**
+     * The listener to notify.
+     */
+    private final ProgressListener progressListener;
+
+    /**
+     * The execution times (in ms) of the migrations applied during this run, by version.
+     */
+    private final Map<MigrationVersion, Integer> executionTimes = new HashMap<MigrationVersion, Integer>();
+
+    /**
+     * The sum of the execution times (in ms) of the migrations applied during this run.
+     */
+    private long executionTimeSum;
+
+    /**
+     * The time this run started (in ms).
+     */
+    private long startMillis = -1;
+
+    /**
+     * The mean historical execution time (in ms) of the applied migrations of the current schema. -1 if unknown.
+     */
+    private long historicalMeanMillis;
+
+    /**
+     * The schema currently being migrated.
+     */
+    private String schema;
+
+    /**
+     * The migrations still to be applied to the current schema, including the current one.
+     */
+    private List<MigrationInfo> pending = new ArrayList<MigrationInfo>();
+
+    /**
+     * The total number of migrations to apply to the current schema.
+     */
+    private int migrationsTotal;
+
+    /**
+     * The number of migrations applied so far to the current schema.
+     */
+    private int migrationsDone;
+
+    /**
+     * The migration currently being applied. {@code null} if none.
+     */
+    private MigrationInfo migration;
+
+    /**
+     * The time the current migration started (in ms).
+     */
+    private long migrationStartMillis;
+
+    /**
+     * The estimated time (in ms) of the pending migrations other than the current one. -1 if unknown.
+     */
+    private long pendingEstimateMillis;
+
+    /**
+     * The estimated time (in ms) of the current migration. -1 if unknown.
+     */
+    private long migrationEstimateMillis;
+
+    /**
+     * The number of statements of the current script executed so far.
+     */
+    private int statementsDone;
+
+    /**
+     * The total number of statements of the current script. 0 if unknown, as for Java migrations.
+     */
+    private int statementsTotal;
+
+    /**
+     * The number of characters of the statements of the current script executed so far.
+     */
+    private long charactersDone;
+
+    /**
+     * The total number of characters of the statements of the current script. 0 if unknown.
+     */
+    private long charactersTotal;
+
+    /**
+     * Creates a new progress tracker.
+     *
+     * @param progressListener The listener to notify.
+     */
+    public ProgressTracker(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Starts tracking the migration of this schema.
+     *
+     * @param schema  The schema about to be migrated.
+     * @param pending The migrations to apply, in order.
+     * @param applied The migrations already applied to this schema.
+     */
+    public void migrateStarted(String schema, MigrationInfo[] pending, MigrationInfo[] applied) {
+        if (startMillis < 0) {
+            startMillis = System.currentTimeMillis();
+        }
+        this.schema = schema;
+        this.pending = new ArrayList<MigrationInfo>(Arrays.asList(pending));
+        this.migrationsTotal = pending.length;
+        this.migrationsDone = 0;
+        this.migration = null;
+        resetStatements();
+
+        long sum = 0;
+        int count = 0;
+        for (MigrationInfo migrationInfo : applied) {
+            if (migrationInfo.getExecutionTime() != null && migrationInfo.getVersion() != null) {
+                sum += migrationInfo.getExecutionTime();
+                count++;
+            }
+        }
+        historicalMeanMillis = count == 0 ? -1 : sum / count;
+
+        updateEstimates();
+        notifyListener();
+    }
+
+    /**
+     * Notifies the tracker that this migration is about to be applied.
+     *
+     * @param migration The migration.
+     */
+    public void migrationStarted(MigrationInfo migration) {
+        this.migration = migration;
+        this.migrationStartMillis = System.currentTimeMillis();
+        resetStatements();
+        updateEstimates();
+        notifyListener();
+    }
+
+    /**
+     * Notifies the tracker that the sql script of the current migration is about to be executed.
+     *
+     * @param sqlStatements The statements of the script.
+     */
+    public void scriptStarted(List<SqlStatement> sqlStatements) {
+        statementsDone = 0;
+        statementsTotal = sqlStatements.size();
+        charactersDone = 0;
+        charactersTotal = 0;
+        for (SqlStatement sqlStatement : sqlStatements) {
+            charactersTotal += sqlStatement.getSql().length();
+        }
+    }
+
+    /**
+     * Notifies the tracker that this statement of the current script has been executed.
+     *
+     * @param sqlStatement The statement.
+     */
+    public void statementExecuted(SqlStatement sqlStatement) {
+        statementsDone++;
+        charactersDone += sqlStatement.getSql().length();
+        notifyListener();
+    }
+
+    /**
+     * Notifies the tracker that the current migration has been applied successfully.
+     *
+     * @param executionTime The time it took (in ms).
+     */
+    public void migrationCompleted(int executionTime) {
+        migrationCompleted(migration, executionTime);
+    }
+
+    /**
+     * Notifies the tracker that this migration has been applied successfully. Used for migrations applied as part of a
+     * group, which only count as done once the whole group has been committed.
+     *
+     * @param completed     The migration.
+     * @param executionTime The time it took (in ms).
+     */
+    public void migrationCompleted(MigrationInfo completed, int executionTime) {
+        if (completed != null) {
+            Integer previous = executionTimes.put(completed.getVersion(), executionTime);
+            executionTimeSum += executionTime - (previous == null ? 0 : previous);
+            if (removePending(completed.getVersion())) {
+                migrationsDone++;
+            }
+        } else {
+            migrationsDone++;
+        }
+        migration = null;
+        resetStatements();
+        updateEstimates();
+        notifyListener();
+    }
+
+    /**
+     * Notifies the tracker that the migration of the current schema is complete.
+     */
+    public void migrateCompleted() {
+        migration = null;
+        migrationsDone = migrationsTotal;
+        pending.clear();
+        resetStatements();
+        updateEstimates();
+        notifyListener();
+    }
+
+    /**
+     * @return A snapshot of the current progress.
+     */
+    public MigrationProgress getProgress() {
+        return new MigrationProgress(schema, migration, migrationsDone, migrationsTotal,
+                statementsDone, statementsTotal, charactersDone, charactersTotal,
+                System.currentTimeMillis() - startMillis, estimateRemainingMillis());
+    }
+
+    /**
+     * Estimates the time remaining until all pending migrations of the current schema have been applied.
+     *
+     * @return The estimate (in ms). -1 if unknown.
+     */
+    /* private -> testing */ long estimateRemainingMillis() {
+        if (pendingEstimateMillis < 0 || migrationEstimateMillis < 0) {
+            return -1;
+        }
+        return pendingEstimateMillis + Math.max(0, (long) (migrationEstimateMillis * (1 - fractionDone())));
+    }
+
+    /**
+     * Recomputes the estimates of the pending migrations. Only needed when a migration starts or completes, as the
+     * progress within the current migration is applied on top of them by estimateRemainingMillis.
+     */
+    private void updateEstimates() {
+        pendingEstimateMillis = 0;
+        migrationEstimateMillis = 0;
+        for (MigrationInfo migrationInfo : pending) {
+            long estimate = estimateMillis(migrationInfo);
+            if (estimate < 0) {
+                pendingEstimateMillis = -1;
+                return;
+            }
+            if (migration != null && migrationInfo.getVersion().equals(migration.getVersion())) {
+                migrationEstimateMillis = estimate;
+            } else {
+                pendingEstimateMillis += estimate;
+            }
+        }
+    }
+
+    /**
+     * Estimates the time this migration will take to apply.
+     *
+     * @param migrationInfo The migration.
+     * @return The estimate (in ms). -1 if unknown.
+     */
+    private long estimateMillis(MigrationInfo migrationInfo) {
+        Integer executionTime = executionTimes.get(migrationInfo.getVersion());
+        if (executionTime != null) {
+            return executionTime;
+        }
+        if (!executionTimes.isEmpty()) {
+            return executionTimeSum / executionTimes.size();
+        }
+        return historicalMeanMillis;
+    }
+
+    /**
+     * @return The fraction of the current script executed so far, based on its size if known.
+     */
+    private double fractionDone() {
+        if (charactersTotal > 0) {
+            return (double) charactersDone / charactersTotal;
+        }
+        if (statementsTotal > 0) {
+            return (double) statementsDone / statementsTotal;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes the migration with this version from the pending ones.
+     *
+     * @param version The version of the migration.
+     * @return {@code true} if it was still pending, {@code false} if it had already been counted as done.
+     */
+    private boolean removePending(MigrationVersion version) {
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i).getVersion().equals(version)) {
+                pending.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resets the progress within the current script, as no script is being executed.
+     */
+    private void resetStatements() {
+        statementsDone = 0;
+        statementsTotal = 0;
+        charactersDone = 0;
+        charactersTotal = 0;
+    }
+
+    /**
+     * Notifies the listener of the current progress.
+     */
+    private void notifyListener() {
+        progressListener.progressed(getProgress());
+    }
+}
@@ -16,6 +16,8 @@
 package org.flywaydb.core.internal.resolver;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
@@ -25,15 +27,17 @@ import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
 import org.flywaydb.core.internal.util.FeatureDetector;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Locations;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * Facility for retrieving and sorting the available migrations from the classpath through the various migration
@@ -45,6 +49,11 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     private Collection<MigrationResolver> migrationResolvers = new ArrayList<MigrationResolver>();
 
+    /**
+     * The maximum number of migration resolvers to run concurrently.
+     */
+    private final int threads;
+
     /**
      * The available migrations, sorted by version, newest first. An empty list is returned when no migrations can be
      * found.
@@ -62,20 +71,28 @@ public class CompositeMigrationResolver implements MigrationResolver {
      * @param sqlMigrationSeparator    The file name separator for sql migrations.
      * @param sqlMigrationSuffix       The file name suffix for sql migrations.
      * @param placeholderReplacer      The placeholder replacer to use.
+     * @param threads                  The maximum number of migration resolvers to run concurrently. 1 to run them one
+     *                                 after the other on the calling thread.
      * @param customMigrationResolvers Custom Migration Resolvers.
      */
     public CompositeMigrationResolver(DbSupport dbSupport, ClassLoader classLoader, Locations locations,
                                       String encoding,
                                       String sqlMigrationPrefix, String sqlMigrationSeparator, String sqlMigrationSuffix,
-                                      PlaceholderReplacer placeholderReplacer,
+                                      PlaceholderReplacer placeholderReplacer, int threads,
                                       MigrationResolver... customMigrationResolvers) {
+        this.threads = threads;
+        boolean springJdbcAvailable = new FeatureDetector(classLoader).isSpringJdbcAvailable();
+        JavaMigrationScanner javaMigrationScanner = springJdbcAvailable
+                ? new JavaMigrationScanner(classLoader, JdbcMigration.class, SpringJdbcMigration.class)
+                : new JavaMigrationScanner(classLoader, JdbcMigration.class);
+
         for (Location location : locations.getLocations()) {
             migrationResolvers.add(new SqlMigrationResolver(dbSupport, classLoader, location, placeholderReplacer,
                     encoding, sqlMigrationPrefix, sqlMigrationSeparator, sqlMigrationSuffix));
-            migrationResolvers.add(new JdbcMigrationResolver(classLoader, location));
+            migrationResolvers.add(new JdbcMigrationResolver(location, javaMigrationScanner));
 
-            if (new FeatureDetector(classLoader).isSpringJdbcAvailable()) {
-                migrationResolvers.add(new SpringJdbcMigrationResolver(classLoader, location));
+            if (springJdbcAvailable) {
+                migrationResolvers.add(new SpringJdbcMigrationResolver(location, javaMigrationScanner));
             }
         }
 
@@ -105,7 +122,7 @@ public class CompositeMigrationResolver implements MigrationResolver {
      * @throws FlywayException when the available migrations have overlapping versions.
      */
     private List<ResolvedMigration> doFindAvailableMigrations() throws FlywayException {
-        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers));
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers, threads));
         Collections.sort(migrations, new ResolvedMigrationComparator());
 
         checkForIncompatibilities(migrations);
@@ -114,16 +131,37 @@ public class CompositeMigrationResolver implements MigrationResolver {
     }
 
     /**
-     * Collects all the migrations for all migration resolvers.
+     * Collects all the migrations for all migration resolvers. The results are merged in the order of the resolvers,
+     * regardless of the order in which they complete.
      *
      * @param migrationResolvers The migration resolvers to check.
+     * @param threads            The maximum number of migration resolvers to run concurrently.
      * @return All migrations.
      */
     /* private -> for testing */
-    static Collection<ResolvedMigration> collectMigrations(Collection<MigrationResolver> migrationResolvers) {
-        Set<ResolvedMigration> migrations = new HashSet<ResolvedMigration>();
-        for (MigrationResolver migrationResolver : migrationResolvers) {
-            migrations.addAll(migrationResolver.resolveMigrations());
+    static Collection<ResolvedMigration> collectMigrations(Collection<MigrationResolver> migrationResolvers, int threads) {
+        if ((threads <= 1) || (migrationResolvers.size() <= 1)) {
+            Set<ResolvedMigration> migrations = new LinkedHashSet<ResolvedMigration>();
+            for (MigrationResolver migrationResolver : migrationResolvers) {
+                migrations.addAll(migrationResolver.resolveMigrations());
+            }
+            return migrations;
+        }
+
+        List<Callable<Collection<ResolvedMigration>>> tasks = new ArrayList<Callable<Collection<ResolvedMigration>>>();
+        for (final MigrationResolver migrationResolver : migrationResolvers) {
+            tasks.add(new Callable<Collection<ResolvedMigration>>() {
+                @Override
+                public Collection<ResolvedMigration> call() {
+                    return migrationResolver.resolveMigrations();
+                }
+            });
+        }
+
+        Set<ResolvedMigration> migrations = new LinkedHashSet<ResolvedMigration>();
+        for (Collection<ResolvedMigration> resolved
+                : ParallelUtils.invokeAll("flyway-resolver", threads, tasks, "resolving migrations")) {
+            migrations.addAll(resolved);
         }
         return migrations;
     }
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Scans locations for Java migrations of several types at once. Each location is scanned only once and each
+ * migration class is instantiated only once, so the results can be shared by the resolvers of the different types.
+ */
+public class JavaMigrationScanner {
+    /**
+     * The ClassLoader for loading migrations on the classpath.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The migration interfaces to scan for.
+     */
+    private final Class<?>[] migrationTypes;
+
+    /**
+     * The migrations instantiated so far, by location.
+     */
+    private final ConcurrentMap<Location, List<Object>> migrations = new ConcurrentHashMap<Location, List<Object>>();
+
+    /**
+     * The locks guarding the scan of each location, so different locations can be scanned concurrently while each one
+     * is still scanned only once.
+     */
+    private final ConcurrentMap<Location, Object> locks = new ConcurrentHashMap<Location, Object>();
+
+    /**
+     * Creates a new Java migration scanner.
+     *
+     * @param classLoader    The ClassLoader for loading migrations on the classpath.
+     * @param migrationTypes The migration interfaces to scan for.
+     */
+    public JavaMigrationScanner(ClassLoader classLoader, Class<?>... migrationTypes) {
+        this.classLoader = classLoader;
+        this.migrationTypes = migrationTypes;
+    }
+
+    /**
+     * Finds the migrations of this type at this location.
+     *
+     * @param location      The location (package) in the classpath to scan. Subpackages are also scanned.
+     * @param migrationType The migration interface. Must be one of the types this scanner was created for.
+     * @param <T>           The migration interface.
+     * @return The migrations found, in the order of their class names.
+     * @throws Exception when the location could not be scanned or a migration could not be instantiated.
+     */
+    public <T> List<T> findMigrations(Location location, Class<T> migrationType) throws Exception {
+        locks.putIfAbsent(location, new Object());
+        List<Object> instances;
+        synchronized (locks.get(location)) {
+            instances = migrations.get(location);
+            if (instances == null) {
+                instances = new ArrayList<Object>();
+                for (Class<?> clazz : new Scanner(classLoader).scanForClasses(location, migrationTypes)) {
+                    try {
+                        instances.add(ClassUtils.instantiate(clazz.getName(), classLoader));
+                    } catch (Exception e) {
+                        throw new FlywayException("Unable to instantiate class: " + clazz.getName(), e);
+                    }
+                }
+                migrations.put(location, instances);
+            }
+        }
+
+        List<T> result = new ArrayList<T>();
+        for (Object instance : instances) {
+            if (migrationType.isInstance(instance)) {
+                result.add(migrationType.cast(instance));
+            }
+        }
+        return result;
+    }
+}
@@ -23,6 +23,7 @@ import org.flywaydb.core.api.migration.MigrationInfoProvider;
 import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.JavaMigrationScanner;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
@@ -30,7 +31,6 @@ import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.StringUtils;
-import org.flywaydb.core.internal.util.scanner.Scanner;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -47,9 +47,9 @@ public class JdbcMigrationResolver implements MigrationResolver {
     private final Location location;
 
     /**
-     * The ClassLoader to use.
+     * The scanner to find the migrations with.
      */
-    private ClassLoader classLoader;
+    private final JavaMigrationScanner javaMigrationScanner;
 
     /**
      * Creates a new instance.
@@ -58,8 +58,18 @@ public class JdbcMigrationResolver implements MigrationResolver {
      * @param classLoader The ClassLoader for loading migrations on the classpath.
      */
     public JdbcMigrationResolver(ClassLoader classLoader, Location location) {
+        this(location, new JavaMigrationScanner(classLoader, JdbcMigration.class));
+    }
+
+    /**
+     * Creates a new instance sharing its scan results with other Java migration resolvers.
+     *
+     * @param location             The base package on the classpath where to migrations are located.
+     * @param javaMigrationScanner The scanner to find the migrations with. Must scan for JdbcMigration.
+     */
+    public JdbcMigrationResolver(Location location, JavaMigrationScanner javaMigrationScanner) {
         this.location = location;
-        this.classLoader = classLoader;
+        this.javaMigrationScanner = javaMigrationScanner;
     }
 
     public List<ResolvedMigration> resolveMigrations() {
@@ -70,12 +80,9 @@ public class JdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = new Scanner(classLoader).scanForClasses(location, JdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                JdbcMigration jdbcMigration = ClassUtils.instantiate(clazz.getName(), classLoader);
-
+            for (JdbcMigration jdbcMigration : javaMigrationScanner.findMigrations(location, JdbcMigration.class)) {
                 ResolvedMigrationImpl migrationInfo = extractMigrationInfo(jdbcMigration);
-                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
+                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(jdbcMigration.getClass()));
                 migrationInfo.setExecutor(new JdbcMigrationExecutor(jdbcMigration));
 
                 migrations.add(migrationInfo);
@@ -23,6 +23,7 @@ import org.flywaydb.core.api.migration.MigrationInfoProvider;
 import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.JavaMigrationScanner;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
@@ -30,7 +31,6 @@ import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.StringUtils;
-import org.flywaydb.core.internal.util.scanner.Scanner;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -48,9 +48,9 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
     private final Location location;
 
     /**
-     * The ClassLoader to use.
+     * The scanner to find the migrations with.
      */
-    private ClassLoader classLoader;
+    private final JavaMigrationScanner javaMigrationScanner;
 
     /**
      * Creates a new instance.
@@ -59,8 +59,18 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
      * @param classLoader The ClassLoader for loading migrations on the classpath.
      */
     public SpringJdbcMigrationResolver(ClassLoader classLoader, Location location) {
+        this(location, new JavaMigrationScanner(classLoader, SpringJdbcMigration.class));
+    }
+
+    /**
+     * Creates a new instance sharing its scan results with other Java migration resolvers.
+     *
+     * @param location             The base package on the classpath where to migrations are located.
+     * @param javaMigrationScanner The scanner to find the migrations with. Must scan for SpringJdbcMigration.
+     */
+    public SpringJdbcMigrationResolver(Location location, JavaMigrationScanner javaMigrationScanner) {
         this.location = location;
-        this.classLoader = classLoader;
+        this.javaMigrationScanner = javaMigrationScanner;
     }
 
     public Collection<ResolvedMigration> resolveMigrations() {
@@ -71,12 +81,9 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = new Scanner(classLoader).scanForClasses(location, SpringJdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                SpringJdbcMigration springJdbcMigration = ClassUtils.instantiate(clazz.getName(), classLoader);
-
+            for (SpringJdbcMigration springJdbcMigration : javaMigrationScanner.findMigrations(location, SpringJdbcMigration.class)) {
                 ResolvedMigrationImpl migrationInfo = extractMigrationInfo(springJdbcMigration);
-                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
+                migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(springJdbcMigration.getClass()));
                 migrationInfo.setExecutor(new SpringJdbcMigrationExecutor(springJdbcMigration));
 
                 migrations.add(migrationInfo);
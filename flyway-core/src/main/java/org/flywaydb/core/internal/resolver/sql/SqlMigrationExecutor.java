@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.resolver.sql;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.SqlScript;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
@@ -23,6 +24,10 @@ import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.Resource;
 
 import java.sql.Connection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Database migration based on a sql file.
@@ -50,6 +55,11 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      */
     private final String encoding;
 
+    /**
+     * The sql script being parsed ahead of its execution. {@code null} if it will be parsed when executed.
+     */
+    private Future<SqlScript> parsedSqlScript;
+
     /**
      * Creates a new sql script migration based on this sql script.
      *
@@ -65,10 +75,56 @@ public class SqlMigrationExecutor implements MigrationExecutor {
         this.placeholderReplacer = placeholderReplacer;
     }
 
+    /**
+     * Starts loading, replacing the placeholders and parsing the sql script on this executor service, so it is ready
+     * by the time the migration is executed. Does nothing if this has already been done.
+     *
+     * @param executorService The executor service to parse the script on.
+     */
+    public synchronized void parseAhead(ExecutorService executorService) {
+        if (parsedSqlScript == null) {
+            parsedSqlScript = executorService.submit(new Callable<SqlScript>() {
+                @Override
+                public SqlScript call() {
+                    return new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, encoding);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the sql script to execute, either the one parsed ahead or a freshly parsed one. The script parsed
+     * ahead is only handed out once, so it doesn't remain on the heap after execution.
+     *
+     * @return The sql script.
+     */
+    private synchronized SqlScript takeSqlScript() {
+        Future<SqlScript> future = parsedSqlScript;
+        parsedSqlScript = null;
+        if (future == null) {
+            return new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, encoding);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while parsing " + sqlScriptResource.getLocation(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlywayException("Unable to parse " + sqlScriptResource.getLocation(), e.getCause());
+        }
+    }
+
     @Override
     public void execute(Connection connection) {
-        SqlScript sqlScript = new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, encoding);
-        sqlScript.execute(new JdbcTemplate(connection, 0));
+        SqlScript sqlScript = takeSqlScript();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+        jdbcTemplate.setMetricsListener(dbSupport.getJdbcTemplate().getMetricsListener());
+        jdbcTemplate.setProgressTracker(dbSupport.getJdbcTemplate().getProgressTracker());
+        sqlScript.execute(jdbcTemplate);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.resolver.sql;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.resolver.MigrationResolver;
@@ -34,7 +35,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.zip.CRC32;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -43,6 +44,11 @@ import java.io.InputStream;
  * V1__Description.sql or V1_1__Description.sql.
  */
 public class SqlMigrationResolver implements MigrationResolver {
+    /**
+     * The size of the buffer used for streaming through a migration when calculating its checksum.
+     */
+    private static final int CHECKSUM_BUFFER_SIZE = 4096;
+
     /**
      * Database-specific support.
      */
@@ -141,7 +147,7 @@ public class SqlMigrationResolver implements MigrationResolver {
 
         migration.setScript(extractScriptName(resource));
 
-        migration.setChecksum(calculateChecksum(resource.loadAsBytes()));
+        migration.setChecksum(calculateChecksum(resource));
         migration.setType(MigrationType.SQL);
         return migration;
     }
@@ -161,37 +167,44 @@ public class SqlMigrationResolver implements MigrationResolver {
     }
 
     /**
-     * Calculates the checksum of these bytes.
+     * Calculates the checksum of this resource by streaming through its bytes, so the contents of the migration are
+     * never held in memory as a whole. A UTF-8 BOM and carriage returns are ignored, so the checksum doesn't depend
+     * on the editor or platform used to write the migration.
      *
-     * @param bytes The bytes to calculate the checksum for.
+     * @param resource The resource to calculate the checksum for.
      * @return The crc-32 checksum of the bytes.
      */
-    private int calculateChecksum(byte[] bytes) {
-        final CRC32 crc = new CRC32();
-        crc.update(bytes);
-
-        final ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
-        if ("UTF-8".equalsIgnoreCase(encoding)) {
-            ignoreUtf8BOM(inputStream);
-        }
-
-        final CRC32 crc32 = new CRC32();
-
-        while (true) {
-            final int value = inputStream.read();
-
-            if (value == -1) {
-                break;
+    /* private -> for testing */ int calculateChecksum(Resource resource) {
+        InputStream inputStream = new BufferedInputStream(resource.openStream(), CHECKSUM_BUFFER_SIZE);
+        try {
+            if ("UTF-8".equalsIgnoreCase(encoding)) {
+                ignoreUtf8BOM(inputStream);
             }
 
-            if (value == 13) {
-                continue;
+            final CRC32 crc32 = new CRC32();
+            byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                int start = 0;
+                for (int i = 0; i < bytesRead; i++) {
+                    if (buffer[i] == 13) {
+                        crc32.update(buffer, start, i - start);
+                        start = i + 1;
+                    }
+                }
+                crc32.update(buffer, start, bytesRead - start);
             }
 
-            crc32.update((byte) value);
+            return (int) crc32.getValue();
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate checksum of " + resource.getLocation(), e);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // Ignore
+            }
         }
-
-        return (int) crc32.getValue();
     }
 
     private static void ignoreUtf8BOM(InputStream inputStream) {
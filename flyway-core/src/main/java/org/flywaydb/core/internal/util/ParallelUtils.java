@@ -0,0 +1,101 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Utility class for running independent tasks concurrently.
+ */
+public class ParallelUtils {
+    /**
+     * Prevents instantiation.
+     */
+    private ParallelUtils() {
+        //Do nothing
+    }
+
+    /**
+     * Runs these tasks on a pool of daemon threads. The tasks are waited for in the order in which they complete, so
+     * the first failure is rethrown as soon as it occurs and the tasks that are still queued or running are cancelled.
+     *
+     * @param name      The name of the threads.
+     * @param threads   The maximum number of tasks to run concurrently.
+     * @param tasks     The tasks to run.
+     * @param operation What the tasks do, for the error messages (ex.: "validating").
+     * @return The results of the tasks, in the order of the tasks, regardless of the order in which they completed.
+     * @throws FlywayException when a task failed or the current thread was interrupted.
+     */
+    public static <T> List<T> invokeAll(String name, int threads, List<? extends Callable<T>> tasks, String operation) {
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(threads, tasks.size()), daemonThreads(name));
+        try {
+            CompletionService<T> completionService = new ExecutorCompletionService<T>(executorService);
+            Map<Future<T>, Integer> indexes = new HashMap<Future<T>, Integer>();
+            for (int i = 0; i < tasks.size(); i++) {
+                indexes.put(completionService.submit(tasks.get(i)), i);
+            }
+
+            List<T> results = new ArrayList<T>(Collections.<T>nCopies(tasks.size(), null));
+            for (int i = 0; i < tasks.size(); i++) {
+                Future<T> future = completionService.take();
+                results.set(indexes.get(future), future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while " + operation, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlywayException("Error while " + operation, e.getCause());
+        } finally {
+            // Cancels whatever is still queued or running after a failure
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a thread factory for daemon threads, so a hanging task can never keep the JVM alive.
+     *
+     * @param name The name of the threads.
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemonThreads(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
@@ -78,7 +78,9 @@ public class TransactionTemplate {
 //            connection.setTransactionIsolation(0);
             LOG.debug("Autocommit was " + oldAutocommit);
             connection.setAutoCommit(false);
-            LOG.debug("Autocommit was temporarily set to " + connection.getAutoCommit());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Autocommit was temporarily set to " + connection.getAutoCommit());
+            }
             LOG.debug("Beginning transaction..."+ transactionCallback.hashCode());
 //            connection.createStatement().execute("set transaction isolation level no COMMIT");
             T result = transactionCallback.doInTransaction();
@@ -19,6 +19,13 @@ package org.flywaydb.core.internal.util.logging;
  * A logger.
  */
 public interface Log {
+    /**
+     * Checks whether debug messages are logged. Lets callers skip building expensive debug messages.
+     *
+     * @return {@code true} if they are, {@code false} if they are discarded.
+     */
+    boolean isDebugEnabled();
+
     /**
      * Logs a debug message.
      *
@@ -26,6 +33,16 @@ public interface Log {
      */
     void debug(String message);
 
+    /**
+     * Logs a debug message built from this pattern, with each {@code {}} replaced by the next argument. The message is
+     * only built if debug messages are logged, so arguments that are expensive to turn into strings cost nothing
+     * otherwise.
+     *
+     * @param pattern The message pattern. Ex.: Executing SQL: {}
+     * @param args    The arguments for the placeholders.
+     */
+    void debug(String pattern, Object... args);
+
     /**
      * Logs an info message.
      *
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.logging;
+
+/**
+ * Builds log messages from patterns with {@code {}} placeholders.
+ */
+public class MessageFormatter {
+    /**
+     * Prevents instantiation.
+     */
+    private MessageFormatter() {
+        // Do nothing
+    }
+
+    /**
+     * Builds the message for this pattern, with each {@code {}} replaced by the next argument. Placeholders without a
+     * matching argument are left as is, and surplus arguments are ignored.
+     *
+     * @param pattern The message pattern. Ex.: Executing SQL: {}
+     * @param args    The arguments for the placeholders.
+     * @return The message.
+     */
+    public static String format(String pattern, Object... args) {
+        if ((args == null) || (args.length == 0)) {
+            return pattern;
+        }
+
+        StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            message.append(pattern, start, placeholder).append(arg);
+            start = placeholder + 2;
+        }
+        message.append(pattern, start, pattern.length());
+        return message.toString();
+    }
+}
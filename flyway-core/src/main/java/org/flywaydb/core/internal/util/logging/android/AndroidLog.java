@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.util.logging.android;
 
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.MessageFormatter;
 
 /**
  * Wrapper for an Android logger.
@@ -26,11 +27,22 @@ public class AndroidLog implements Log {
      */
     private static final String TAG = "Flyway";
 
+    @Override
+    public boolean isDebugEnabled() {
+        // Debug messages have always been sent to logcat, regardless of the tag's level
+        return true;
+    }
+
     @Override
     public void debug(String message) {
         android.util.Log.d(TAG, message);
     }
 
+    @Override
+    public void debug(String pattern, Object... args) {
+        android.util.Log.d(TAG, MessageFormatter.format(pattern, args));
+    }
+
     @Override
     public void info(String message) {
         android.util.Log.i(TAG, message);
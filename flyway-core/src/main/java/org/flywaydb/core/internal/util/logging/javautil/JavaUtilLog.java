@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.util.logging.javautil;
 
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.MessageFormatter;
 
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -39,10 +40,20 @@ public class JavaUtilLog implements Log {
         this.logger = logger;
     }
 
+    public boolean isDebugEnabled() {
+        return logger.isLoggable(Level.FINE);
+    }
+
     public void debug(String message) {
         log(Level.FINE, message, null);
     }
 
+    public void debug(String pattern, Object... args) {
+        if (logger.isLoggable(Level.FINE)) {
+            log(Level.FINE, MessageFormatter.format(pattern, args), null);
+        }
+    }
+
     public void info(String message) {
         log(Level.INFO, message, null);
     }
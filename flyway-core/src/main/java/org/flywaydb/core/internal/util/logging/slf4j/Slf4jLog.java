@@ -36,10 +36,19 @@ public class Slf4jLog implements Log {
         this.logger = logger;
     }
 
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
     public void debug(String message) {
         logger.debug(message);
     }
 
+    public void debug(String pattern, Object... args) {
+        // Slf4j uses the same {} placeholders and only formats enabled messages
+        logger.debug(pattern, args);
+    }
+
     public void info(String message) {
         logger.info(message);
     }
@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.internal.util.scanner;
 
+import java.io.InputStream;
+
 /**
  * A loadable resource.
  */
@@ -46,6 +48,13 @@ public interface Resource {
      */
     byte[] loadAsBytes();
 
+    /**
+     * Opens this resource for reading its contents as a stream of bytes. The caller is responsible for closing it.
+     *
+     * @return The stream.
+     */
+    InputStream openStream();
+
     /**
      * @return The filename of this resource, without the path.
      */
@@ -22,6 +22,10 @@ import org.flywaydb.core.internal.util.scanner.android.AndroidScanner;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
 import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemScanner;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Scanner for Resources and Classes.
  */
@@ -58,20 +62,25 @@ public class Scanner {
 
 
     /**
-     * Scans the classpath for concrete classes under the specified package implementing this interface.
+     * Scans the classpath for concrete classes under the specified package implementing any of these interfaces.
      * Non-instantiable abstract classes are filtered out.
      *
-     * @param location             The location (package) in the classpath to start scanning.
-     *                             Subpackages are also scanned.
-     * @param implementedInterface The interface the matching classes should implement.
+     * @param location              The location (package) in the classpath to start scanning.
+     *                              Subpackages are also scanned.
+     * @param implementedInterfaces The interfaces the matching classes should implement (at least one of them).
      * @return The non-abstract classes that were found.
      * @throws Exception when the location could not be scanned.
      */
-    public Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception {
+    public Class<?>[] scanForClasses(Location location, Class<?>... implementedInterfaces) throws Exception {
         if (new FeatureDetector(classLoader).isAndroidAvailable()) {
-            return new AndroidScanner(classLoader).scanForClasses(location.getPath(), implementedInterface);
+            AndroidScanner androidScanner = new AndroidScanner(classLoader);
+            Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+            for (Class<?> implementedInterface : implementedInterfaces) {
+                classes.addAll(Arrays.asList(androidScanner.scanForClasses(location.getPath(), implementedInterface)));
+            }
+            return classes.toArray(new Class<?>[classes.size()]);
         }
 
-        return new ClassPathScanner(classLoader).scanForClasses(location.getPath(), implementedInterface);
+        return new ClassPathScanner(classLoader).scanForClasses(location.getPath(), implementedInterfaces);
     }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.scanner.Resource;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 
 /**
@@ -59,7 +60,16 @@ public class AndroidResource implements Resource {
     @Override
     public byte[] loadAsBytes() {
         try {
-            return FileCopyUtils.copyToByteArray(assetManager.open(getLocation()));
+            return FileCopyUtils.copyToByteArray(openStream());
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load asset: " + getLocation(), e);
+        }
+    }
+
+    @Override
+    public InputStream openStream() {
+        try {
+            return assetManager.open(getLocation());
         } catch (IOException e) {
             throw new FlywayException("Unable to load asset: " + getLocation(), e);
         }
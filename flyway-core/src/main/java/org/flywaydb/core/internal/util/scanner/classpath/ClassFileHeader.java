@@ -0,0 +1,210 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The header of a class file: its access flags, its name, the name of its superclass and the names of the interfaces
+ * it directly implements. This is read straight from the bytecode, without loading the class, so static
+ * initializers are never run for classes that turn out not to be of interest.
+ */
+public class ClassFileHeader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int accessFlags;
+
+    /**
+     * The fully qualified name of the class.
+     */
+    private final String className;
+
+    /**
+     * The fully qualified name of the superclass. {@code null} for java.lang.Object.
+     */
+    private final String superClassName;
+
+    /**
+     * The fully qualified names of the interfaces directly implemented by the class.
+     */
+    private final String[] interfaceNames;
+
+    /**
+     * Creates a new class file header.
+     *
+     * @param accessFlags    The access flags of the class.
+     * @param className      The fully qualified name of the class.
+     * @param superClassName The fully qualified name of the superclass. {@code null} for java.lang.Object.
+     * @param interfaceNames The fully qualified names of the interfaces directly implemented by the class.
+     */
+    private ClassFileHeader(int accessFlags, String className, String superClassName, String[] interfaceNames) {
+        this.accessFlags = accessFlags;
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+    }
+
+    /**
+     * Reads the header of this class file. Only the constant pool and the fields directly following it are read.
+     *
+     * @param inputStream The stream positioned at the start of the class file. It is not closed.
+     * @return The header.
+     * @throws IOException when the class file could not be read or is invalid.
+     */
+    public static ClassFileHeader read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid class file: bad magic number");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skip(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skip(in, 8);
+                    // These take up two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Invalid class file: unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = className(utf8, classNameIndexes, in.readUnsignedShort());
+        String superClassName = className(utf8, classNameIndexes, in.readUnsignedShort());
+        int interfacesCount = in.readUnsignedShort();
+        String[] interfaceNames = new String[interfacesCount];
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames[i] = className(utf8, classNameIndexes, in.readUnsignedShort());
+        }
+
+        return new ClassFileHeader(accessFlags, className, superClassName, interfaceNames);
+    }
+
+    /**
+     * Resolves the class name referenced by this constant pool entry.
+     *
+     * @param utf8             The Utf8 entries of the constant pool.
+     * @param classNameIndexes The name indexes of the Class entries of the constant pool.
+     * @param index            The index of the Class entry. 0 for none.
+     * @return The fully qualified class name, or {@code null} for index 0.
+     * @throws IOException when the index doesn't point to a valid Class entry.
+     */
+    private static String className(String[] utf8, int[] classNameIndexes, int index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index >= classNameIndexes.length || classNameIndexes[index] == 0
+                || classNameIndexes[index] >= utf8.length || utf8[classNameIndexes[index]] == null) {
+            throw new IOException("Invalid class file: bad class reference " + index);
+        }
+        return utf8[classNameIndexes[index]].replace('/', '.');
+    }
+
+    private static void skip(DataInputStream in, int bytes) throws IOException {
+        in.readFully(new byte[bytes]);
+    }
+
+    /**
+     * @return The fully qualified name of the class.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return The fully qualified name of the superclass. {@code null} for java.lang.Object.
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return The fully qualified names of the interfaces directly implemented by the class.
+     */
+    public String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return Whether the class can be instantiated, i.e. it is neither an interface, an annotation, an abstract class,
+     * an enum nor an anonymous class.
+     */
+    public boolean isInstantiable() {
+        if ((accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION | ACC_ENUM)) != 0) {
+            return false;
+        }
+        return !isAnonymous();
+    }
+
+    /**
+     * @return Whether this is an anonymous class, based on the compiler's naming convention (Outer$1).
+     */
+    private boolean isAnonymous() {
+        int dollar = className.lastIndexOf('$');
+        if (dollar < 0 || dollar == className.length() - 1) {
+            return false;
+        }
+        for (int i = dollar + 1; i < className.length(); i++) {
+            if (!Character.isDigit(className.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -93,16 +93,20 @@ public class ClassPathResource implements Comparable<ClassPathResource>, Resourc
 
     public byte[] loadAsBytes() {
         try {
-            InputStream inputStream = classLoader.getResourceAsStream(location);
-            if (inputStream == null) {
-                throw new FlywayException("Unable to obtain inputstream for resource: " + location);
-            }
-            return FileCopyUtils.copyToByteArray(inputStream);
+            return FileCopyUtils.copyToByteArray(openStream());
         } catch (IOException e) {
             throw new FlywayException("Unable to load resource: " + location, e);
         }
     }
 
+    public InputStream openStream() {
+        InputStream inputStream = classLoader.getResourceAsStream(location);
+        if (inputStream == null) {
+            throw new FlywayException("Unable to obtain inputstream for resource: " + location);
+        }
+        return inputStream;
+    }
+
     public String getFilename() {
         return location.substring(location.lastIndexOf("/") + 1);
     }
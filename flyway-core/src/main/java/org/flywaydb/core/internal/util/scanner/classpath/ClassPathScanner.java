@@ -16,8 +16,8 @@
 package org.flywaydb.core.internal.util.scanner.classpath;
 
 import org.flywaydb.core.api.FlywayException;
-import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.FeatureDetector;
+import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.UrlUtils;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -25,13 +25,18 @@ import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv2UrlResolver;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv3ClassPathLocationScanner;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -73,54 +78,156 @@ public class ClassPathScanner {
         Set<String> resourceNames = findResourceNames(path, prefix, suffix);
         for (String resourceName : resourceNames) {
             resources.add(new ClassPathResource(resourceName, classLoader));
-            LOG.debug("Found resource: " + resourceName);
+            LOG.debug("Found resource: {}", resourceName);
         }
 
         return resources.toArray(new Resource[resources.size()]);
     }
 
     /**
-     * Scans the classpath for concrete classes under the specified package implementing this interface.
+     * Scans the classpath for concrete classes under the specified package implementing any of these interfaces.
      * Non-instantiable abstract classes are filtered out.
      *
-     * @param location             The location (package) in the classpath to start scanning.
-     *                             Subpackages are also scanned.
-     * @param implementedInterface The interface the matching classes should implement.
+     * <p>Candidates are checked by reading their class file header and the headers of their supertypes, so only the
+     * matching classes are loaded. None of them are initialized or instantiated.</p>
+     *
+     * @param location              The location (package) in the classpath to start scanning.
+     *                              Subpackages are also scanned.
+     * @param implementedInterfaces The interfaces the matching classes should implement (at least one of them).
      * @return The non-abstract classes that were found.
      * @throws Exception when the location could not be scanned.
      */
-    public Class<?>[] scanForClasses(String location, Class<?> implementedInterface) throws Exception {
-        LOG.debug("Scanning for classes at '" + location + "' (Implementing: '" + implementedInterface.getName() + "')");
+    public Class<?>[] scanForClasses(String location, Class<?>... implementedInterfaces) throws Exception {
+        Set<String> interfaceNames = new HashSet<String>();
+        for (Class<?> implementedInterface : implementedInterfaces) {
+            interfaceNames.add(implementedInterface.getName());
+        }
+
+        LOG.debug("Scanning for classes at '" + location + "' (Implementing: '"
+                + StringUtils.collectionToCommaDelimitedString(interfaceNames) + "')");
 
+        Map<String, ClassFileHeader> headers = new HashMap<String, ClassFileHeader>();
         List<Class<?>> classes = new ArrayList<Class<?>>();
 
         Set<String> resourceNames = findResourceNames(location, "", ".class");
         for (String resourceName : resourceNames) {
             String className = toClassName(resourceName);
+
+            ClassFileHeader header = readHeader(className, headers);
+            if (header != null) {
+                if (!header.isInstantiable()) {
+                    LOG.debug("Skipping non-instantiable class: {}", className);
+                    continue;
+                }
+                if (!isSubtypeOf(className, interfaceNames, implementedInterfaces, headers)) {
+                    continue;
+                }
+            }
+
             Class<?> clazz = classLoader.loadClass(className);
 
             if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isEnum() || clazz.isAnonymousClass()) {
-                LOG.debug("Skipping non-instantiable class: " + className);
+                LOG.debug("Skipping non-instantiable class: {}", className);
                 continue;
             }
 
-            if (!implementedInterface.isAssignableFrom(clazz)) {
+            if (!isAssignableToAny(clazz, implementedInterfaces)) {
                 continue;
             }
 
-            try {
-                ClassUtils.instantiate(className, classLoader);
-            } catch (Exception e) {
-                throw new FlywayException("Unable to instantiate class: " + className, e);
-            }
-
             classes.add(clazz);
-            LOG.debug("Found class: " + className);
+            LOG.debug("Found class: {}", className);
         }
 
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
+    /**
+     * Checks whether this type is or extends/implements any of these interfaces, walking up the type hierarchy using
+     * class file headers. Types whose class file can't be read are loaded (but not initialized) instead.
+     *
+     * @param typeName              The fully qualified name of the type to check.
+     * @param interfaceNames        The names of the interfaces.
+     * @param implementedInterfaces The interfaces.
+     * @param headers               The headers read so far, by class name.
+     * @return {@code true} if it does, {@code false} if not.
+     * @throws ClassNotFoundException when a type whose class file couldn't be read also couldn't be loaded.
+     */
+    private boolean isSubtypeOf(String typeName, Set<String> interfaceNames, Class<?>[] implementedInterfaces,
+                                Map<String, ClassFileHeader> headers) throws ClassNotFoundException {
+        if (interfaceNames.contains(typeName)) {
+            return true;
+        }
+        if (typeName.startsWith("java.")) {
+            // JDK types never implement Flyway interfaces
+            return false;
+        }
+
+        ClassFileHeader header = readHeader(typeName, headers);
+        if (header == null) {
+            return isAssignableToAny(classLoader.loadClass(typeName), implementedInterfaces);
+        }
+
+        if ((header.getSuperClassName() != null)
+                && isSubtypeOf(header.getSuperClassName(), interfaceNames, implementedInterfaces, headers)) {
+            return true;
+        }
+        for (String interfaceName : header.getInterfaceNames()) {
+            if (isSubtypeOf(interfaceName, interfaceNames, implementedInterfaces, headers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the header of the class file of this class.
+     *
+     * @param className The fully qualified name of the class.
+     * @param headers   The headers read so far, by class name. Used as a cache.
+     * @return The header or {@code null} if the class file could not be read.
+     */
+    private ClassFileHeader readHeader(String className, Map<String, ClassFileHeader> headers) {
+        if (headers.containsKey(className)) {
+            return headers.get(className);
+        }
+
+        ClassFileHeader header = null;
+        InputStream inputStream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class");
+        if (inputStream != null) {
+            try {
+                header = ClassFileHeader.read(new BufferedInputStream(inputStream));
+            } catch (IOException e) {
+                LOG.debug("Unable to read class file header of " + className + ": " + e.getMessage());
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+
+        headers.put(className, header);
+        return header;
+    }
+
+    /**
+     * Checks whether this class implements any of these interfaces.
+     *
+     * @param clazz                 The class to check.
+     * @param implementedInterfaces The interfaces.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private boolean isAssignableToAny(Class<?> clazz, Class<?>[] implementedInterfaces) {
+        for (Class<?> implementedInterface : implementedInterfaces) {
+            if (implementedInterface.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Converts this resource name to a fully qualified class name.
      *
@@ -262,7 +369,7 @@ public class ClassPathScanner {
                     && (fileName.length() > (prefix + suffix).length())) {
                 filteredResourceNames.add(resourceName);
             } else {
-                LOG.debug("Filtering out resource: " + resourceName + " (filename: " + fileName + ")");
+                LOG.debug("Filtering out resource: {} (filename: {})", resourceName, fileName);
             }
         }
         return filteredResourceNames;
@@ -26,12 +26,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
 
 /**
  * A resource on the filesystem.
  */
 public class FileSystemResource implements Resource, Comparable<FileSystemResource> {
+    /**
+     * The size in bytes from which resources are read through a file channel into buffers sized from the file length,
+     * instead of buffers growing as the stream is read, to avoid repeatedly copying their contents on the heap.
+     */
+    /* private -> for testing */ static final long LARGE_READ_THRESHOLD = 8 * 1024 * 1024;
+
     /**
      * The location of the resource on the filesystem.
      */
@@ -70,6 +81,15 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
      */
     public String loadAsString(String encoding) {
         try {
+            if (isLarge()) {
+                FileInputStream inputStream = new FileInputStream(location);
+                try {
+                    return decode(inputStream.getChannel(), Charset.forName(encoding), (int) location.length());
+                } finally {
+                    inputStream.close();
+                }
+            }
+
             InputStream inputStream = new FileInputStream(location);
             Reader reader = new InputStreamReader(inputStream, Charset.forName(encoding));
 
@@ -86,13 +106,89 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
      */
     public byte[] loadAsBytes() {
         try {
-            InputStream inputStream = new FileInputStream(location);
-            return FileCopyUtils.copyToByteArray(inputStream);
+            if (isLarge()) {
+                FileInputStream inputStream = new FileInputStream(location);
+                try {
+                    return read(inputStream.getChannel(), (int) location.length());
+                } finally {
+                    inputStream.close();
+                }
+            }
+
+            return FileCopyUtils.copyToByteArray(openStream());
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load filesystem resource: " + location.getPath(), e);
+        }
+    }
+
+    /**
+     * Opens this resource for reading its contents as a stream of bytes.
+     *
+     * @return The stream.
+     */
+    public InputStream openStream() {
+        try {
+            return new FileInputStream(location);
         } catch (IOException e) {
             throw new FlywayException("Unable to load filesystem resource: " + location.getPath(), e);
         }
     }
 
+    /**
+     * @return Whether this resource is large enough to be read into buffers sized from its length, yet small enough to
+     * fit in a single array.
+     */
+    private boolean isLarge() {
+        long length = location.length();
+        return (length >= LARGE_READ_THRESHOLD) && (length <= Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the contents of this channel into an array of the expected size.
+     *
+     * @param channel The channel to read.
+     * @param length  The expected number of bytes.
+     * @return The bytes read. Shorter than expected if the channel ended early.
+     * @throws IOException when the channel could not be read.
+     */
+    private static byte[] read(ReadableByteChannel channel, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+            // Keep reading
+        }
+        if (buffer.hasRemaining()) {
+            return Arrays.copyOf(bytes, buffer.position());
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the contents of this channel into a string, streaming the bytes through the decoder into a buffer sized
+     * for the expected number of characters. Malformed input is replaced, as by the InputStreamReader used for smaller
+     * resources, and a leading BOM is stripped.
+     *
+     * @param channel The channel to read.
+     * @param charset The charset of the bytes.
+     * @param length  The number of bytes, used as estimate for the number of characters.
+     * @return The decoded string.
+     * @throws IOException when the channel could not be read.
+     */
+    /* private -> for testing */ static String decode(ReadableByteChannel channel, Charset charset, int length)
+            throws IOException {
+        Reader reader = Channels.newReader(channel, charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1);
+        StringBuilder result = new StringBuilder(length);
+        char[] chars = new char[8192];
+        int read;
+        while ((read = reader.read(chars)) >= 0) {
+            result.append(chars, 0, read);
+        }
+        boolean bom = (result.length() > 0) && (result.charAt(0) == '\ufeff');
+        return result.substring(bom ? 1 : 0);
+    }
+
     /**
      * @return The filename of this resource, without the path.
      */
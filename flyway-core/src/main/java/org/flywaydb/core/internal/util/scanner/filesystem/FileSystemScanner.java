@@ -53,7 +53,7 @@ public class FileSystemScanner {
         Set<String> resourceNames = findResourceNames(path, prefix, suffix);
         for (String resourceName : resourceNames) {
             resources.add(new FileSystemResource(resourceName));
-            LOG.debug("Found filesystem resource: " + resourceName);
+            LOG.debug("Found filesystem resource: {}", resourceName);
         }
 
         return resources.toArray(new Resource[resources.size()]);
@@ -118,7 +118,7 @@ public class FileSystemScanner {
                     && (fileName.length() > (prefix + suffix).length())) {
                 filteredResourceNames.add(resourceName);
             } else {
-                LOG.debug("Filtering out resource: " + resourceName + " (filename: " + fileName + ")");
+                LOG.debug("Filtering out resource: {} (filename: {})", resourceName, fileName);
             }
         }
         return filteredResourceNames;
@@ -20,6 +20,7 @@ import org.flywaydb.core.api.MigrationInfo;
 import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.metrics.InMemoryMetricsListener;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
@@ -33,6 +34,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -112,6 +114,68 @@ public class FlywayMediumTest {
         assertEquals(0, flyway.info().pending().length);
     }
 
+    @Test
+    public void metricsListener() throws Exception {
+        DriverDataSource dataSource =
+                new DriverDataSource(Thread.currentThread().getContextClassLoader(), null, "jdbc:h2:mem:flyway_db_metrics;DB_CLOSE_DELAY=-1", "sa", "",
+                        false);
+
+        InMemoryMetricsListener metricsListener = new InMemoryMetricsListener();
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations("migration/sql");
+        flyway.setMetricsListener(metricsListener);
+        flyway.migrate();
+
+        assertEquals(4, metricsListener.getMigrationsSucceeded());
+        assertEquals(0, metricsListener.getMigrationsFailed());
+        assertTrue(metricsListener.getStatementCount() > 4);
+        assertTrue(metricsListener.getRowsAffected() > 0);
+        assertTrue(metricsListener.getLockWaits().getCount() > 0);
+        assertTrue(metricsListener.getMetaDataTableRoundTrips() > 0);
+        assertNotNull(metricsListener.getSlowestStatement());
+    }
+
+    @Test
+    public void metricsListenerFailedStatement() throws Exception {
+        DriverDataSource dataSource =
+                new DriverDataSource(Thread.currentThread().getContextClassLoader(), null, "jdbc:h2:mem:flyway_db_metrics_failed;DB_CLOSE_DELAY=-1", "sa", "",
+                        false);
+
+        InMemoryMetricsListener metricsListener = new InMemoryMetricsListener();
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations("migration/failed");
+        flyway.setPlaceholders(Collections.singletonMap("tableName", "test_failed"));
+        flyway.setMetricsListener(metricsListener);
+        try {
+            flyway.migrate();
+            fail();
+        } catch (FlywayException e) {
+            //Expected
+        }
+
+        assertEquals(1, metricsListener.getMigrationsFailed());
+        assertEquals(1, metricsListener.getStatementsFailed());
+    }
+
+    @Test
+    public void parseAhead() throws Exception {
+        DriverDataSource dataSource =
+                new DriverDataSource(Thread.currentThread().getContextClassLoader(), null, "jdbc:h2:mem:flyway_db_parse_ahead;DB_CLOSE_DELAY=-1", "sa", "",
+                        false);
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations("migration/sql");
+        flyway.setParseAheadDepth(2);
+        assertEquals(4, flyway.migrate());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
     @Test
     public void callback() throws Exception {
         DriverDataSource dataSource =
@@ -195,4 +195,18 @@ public class FlywaySmallTest {
             //expected
         }
     }
+
+    @Test
+    public void computeMigrationsChecksum() {
+        Flyway flyway = new Flyway();
+        flyway.setLocations("migration/validate");
+        long checksum = flyway.computeMigrationsChecksum();
+        assertEquals(checksum, flyway.computeMigrationsChecksum());
+
+        flyway.setLocations("migration/failed");
+        assertNotEquals(checksum, flyway.computeMigrationsChecksum());
+
+        flyway.setLocations("migration/empty");
+        assertEquals(0, flyway.computeMigrationsChecksum());
+    }
 }
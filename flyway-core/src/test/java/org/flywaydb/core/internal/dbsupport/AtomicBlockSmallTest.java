@@ -0,0 +1,114 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for AtomicBlock.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AtomicBlockSmallTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicBlock atomicBlock = new AtomicBlock();
+
+    @Test
+    public void toBlock() {
+        assertEquals("BEGIN ATOMIC\n" +
+                        "  EXECUTE IMMEDIATE 'DROP VIEW \"S\".\"V\"';\n" +
+                        "  EXECUTE IMMEDIATE 'DROP TABLE \"S\".\"IT''S\"';\n" +
+                        "END",
+                AtomicBlock.toBlock(Arrays.asList("DROP VIEW \"S\".\"V\"", "DROP TABLE \"S\".\"IT'S\"")));
+    }
+
+    @Test
+    public void execute() throws SQLException {
+        List<String> statements = new ArrayList<String>();
+        for (int i = 1; i <= AtomicBlock.MAX_STATEMENTS + 1; i++) {
+            statements.add("DROP TABLE T" + i);
+        }
+
+        atomicBlock.execute(jdbcTemplate, statements);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(AtomicBlock.toBlock(statements.subList(0, AtomicBlock.MAX_STATEMENTS)));
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE T51");
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    public void executeOneByOneAfterFailedBlock() throws SQLException {
+        List<String> statements = Arrays.asList("DROP VIEW V", "DROP TABLE T");
+        doThrow(new SQLException("Unsupported")).when(jdbcTemplate).execute(startsWith("BEGIN ATOMIC"));
+
+        atomicBlock.execute(jdbcTemplate, statements);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(AtomicBlock.toBlock(statements));
+        inOrder.verify(jdbcTemplate).execute("DROP VIEW V");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE T");
+    }
+
+    @Test
+    public void noMoreBlocksAfterFailedBlock() throws SQLException {
+        doThrow(new SQLException("Unsupported")).when(jdbcTemplate).execute(startsWith("BEGIN ATOMIC"));
+
+        atomicBlock.execute(jdbcTemplate, Arrays.asList("DROP VIEW V1", "DROP TABLE T1"));
+        atomicBlock.execute(jdbcTemplate, Arrays.asList("DROP VIEW V2", "DROP TABLE T2"));
+
+        verify(jdbcTemplate, times(1)).execute(startsWith("BEGIN ATOMIC"));
+        verify(jdbcTemplate).execute("DROP VIEW V2");
+        verify(jdbcTemplate).execute("DROP TABLE T2");
+    }
+
+    @Test
+    public void blocksKeptAfterFailedStatement() throws SQLException {
+        SQLException failure = new SQLException("Dependent objects");
+        doThrow(new SQLException("Rolled back")).when(jdbcTemplate).execute(startsWith("BEGIN ATOMIC"));
+        doThrow(failure).when(jdbcTemplate).execute("DROP TABLE T1");
+
+        try {
+            atomicBlock.execute(jdbcTemplate, Arrays.asList("DROP VIEW V1", "DROP TABLE T1"));
+            fail();
+        } catch (SQLException e) {
+            assertEquals(failure, e);
+        }
+
+        atomicBlock.execute(jdbcTemplate, Arrays.asList("DROP VIEW V2", "DROP TABLE T2"));
+
+        verify(jdbcTemplate).execute(AtomicBlock.toBlock(Arrays.asList("DROP VIEW V2", "DROP TABLE T2")));
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for JdbcTemplate.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JdbcTemplateSmallTest {
+    @Mock
+    private Connection connection;
+
+    /**
+     * The statements prepared on the connection.
+     */
+    private final List<String> statements = new ArrayList<String>();
+
+    /**
+     * The number of executions in each batch sent to the database.
+     */
+    private final List<Integer> batches = new ArrayList<Integer>();
+
+    /**
+     * The number of statements closed so far.
+     */
+    private int closedStatements;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenAnswer(new Answer<PreparedStatement>() {
+            public PreparedStatement answer(InvocationOnMock invocation) throws SQLException {
+                statements.add((String) invocation.getArguments()[0]);
+                return createStatement();
+            }
+        });
+    }
+
+    @Test
+    public void batchUpdate() throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, Types.VARCHAR);
+
+        List<Object[]> paramsList = new ArrayList<Object[]>();
+        for (int i = 0; i < 5; i++) {
+            paramsList.add(new Object[]{i, "1." + i});
+        }
+
+        int[] rowsAffected = jdbcTemplate.batchUpdate("UPDATE t SET checksum=? WHERE version=?", paramsList, 2);
+
+        assertEquals(Arrays.asList("UPDATE t SET checksum=? WHERE version=?"), statements);
+        assertEquals(Arrays.asList(2, 2, 1), batches);
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1}, rowsAffected);
+        assertEquals(3, jdbcTemplate.getRoundTrips());
+    }
+
+    @Test
+    public void batchUpdateNothing() throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, Types.VARCHAR);
+
+        assertEquals(0, jdbcTemplate.batchUpdate("UPDATE t SET checksum=?", new ArrayList<Object[]>(), 2).length);
+        assertEquals(0, statements.size());
+    }
+
+    @Test
+    public void statementCache() throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, Types.VARCHAR);
+        jdbcTemplate.setStatementCacheSize(2);
+
+        jdbcTemplate.update("UPDATE t SET a=?", 1);
+        jdbcTemplate.queryForStringList("SELECT a FROM t");
+        jdbcTemplate.update("UPDATE t SET a=?", 2);
+        jdbcTemplate.queryForStringList("SELECT a FROM t");
+        assertEquals(2, statements.size());
+        assertEquals(0, closedStatements);
+
+        // Evicts the least recently used statement
+        jdbcTemplate.queryForStringList("SELECT b FROM t");
+        jdbcTemplate.queryForStringList("SELECT a FROM t");
+        assertEquals(3, statements.size());
+        assertEquals(1, closedStatements);
+
+        jdbcTemplate.closeStatements();
+        assertEquals(3, closedStatements);
+
+        jdbcTemplate.queryForStringList("SELECT a FROM t");
+        assertEquals(4, statements.size());
+    }
+
+    @Test
+    public void statementCacheDisabled() throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, Types.VARCHAR);
+
+        jdbcTemplate.update("UPDATE t SET a=?", 1);
+        jdbcTemplate.update("UPDATE t SET a=?", 2);
+        assertEquals(2, statements.size());
+        assertEquals(2, closedStatements);
+    }
+
+    /**
+     * Creates a statement that records the size of each batch and whether it is closed, and reports one updated row
+     * per execution.
+     */
+    private PreparedStatement createStatement() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        final int[] batched = new int[1];
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                batched[0]++;
+                return null;
+            }
+        }).when(statement).addBatch();
+        when(statement.executeBatch()).thenAnswer(new Answer<int[]>() {
+            public int[] answer(InvocationOnMock invocation) {
+                batches.add(batched[0]);
+                int[] counts = new int[batched[0]];
+                Arrays.fill(counts, 1);
+                batched[0] = 0;
+                return counts;
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                closedStatements++;
+                return null;
+            }
+        }).when(statement).close();
+        when(statement.executeUpdate()).thenReturn(1);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        return statement;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.flywaydb.core.internal.dbsupport.SqlStatements.statements;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test for MultiRowInsert.
+ */
+public class MultiRowInsertSmallTest {
+    @Test
+    public void merge() {
+        List<SqlStatement> merged = MultiRowInsert.merge(statements(
+                "CREATE TABLE t (a INT, b VARCHAR(10))",
+                "INSERT INTO t (a, b) VALUES (1, 'x')",
+                "INSERT INTO t (a, b) VALUES (2, 'y;)')",
+                "INSERT INTO t (a, b) VALUES (3, 'it''s')",
+                "UPDATE t SET b = 'z'",
+                "INSERT INTO t (a, b) VALUES (4, 'w')"), 100);
+
+        assertEquals(4, merged.size());
+        assertEquals("CREATE TABLE t (a INT, b VARCHAR(10))", merged.get(0).getSql());
+        assertEquals("INSERT INTO t (a, b) VALUES (1, 'x'),\n(2, 'y;)'),\n(3, 'it''s')", merged.get(1).getSql());
+        assertEquals(2, merged.get(1).getLineNumber());
+        assertEquals("UPDATE t SET b = 'z'", merged.get(2).getSql());
+        assertEquals("INSERT INTO t (a, b) VALUES (4, 'w')", merged.get(3).getSql());
+    }
+
+    @Test
+    public void mergeMaxRows() {
+        List<SqlStatement> merged = MultiRowInsert.merge(statements(
+                "INSERT INTO t VALUES (1)",
+                "INSERT INTO t VALUES (2)",
+                "INSERT INTO t VALUES (3)",
+                "INSERT INTO t VALUES (4)",
+                "INSERT INTO t VALUES (5)"), 2);
+
+        assertEquals(3, merged.size());
+        assertEquals("INSERT INTO t VALUES (1),\n(2)", merged.get(0).getSql());
+        assertEquals("INSERT INTO t VALUES (3),\n(4)", merged.get(1).getSql());
+        assertEquals("INSERT INTO t VALUES (5)", merged.get(2).getSql());
+    }
+
+    @Test
+    public void mergeDifferentTargets() {
+        List<SqlStatement> merged = MultiRowInsert.merge(statements(
+                "INSERT INTO t (a) VALUES (1)",
+                "INSERT INTO t (b) VALUES (2)",
+                "INSERT INTO u (b) VALUES (3)"), 100);
+
+        assertEquals(3, merged.size());
+    }
+
+    @Test
+    public void splitInsert() {
+        assertArrayEquals(new String[]{"insert into t (a) values", "(f(1, 2))"},
+                MultiRowInsert.splitInsert("insert into t (a) values (f(1, 2));"));
+        assertArrayEquals(new String[]{"INSERT INTO s.t VALUES", "('a\"b', \"c\")"},
+                MultiRowInsert.splitInsert("INSERT INTO s.t VALUES ('a\"b', \"c\")"));
+    }
+
+    @Test
+    public void splitInsertNotMergeable() {
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t VALUES (1), (2)"));
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t VALUES (1) RETURNING a"));
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t SELECT * FROM u"));
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t VALUES (1) -- comment"));
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t VALUES (E'\\'')"));
+        assertNull(MultiRowInsert.splitInsert("INSERT INTO t VALUES ('unterminated)"));
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.flywaydb.core.internal.dbsupport.SqlStatements.statements;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for MultiStatementRequest.
+ */
+public class MultiStatementRequestSmallTest {
+    @Test
+    public void group() {
+        List<SqlStatement> requests = MultiStatementRequest.group(statements(
+                "CREATE TABLE t (a INT)",
+                "INSERT INTO t VALUES (1)",
+                "INSERT INTO t VALUES (2)",
+                "INSERT INTO t VALUES (3)",
+                "INSERT INTO t VALUES (4)"), 3);
+
+        assertEquals(2, requests.size());
+        assertEquals("CREATE TABLE t (a INT);\nINSERT INTO t VALUES (1);\nINSERT INTO t VALUES (2)", requests.get(0).getSql());
+        assertEquals(1, requests.get(0).getLineNumber());
+        assertEquals("INSERT INTO t VALUES (3);\nINSERT INTO t VALUES (4)", requests.get(1).getSql());
+        assertEquals(4, requests.get(1).getLineNumber());
+    }
+
+    @Test
+    public void groupStopsAtUngroupableStatements() {
+        List<SqlStatement> statements = statements(
+                "INSERT INTO t VALUES (1)",
+                "INSERT INTO t VALUES (2)",
+                "CREATE FUNCTION f(x INT) RETURN INT AS BEGIN RETURN x + 1; END",
+                "INSERT INTO t VALUES (3)");
+        statements.add(new SqlStatement(5, "COPY t FROM STDIN;\n4", true));
+        statements.add(new SqlStatement(6, "INSERT INTO t VALUES (5)", false));
+
+        List<SqlStatement> requests = MultiStatementRequest.group(statements, 100);
+
+        assertEquals(5, requests.size());
+        assertEquals("INSERT INTO t VALUES (1);\nINSERT INTO t VALUES (2)", requests.get(0).getSql());
+        assertEquals(3, requests.get(1).getLineNumber());
+        assertEquals("INSERT INTO t VALUES (3)", requests.get(2).getSql());
+        assertEquals(true, requests.get(3).isPgCopy());
+        assertEquals("INSERT INTO t VALUES (5)", requests.get(4).getSql());
+    }
+}
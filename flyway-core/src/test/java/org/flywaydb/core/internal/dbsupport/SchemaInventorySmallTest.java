@@ -0,0 +1,214 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for SchemaInventory.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SchemaInventorySmallTest {
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    /**
+     * The statements prepared on the connection.
+     */
+    private final List<String> statements = new ArrayList<String>();
+
+    /**
+     * The schema names returned by every query.
+     */
+    private final Set<String> catalog = new HashSet<String>();
+
+    /**
+     * The names of the catalog among the parameters of the current statement.
+     */
+    private final List<String> rows = new ArrayList<String>();
+
+    /**
+     * The current row of the result set.
+     */
+    private int row;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenAnswer(new Answer<PreparedStatement>() {
+            public PreparedStatement answer(InvocationOnMock invocation) {
+                statements.add((String) invocation.getArguments()[0]);
+                rows.clear();
+                return statement;
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                String name = (String) invocation.getArguments()[1];
+                if (catalog.contains(name.toUpperCase()) && !rows.contains(name)) {
+                    rows.add(name);
+                }
+                return null;
+            }
+        }).when(statement).setString(anyInt(), anyString());
+        when(statement.executeQuery()).thenAnswer(new Answer<ResultSet>() {
+            public ResultSet answer(InvocationOnMock invocation) {
+                row = -1;
+                return resultSet;
+            }
+        });
+        when(resultSet.next()).thenAnswer(new Answer<Boolean>() {
+            public Boolean answer(InvocationOnMock invocation) {
+                return ++row < rows.size();
+            }
+        });
+        when(resultSet.getString(1)).thenAnswer(new Answer<String>() {
+            public String answer(InvocationOnMock invocation) {
+                return rows.get(row).toUpperCase();
+            }
+        });
+    }
+
+    @Test
+    public void existsLooksUpAllSchemasInOneQuery() {
+        catalog.addAll(Arrays.asList("A", "C"));
+        DbSupport dbSupport = new H2DbSupport(connection);
+        Schema[] schemas = schemas(dbSupport, "A", "B", "C");
+
+        SchemaInventory schemaInventory = new SchemaInventory(dbSupport, schemas);
+        assertTrue(schemaInventory.exists(schemas[0]));
+        assertFalse(schemaInventory.exists(schemas[1]));
+        assertTrue(schemaInventory.exists(schemas[2]));
+
+        assertEquals(1, statements.size());
+        assertEquals("SELECT schema_name FROM INFORMATION_SCHEMA.schemata WHERE schema_name IN (?,?,?)", statements.get(0));
+    }
+
+    @Test
+    public void emptyChecksOnlyExistingSchemasOnce() {
+        catalog.addAll(Arrays.asList("A", "C"));
+        final List<Schema[]> checked = new ArrayList<Schema[]>();
+        DbSupport dbSupport = new H2DbSupport(connection) {
+            @Override
+            public Set<String> findNonEmptySchemas(Schema[] schemas) throws SQLException {
+                checked.add(schemas);
+                return new HashSet<String>(Arrays.asList("C"));
+            }
+        };
+        Schema[] schemas = schemas(dbSupport, "A", "B", "C");
+
+        SchemaInventory schemaInventory = new SchemaInventory(dbSupport, schemas);
+        assertTrue(schemaInventory.empty(schemas[0]));
+        assertTrue(schemaInventory.empty(schemas[1]));
+        assertFalse(schemaInventory.empty(schemas[2]));
+
+        assertEquals(1, checked.size());
+        assertEquals(Arrays.asList(schemas[0], schemas[2]), Arrays.asList(checked.get(0)));
+    }
+
+    @Test
+    public void created() {
+        DbSupport dbSupport = new H2DbSupport(connection);
+        Schema[] schemas = schemas(dbSupport, "A");
+
+        SchemaInventory schemaInventory = new SchemaInventory(dbSupport, schemas);
+        assertFalse(schemaInventory.exists(schemas[0]));
+
+        schemaInventory.created(schemas[0]);
+        assertTrue(schemaInventory.exists(schemas[0]));
+        assertEquals(1, statements.size());
+    }
+
+    @Test
+    public void findSchemasInBatches() throws SQLException {
+        String[] names = new String[1201];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "S" + i;
+        }
+        catalog.addAll(Arrays.asList("S0", "S600", "S1200"));
+        DbSupport dbSupport = new H2DbSupport(connection);
+
+        Set<String> found = dbSupport.findSchemas("SELECT name FROM catalog WHERE name IN (%s) OR alias IN (%s)",
+                schemas(dbSupport, names));
+
+        assertEquals(new HashSet<String>(Arrays.asList("S0", "S600", "S1200")), found);
+        assertEquals(3, statements.size());
+        assertEquals(1000, count(statements.get(0), '?'));
+        assertEquals(1000, count(statements.get(1), '?'));
+        assertEquals(402, count(statements.get(2), '?'));
+    }
+
+    @Test
+    public void findSchemasCaseInsensitive() throws SQLException {
+        catalog.add("MYSCHEMA");
+        DbSupport dbSupport = new H2DbSupport(connection);
+
+        Set<String> found = dbSupport.findSchemas("SELECT upper(name) FROM catalog WHERE upper(name) IN (%s)",
+                "upper(?)", true, schemas(dbSupport, "MySchema", "Other"));
+
+        assertEquals(new HashSet<String>(Arrays.asList("MySchema")), found);
+        assertEquals("SELECT upper(name) FROM catalog WHERE upper(name) IN (upper(?),upper(?))", statements.get(0));
+    }
+
+    private Schema[] schemas(DbSupport dbSupport, String... names) {
+        Schema[] schemas = new Schema[names.length];
+        for (int i = 0; i < names.length; i++) {
+            schemas[i] = dbSupport.getSchema(names[i]);
+        }
+        return schemas;
+    }
+
+    private static int count(String str, char c) {
+        int count = 0;
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates sql statements for tests.
+ */
+public class SqlStatements {
+    /**
+     * Prevents instantiation.
+     */
+    private SqlStatements() {
+        // Do nothing
+    }
+
+    /**
+     * Creates a statement for each of these sqls, one per line starting at line 1.
+     *
+     * @param sqls The sqls of the statements.
+     * @return The statements.
+     */
+    public static List<SqlStatement> statements(String... sqls) {
+        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        for (int i = 0; i < sqls.length; i++) {
+            statements.add(new SqlStatement(i + 1, sqls[i], false));
+        }
+        return statements;
+    }
+}
@@ -16,21 +16,28 @@
 package org.flywaydb.core.internal.dbsupport.db2;
 
 import org.flywaydb.core.DbCategory;
+import org.flywaydb.core.internal.dbsupport.AtomicBlock;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
 import static org.mockito.Mockito.*;
 
 /**
@@ -49,13 +56,10 @@ public class DB2SchemaSmallTest {
     public void verifyDropVersioningV9() throws SQLException {
         DB2Schema db2Schema = new DB2Schema(jdbcTemplate, dbSupport, "SCHEMA");
 
-        // Just return an empty list for the other drop statements
-        when(jdbcTemplate.queryForStringList(anyString())).thenReturn(Collections.<String>emptyList());
-        ResultSet mockResultSet = mock(ResultSet.class);
-
-        // Return empty resultset for Types
-        when(jdbcTemplate.getMetaData().getUDTs(null, "SCHEMA", null, null)).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(false);
+        // Return a table for the catalog query, whose temporal type is always 'N' on DB2 9.x
+        List<Map<String, String>> objects = Arrays.asList(
+                row("KIND", "TABLE", "NAME", "VERSIONED_TABLE", "TEMPORALTYPE", "N"));
+        when(jdbcTemplate.queryForList(anyString(), Matchers.<String>anyVararg())).thenReturn(objects);
 
         when(dbSupport.getDb2MajorVersion()).thenReturn(9);
 
@@ -68,25 +72,111 @@ public class DB2SchemaSmallTest {
     public void verifyDropVersioningV10() throws SQLException {
         DB2Schema db2Schema = new DB2Schema(jdbcTemplate, dbSupport, "SCHEMA");
 
-        // Just return an empty list for the other drop statements
-        when(jdbcTemplate.queryForStringList(anyString())).thenReturn(Collections.<String>emptyList());
-        ResultSet mockResultSet = mock(ResultSet.class);
-
-        // Return empty resultset for Types
-        when(jdbcTemplate.getMetaData().getUDTs(null, "SCHEMA", null, null)).thenReturn(mockResultSet);
-        when(mockResultSet.next()).thenReturn(false);
-
-        // Return a VERSIONED_TABLE when the SQL to find version tables is called.
-        List<String> versionedTables = new ArrayList<String>();
-        versionedTables.add("VERSIONED_TABLE");
-        when(jdbcTemplate.queryForStringList("select TABNAME from SYSCAT.TABLES where TEMPORALTYPE <> 'N' and TABSCHEMA = ?", "SCHEMA")).thenReturn(versionedTables);
+        // Return a VERSIONED_TABLE for the catalog query
+        List<Map<String, String>> objects = Arrays.asList(
+                row("KIND", "TABLE", "NAME", "VERSIONED_TABLE", "TEMPORALTYPE", "S"));
+        when(jdbcTemplate.queryForList(anyString(), Matchers.<String>anyVararg())).thenReturn(objects);
 
         when(dbSupport.getDb2MajorVersion()).thenReturn(10);
+        when(dbSupport.getAtomicBlock()).thenReturn(new AtomicBlock());
         when(dbSupport.quote("SCHEMA", "VERSIONED_TABLE")).thenReturn("SCHEMA.VERSIONED_TABLE");
 
         db2Schema.clean();
 
         // Verify the DROP VERSIONING SQL is called.
-        verify(jdbcTemplate).execute("ALTER TABLE SCHEMA.VERSIONED_TABLE DROP VERSIONING");
+        verify(jdbcTemplate).execute(contains("'ALTER TABLE SCHEMA.VERSIONED_TABLE DROP VERSIONING'"));
+    }
+
+    @Test
+    public void cleanInAtomicBlock() throws SQLException {
+        DB2Schema db2Schema = new DB2Schema(jdbcTemplate, dbSupport, "S");
+
+        List<Map<String, String>> objects = Arrays.asList(
+                row("KIND", "TRIGGER", "NAME", "TRG", "TEMPORALTYPE", "N"),
+                row("KIND", "VIEW     ", "NAME", "V", "TEMPORALTYPE", "N"),
+                row("KIND", "TABLE    ", "NAME", "T", "TEMPORALTYPE", "S"),
+                row("KIND", "TABLE    ", "NAME", "T_HISTORY", "TEMPORALTYPE", "N"),
+                row("KIND", "FUNCTION ", "NAME", "SQL150101", "TEMPORALTYPE", "N"),
+                row("KIND", "TYPE     ", "NAME", "MONEY", "TEMPORALTYPE", "N"));
+        when(jdbcTemplate.queryForList(contains("SYSCAT.TRIGGERS"), Matchers.<String>anyVararg())).thenReturn(objects);
+        when(dbSupport.getDb2MajorVersion()).thenReturn(10);
+        when(dbSupport.getAtomicBlock()).thenReturn(new AtomicBlock());
+        quoteNames();
+
+        db2Schema.clean();
+
+        verify(jdbcTemplate).execute("BEGIN ATOMIC\n" +
+                "  EXECUTE IMMEDIATE 'ALTER TABLE S.T DROP VERSIONING';\n" +
+                "  EXECUTE IMMEDIATE 'DROP TRIGGER S.TRG';\n" +
+                "  EXECUTE IMMEDIATE 'DROP VIEW S.V';\n" +
+                "  EXECUTE IMMEDIATE 'DROP TABLE S.T';\n" +
+                "  EXECUTE IMMEDIATE 'DROP TABLE S.T_HISTORY';\n" +
+                "  EXECUTE IMMEDIATE 'DROP SPECIFIC FUNCTION S.SQL150101';\n" +
+                "  EXECUTE IMMEDIATE 'DROP TYPE S.MONEY';\n" +
+                "END");
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), Matchers.<String>anyVararg());
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    public void cleanV9() throws SQLException {
+        DB2Schema db2Schema = new DB2Schema(jdbcTemplate, dbSupport, "S");
+
+        List<Map<String, String>> objects = Arrays.asList(
+                row("KIND", "ALIAS    ", "NAME", "A", "TEMPORALTYPE", "N"),
+                row("KIND", "SEQUENCE ", "NAME", "SEQ", "TEMPORALTYPE", "N"),
+                row("KIND", "PROCEDURE", "NAME", "SQL150102", "TEMPORALTYPE", "N"));
+        when(jdbcTemplate.queryForList(contains("'N' from SYSCAT.TABLES where TABSCHEMA = ? and TYPE = 'T'"),
+                Matchers.<String>anyVararg())).thenReturn(objects);
+        when(dbSupport.getDb2MajorVersion()).thenReturn(9);
+        quoteNames();
+
+        db2Schema.clean();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP ALIAS S.A");
+        inOrder.verify(jdbcTemplate).execute("DROP SEQUENCE S.SEQ");
+        inOrder.verify(jdbcTemplate).execute("DROP SPECIFIC PROCEDURE S.SQL150102");
+        verify(jdbcTemplate, times(3)).execute(anyString());
+        verify(dbSupport, never()).getAtomicBlock();
+    }
+
+    @Test
+    public void cleanEmpty() throws SQLException {
+        DB2Schema db2Schema = new DB2Schema(jdbcTemplate, dbSupport, "S");
+
+        when(jdbcTemplate.queryForList(anyString(), Matchers.<String>anyVararg()))
+                .thenReturn(Collections.<Map<String, String>>emptyList());
+        when(dbSupport.getDb2MajorVersion()).thenReturn(10);
+        when(dbSupport.getAtomicBlock()).thenReturn(new AtomicBlock());
+
+        db2Schema.clean();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    /**
+     * Quotes schema and object names by joining them with a dot.
+     */
+    private void quoteNames() {
+        when(dbSupport.quote(anyString(), anyString())).thenAnswer(new Answer<String>() {
+            public String answer(InvocationOnMock invocation) {
+                return invocation.getArguments()[0] + "." + invocation.getArguments()[1];
+            }
+        });
+    }
+
+    /**
+     * Creates a row of a catalog query.
+     *
+     * @param columnsAndValues The column names, each followed by its value.
+     * @return The row.
+     */
+    private static Map<String, String> row(String... columnsAndValues) {
+        Map<String, String> row = new LinkedHashMap<String, String>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            row.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
     }
 }
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.db2zos;
+
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for DB2zosSchema.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DB2zosSchemaSmallTest {
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void clean() throws SQLException {
+        DB2zosSchema schema = new DB2zosSchema(jdbcTemplate, new DB2zosDbSupport(mock(Connection.class)), "S");
+
+        List<Map<String, String>> objects = Arrays.asList(
+                row("KIND", "TABLE     ", "NAME", "T"),
+                row("KIND", "VIEW      ", "NAME", "V"),
+                row("KIND", "TABLESPACE", "NAME", "TS"),
+                row("KIND", "FUNCTION  ", "NAME", "F"));
+        when(jdbcTemplate.queryForList(contains("SYSIBM.SYSTABLES"), Matchers.<String>anyVararg())).thenReturn(objects);
+
+        schema.clean();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP VIEW \"S\".\"V\"");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE \"S\".\"T\"");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLESPACE \"S\".\"TS\"");
+        inOrder.verify(jdbcTemplate).execute("DROP FUNCTION \"S\".\"F\"");
+        verify(jdbcTemplate, times(4)).execute(anyString());
+    }
+
+    @Test
+    public void cleanSkipsImplicitTableSpaces() throws SQLException {
+        DB2zosSchema schema = new DB2zosSchema(jdbcTemplate, new DB2zosDbSupport(mock(Connection.class)), "S");
+
+        schema.clean();
+
+        // Implicit table spaces are already gone once their tables are dropped
+        verify(jdbcTemplate).queryForList(
+                contains("from SYSIBM.SYSTABLESPACE where DBNAME = ? and IMPLICIT <> 'Y'"), Matchers.<String>anyVararg());
+    }
+
+    /**
+     * Creates a row of a catalog query.
+     *
+     * @param columnsAndValues The column names, each followed by its value.
+     * @return The row.
+     */
+    private static Map<String, String> row(String... columnsAndValues) {
+        Map<String, String> row = new LinkedHashMap<String, String>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            row.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -17,7 +17,10 @@ package org.flywaydb.core.internal.dbsupport.h2;
 
 import org.flywaydb.core.DbCategory;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.metrics.InMemoryMetricsListener;
+import org.flywaydb.core.internal.command.DbSnapshot;
 import org.flywaydb.core.migration.MigrationTestCase;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
 import org.junit.Test;
@@ -93,4 +96,31 @@ public class H2MigrationMediumTest extends MigrationTestCase {
         flyway.clean();
         flyway.migrate();
     }
+
+    @Test
+    public void migrateFromSnapshot() throws Exception {
+        DbSnapshot.clearSnapshots();
+        flyway.setLocations(BASEDIR);
+        flyway.setMigrateFromSnapshot(true);
+        assertEquals(4, flyway.migrate());
+        MigrationInfo[] applied = flyway.info().applied();
+
+        // Fresh again, so restored from the snapshot without applying any migration
+        flyway.clean();
+        InMemoryMetricsListener metricsListener = new InMemoryMetricsListener();
+        flyway.setMetricsListener(metricsListener);
+        assertEquals(4, flyway.migrate());
+        assertEquals(0, metricsListener.getMigrationsSucceeded());
+        assertEquals(0, metricsListener.getStatementCount());
+
+        flyway.validate();
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(applied.length, flyway.info().applied().length);
+        for (int i = 0; i < applied.length; i++) {
+            assertEquals(applied[i].getVersion(), flyway.info().applied()[i].getVersion());
+            assertEquals(applied[i].getChecksum(), flyway.info().applied()[i].getChecksum());
+        }
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+        DbSnapshot.clearSnapshots();
+    }
 }
\ No newline at end of file
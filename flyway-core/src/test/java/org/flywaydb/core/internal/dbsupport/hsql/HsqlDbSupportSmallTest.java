@@ -0,0 +1,104 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.hsql;
+
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * Small test for HsqlDbSupport.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HsqlDbSupportSmallTest {
+    /**
+     * The script of an in-memory database with the metadata table in PUBLIC and a table in a second schema.
+     */
+    private static final List<String> SCRIPT = Arrays.asList(
+            "SET DATABASE UNIQUE NAME HSQLDB4A8E2B1C3D",
+            "SET DATABASE GC 0",
+            "SET DATABASE DEFAULT RESULT MEMORY ROWS 0",
+            "CREATE USER SA PASSWORD DIGEST 'd41d8cd98f00b204e9800998ecf8427e'",
+            "ALTER USER SA SET LOCAL TRUE",
+            "CREATE SCHEMA PUBLIC AUTHORIZATION DBA",
+            "CREATE SCHEMA \"flyway_2\" AUTHORIZATION DBA",
+            "CREATE SCHEMA OTHER AUTHORIZATION DBA",
+            "CREATE MEMORY TABLE PUBLIC.\"schema_version\"(\"version_rank\" INTEGER NOT NULL,\"version\" VARCHAR(50) NOT NULL)",
+            "ALTER TABLE PUBLIC.\"schema_version\" ADD CONSTRAINT \"schema_version_pk\" PRIMARY KEY(\"version\")",
+            "CREATE MEMORY TABLE \"flyway_2\".T1(ID INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL PRIMARY KEY)",
+            "ALTER TABLE \"flyway_2\".T1 ALTER COLUMN ID RESTART WITH 3",
+            "CREATE MEMORY TABLE OTHER.T2(ID INTEGER)",
+            "ALTER TABLE OTHER.T2 ADD CONSTRAINT FK FOREIGN KEY(ID) REFERENCES \"flyway_2\".T1(ID)",
+            "ALTER SEQUENCE SYSTEM_LOBS.LOB_ID RESTART WITH 1",
+            "SET DATABASE DEFAULT INITIAL SCHEMA PUBLIC",
+            "GRANT DBA TO SA",
+            "SET SCHEMA SYSTEM_LOBS",
+            "INSERT INTO BLOCKS VALUES(0,2147483647,0)",
+            "SET SCHEMA PUBLIC",
+            "INSERT INTO \"schema_version\" VALUES(1,'1')",
+            "SET SCHEMA \"flyway_2\"",
+            "INSERT INTO T1 VALUES(1)",
+            "INSERT INTO T1 VALUES(2)",
+            "SET SCHEMA OTHER",
+            "INSERT INTO T2 VALUES(7)");
+
+    @Mock
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+    }
+
+    @Test
+    public void filterScript() {
+        HsqlDbSupport dbSupport = new HsqlDbSupport(connection);
+        Schema[] schemas = new Schema[]{dbSupport.getSchema("PUBLIC"), dbSupport.getSchema("flyway_2")};
+
+        assertEquals(Arrays.asList(
+                "CREATE SCHEMA PUBLIC AUTHORIZATION DBA",
+                "CREATE SCHEMA \"flyway_2\" AUTHORIZATION DBA",
+                "CREATE MEMORY TABLE PUBLIC.\"schema_version\"(\"version_rank\" INTEGER NOT NULL,\"version\" VARCHAR(50) NOT NULL)",
+                "ALTER TABLE PUBLIC.\"schema_version\" ADD CONSTRAINT \"schema_version_pk\" PRIMARY KEY(\"version\")",
+                "CREATE MEMORY TABLE \"flyway_2\".T1(ID INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL PRIMARY KEY)",
+                "ALTER TABLE \"flyway_2\".T1 ALTER COLUMN ID RESTART WITH 3",
+                "INSERT INTO \"PUBLIC\".\"schema_version\" VALUES(1,'1')",
+                "INSERT INTO \"flyway_2\".T1 VALUES(1)",
+                "INSERT INTO \"flyway_2\".T1 VALUES(2)"),
+                dbSupport.filterScript(SCRIPT, schemas));
+    }
+
+    @Test
+    public void getObjectSchema() {
+        assertEquals("PUBLIC", HsqlDbSupport.getObjectSchema("CREATE MEMORY TABLE PUBLIC.T(ID INTEGER)"));
+        assertEquals("my.\"schema", HsqlDbSupport.getObjectSchema("CREATE SEQUENCE \"my.\"\"schema\".S AS INTEGER"));
+        assertEquals("OTHER", HsqlDbSupport.getObjectSchema(
+                "CREATE MEMORY TABLE OTHER.T(A DECIMAL(5,2) DEFAULT 1.5, B VARCHAR(20) DEFAULT 'PUBLIC.x')"));
+        assertNull(HsqlDbSupport.getObjectSchema("CREATE USER SA PASSWORD DIGEST 'PUBLIC.d41d8cd98f00b204'"));
+    }
+}
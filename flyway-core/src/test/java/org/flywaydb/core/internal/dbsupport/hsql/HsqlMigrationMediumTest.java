@@ -16,6 +16,9 @@
 package org.flywaydb.core.internal.dbsupport.hsql;
 
 import org.flywaydb.core.DbCategory;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.metrics.InMemoryMetricsListener;
+import org.flywaydb.core.internal.command.DbSnapshot;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.migration.MigrationTestCase;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
@@ -77,4 +80,31 @@ public class HsqlMigrationMediumTest extends MigrationTestCase {
 
         schema.drop();
     }
+
+    @Test
+    public void migrateFromSnapshot() throws Exception {
+        DbSnapshot.clearSnapshots();
+        flyway.setLocations(BASEDIR);
+        flyway.setMigrateFromSnapshot(true);
+        assertEquals(4, flyway.migrate());
+        MigrationInfo[] applied = flyway.info().applied();
+
+        // Fresh again, so restored from the snapshot without applying any migration
+        flyway.clean();
+        InMemoryMetricsListener metricsListener = new InMemoryMetricsListener();
+        flyway.setMetricsListener(metricsListener);
+        assertEquals(4, flyway.migrate());
+        assertEquals(0, metricsListener.getMigrationsSucceeded());
+        assertEquals(0, metricsListener.getStatementCount());
+
+        flyway.validate();
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(applied.length, flyway.info().applied().length);
+        for (int i = 0; i < applied.length; i++) {
+            assertEquals(applied[i].getVersion(), flyway.info().applied()[i].getVersion());
+            assertEquals(applied[i].getChecksum(), flyway.info().applied()[i].getChecksum());
+        }
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+        DbSnapshot.clearSnapshots();
+    }
 }
\ No newline at end of file
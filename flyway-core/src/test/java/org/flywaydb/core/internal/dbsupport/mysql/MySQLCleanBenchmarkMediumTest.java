@@ -0,0 +1,128 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.mysql;
+
+import org.flywaydb.core.DbCategory;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.sql.Connection;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the time taken to clean a MySQL schema with many foreign-key-linked tables when dropping the tables one
+ * by one (the previous implementation) and when dropping them with multi-table DROP TABLE statements.
+ * <p>The number of tables and rounds can be tuned using mysql.cleanBenchmark.tables and mysql.cleanBenchmark.rounds
+ * in flyway-mediumtests.properties.</p>
+ */
+@SuppressWarnings({"JavaDoc"})
+@Category(DbCategory.MySQL.class)
+public class MySQLCleanBenchmarkMediumTest {
+    private static final Log LOG = LogFactory.getLog(MySQLCleanBenchmarkMediumTest.class);
+
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+    private MySQLSchema schema;
+    private int tableCount;
+    private int rounds;
+
+    @Before
+    public void setUp() throws Exception {
+        File customPropertiesFile = new File(System.getProperty("user.home") + "/flyway-mediumtests.properties");
+        Properties customProperties = new Properties();
+        if (customPropertiesFile.canRead()) {
+            customProperties.load(new FileInputStream(customPropertiesFile));
+        }
+        String user = customProperties.getProperty("mysql.user", "flyway");
+        String password = customProperties.getProperty("mysql.password", "flyway");
+        String url = customProperties.getProperty("mysql.url", "jdbc:mysql://localhost/flyway_db");
+        tableCount = Integer.parseInt(customProperties.getProperty("mysql.cleanBenchmark.tables", "500"));
+        rounds = Integer.parseInt(customProperties.getProperty("mysql.cleanBenchmark.rounds", "3"));
+
+        connection = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null, url, user, password, false)
+                .getConnection();
+        MySQLDbSupport dbSupport = (MySQLDbSupport) DbSupportFactory.createDbSupport(connection, false);
+        jdbcTemplate = dbSupport.getJdbcTemplate();
+        schema = (MySQLSchema) dbSupport.getSchema("flyway_clean_benchmark");
+        if (schema.exists()) {
+            schema.drop();
+        }
+        schema.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        schema.drop();
+        JdbcUtils.closeConnection(connection);
+    }
+
+    @Test
+    public void cleanTables() throws Exception {
+        long individualTotal = 0;
+        long batchedTotal = 0;
+        for (int round = 0; round < rounds; round++) {
+            individualTotal += timeClean(1);
+            batchedTotal += timeClean(MySQLSchema.DROP_TABLE_BATCH_SIZE);
+        }
+
+        LOG.info("Clean of " + tableCount + " tables (average over " + rounds + " rounds): "
+                + (individualTotal / rounds) + " ms dropping tables individually, "
+                + (batchedTotal / rounds) + " ms dropping " + MySQLSchema.DROP_TABLE_BATCH_SIZE + " tables per statement");
+        assertEquals(1, jdbcTemplate.queryForInt("SELECT @@foreign_key_checks"));
+    }
+
+    private long timeClean(int batchSize) throws Exception {
+        createTables();
+        assertEquals(tableCount, schema.allTables().length);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        schema.cleanTables(batchSize);
+        stopWatch.stop();
+
+        assertTrue(schema.empty());
+        return stopWatch.getTotalTimeMillis();
+    }
+
+    /**
+     * Creates a chain of tables where each table references the previous one.
+     */
+    private void createTables() throws Exception {
+        for (int i = 0; i < tableCount; i++) {
+            String table = schema.getTable("t" + i).toString();
+            if (i == 0) {
+                jdbcTemplate.execute("CREATE TABLE " + table + " (id INT PRIMARY KEY) ENGINE=InnoDB");
+            } else {
+                jdbcTemplate.execute("CREATE TABLE " + table + " (id INT PRIMARY KEY, parent_id INT, "
+                        + "FOREIGN KEY (parent_id) REFERENCES " + schema.getTable("t" + (i - 1)) + " (id)) ENGINE=InnoDB");
+            }
+        }
+    }
+}
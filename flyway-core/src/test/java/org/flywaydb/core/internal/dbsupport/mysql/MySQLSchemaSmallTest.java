@@ -0,0 +1,65 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.mysql;
+
+import org.flywaydb.core.internal.dbsupport.Table;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Small Test for MySQLSchema.
+ */
+@SuppressWarnings({"JavaDoc"})
+public class MySQLSchemaSmallTest {
+    private final MySQLDbSupport dbSupport = new MySQLDbSupport(mock(Connection.class));
+
+    @Test
+    public void dropTablesStatementsChunked() {
+        List<String> statements = MySQLSchema.dropTablesStatements(tables("t1", "t2", "t3", "t4", "t5"), 2);
+
+        assertEquals(3, statements.size());
+        assertEquals("DROP TABLE `db`.`t1`, `db`.`t2`", statements.get(0));
+        assertEquals("DROP TABLE `db`.`t3`, `db`.`t4`", statements.get(1));
+        assertEquals("DROP TABLE `db`.`t5`", statements.get(2));
+    }
+
+    @Test
+    public void dropTablesStatementsSingleBatch() {
+        List<String> statements = MySQLSchema.dropTablesStatements(tables("t1", "t2"), MySQLSchema.DROP_TABLE_BATCH_SIZE);
+
+        assertEquals(1, statements.size());
+        assertEquals("DROP TABLE `db`.`t1`, `db`.`t2`", statements.get(0));
+    }
+
+    @Test
+    public void dropTablesStatementsNoTables() {
+        assertEquals(0, MySQLSchema.dropTablesStatements(new Table[0], MySQLSchema.DROP_TABLE_BATCH_SIZE).size());
+    }
+
+    private Table[] tables(String... names) {
+        MySQLSchema schema = new MySQLSchema(null, dbSupport, "db");
+        Table[] tables = new Table[names.length];
+        for (int i = 0; i < names.length; i++) {
+            tables[i] = new MySQLTable(null, dbSupport, schema, names[i]);
+        }
+        return tables;
+    }
+}
@@ -15,7 +15,9 @@
  */
 package org.flywaydb.core.internal.dbsupport.postgresql;
 
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.dbsupport.redshift.RedshiftDbSupport;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.junit.Test;
@@ -51,6 +53,57 @@ public class PostgreSQLDbSupportMediumTest {
         JdbcUtils.closeConnection(connection);
     }
 
+    /**
+     * Checks that the INSERT statements replacing COPY ... FROM STDIN on Redshift load the same rows as PostgreSQL's
+     * own COPY. PostgreSQL stands in for Redshift, with backslashes as escape characters in string literals like
+     * Redshift.
+     */
+    @Test
+    public void redshiftCopy() throws Exception {
+        Connection connection = createDataSource().getConnection();
+        PostgreSQLDbSupport dbSupport = new PostgreSQLDbSupport(connection);
+        JdbcTemplate jdbcTemplate = dbSupport.getJdbcTemplate();
+        jdbcTemplate.execute("SET standard_conforming_strings = off");
+        jdbcTemplate.execute("SET escape_string_warning = off");
+        jdbcTemplate.execute("CREATE TABLE copy_pg (c1 integer, c2 character varying, c3 double precision)");
+        jdbcTemplate.execute("CREATE TABLE copy_redshift (c1 integer, c2 character varying, c3 double precision)");
+        try {
+            assertSameRows(dbSupport, "(c1, c2, c3) FROM stdin;\n"
+                    + "1\tutf8: \u00fcmlaute\tNaN\n"
+                    + "2\t\\N\t123\n"
+                    + "3\ttab\\there, back\\\\slash and 'quote'\t-1.5\n"
+                    + "4\t\t\\N\n");
+            assertSameRows(dbSupport, "FROM STDIN WITH CSV HEADER;\n"
+                    + "c1,c2,c3\n"
+                    + "5,\"Smith, John said \"\"hi\"\"\",1e3\n"
+                    + "6,,\n"
+                    + "7,\"\",0\n"
+                    + "8,\"two\nlines \\ O'Brien\",\n");
+        } finally {
+            jdbcTemplate.execute("DROP TABLE copy_pg");
+            jdbcTemplate.execute("DROP TABLE copy_redshift");
+            JdbcUtils.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Loads this COPY data both with PostgreSQL's COPY and with Redshift's INSERT statements and checks the rows match.
+     *
+     * @param dbSupport The PostgreSQL support.
+     * @param copy      The COPY statement with its data, without the leading COPY and table name.
+     */
+    private void assertSameRows(PostgreSQLDbSupport dbSupport, String copy) throws Exception {
+        JdbcTemplate jdbcTemplate = dbSupport.getJdbcTemplate();
+        dbSupport.executePgCopy(jdbcTemplate.getConnection(), "COPY copy_pg " + copy);
+        new RedshiftDbSupport(jdbcTemplate.getConnection()).executePgCopy(jdbcTemplate, "COPY copy_redshift " + copy);
+
+        String except = "SELECT count(*) FROM (SELECT * FROM %s EXCEPT ALL SELECT * FROM %s) d";
+        assertEquals(jdbcTemplate.queryForInt("SELECT count(*) FROM copy_pg"),
+                jdbcTemplate.queryForInt("SELECT count(*) FROM copy_redshift"));
+        assertEquals(0, jdbcTemplate.queryForInt(String.format(except, "copy_pg", "copy_redshift")));
+        assertEquals(0, jdbcTemplate.queryForInt(String.format(except, "copy_redshift", "copy_pg")));
+    }
+
 
     /**
      * Creates a datasource for use in tests.
@@ -323,6 +323,16 @@ public class PostgreSQLMigrationMediumTest extends MigrationTestCase {
         assertEquals(3, jdbcTemplate.queryForInt("select count(*) from copy_test"));
     }
 
+    @Test
+    public void bulkInsert() throws Exception {
+        flyway.setLocations("migration/dbsupport/postgresql/sql/bulkinsert");
+        flyway.setBulkInsertRows(2);
+        flyway.migrate();
+        assertEquals(6, jdbcTemplate.queryForInt("select count(*) from bulk_test"));
+        assertEquals("it's", jdbcTemplate.queryForString("select note from bulk_test where id = 3"));
+        assertEquals("updated", jdbcTemplate.queryForString("select note from bulk_test where id = 5"));
+    }
+
     /**
      * Tests that the lock on SCHEMA_VERSION is not blocking SQL commands in migrations. This test won't fail if there's
      * a too restrictive lock - it would just hang endlessly.
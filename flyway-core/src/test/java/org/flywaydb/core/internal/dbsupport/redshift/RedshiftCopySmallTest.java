@@ -0,0 +1,102 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.redshift;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for RedshiftCopy.
+ */
+public class RedshiftCopySmallTest {
+    @Test
+    public void text() {
+        RedshiftCopy copy = new RedshiftCopy("COPY copy_test (c1, c2, c3) FROM stdin;\n"
+                + "1\tutf8: ümlaute\tNaN\n"
+                + "2\t\\N\t123\n"
+                + "3\ttab\\there\t\n");
+
+        List<List<String>> rows = copy.parseRows();
+        assertEquals(3, rows.size());
+        assertEquals(Arrays.asList("1", "utf8: ümlaute", "NaN"), rows.get(0));
+        assertEquals(Arrays.asList("2", null, "123"), rows.get(1));
+        assertEquals(Arrays.asList("3", "tab\there", ""), rows.get(2));
+
+        assertEquals(Arrays.asList("INSERT INTO copy_test (c1, c2, c3) VALUES\n"
+                + "('1','utf8: ümlaute','NaN'),\n"
+                + "('2',NULL,'123'),\n"
+                + "('3','tab\there','')"), copy.toInsertStatements(1000));
+    }
+
+    @Test
+    public void textEscapedDelimiter() {
+        RedshiftCopy copy = new RedshiftCopy("COPY t (a, b) FROM STDIN DELIMITER ',';\n"
+                + "a\\,b,c\\\\\n");
+
+        assertEquals(Arrays.asList(Arrays.asList("a,b", "c\\")), copy.parseRows());
+        assertEquals(Arrays.asList("INSERT INTO t (a, b) VALUES\n('a,b','c\\\\')"), copy.toInsertStatements(10));
+    }
+
+    @Test
+    public void textOctalAndHexEscapes() {
+        RedshiftCopy copy = new RedshiftCopy("COPY t FROM STDIN;\n"
+                + "\\101\\7\\0609\t\\x41\\x7e\\x4G\\xZ\n");
+
+        assertEquals(Arrays.asList(Arrays.asList("A\u0007\u00309", "A~\u0004GxZ")), copy.parseRows());
+    }
+
+    @Test
+    public void csv() {
+        RedshiftCopy copy = new RedshiftCopy("COPY t FROM STDIN WITH CSV HEADER;\n"
+                + "id,name,note\n"
+                + "1,\"Smith, John\",\"said \"\"hi\"\"\"\n"
+                + "2,,\"\"\n"
+                + "3,O'Brien,\"two\nlines\"\n");
+
+        List<List<String>> rows = copy.parseRows();
+        assertEquals(3, rows.size());
+        assertEquals(Arrays.asList("1", "Smith, John", "said \"hi\""), rows.get(0));
+        assertEquals(Arrays.asList("2", null, ""), rows.get(1));
+        assertEquals(Arrays.asList("3", "O'Brien", "two\nlines"), rows.get(2));
+
+        assertEquals(Arrays.asList(
+                "INSERT INTO t VALUES\n('1','Smith, John','said \"hi\"'),\n('2',NULL,'')",
+                "INSERT INTO t VALUES\n('3','O''Brien','two\nlines')"), copy.toInsertStatements(2));
+    }
+
+    @Test
+    public void options() {
+        RedshiftCopy copy = new RedshiftCopy("COPY t (a, b) FROM STDIN WITH (FORMAT csv, DELIMITER '|', NULL 'n/a');\n"
+                + "a\\b|n/a\n");
+
+        assertEquals(Arrays.asList(Arrays.asList("a\\b", null)), copy.parseRows());
+        assertEquals(Arrays.asList("INSERT INTO t (a, b) VALUES\n('a\\\\b',NULL)"), copy.toInsertStatements(10));
+    }
+
+    @Test
+    public void noData() {
+        assertEquals(0, new RedshiftCopy("COPY t FROM STDIN;\n").toInsertStatements(10).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notFromStdin() {
+        new RedshiftCopy("COPY t FROM 's3://bucket/t.csv' CREDENTIALS 'aws_iam_role=arn' CSV;");
+    }
+}
@@ -16,7 +16,11 @@
 package org.flywaydb.core.internal.dbsupport.redshift;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.junit.Test;
 
 public class RedshiftDbSupportSmallTest {
@@ -26,4 +30,15 @@ public class RedshiftDbSupportSmallTest {
         assertEquals("\"abc\"", dbSupport.doQuote("abc"));
         assertEquals("\"a\"\"b\"\"c\"", dbSupport.doQuote("a\"b\"c"));
     }
+
+    @Test
+    public void executePgCopyThroughJdbcTemplate() throws Exception {
+        RedshiftDbSupport dbSupport = new RedshiftDbSupport(null);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        dbSupport.executePgCopy(jdbcTemplate, "COPY t (a) FROM STDIN;\n1\n2\n");
+
+        verify(jdbcTemplate).executeStatement("INSERT INTO t (a) VALUES\n('1'),\n('2')");
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.redshift;
+
+import org.flywaydb.core.internal.dbsupport.SqlScript;
+import org.flywaydb.core.internal.dbsupport.SqlStatement;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for RedshiftSqlStatementBuilder.
+ */
+public class RedshiftSqlStatementBuilderSmallTest {
+    @Test
+    public void copyFromS3() {
+        List<SqlStatement> statements = new SqlScript("COPY t FROM 's3://bucket/t.csv'\n"
+                + "CREDENTIALS 'aws_iam_role=arn:aws:iam::0123456789:role/MyRole' CSV;\n"
+                + "INSERT INTO t VALUES (1);", new RedshiftDbSupport(null)).getSqlStatements();
+
+        assertEquals(2, statements.size());
+        assertFalse(statements.get(0).isPgCopy());
+        assertEquals("INSERT INTO t VALUES (1)", statements.get(1).getSql());
+    }
+
+    @Test
+    public void copyFromStdin() {
+        List<SqlStatement> statements = new SqlScript("COPY t (a, b)\n"
+                + "FROM stdin;\n"
+                + "1\tx;\n"
+                + "\\.\n"
+                + "INSERT INTO t VALUES (2, 'y');", new RedshiftDbSupport(null)).getSqlStatements();
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).isPgCopy());
+        assertEquals("COPY t (a, b)\nFROM stdin;\n1\tx;\n", statements.get(0).getSql());
+        assertEquals(Arrays.asList("INSERT INTO t (a, b) VALUES\n('1','x;')"),
+                new RedshiftCopy(statements.get(0).getSql()).toInsertStatements(10));
+    }
+}
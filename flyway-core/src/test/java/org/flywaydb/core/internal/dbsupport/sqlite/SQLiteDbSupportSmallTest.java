@@ -0,0 +1,136 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.sqlite;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for SQLiteDbSupport.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SQLiteDbSupportSmallTest {
+    @Mock
+    private Connection connection;
+
+    /**
+     * The current values of the pragmas of the connection.
+     */
+    private final Map<String, String> pragmas = new HashMap<String, String>();
+
+    /**
+     * The pragmas changed on the connection, in order.
+     */
+    private final List<String> changes = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenAnswer(new Answer<PreparedStatement>() {
+            public PreparedStatement answer(InvocationOnMock invocation) throws SQLException {
+                return createStatement((String) invocation.getArguments()[0]);
+            }
+        });
+    }
+
+    @Test
+    public void applyAndRestoreMigrateSettings() throws Exception {
+        pragmas.put("journal_mode", "delete");
+        pragmas.put("synchronous", "2");
+        pragmas.put("cache_size", "-2000");
+        SQLiteDbSupport dbSupport = new SQLiteDbSupport(connection);
+
+        Map<String, String> originalSettings = dbSupport.applyMigrateSettings();
+        assertEquals(Arrays.asList("journal_mode", "synchronous", "cache_size"),
+                new ArrayList<String>(originalSettings.keySet()));
+        assertEquals("wal", pragmas.get("journal_mode"));
+        assertEquals("1", pragmas.get("synchronous"));
+        assertEquals("-16384", pragmas.get("cache_size"));
+
+        changes.clear();
+        dbSupport.restoreMigrateSettings(originalSettings);
+        assertEquals(Arrays.asList("cache_size=-2000", "synchronous=2", "journal_mode=delete"), changes);
+        assertEquals("delete", pragmas.get("journal_mode"));
+        assertEquals("2", pragmas.get("synchronous"));
+        assertEquals("-2000", pragmas.get("cache_size"));
+    }
+
+    @Test
+    public void unchangedSettingsAreNotRestored() throws Exception {
+        pragmas.put("journal_mode", "memory");
+        pragmas.put("synchronous", "1");
+        pragmas.put("cache_size", "-2000");
+        SQLiteDbSupport dbSupport = new SQLiteDbSupport(connection);
+
+        Map<String, String> originalSettings = dbSupport.applyMigrateSettings();
+        assertEquals(Arrays.asList("cache_size"), new ArrayList<String>(originalSettings.keySet()));
+
+        changes.clear();
+        dbSupport.restoreMigrateSettings(originalSettings);
+        assertEquals(Arrays.asList("cache_size=-2000"), changes);
+    }
+
+    /**
+     * Creates a statement that reads or writes the pragma like SQLite. In-memory databases keep their journal mode.
+     */
+    private PreparedStatement createStatement(String sql) throws SQLException {
+        final String pragma = sql.substring("PRAGMA ".length());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.execute()).thenAnswer(new Answer<Boolean>() {
+            public Boolean answer(InvocationOnMock invocation) {
+                String name = pragma.substring(0, pragma.indexOf('='));
+                String value = pragma.substring(pragma.indexOf('=') + 1);
+                changes.add(pragma);
+                if ("synchronous".equals(name) && "NORMAL".equals(value)) {
+                    value = "1";
+                }
+                if (!"journal_mode".equals(name) || !"memory".equals(pragmas.get(name))) {
+                    pragmas.put(name, value.toLowerCase());
+                }
+                return false;
+            }
+        });
+        when(statement.executeQuery()).thenAnswer(new Answer<ResultSet>() {
+            public ResultSet answer(InvocationOnMock invocation) throws SQLException {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.next()).thenReturn(true, false);
+                when(resultSet.getString(1)).thenReturn(pragmas.get(pragma));
+                return resultSet;
+            }
+        });
+        return statement;
+    }
+}
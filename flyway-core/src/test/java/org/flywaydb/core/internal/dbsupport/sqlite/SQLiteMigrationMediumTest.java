@@ -26,6 +26,7 @@ import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.Properties;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -68,6 +69,28 @@ public class SQLiteMigrationMediumTest extends MigrationTestCase {
         flyway.migrate();
     }
 
+    @Test
+    public void sessionTuning() throws Exception {
+        flyway.setLocations(BASEDIR);
+        flyway.setSessionTuning(true);
+        assertEquals(4, flyway.migrate());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
+    @Test
+    public void cleanCompact() throws Exception {
+        flyway.setLocations(BASEDIR);
+        flyway.migrate();
+
+        flyway.setCleanCompact(true);
+        flyway.clean();
+        assertEquals(0, jdbcTemplate.queryForInt("SELECT count(*) FROM sqlite_master WHERE type IN ('table', 'view')"
+                + " AND tbl_name NOT LIKE 'sqlite!_%' ESCAPE '!'"));
+
+        assertEquals(4, flyway.migrate());
+    }
+
     @Test
     public void noDriverCrashIssue746() throws Exception {
         flyway.setLocations(BASEDIR);
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.vertica;
+
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VerticaDbSupportSmallTest {
+    @Test
+    public void doQuote() {
+        VerticaDbSupport dbSupport = new VerticaDbSupport(null);
+        assertEquals("\"abc\"", dbSupport.doQuote("abc"));
+        assertEquals("\"a\"\"b\"\"c\"", dbSupport.doQuote("a\"b\"c"));
+    }
+
+    @Test
+    public void executePgCopy() throws Exception {
+        final List<String> streamed = new ArrayList<String>();
+        StreamingStatement statement = mock(StreamingStatement.class);
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) throws IOException {
+                streamed.add(FileCopyUtils.copyToString(
+                        new InputStreamReader((InputStream) invocation.getArguments()[0], "UTF-8")));
+                return null;
+            }
+        }).when(statement).setUpdateInputStream(any(InputStream.class));
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+
+        new VerticaDbSupport(null).executePgCopy(connection, "COPY t FROM STDIN DELIMITER ',';\n1,a\n2,b\n");
+
+        assertEquals(Arrays.asList("1,a\n2,b\n"), streamed);
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).setUpdateInputStream(any(InputStream.class));
+        inOrder.verify(statement).execute("COPY t FROM STDIN DELIMITER ','");
+        inOrder.verify(statement).close();
+    }
+
+    /**
+     * Statement streaming COPY data, like the VerticaStatement of the Vertica JDBC driver.
+     */
+    public interface StreamingStatement extends Statement {
+        void setUpdateInputStream(InputStream stream);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.vertica;
+
+import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for VerticaSchema.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VerticaSchemaSmallTest {
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private JdbcTemplate jdbcTemplate;
+
+    private final VerticaDbSupport dbSupport = new VerticaDbSupport(mock(Connection.class));
+
+    @Test
+    public void clean() throws Exception {
+        when(jdbcTemplate.queryForList(contains("v_catalog.views"), Matchers.<String>anyVararg())).thenReturn(Arrays.asList(
+                row("object_type", "VIEW", "object_name", "v1"),
+                row("object_type", "TABLE", "object_name", "t1"),
+                row("object_type", "VIEW", "object_name", "v2"),
+                row("object_type", "SEQUENCE", "object_name", "s1"),
+                row("object_type", "PROJECTION", "object_name", "p1_b0"),
+                row("object_type", "TABLE", "object_name", "t\"2")));
+        when(jdbcTemplate.queryForList(contains("user_functions"), Matchers.<String>anyVararg())).thenReturn(Arrays.asList(
+                row("function_name", "f", "function_argument_type", "Integer, Varchar")));
+
+        new VerticaSchema(jdbcTemplate, dbSupport, "s").clean();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP VIEW IF EXISTS \"s\".\"v1\", \"s\".\"v2\"");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS \"s\".\"t1\", \"s\".\"t\"\"2\" CASCADE");
+        inOrder.verify(jdbcTemplate).execute("DROP PROJECTION IF EXISTS \"s\".\"p1_b0\"");
+        inOrder.verify(jdbcTemplate).execute("DROP SEQUENCE IF EXISTS \"s\".\"s1\"");
+        inOrder.verify(jdbcTemplate).execute("DROP FUNCTION IF EXISTS \"s\".\"f\"(Integer, Varchar)");
+    }
+
+    @Test
+    public void cleanEmpty() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), Matchers.<String>anyVararg()))
+                .thenReturn(Collections.<Map<String, String>>emptyList());
+
+        new VerticaSchema(jdbcTemplate, dbSupport, "s").clean();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    public void generateDropStatementsForCatalogObjectsInBatches() throws Exception {
+        List<Map<String, String>> tables = new ArrayList<Map<String, String>>();
+        for (int i = 1; i <= 101; i++) {
+            tables.add(row("object_type", "TABLE", "object_name", "t" + i));
+        }
+        when(jdbcTemplate.queryForList(contains("v_catalog.views"), Matchers.<String>anyVararg())).thenReturn(tables);
+
+        List<String> statements = new VerticaSchema(jdbcTemplate, dbSupport, "s").generateDropStatementsForCatalogObjects();
+
+        assertEquals(2, statements.size());
+        assertEquals(100, statements.get(0).split(", ").length);
+        assertEquals("DROP TABLE IF EXISTS \"s\".\"t101\" CASCADE", statements.get(1));
+    }
+
+    private static Map<String, String> row(String... labelsAndValues) {
+        Map<String, String> row = new LinkedHashMap<String, String>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put(labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
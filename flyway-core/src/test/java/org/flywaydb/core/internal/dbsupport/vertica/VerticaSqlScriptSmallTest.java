@@ -23,6 +23,8 @@ import org.junit.Test;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test for SqlScript for Vertica.
@@ -40,4 +42,41 @@ public class VerticaSqlScriptSmallTest {
         assertEquals(19, sqlStatements.get(1).getLineNumber());
         assertEquals(20, sqlStatements.get(2).getLineNumber());
     }
+
+    @Test
+    public void parseCopyFromStdin() throws Exception {
+        String source = "CREATE TABLE t (a INT, b VARCHAR(10));\n" +
+                "COPY t FROM STDIN DELIMITER ',';\n" +
+                "1,x;y\n" +
+                "2,z\n" +
+                "\\.\n" +
+                "INSERT INTO t VALUES (3, 'w');";
+
+        List<SqlStatement> sqlStatements = new SqlScript(source, new VerticaDbSupport(null)).getSqlStatements();
+        assertEquals(3, sqlStatements.size());
+        assertFalse(sqlStatements.get(0).isPgCopy());
+        assertTrue(sqlStatements.get(1).isPgCopy());
+        assertEquals("COPY t FROM STDIN DELIMITER ',';\n1,x;y\n2,z\n", sqlStatements.get(1).getSql());
+        assertEquals(6, sqlStatements.get(2).getLineNumber());
+    }
+
+    @Test
+    public void parseStatementsPerRequest() throws Exception {
+        String source = "CREATE TABLE t (a INT);\n" +
+                "INSERT INTO t VALUES (1);\n" +
+                "INSERT INTO t VALUES (2);\n" +
+                "COPY t FROM STDIN;\n" +
+                "3\n" +
+                "\\.\n" +
+                "INSERT INTO t VALUES (4);";
+
+        VerticaDbSupport dbSupport = new VerticaDbSupport(null);
+        dbSupport.setStatementsPerRequest(10);
+        List<SqlStatement> sqlStatements = new SqlScript(source, dbSupport).getSqlStatements();
+        assertEquals(3, sqlStatements.size());
+        assertEquals("CREATE TABLE t (a INT);\nINSERT INTO t VALUES (1);\nINSERT INTO t VALUES (2)",
+                sqlStatements.get(0).getSql());
+        assertTrue(sqlStatements.get(1).isPgCopy());
+        assertEquals("INSERT INTO t VALUES (4)", sqlStatements.get(2).getSql());
+    }
 }
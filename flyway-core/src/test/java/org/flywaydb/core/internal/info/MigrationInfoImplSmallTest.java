@@ -17,9 +17,14 @@ package org.flywaydb.core.internal.info;
 
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.validation.ValidationError;
+import org.flywaydb.core.api.validation.ValidationErrorKind;
 import org.flywaydb.core.internal.metadatatable.AppliedMigration;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
 import org.junit.Test;
+
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 public class MigrationInfoImplSmallTest {
@@ -44,4 +49,50 @@ public class MigrationInfoImplSmallTest {
         assertTrue(message.contains("123"));
         assertTrue(message.contains("456"));
     }
+
+    @Test
+    public void validateAll() {
+        MigrationVersion version = MigrationVersion.fromVersion("1");
+
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(version);
+        resolvedMigration.setDescription("resolved");
+        resolvedMigration.setType(MigrationType.JDBC);
+        resolvedMigration.setChecksum(456);
+
+        AppliedMigration appliedMigration =
+                new AppliedMigration(version, "applied", MigrationType.SQL, null, 123, 0, true);
+
+        MigrationInfoImpl migrationInfo =
+                new MigrationInfoImpl(resolvedMigration, appliedMigration, new MigrationInfoContext());
+        List<ValidationError> errors = migrationInfo.validateAll();
+
+        assertEquals(3, errors.size());
+        assertEquals(ValidationErrorKind.TYPE, errors.get(0).getKind());
+        assertEquals(ValidationErrorKind.CHECKSUM, errors.get(1).getKind());
+        assertEquals(ValidationErrorKind.DESCRIPTION, errors.get(2).getKind());
+        assertEquals(123, errors.get(1).getApplied());
+        assertEquals(456, errors.get(1).getResolved());
+        assertEquals(errors.get(0).getMessage(), migrationInfo.validate());
+    }
+
+    @Test
+    public void validateAllValid() {
+        MigrationVersion version = MigrationVersion.fromVersion("1");
+
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(version);
+        resolvedMigration.setDescription("test");
+        resolvedMigration.setType(MigrationType.SQL);
+        resolvedMigration.setChecksum(123);
+
+        AppliedMigration appliedMigration =
+                new AppliedMigration(version, "test", MigrationType.SQL, null, 123, 0, true);
+
+        MigrationInfoImpl migrationInfo =
+                new MigrationInfoImpl(resolvedMigration, appliedMigration, new MigrationInfoContext());
+
+        assertTrue(migrationInfo.validateAll().isEmpty());
+        assertNull(migrationInfo.validate());
+    }
 }
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.progress;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.progress.MigrationProgress;
+import org.flywaydb.core.api.progress.ProgressListener;
+import org.flywaydb.core.internal.dbsupport.SqlStatement;
+import org.flywaydb.core.internal.info.MigrationInfoContext;
+import org.flywaydb.core.internal.info.MigrationInfoImpl;
+import org.flywaydb.core.internal.metadatatable.AppliedMigration;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small Test for ProgressTracker.
+ */
+@SuppressWarnings({"JavaDoc"})
+public class ProgressTrackerSmallTest {
+    private final List<MigrationProgress> progresses = new ArrayList<MigrationProgress>();
+
+    private final ProgressTracker progressTracker = new ProgressTracker(new ProgressListener() {
+        @Override
+        public void progressed(MigrationProgress progress) {
+            progresses.add(progress);
+        }
+    });
+
+    @Test
+    public void unknownWithoutHistory() {
+        progressTracker.migrateStarted("schema", new MigrationInfo[]{pending("1")}, new MigrationInfo[0]);
+        assertEquals(-1, progressTracker.estimateRemainingMillis());
+    }
+
+    @Test
+    public void historicalMean() {
+        progressTracker.migrateStarted("schema", new MigrationInfo[]{pending("3"), pending("4")},
+                new MigrationInfo[]{applied("1", 100), applied("2", 300)});
+        assertEquals(400, progressTracker.estimateRemainingMillis());
+    }
+
+    @Test
+    public void statements() {
+        MigrationInfo migration = pending("3");
+        progressTracker.migrateStarted("schema", new MigrationInfo[]{migration},
+                new MigrationInfo[]{applied("1", 1000)});
+        progressTracker.migrationStarted(migration);
+        List<SqlStatement> sqlStatements = Arrays.asList(
+                new SqlStatement(1, "0123456789", false),
+                new SqlStatement(2, "0123456789012345678901234567890123456789", false));
+        progressTracker.scriptStarted(sqlStatements);
+        progressTracker.statementExecuted(sqlStatements.get(0));
+
+        MigrationProgress progress = progresses.get(progresses.size() - 1);
+        assertEquals(1, progress.getStatementsDone());
+        assertEquals(2, progress.getStatementsTotal());
+        assertEquals(10, progress.getCharactersDone());
+        assertEquals(50, progress.getCharactersTotal());
+        assertEquals(800, progress.getEstimatedRemainingMillis());
+        assertTrue(progress.toString().contains("statement 1/2"));
+    }
+
+    @Test
+    public void timesFromPreviousSchema() {
+        MigrationInfo first = pending("1");
+        MigrationInfo second = pending("2");
+        progressTracker.migrateStarted("schema1", new MigrationInfo[]{first, second}, new MigrationInfo[0]);
+        progressTracker.migrationStarted(first);
+        progressTracker.migrationCompleted(100);
+        assertEquals(100, progressTracker.estimateRemainingMillis());
+        progressTracker.migrationStarted(second);
+        progressTracker.migrationCompleted(500);
+        progressTracker.migrateCompleted();
+
+        progressTracker.migrateStarted("schema2", new MigrationInfo[]{pending("1"), pending("2"), pending("3")},
+                new MigrationInfo[0]);
+        assertEquals(100 + 500 + 300, progressTracker.estimateRemainingMillis());
+    }
+
+    @Test
+    public void complete() {
+        MigrationInfo migration = pending("1");
+        progressTracker.migrateStarted("schema", new MigrationInfo[]{migration}, new MigrationInfo[0]);
+        progressTracker.migrationStarted(migration);
+        progressTracker.migrationCompleted(10);
+        progressTracker.migrateCompleted();
+
+        MigrationProgress progress = progresses.get(progresses.size() - 1);
+        assertTrue(progress.isComplete());
+        assertNull(progress.getMigration());
+        assertEquals(1, progress.getMigrationsDone());
+        assertEquals(0, progress.getEstimatedRemainingMillis());
+    }
+
+    @Test
+    public void groupCountedOnCommit() {
+        MigrationInfo first = pending("1");
+        MigrationInfo second = pending("2");
+        progressTracker.migrateStarted("schema", new MigrationInfo[]{first, second}, new MigrationInfo[0]);
+        progressTracker.migrationStarted(first);
+        progressTracker.migrationStarted(second);
+        assertEquals(0, progresses.get(progresses.size() - 1).getMigrationsDone());
+
+        progressTracker.migrationCompleted(first, 10);
+        progressTracker.migrationCompleted(second, 20);
+
+        assertEquals(2, progresses.get(progresses.size() - 1).getMigrationsDone());
+    }
+
+    private MigrationInfo pending(String version) {
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(MigrationVersion.fromVersion(version));
+        resolvedMigration.setDescription("test");
+        resolvedMigration.setType(MigrationType.SQL);
+        return new MigrationInfoImpl(resolvedMigration, null, new MigrationInfoContext());
+    }
+
+    private MigrationInfo applied(String version, int executionTime) {
+        AppliedMigration appliedMigration = new AppliedMigration(MigrationVersion.fromVersion(version), "test",
+                MigrationType.SQL, null, 123, executionTime, true);
+        return new MigrationInfoImpl(null, appliedMigration, new MigrationInfoContext());
+    }
+}
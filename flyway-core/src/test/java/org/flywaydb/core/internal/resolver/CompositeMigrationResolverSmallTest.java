@@ -42,7 +42,7 @@ public class CompositeMigrationResolverSmallTest {
         MigrationResolver migrationResolver = new CompositeMigrationResolver(null,
                 Thread.currentThread().getContextClassLoader(),
                 new Locations("migration/subdir/dir2", "migration.outoforder", "migration/subdir/dir1"),
-                "UTF-8", "V", "__", ".sql", placeholderReplacer, new MyCustomMigrationResolver());
+                "UTF-8", "V", "__", ".sql", placeholderReplacer, 1, new MyCustomMigrationResolver());
 
         Collection<ResolvedMigration> migrations = migrationResolver.resolveMigrations();
         List<ResolvedMigration> migrationList = new ArrayList<ResolvedMigration>(migrations);
@@ -54,6 +54,25 @@ public class CompositeMigrationResolverSmallTest {
         assertEquals("Add foreign key", migrationList.get(3).getDescription());
     }
 
+    @Test
+    public void resolveMigrationsMultipleLocationsConcurrently() {
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(new HashMap<String, String>(), "${", "}");
+        Locations locations = new Locations("migration/subdir/dir2", "migration.outoforder", "migration/subdir/dir1");
+        List<ResolvedMigration> sequential = new CompositeMigrationResolver(null,
+                Thread.currentThread().getContextClassLoader(), locations,
+                "UTF-8", "V", "__", ".sql", placeholderReplacer, 1, new MyCustomMigrationResolver()).resolveMigrations();
+        List<ResolvedMigration> concurrent = new CompositeMigrationResolver(null,
+                Thread.currentThread().getContextClassLoader(), locations,
+                "UTF-8", "V", "__", ".sql", placeholderReplacer, 4, new MyCustomMigrationResolver()).resolveMigrations();
+
+        assertEquals(sequential.size(), concurrent.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getVersion(), concurrent.get(i).getVersion());
+            assertEquals(sequential.get(i).getScript(), concurrent.get(i).getScript());
+            assertEquals(sequential.get(i).getChecksum(), concurrent.get(i).getChecksum());
+        }
+    }
+
     /**
      * Checks that migrations are properly collected, eliminating all exact duplicates.
      */
@@ -72,10 +91,41 @@ public class CompositeMigrationResolverSmallTest {
         Collection<MigrationResolver> migrationResolvers = new ArrayList<MigrationResolver>();
         migrationResolvers.add(migrationResolver);
 
-        Collection<ResolvedMigration> migrations = CompositeMigrationResolver.collectMigrations(migrationResolvers);
+        Collection<ResolvedMigration> migrations = CompositeMigrationResolver.collectMigrations(migrationResolvers, 1);
         assertEquals(2, migrations.size());
     }
 
+    /**
+     * Checks that migrations collected concurrently are merged in the order of the resolvers, not in the order in which
+     * the resolvers complete.
+     */
+    @Test
+    public void collectMigrationsConcurrently() {
+        Collection<MigrationResolver> migrationResolvers = new ArrayList<MigrationResolver>();
+        List<ResolvedMigration> expected = new ArrayList<ResolvedMigration>();
+        for (int i = 0; i < 4; i++) {
+            final int delay = (4 - i) * 20;
+            final ResolvedMigration migration =
+                    createTestMigration(MigrationType.SQL, String.valueOf(i + 1), "Description", "V" + (i + 1), i);
+            expected.add(migration);
+            migrationResolvers.add(new MigrationResolver() {
+                public List<ResolvedMigration> resolveMigrations() {
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>();
+                    migrations.add(migration);
+                    return migrations;
+                }
+            });
+        }
+
+        Collection<ResolvedMigration> migrations = CompositeMigrationResolver.collectMigrations(migrationResolvers, 4);
+        assertEquals(expected, new ArrayList<ResolvedMigration>(migrations));
+    }
+
     @Test
     public void checkForIncompatibilitiesMessage() {
         ResolvedMigrationImpl migration1 = createTestMigration(MigrationType.SQL, "1", "First", "V1__First.sql", 123);
@@ -21,18 +21,27 @@ import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * Testcase for SqlMigration.
  */
 public class SqlMigrationResolverSmallTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void resolveMigrations() {
         SqlMigrationResolver sqlMigrationResolver =
@@ -101,4 +110,30 @@ public class SqlMigrationResolverSmallTest {
 
         assertEquals("V3.171__patch.sql", sqlMigrationResolver.extractScriptName(new FileSystemResource("/some/dir/V3.171__patch.sql")));
     }
+
+    @Test
+    public void calculateChecksumIgnoresBomAndCarriageReturns() throws IOException {
+        SqlMigrationResolver sqlMigrationResolver =
+                new SqlMigrationResolver(null, Thread.currentThread().getContextClassLoader(),
+                        new Location("filesystem:target"), PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8",
+                        "V", "__", ".sql");
+
+        int unix = sqlMigrationResolver.calculateChecksum(writeScript("V1__Unix.sql", "SELECT 1;\nSELECT 2;\n".getBytes("UTF-8")));
+        byte[] windows = "\uFEFFSELECT 1;\r\nSELECT 2;\r\n".getBytes("UTF-8");
+        assertEquals(unix, sqlMigrationResolver.calculateChecksum(writeScript("V1__Windows.sql", windows)));
+
+        int changed = sqlMigrationResolver.calculateChecksum(writeScript("V1__Changed.sql", "SELECT 1;\nSELECT 3;\n".getBytes("UTF-8")));
+        assertNotEquals(unix, changed);
+    }
+
+    private FileSystemResource writeScript(String name, byte[] contents) throws IOException {
+        File file = temporaryFolder.newFile(name);
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(contents);
+        } finally {
+            outputStream.close();
+        }
+        return new FileSystemResource(file.getPath());
+    }
 }
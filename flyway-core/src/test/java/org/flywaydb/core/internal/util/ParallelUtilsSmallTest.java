@@ -0,0 +1,102 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelUtilsSmallTest {
+    @Test
+    public void resultsInTaskOrder() {
+        List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        for (int i = 0; i < 4; i++) {
+            final int delay = (4 - i) * 10;
+            final String result = "task" + i;
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    Thread.sleep(delay);
+                    return result;
+                }
+            });
+        }
+
+        assertEquals(Arrays.asList("task0", "task1", "task2", "task3"),
+                ParallelUtils.invokeAll("test", 4, tasks, "testing"));
+    }
+
+    @Test
+    public void firstFailureCancelsOthers() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                throw new FlywayException("Failed");
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        try {
+            ParallelUtils.invokeAll("test", 2, tasks, "testing");
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("Failed", e.getMessage());
+        }
+        assertTrue(System.currentTimeMillis() - start < 30000);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void checkedExceptionWrapped() {
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                throw new Exception("Checked");
+            }
+        });
+
+        try {
+            ParallelUtils.invokeAll("test", 2, tasks, "testing");
+            fail();
+        } catch (FlywayException e) {
+            assertEquals("Error while testing", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.logging;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for MessageFormatter.
+ */
+public class MessageFormatterSmallTest {
+    @Test
+    public void format() {
+        assertEquals("Found statement at line 12: SELECT 1",
+                MessageFormatter.format("Found statement at line {}: {}", 12, "SELECT 1"));
+    }
+
+    @Test
+    public void formatNoArgs() {
+        assertEquals("Executing SQL: {}", MessageFormatter.format("Executing SQL: {}"));
+    }
+
+    @Test
+    public void formatMissingArgs() {
+        assertEquals("a=1, b={}", MessageFormatter.format("a={}, b={}", 1));
+    }
+
+    @Test
+    public void formatSurplusArgs() {
+        assertEquals("a=1", MessageFormatter.format("a={}", 1, 2));
+    }
+
+    @Test
+    public void formatNull() {
+        assertEquals("a=null", MessageFormatter.format("a={}", (Object) null));
+    }
+}
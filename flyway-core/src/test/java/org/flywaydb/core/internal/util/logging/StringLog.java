@@ -29,12 +29,22 @@ public class StringLog implements Log {
         this.debugEnabled = debugEnabled;
     }
 
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
     public void debug(String message) {
         if (debugEnabled) {
             output.append("DEBUG: " + message + "\n");
         }
     }
 
+    public void debug(String pattern, Object... args) {
+        if (debugEnabled) {
+            debug(MessageFormatter.format(pattern, args));
+        }
+    }
+
     public void info(String message) {
         output.append("INFO: " + message + "\n");
     }
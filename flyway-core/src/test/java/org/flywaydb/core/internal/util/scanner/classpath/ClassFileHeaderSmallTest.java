@@ -0,0 +1,91 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.DummyAbstractJdbcMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.SabotageEnum;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.V4__DummyExtendedAbstractJdbcMigration;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small Test for ClassFileHeader.
+ */
+@SuppressWarnings({"JavaDoc"})
+public class ClassFileHeaderSmallTest {
+    @Test
+    public void concreteClass() throws Exception {
+        ClassFileHeader header = read(V4__DummyExtendedAbstractJdbcMigration.class);
+        assertEquals(V4__DummyExtendedAbstractJdbcMigration.class.getName(), header.getClassName());
+        assertEquals(DummyAbstractJdbcMigration.class.getName(), header.getSuperClassName());
+        assertEquals(0, header.getInterfaceNames().length);
+        assertTrue(header.isInstantiable());
+    }
+
+    @Test
+    public void abstractClass() throws Exception {
+        ClassFileHeader header = read(DummyAbstractJdbcMigration.class);
+        assertEquals(Object.class.getName(), header.getSuperClassName());
+        assertArrayEquals(new String[]{JdbcMigration.class.getName()}, header.getInterfaceNames());
+        assertFalse(header.isInstantiable());
+    }
+
+    @Test
+    public void interfaceAndEnum() throws Exception {
+        ClassFileHeader header = read(JdbcMigration.class);
+        assertFalse(header.isInstantiable());
+
+        assertFalse(read(SabotageEnum.class).isInstantiable());
+    }
+
+    @Test
+    public void object() throws Exception {
+        assertNull(read(Object.class).getSuperClassName());
+    }
+
+    @Test
+    public void anonymousClass() throws Exception {
+        Runnable runnable = new Runnable() {
+            public void run() {
+            }
+        };
+        assertFalse(read(runnable.getClass()).isInstantiable());
+    }
+
+    @Test(expected = IOException.class)
+    public void invalid() throws Exception {
+        ClassFileHeader.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    private ClassFileHeader read(Class<?> clazz) throws IOException {
+        InputStream inputStream = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class");
+        try {
+            return ClassFileHeader.read(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.filesystem;
+
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for FileSystemResource.
+ */
+public class FileSystemResourceSmallTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void decodeStripsBom() throws IOException {
+        byte[] bytes = "\uFEFFSELECT '\u00e4';".getBytes("UTF-8");
+        assertEquals("SELECT '\u00e4';", FileSystemResource.decode(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), Charset.forName("UTF-8"), bytes.length));
+    }
+
+    @Test
+    public void loadLarge() throws IOException {
+        byte[] statement = "INSERT INTO test_user (name) VALUES ('Mr. T');\n".getBytes("UTF-8");
+        byte[] contents = new byte[(int) FileSystemResource.LARGE_READ_THRESHOLD + statement.length];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = statement[i % statement.length];
+        }
+
+        File file = temporaryFolder.newFile("V1__Large.sql");
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(contents);
+        } finally {
+            outputStream.close();
+        }
+
+        FileSystemResource resource = new FileSystemResource(file.getPath());
+        assertTrue(Arrays.equals(contents, resource.loadAsBytes()));
+        assertTrue(Arrays.equals(contents, FileCopyUtils.copyToByteArray(resource.openStream())));
+        assertEquals(new String(contents, "UTF-8"), resource.loadAsString("UTF-8"));
+    }
+}
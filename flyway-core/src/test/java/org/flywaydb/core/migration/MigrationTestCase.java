@@ -17,8 +17,11 @@ package org.flywaydb.core.migration;
 
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.*;
+import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.command.DbRepair;
 import org.flywaydb.core.internal.dbsupport.*;
+import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
 import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
@@ -135,6 +138,43 @@ public abstract class MigrationTestCase {
         assertEquals(commentChecksum, flyway.info().applied()[0].getChecksum());
     }
 
+    @Test
+    public void repairChecksumDryRun() throws Exception {
+        flyway.setLocations(getQuoteLocation());
+        flyway.migrate();
+        Integer quoteChecksum = flyway.info().applied()[0].getChecksum();
+
+        flyway.setLocations("migration/comment");
+        flyway.setRepairDryRun(true);
+        flyway.repair();
+        assertEquals(quoteChecksum, flyway.info().applied()[0].getChecksum());
+
+        Table table = dbSupport.getCurrentSchema().getTable(flyway.getTable());
+        assertEquals(1, repairDryRun(table, "migration/comment").size());
+
+        // Failed migrations are removed by the repair, so their checksums are never updated
+        jdbcTemplate.execute("UPDATE " + table + " SET " + dbSupport.quote("success") + "=" + dbSupport.getBooleanFalse());
+        assertEquals(0, repairDryRun(table, "migration/comment").size());
+    }
+
+    /**
+     * Runs a dry run of the repair of this metadata table against the migrations of this location.
+     *
+     * @param table    The metadata table.
+     * @param location The location of the migrations.
+     * @return The checksums the repair would update.
+     */
+    private Map<MigrationVersion, Integer> repairDryRun(Table table, String location) {
+        SqlMigrationResolver sqlMigrationResolver = new SqlMigrationResolver(
+                dbSupport, Thread.currentThread().getContextClassLoader(),
+                new Location(location),
+                PlaceholderReplacer.NO_PLACEHOLDERS,
+                "UTF-8",
+                "V", "__", ".sql");
+        return new DbRepair(dbSupport, jdbcTemplate.getConnection(), sqlMigrationResolver,
+                new MetaDataTableImpl(dbSupport, table), new FlywayCallback[0], true).repair(true);
+    }
+
     /**
      * @return The location containing the migrations for the quote test.
      */
@@ -156,6 +196,22 @@ public abstract class MigrationTestCase {
         assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
     }
 
+    @Test
+    public void migrateGrouped() throws Exception {
+        flyway.setLocations(BASEDIR);
+        flyway.setGroupSize(3);
+        assertEquals(4, flyway.migrate());
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(0, flyway.migrate());
+        assertEquals(4, flyway.info().applied().length);
+
+        for (MigrationInfo migrationInfo : flyway.info().applied()) {
+            assertChecksum(migrationInfo);
+        }
+
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
     @Test
     public void target() throws Exception {
         flyway.setLocations(BASEDIR);
@@ -277,6 +333,32 @@ public abstract class MigrationTestCase {
         }
     }
 
+    @Test
+    public void failedMigrationGrouped() throws Exception {
+        String tableName = "grouped";
+
+        flyway.setLocations("migration/grouped_failed");
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("tableName", dbSupport.quote(tableName));
+        flyway.setPlaceholders(placeholders);
+        flyway.setGroupSize(10);
+
+        try {
+            flyway.migrate();
+            fail();
+        } catch (FlywaySqlScriptException e) {
+            // the failure must be reported for the failing migration, not for the group
+            assertEquals(17, e.getLineNumber());
+            assertEquals("THIS IS NOT VALID SQL", e.getStatement());
+        }
+
+        // the migrations preceding the failing one have been committed one by one, while the metadata table rows
+        // of the whole run are rolled back together with the failure
+        assertEquals(1, jdbcTemplate.queryForInt("select count(*) from " + dbSupport.quote(tableName)));
+        assertNull(flyway.info().current());
+        assertEquals(0, flyway.info().applied().length);
+    }
+
     @Test
     public void futureFailedMigration() throws Exception {
         flyway.setValidateOnMigrate(false);
@@ -0,0 +1,29 @@
+--
+-- Copyright 2010-2015 Axel Fontaine
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--         http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE TABLE bulk_test (
+    id integer NOT NULL,
+    name character varying(20),
+    note character varying(20)
+);
+
+INSERT INTO bulk_test (id, name, note) VALUES (1, 'one', NULL);
+INSERT INTO bulk_test (id, name, note) VALUES (2, 'two; semicolon', 'x');
+INSERT INTO bulk_test (id, name, note) VALUES (3, 'three (paren', 'it''s');
+INSERT INTO bulk_test (id, name, note) VALUES (4, 'four', 'y');
+INSERT INTO bulk_test (id, name, note) VALUES (5, 'five', 'z');
+UPDATE bulk_test SET note = 'updated' WHERE id = 5;
+INSERT INTO bulk_test (id, name, note) VALUES (6, 'six', NULL);
@@ -178,4 +178,11 @@ public class FlywayExtension {
      * @param baselineOnMigrate {@code true} if baseline should be called on migrate for non-empty schemas, {@code false} if not. (default: {@code false})
      */
     Boolean baselineOnMigrate
+
+    /**
+     * Whether to execute flywayMigrate and flywayValidate even if neither the migrations nor the configuration
+     * changed since their last successful execution. Use this when the database may have been changed by other means.
+     * (default: {@code false})
+     */
+    Boolean force
 }
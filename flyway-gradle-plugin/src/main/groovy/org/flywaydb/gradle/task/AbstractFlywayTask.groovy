@@ -18,6 +18,7 @@ package org.flywaydb.gradle.task
 import org.flywaydb.core.Flyway
 import org.flywaydb.core.api.callback.FlywayCallback
 import org.flywaydb.core.api.FlywayException
+import org.flywaydb.core.internal.util.Location
 import org.flywaydb.core.internal.util.StringUtils
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource
 import org.flywaydb.gradle.FlywayExtension
@@ -41,6 +42,11 @@ abstract class AbstractFlywayTask extends DefaultTask {
      */
     protected FlywayExtension extension
 
+    /**
+     * Whether Gradle may skip this task when it is up to date.
+     */
+    private boolean upToDateCheck
+
     AbstractFlywayTask() {
         group = 'Flyway'
         project.afterEvaluate {
@@ -71,11 +77,90 @@ abstract class AbstractFlywayTask extends DefaultTask {
             }
         }
 
+        File stateFile = stateFile()
+        if (upToDateCheck) {
+            // A failed execution must never be considered up to date
+            stateFile.delete()
+        }
+
         try {
             run(createFlyway())
         } catch (Exception e) {
             handleException(e)
         }
+
+        if (upToDateCheck) {
+            stateFile.parentFile.mkdirs()
+            stateFile.text = configurationFingerprint()
+        }
+    }
+
+    /**
+     * Lets Gradle skip this task when neither the migrations nor the Flyway configuration changed since its last
+     * successful execution, without connecting to the database or scanning the classpath. The database itself isn't an
+     * input, so use -Pflyway.force=true (or --rerun-tasks) after it has been changed by other means.
+     *
+     * <p>The task is deliberately not cacheable: its result lives in the database, so it can't be restored from a
+     * build cache.</p>
+     */
+    protected void enableUpToDateCheck() {
+        upToDateCheck = true
+        inputs.property('flywayConfiguration', { configurationFingerprint() })
+        inputs.files({ migrationFiles() })
+        outputs.file({ stateFile() })
+        outputs.upToDateWhen { !prop('force')?.toBoolean() }
+    }
+
+    /**
+     * @return The file recording the last successful execution of this task.
+     */
+    protected File stateFile() {
+        new File(project.buildDir, "flyway/${name}.state")
+    }
+
+    /**
+     * Describes the Flyway configuration affecting the outcome of this task, without instantiating anything.
+     * The password is deliberately left out.
+     *
+     * @return The description.
+     */
+    protected String configurationFingerprint() {
+        def configuration = new TreeMap<String, Object>()
+        ['driver', 'url', 'user', 'table', 'initVersion', 'initDescription', 'initOnMigrate', 'baselineVersion',
+         'baselineDescription', 'sqlMigrationPrefix', 'sqlMigrationSeparator', 'sqlMigrationSuffix', 'encoding',
+         'placeholderReplacement', 'placeholderPrefix', 'placeholderSuffix', 'target', 'outOfOrder',
+         'validateOnMigrate', 'cleanOnValidationError', 'baselineOnMigrate'].each { String property ->
+            configuration.put(property, prop(property))
+        }
+        ['schemas', 'locations', 'resolvers', 'callbacks'].each { String property ->
+            configuration.put(property, listProp(property)?.toList())
+        }
+        configuration.put('placeholders', new TreeMap<String, String>(placeholders()))
+        configuration.toString()
+    }
+
+    /**
+     * @return The files and directories the migrations are loaded from: the filesystem locations, the classpath
+     * locations within the outputs of the source sets and the runtime dependencies.
+     */
+    protected def migrationFiles() {
+        def files = []
+        String[] locations = listProp('locations') ?: new Flyway().locations
+        locations.each { String descriptor ->
+            Location location = new Location(descriptor)
+            if (location.fileSystem) {
+                files << project.file(location.path)
+            } else if (isJavaProject()) {
+                project.sourceSets.each {
+                    files << new File(it.output.classesDir, location.path)
+                    files << new File(it.output.resourcesDir, location.path)
+                }
+            }
+        }
+        if (isJavaProject()) {
+            files.addAll(project.configurations.getByName('testRuntime').files)
+        }
+        files
     }
 
     /** Executes the task's custom behavior. */
@@ -117,58 +202,26 @@ abstract class AbstractFlywayTask extends DefaultTask {
         propSetAsBoolean(flyway, 'cleanOnValidationError')
         propSetAsBoolean(flyway, 'baselineOnMigrate')
 
-        def sysSchemas = System.getProperty("flyway.schemas")
-        if (sysSchemas != null) {
-            flyway.schemas = StringUtils.tokenizeToStringArray(sysSchemas, ",")
-        } else if (project.hasProperty("flyway.schemas")) {
-            flyway.schemas = StringUtils.tokenizeToStringArray(project["flyway.schemas"].toString(), ",")
-        } else if (extension.schemas != null) {
-            flyway.schemas = extension.schemas
+        String[] schemas = listProp('schemas')
+        if (schemas != null) {
+            flyway.schemas = schemas
         }
 
-        def sysLocations = System.getProperty("flyway.locations")
-        if (sysLocations != null) {
-            flyway.locations = StringUtils.tokenizeToStringArray(sysLocations, ",")
-        } else if (project.hasProperty("flyway.locations")) {
-            flyway.locations = StringUtils.tokenizeToStringArray(project["flyway.locations"].toString(), ",")
-        } else if (extension.locations != null) {
-            flyway.locations = extension.locations
+        String[] locations = listProp('locations')
+        if (locations != null) {
+            flyway.locations = locations
         }
 
-        def sysResolvers = System.getProperty("flyway.resolvers")
-        if (sysResolvers != null) {
-            flyway.setResolversAsClassNames(StringUtils.tokenizeToStringArray(sysResolvers, ","))
-        } else if (project.hasProperty("flyway.resolvers")) {
-            flyway.setResolversAsClassNames(StringUtils.tokenizeToStringArray(project["flyway.resolvers"].toString(), ","))
-        } else if (extension.resolvers != null) {
-            flyway.setResolversAsClassNames(extension.resolvers)
+        String[] resolvers = listProp('resolvers')
+        if (resolvers != null) {
+            flyway.setResolversAsClassNames(resolvers)
         }
 
-        Map<String, String> placeholders = [:]
-        System.getProperties().each { String key, String value ->
-            if (key.startsWith(PLACEHOLDERS_PROPERTY_PREFIX)) {
-                placeholders.put(key.substring(PLACEHOLDERS_PROPERTY_PREFIX.length()), value)
-            }
-        }
-        if (placeholders.isEmpty()) {
-            project.properties.keySet().each { String key ->
-                if (key.startsWith(PLACEHOLDERS_PROPERTY_PREFIX)) {
-                    placeholders.put(key.substring(PLACEHOLDERS_PROPERTY_PREFIX.length()), project.properties[key])
-                }
-            }
-        }
-        if (placeholders.isEmpty() && (extension.placeholders != null)) {
-            placeholders.putAll(extension.placeholders)
-        }
-        flyway.placeholders = placeholders
+        flyway.placeholders = placeholders()
 
-        def sysCallbacks = System.getProperty("flyway.callbacks")
-        if (sysCallbacks != null) {
-            flyway.setCallbacksAsClassNames(StringUtils.tokenizeToStringArray(sysCallbacks, ","))
-        } else if (project.hasProperty("flyway.callbacks")) {
-            flyway.setCallbacksAsClassNames(StringUtils.tokenizeToStringArray(project["flyway.callbacks"].toString(), ","))
-        } else if (extension.callbacks != null) {
-            flyway.setCallbacksAsClassNames(extension.callbacks)
+        String[] callbacks = listProp('callbacks')
+        if (callbacks != null) {
+            flyway.setCallbacksAsClassNames(callbacks)
         }
 
 		flyway
@@ -232,6 +285,47 @@ abstract class AbstractFlywayTask extends DefaultTask {
         System.getProperty(propertyName) ?: project.hasProperty(propertyName) ? project[propertyName] : extension[property]
     }
 
+    /**
+     * Retrieves the value of this list property, first trying System Properties, then Gradle properties and finally the Flyway extension.
+     * @param property The property whose value to get.
+     * @return The value. {@code null} if not found.
+     */
+    private String[] listProp(String property) {
+        String propertyName = "flyway.${property}"
+        def sysValue = System.getProperty(propertyName)
+        if (sysValue != null) {
+            return StringUtils.tokenizeToStringArray(sysValue, ",")
+        }
+        if (project.hasProperty(propertyName)) {
+            return StringUtils.tokenizeToStringArray(project[propertyName].toString(), ",")
+        }
+        extension[property]
+    }
+
+    /**
+     * Retrieves the placeholders, first trying System Properties, then Gradle properties and finally the Flyway extension.
+     * @return The placeholders.
+     */
+    private Map<String, String> placeholders() {
+        Map<String, String> placeholders = [:]
+        System.getProperties().each { String key, String value ->
+            if (key.startsWith(PLACEHOLDERS_PROPERTY_PREFIX)) {
+                placeholders.put(key.substring(PLACEHOLDERS_PROPERTY_PREFIX.length()), value)
+            }
+        }
+        if (placeholders.isEmpty()) {
+            project.properties.keySet().each { String key ->
+                if (key.startsWith(PLACEHOLDERS_PROPERTY_PREFIX)) {
+                    placeholders.put(key.substring(PLACEHOLDERS_PROPERTY_PREFIX.length()), project.properties[key])
+                }
+            }
+        }
+        if (placeholders.isEmpty() && (extension.placeholders != null)) {
+            placeholders.putAll(extension.placeholders)
+        }
+        placeholders
+    }
+
     protected boolean isJavaProject() {
         project.plugins.hasPlugin('java')
     }
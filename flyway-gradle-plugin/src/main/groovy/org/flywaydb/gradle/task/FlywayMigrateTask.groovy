@@ -24,6 +24,7 @@ class FlywayMigrateTask extends AbstractFlywayTask {
 
   FlywayMigrateTask() {
     description = 'Migrates the schema to the latest version.'
+    enableUpToDateCheck()
   }
 
   def run(Flyway flyway) {
@@ -24,6 +24,7 @@ class FlywayValidateTask extends AbstractFlywayTask {
 
   FlywayValidateTask() {
     description = 'Validates the applied migrations against the ones available on the classpath.'
+    enableUpToDateCheck()
   }
 
   def run(Flyway flyway) {
@@ -193,4 +193,30 @@ class FlywayPluginSmallTest {
         assert flyway.callbacks[0] instanceof FlywayCallback
     }
 
-}
\ No newline at end of file
+    @Test
+    public void upToDateCheckConfiguration() {
+        project.flyway {
+            url = defaultUrl
+            password = 'secret'
+        }
+        String fingerprint = project.tasks.flywayMigrate.configurationFingerprint()
+        assert !fingerprint.contains('secret')
+
+        project.flyway {
+            url = 'jdbc:hsqldb:file:/db/other;shutdown=true'
+        }
+        assert project.tasks.flywayMigrate.configurationFingerprint() != fingerprint
+    }
+
+    @Test
+    public void upToDateCheckMigrationFiles() {
+        project.flyway {
+            url = defaultUrl
+            locations = ['filesystem:sql-migrations']
+        }
+
+        assert project.tasks.flywayMigrate.migrationFiles() == [project.file('sql-migrations')]
+        assert project.tasks.flywayMigrate.stateFile() == new File(project.buildDir, 'flyway/flywayMigrate.state')
+    }
+
+}
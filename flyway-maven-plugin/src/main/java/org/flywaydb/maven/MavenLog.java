@@ -16,6 +16,7 @@
 package org.flywaydb.maven;
 
 import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.MessageFormatter;
 
 /**
  * Wrapper around a Maven Logger.
@@ -35,10 +36,20 @@ public class MavenLog implements Log {
         this.logger = logger;
     }
 
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
     public void debug(String message) {
         logger.debug(message);
     }
 
+    public void debug(String pattern, Object... args) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(MessageFormatter.format(pattern, args));
+        }
+    }
+
     public void info(String message) {
         logger.info(message);
     }
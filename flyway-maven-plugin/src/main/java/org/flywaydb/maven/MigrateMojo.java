@@ -17,6 +17,17 @@ package org.flywaydb.maven;
 
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.TreeMap;
 
 /**
  * Maven goal that triggers the migration of the configured database to the latest version.
@@ -25,8 +36,44 @@ import org.flywaydb.core.api.MigrationInfo;
  */
 @SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
 public class MigrateMojo extends AbstractFlywayMojo {
+    /**
+     * Property of the state file holding the current version after the last successful migrate.
+     */
+    private static final String CURRENT_VERSION = "current";
+
+    /**
+     * Whether to migrate even if neither the migrations nor the configuration changed since the last successful
+     * migrate of this module. Use this when the database may have been changed by something else than this build.<br/>
+     * <p>Also configurable with Maven or System Property: ${flyway.force}</p>
+     *
+     * @parameter property="flyway.force"
+     */
+    /* private -> for testing */ boolean force;
+
     @Override
     protected void doExecute(Flyway flyway) throws Exception {
+        File stateFile = getStateFile();
+        Properties state = createState(flyway);
+
+        if ((state != null) && !getBooleanProperty("flyway.force", force)) {
+            Properties previousState = loadState(stateFile);
+            String currentVersion = previousState.getProperty(CURRENT_VERSION);
+            previousState.remove(CURRENT_VERSION);
+            if (state.equals(previousState)) {
+                log.info("Skipping migrate: no migration changed since the last successful migrate of "
+                        + state.getProperty("url") + " (use -Dflyway.force=true to override)");
+                if (currentVersion != null) {
+                    mavenProject.getProperties().setProperty("flyway.current", currentVersion);
+                }
+                return;
+            }
+        }
+
+        // A failed migrate must never be skipped by the next build
+        if (stateFile.exists() && !stateFile.delete()) {
+            log.warn("Unable to delete " + stateFile.getAbsolutePath());
+        }
+
         if (flyway.info().all().length == 0) {
             log.warn("Possible solution: run mvn compile first so Flyway can find the migrations");
         }
@@ -36,6 +83,97 @@ public class MigrateMojo extends AbstractFlywayMojo {
         if(current != null) {
             String currentVersion = current.getVersion().toString();
             mavenProject.getProperties().setProperty("flyway.current", currentVersion);
+            if (state != null) {
+                state.setProperty(CURRENT_VERSION, currentVersion);
+            }
+        }
+
+        // A dry run leaves the database unchanged, so the next migrate must not be skipped
+        if ((state != null) && !flyway.isRollbackOnSuccess()) {
+            saveState(stateFile, state);
+        }
+    }
+
+    /**
+     * @return The file recording the state of the last successful migrate of this module.
+     */
+    /* private -> for testing */ File getStateFile() {
+        String buildDirectory = mavenProject.getBuild() == null ? null : mavenProject.getBuild().getDirectory();
+        File targetDir = buildDirectory == null ? new File(mavenProject.getBasedir(), "target") : new File(buildDirectory);
+        return new File(targetDir, "flyway/migrate.state");
+    }
+
+    /**
+     * Describes everything determining the outcome of a migrate with this configuration, without connecting to the
+     * database.
+     *
+     * @param flyway The Flyway instance.
+     * @return The state. {@code null} if it can't be determined, because the database isn't identified by an url.
+     */
+    /* private -> for testing */ static Properties createState(Flyway flyway) {
+        if (!(flyway.getDataSource() instanceof DriverDataSource)) {
+            return null;
+        }
+        DriverDataSource dataSource = (DriverDataSource) flyway.getDataSource();
+
+        Properties state = new Properties();
+        state.setProperty("url", dataSource.getUrl());
+        state.setProperty("user", dataSource.getUser() == null ? "" : dataSource.getUser());
+        state.setProperty("schemas", StringUtils.arrayToCommaDelimitedString(flyway.getSchemas()));
+        state.setProperty("table", flyway.getTable());
+        state.setProperty("target", flyway.getTarget().toString());
+        state.setProperty("outOfOrder", String.valueOf(flyway.isOutOfOrder()));
+        state.setProperty("baselineOnMigrate", String.valueOf(flyway.isBaselineOnMigrate()));
+        state.setProperty("validateOnMigrate", String.valueOf(flyway.isValidateOnMigrate()));
+        state.setProperty("initOnMigrate", String.valueOf(flyway.isInitOnMigrate()));
+        state.setProperty("placeholders", new TreeMap<String, String>(flyway.getPlaceholders()).toString());
+        state.setProperty("migrations", Long.toHexString(flyway.computeMigrationsChecksum()));
+        return state;
+    }
+
+    /**
+     * Loads the state of the last successful migrate.
+     *
+     * @param stateFile The state file.
+     * @return The state. Empty if there is none.
+     */
+    private Properties loadState(File stateFile) {
+        Properties state = new Properties();
+        if (!stateFile.isFile()) {
+            return state;
+        }
+
+        try {
+            InputStream inputStream = new FileInputStream(stateFile);
+            try {
+                state.load(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read " + stateFile.getAbsolutePath() + ": " + e.getMessage());
+            state.clear();
+        }
+        return state;
+    }
+
+    /**
+     * Saves the state of this successful migrate.
+     *
+     * @param stateFile The state file.
+     * @param state     The state.
+     */
+    private void saveState(File stateFile, Properties state) {
+        try {
+            stateFile.getParentFile().mkdirs();
+            OutputStream outputStream = new FileOutputStream(stateFile);
+            try {
+                state.store(outputStream, "State of the last successful flyway:migrate");
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write " + stateFile.getAbsolutePath() + ": " + e.getMessage());
         }
     }
 }
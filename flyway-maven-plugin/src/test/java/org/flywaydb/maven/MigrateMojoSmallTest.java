@@ -0,0 +1,155 @@
+/**
+ * Copyright 2010-2015 Axel Fontaine
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.maven;
+
+import org.apache.maven.project.MavenProject;
+import org.flywaydb.core.Flyway;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test for MigrateMojo.
+ */
+public class MigrateMojoSmallTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File buildDirectory;
+    private String locations;
+
+    @Before
+    public void setUp() throws IOException {
+        buildDirectory = temporaryFolder.newFolder("target");
+        File migrations = new File(buildDirectory, "migrations");
+        migrations.mkdirs();
+        write(new File(migrations, "V1__First.sql"), "CREATE TABLE first (id INT);");
+        write(new File(migrations, "V1_2__Second.sql"), "CREATE TABLE second (id INT);");
+        locations = "filesystem:" + migrations.getAbsolutePath();
+        System.clearProperty("flyway.force");
+    }
+
+    @Test
+    public void createState() throws IOException {
+        Flyway flyway = new Flyway();
+        flyway.setDataSource("jdbc:h2:mem:migrate_mojo_state", "sa", "");
+        flyway.setLocations(locations);
+        Properties state = MigrateMojo.createState(flyway);
+        assertEquals(state, MigrateMojo.createState(flyway));
+
+        flyway.setSchemas("other");
+        Properties otherSchema = MigrateMojo.createState(flyway);
+        assertFalse(state.equals(otherSchema));
+
+        flyway.setValidateOnMigrate(!flyway.isValidateOnMigrate());
+        Properties otherValidate = MigrateMojo.createState(flyway);
+        assertFalse(otherSchema.equals(otherValidate));
+
+        flyway.setBaselineOnMigrate(!flyway.isBaselineOnMigrate());
+        assertFalse(otherValidate.equals(MigrateMojo.createState(flyway)));
+
+        write(new File(buildDirectory, "migrations/V2__Third.sql"), "CREATE TABLE third (id INT);");
+        assertFalse(otherValidate.equals(MigrateMojo.createState(flyway)));
+    }
+
+    @Test
+    public void createStateWithoutUrl() {
+        assertNull(MigrateMojo.createState(new Flyway()));
+    }
+
+    @Test
+    public void skipWhenUnchanged() throws Exception {
+        MigrateMojo mojo = createMojo("jdbc:h2:tcp://localhost:1/unreachable");
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", null);
+        flyway.setLocations(locations);
+        Properties state = MigrateMojo.createState(flyway);
+        state.setProperty("current", "1.2");
+        File stateFile = mojo.getStateFile();
+        stateFile.getParentFile().mkdirs();
+        OutputStream outputStream = new FileOutputStream(stateFile);
+        try {
+            state.store(outputStream, null);
+        } finally {
+            outputStream.close();
+        }
+
+        // Would fail if it tried to connect
+        mojo.execute();
+
+        assertEquals("1.2", mojo.mavenProject.getProperties().getProperty("flyway.current"));
+    }
+
+    @Test
+    public void migrateAndRecordState() throws Exception {
+        MigrateMojo mojo = createMojo("jdbc:h2:mem:migrate_mojo;DB_CLOSE_DELAY=-1");
+        mojo.execute();
+
+        File stateFile = mojo.getStateFile();
+        Properties state = new Properties();
+        InputStream inputStream = new FileInputStream(stateFile);
+        try {
+            state.load(inputStream);
+        } finally {
+            inputStream.close();
+        }
+        assertEquals("1.2", state.getProperty("current"));
+        assertEquals("1.2", mojo.mavenProject.getProperties().getProperty("flyway.current"));
+    }
+
+    @Test
+    public void noStateAfterDryRun() throws Exception {
+        MigrateMojo mojo = createMojo("jdbc:h2:mem:migrate_mojo_dry_run;DB_CLOSE_DELAY=-1");
+        mojo.mavenProject.getProperties().setProperty("flyway.rollbackOnSuccess", "true");
+        mojo.execute();
+
+        assertFalse(mojo.getStateFile().exists());
+    }
+
+    private MigrateMojo createMojo(String url) {
+        MigrateMojo mojo = new MigrateMojo();
+        mojo.url = url;
+        mojo.user = "sa";
+        mojo.mavenProject = new MavenProject();
+        mojo.mavenProject.getBuild().setDirectory(buildDirectory.getAbsolutePath());
+        mojo.mavenProject.getProperties().setProperty("flyway.locations", locations);
+        return mojo;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
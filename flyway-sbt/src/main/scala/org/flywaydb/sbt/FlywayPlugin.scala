@@ -22,7 +22,7 @@ import Keys._
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource
 import org.flywaydb.core.Flyway
 import org.flywaydb.core.internal.info.MigrationInfoDumper
-import org.flywaydb.core.internal.util.logging.{LogFactory, LogCreator}
+import org.flywaydb.core.internal.util.logging.{LogFactory, LogCreator, MessageFormatter}
 import scala.Some
 import scala.collection.JavaConversions._
 import scala.collection.JavaConverters._
@@ -286,7 +286,9 @@ object FlywayPlugin extends Plugin {
 
   private object FlywaySbtLog extends org.flywaydb.core.internal.util.logging.Log {
     var streams: Option[TaskStreams] = None
+    def isDebugEnabled = true
     def debug(message: String) { streams map (_.log.debug(message)) }
+    def debug(pattern: String, args: AnyRef*) { debug(MessageFormatter.format(pattern, args: _*)) }
     def info(message: String) { streams map (_.log.info(message)) }
     def warn(message: String) { streams map (_.log.warn(message)) }
     def error(message: String) { streams map (_.log.error(message)) }